@@ -1,5 +1,7 @@
 package com.magnab.employeelifecycle.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -21,4 +23,20 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Executor for workflow mass-import jobs. Imports are long-running and write heavily,
+     * so only a few run at once; additional jobs wait in the queue.
+     */
+    @Bean(name = "workflowImportExecutor")
+    public ThreadPoolTaskExecutor workflowImportExecutor(
+            @Value("${workflow.import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("workflow-import-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,12 @@
+package com.magnab.employeelifecycle.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (e.g. purging expired idempotency keys).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
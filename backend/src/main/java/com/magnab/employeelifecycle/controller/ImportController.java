@@ -0,0 +1,118 @@
+package com.magnab.employeelifecycle.controller;
+
+import com.magnab.employeelifecycle.dto.response.ImportJobResponse;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.ImportFormat;
+import com.magnab.employeelifecycle.exception.UnauthorizedException;
+import com.magnab.employeelifecycle.service.WorkflowImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * REST controller for streaming workflow mass imports.
+ * Accepts CSV or NDJSON files, processes them in the background and reports progress.
+ * All endpoints require HR_ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@PreAuthorize("hasRole('HR_ADMIN')")
+@Tag(name = "Workflow Imports", description = "Streaming mass import of employees into workflows")
+public class ImportController {
+
+    private final WorkflowImportService workflowImportService;
+
+    public ImportController(WorkflowImportService workflowImportService) {
+        this.workflowImportService = workflowImportService;
+    }
+
+    /**
+     * Upload an import file and start processing it.
+     *
+     * @param file CSV (header row + one employee per line) or NDJSON (one initiation request per line)
+     * @param format File format; inferred from the file extension when omitted
+     * @param defaultTemplateId Template used for rows without a templateId
+     * @return Created import job with 202 status
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Start a workflow mass import",
+               description = "Stores the uploaded file and imports it in the background in bounded chunks. " +
+                           "CSV columns: templateId, employeeName, employeeEmail, employeeRole; any other column " +
+                           "becomes a custom field value. Poll the job for progress.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import job accepted"),
+        @ApiResponse(responseCode = "400", description = "Empty file or unknown format"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires HR_ADMIN role"),
+        @ApiResponse(responseCode = "404", description = "Default template not found")
+    })
+    public ResponseEntity<ImportJobResponse> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format,
+            @RequestParam(required = false) UUID defaultTemplateId) {
+
+        ImportJobResponse response = workflowImportService.startImport(
+                file, format, defaultTemplateId, getCurrentUserId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Get progress, throughput and row errors for an import job.
+     *
+     * @param id Import job ID
+     * @param errorLimit Maximum number of row errors to return
+     * @return Import job status
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job status",
+               description = "Returns rows processed, succeeded and failed, throughput in rows/sec and per-row errors")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import job retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    public ResponseEntity<ImportJobResponse> getImportJob(
+            @Parameter(description = "Import job ID") @PathVariable UUID id,
+            @RequestParam(defaultValue = "100") int errorLimit) {
+
+        return ResponseEntity.ok(workflowImportService.getImportJob(id, errorLimit));
+    }
+
+    /**
+     * Resume a failed import job from its last checkpoint.
+     *
+     * @param id Import job ID
+     * @return Resumed import job with 202 status
+     */
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Resume a failed import job",
+               description = "Continues processing after the last committed row; rows before the checkpoint are not re-imported")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import job resumed"),
+        @ApiResponse(responseCode = "404", description = "Import job not found"),
+        @ApiResponse(responseCode = "409", description = "Import job is running or already completed")
+    })
+    public ResponseEntity<ImportJobResponse> resumeImport(
+            @Parameter(description = "Import job ID") @PathVariable UUID id) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(workflowImportService.resumeImport(id));
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new UnauthorizedException("User must be authenticated to import workflows");
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.magnab.employeelifecycle.controller;
+
+import com.magnab.employeelifecycle.dto.request.ScheduleWorkflowsRequest;
+import com.magnab.employeelifecycle.dto.response.ScheduledInitiationResponse;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import com.magnab.employeelifecycle.exception.UnauthorizedException;
+import com.magnab.employeelifecycle.service.ScheduledInitiationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for scheduled (future-dated) workflow initiation.
+ * Scheduled workflows are stored and created by a rate-limited dispatcher once their start time has passed.
+ * All endpoints require HR_ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/workflows/scheduled")
+@PreAuthorize("hasRole('HR_ADMIN')")
+@Tag(name = "Scheduled Workflows", description = "Future-dated workflow initiation")
+public class ScheduledInitiationController {
+
+    private final ScheduledInitiationService scheduledInitiationService;
+
+    public ScheduledInitiationController(ScheduledInitiationService scheduledInitiationService) {
+        this.scheduledInitiationService = scheduledInitiationService;
+    }
+
+    /**
+     * Schedule workflows to be initiated at a future start time.
+     *
+     * @param request Start time and the workflows to initiate then
+     * @return Scheduled initiations with 201 status
+     */
+    @PostMapping
+    @Operation(summary = "Schedule workflow initiations",
+               description = "Stores up to 1000 initiations for startAt. Once due they are created in batches at " +
+                           "the configured dispatch rate; poll each entry for the resulting workflow.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Initiations scheduled"),
+        @ApiResponse(responseCode = "400", description = "Validation failure, start time not in the future, or inactive template"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires HR_ADMIN role"),
+        @ApiResponse(responseCode = "404", description = "Template not found")
+    })
+    public ResponseEntity<List<ScheduledInitiationResponse>> scheduleWorkflows(
+            @Valid @RequestBody ScheduleWorkflowsRequest request) {
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(scheduledInitiationService.schedule(request, getCurrentUserId()));
+    }
+
+    /**
+     * List scheduled initiations by status, earliest start first.
+     *
+     * @param status Status filter (default: SCHEDULED)
+     * @param page Page number (0-indexed)
+     * @param size Page size
+     * @return Page of scheduled initiations
+     */
+    @GetMapping
+    @Operation(summary = "List scheduled initiations",
+               description = "Returns scheduled initiations in the given status ordered by start time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scheduled initiations retrieved successfully")
+    })
+    public ResponseEntity<Page<ScheduledInitiationResponse>> getScheduledInitiations(
+            @RequestParam(defaultValue = "SCHEDULED") ScheduledInitiationStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(scheduledInitiationService.getScheduledInitiations(status, page, Math.min(size, 500)));
+    }
+
+    /**
+     * Get a scheduled initiation, including the created workflow once dispatched.
+     *
+     * @param id Scheduled initiation ID
+     * @return Scheduled initiation
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get scheduled initiation",
+               description = "Returns status and, once dispatched, the workflow instance ID or the error")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scheduled initiation retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Scheduled initiation not found")
+    })
+    public ResponseEntity<ScheduledInitiationResponse> getScheduledInitiation(
+            @Parameter(description = "Scheduled initiation ID") @PathVariable UUID id) {
+
+        return ResponseEntity.ok(scheduledInitiationService.getScheduledInitiation(id));
+    }
+
+    /**
+     * Cancel a scheduled initiation that has not been dispatched yet.
+     *
+     * @param id Scheduled initiation ID
+     * @return Cancelled initiation
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel scheduled initiation",
+               description = "Cancels the initiation if it is still waiting for its start time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scheduled initiation cancelled"),
+        @ApiResponse(responseCode = "404", description = "Scheduled initiation not found"),
+        @ApiResponse(responseCode = "409", description = "Initiation is already being dispatched or finished")
+    })
+    public ResponseEntity<ScheduledInitiationResponse> cancelScheduledInitiation(
+            @Parameter(description = "Scheduled initiation ID") @PathVariable UUID id) {
+
+        return ResponseEntity.ok(scheduledInitiationService.cancel(id));
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new UnauthorizedException("User must be authenticated to schedule workflows");
+        }
+        return user.getId();
+    }
+}
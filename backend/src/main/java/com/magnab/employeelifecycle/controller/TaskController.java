@@ -0,0 +1,91 @@
+package com.magnab.employeelifecycle.controller;
+
+import com.magnab.employeelifecycle.dto.request.UpdateTaskStatusesRequest;
+import com.magnab.employeelifecycle.dto.response.TaskAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.TaskStatusBatchResult;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.exception.UnauthorizedException;
+import com.magnab.employeelifecycle.service.WorkflowService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for task instance operations.
+ * Users of a role claim pull-mode tasks from their role's pool here, and assignees update task statuses.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@PreAuthorize("isAuthenticated()")
+@Tag(name = "Tasks", description = "Task claiming and status updates")
+public class TaskController {
+
+    private final WorkflowService workflowService;
+
+    public TaskController(WorkflowService workflowService) {
+        this.workflowService = workflowService;
+    }
+
+    /**
+     * Claim the oldest task waiting in the pool of the current user's role.
+     *
+     * @return The claimed task with 200 status, or 204 if the pool is empty
+     */
+    @PostMapping("/claim")
+    @Operation(summary = "Claim next pooled task",
+               description = "Assigns the oldest ready pull-mode task of the caller's role to the caller and starts it. " +
+                           "Concurrent claims never receive the same task.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task claimed"),
+        @ApiResponse(responseCode = "204", description = "No task waiting in the role's pool"),
+        @ApiResponse(responseCode = "403", description = "User is inactive"),
+        @ApiResponse(responseCode = "409", description = "User is at their work-in-progress limit")
+    })
+    public ResponseEntity<TaskAssignmentResult> claimNextTask() {
+        return workflowService.claimNextTask(getCurrentUser().getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Update the status of several tasks at once.
+     *
+     * @param request The task transitions to apply
+     * @return The updated tasks and what the update triggered with 200 status
+     */
+    @PatchMapping("/status")
+    @Operation(summary = "Update task statuses",
+               description = "Applies many task status transitions in one transaction. The batch is all-or-nothing: " +
+                           "if any entry is invalid no task is updated. Dependent tasks are assigned and workflow " +
+                           "completion is detected once per affected workflow.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task statuses updated"),
+        @ApiResponse(responseCode = "400", description = "Unknown task, duplicate entry or invalid state transition"),
+        @ApiResponse(responseCode = "403", description = "A task is not assigned to the caller (HR_ADMIN may update any task)"),
+        @ApiResponse(responseCode = "409", description = "The batch kept conflicting with concurrent updates")
+    })
+    public ResponseEntity<TaskStatusBatchResult> updateTaskStatuses(
+            @Valid @RequestBody UpdateTaskStatusesRequest request) {
+        User user = getCurrentUser();
+        return ResponseEntity.ok(workflowService.updateTaskStatuses(request.getUpdates(), user.getId(), user.getRole()));
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new UnauthorizedException("User must be authenticated to access tasks");
+        }
+        return user;
+    }
+}
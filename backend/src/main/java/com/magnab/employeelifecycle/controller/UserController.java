@@ -3,6 +3,7 @@ package com.magnab.employeelifecycle.controller;
 import com.magnab.employeelifecycle.dto.request.ChangePasswordRequest;
 import com.magnab.employeelifecycle.dto.request.CreateUserRequest;
 import com.magnab.employeelifecycle.dto.request.UpdateUserRequest;
+import com.magnab.employeelifecycle.dto.response.TaskReassignmentResult;
 import com.magnab.employeelifecycle.dto.response.UserResponse;
 import com.magnab.employeelifecycle.service.UserService;
 import jakarta.validation.Valid;
@@ -57,6 +58,12 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/reassign-tasks")
+    public ResponseEntity<TaskReassignmentResult> reassignTasks(@PathVariable UUID id) {
+        TaskReassignmentResult result = userService.reassignTasks(id);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/{id}/change-password")
     public ResponseEntity<Map<String, String>> changePassword(@PathVariable UUID id, @Valid @RequestBody ChangePasswordRequest request) {
         userService.changePassword(id, request);
@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.controller;
 
+import com.magnab.employeelifecycle.dto.request.BatchInitiateWorkflowRequest;
 import com.magnab.employeelifecycle.dto.request.EmployeeDetails;
 import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
 import com.magnab.employeelifecycle.dto.response.*;
@@ -7,6 +8,9 @@ import com.magnab.employeelifecycle.entity.User;
 import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
 import com.magnab.employeelifecycle.exception.UnauthorizedException;
+import com.magnab.employeelifecycle.service.WorkflowBatchService;
+import com.magnab.employeelifecycle.service.WorkflowIdempotencyService;
+import com.magnab.employeelifecycle.service.WorkflowInitiationQueue;
 import com.magnab.employeelifecycle.service.WorkflowService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,6 +30,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -40,16 +45,34 @@ import java.util.UUID;
 public class WorkflowController {
 
     private static final Logger log = LoggerFactory.getLogger(WorkflowController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
     private final WorkflowService workflowService;
-
-    public WorkflowController(WorkflowService workflowService) {
+    private final WorkflowBatchService workflowBatchService;
+    private final WorkflowIdempotencyService workflowIdempotencyService;
+    private final WorkflowInitiationQueue workflowInitiationQueue;
+
+    public WorkflowController(
+            WorkflowService workflowService,
+            WorkflowBatchService workflowBatchService,
+            WorkflowIdempotencyService workflowIdempotencyService,
+            WorkflowInitiationQueue workflowInitiationQueue
+    ) {
         this.workflowService = workflowService;
+        this.workflowBatchService = workflowBatchService;
+        this.workflowIdempotencyService = workflowIdempotencyService;
+        this.workflowInitiationQueue = workflowInitiationQueue;
     }
 
     /**
      * Initiates a new onboarding or offboarding workflow for an employee.
      * Only HR_ADMIN role can initiate workflows.
      *
+     * When an Idempotency-Key header is sent, the first request with that key creates the workflow and
+     * retries with the same key and body replay its response (marked with Idempotent-Replayed: true). If
+     * assigning the initial tasks failed, the next retry assigns them on the same workflow before responding.
+     *
+     * @param idempotencyKey Optional Idempotency-Key header
      * @param request Workflow initiation request containing template ID and employee details
      * @return WorkflowInitiationResponse with workflow ID and task summary
      */
@@ -131,6 +154,24 @@ public class WorkflowController {
                                             """
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Idempotency-Key reused with a different request, or its first request is still running",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "timestamp": "2025-10-31T10:30:00",
+                                              "status": 409,
+                                              "error": "Conflict",
+                                              "message": "Idempotency-Key hris-4711 was already used with a different request",
+                                              "path": "/api/workflows"
+                                            }
+                                            """
+                            )
+                    )
             )
     })
     @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -158,6 +199,11 @@ public class WorkflowController {
     @PreAuthorize("hasRole('HR_ADMIN')")
     @PostMapping
     public ResponseEntity<WorkflowInitiationResponse> initiateWorkflow(
+            @io.swagger.v3.oas.annotations.Parameter(
+                    description = "Optional client-generated key; retries with the same key and body return " +
+                            "the original response instead of creating another workflow"
+            )
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody InitiateWorkflowRequest request) {
 
         log.info("Initiating workflow for employee: {} using template: {}",
@@ -165,6 +211,32 @@ public class WorkflowController {
 
         UUID currentUserId = getCurrentUserId();
 
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(initiate(request, currentUserId));
+        }
+
+        WorkflowIdempotencyService.Outcome outcome = workflowIdempotencyService.execute(
+                idempotencyKey, currentUserId, request, () -> create(request, currentUserId), this::assign);
+        if (outcome.replayed()) {
+            log.info("Replayed workflow {} for Idempotency-Key {} of user {}",
+                    outcome.response().getWorkflowInstanceId(), idempotencyKey, currentUserId);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+
+    /**
+     * Creates the workflow instance and assigns its initial tasks.
+     */
+    private WorkflowInitiationResponse initiate(InitiateWorkflowRequest request, UUID currentUserId) {
+        return assign(create(request, currentUserId));
+    }
+
+    /**
+     * Creates the workflow instance; the response reports it as INITIATED with no tasks assigned yet.
+     */
+    private WorkflowInitiationResponse create(InitiateWorkflowRequest request, UUID currentUserId) {
         // Create employee details object for service call
         EmployeeDetails employeeDetails = new EmployeeDetails();
         employeeDetails.setEmployeeName(request.getEmployeeName());
@@ -182,25 +254,224 @@ public class WorkflowController {
         log.debug("Workflow instance created with ID: {}, total tasks: {}",
                 creationResult.getWorkflowInstanceId(), creationResult.getTotalTasks());
 
-        // Assign initial tasks
-        List<TaskAssignmentResult> assignmentResults = workflowService.assignTasksForWorkflow(
-                creationResult.getWorkflowInstanceId()
-        );
-
-        log.info("Workflow {} initiated successfully for employee: {} by user: {}. {} tasks assigned.",
-                creationResult.getWorkflowInstanceId(), request.getEmployeeName(),
-                currentUserId, assignmentResults.size());
-
         // Build response
         WorkflowInitiationResponse response = new WorkflowInitiationResponse();
         response.setWorkflowInstanceId(creationResult.getWorkflowInstanceId());
         response.setEmployeeName(request.getEmployeeName());
-        response.setStatus(WorkflowStatus.IN_PROGRESS); // After task assignment, workflow is IN_PROGRESS
+        response.setStatus(WorkflowStatus.INITIATED);
         response.setTotalTasksCreated(creationResult.getTotalTasks());
-        response.setTasksAssigned(assignmentResults.size());
+        response.setTasksAssigned(0);
         response.setInitiatedAt(LocalDateTime.now());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return response;
+    }
+
+    /**
+     * Assigns the initial tasks of a created workflow and completes its response.
+     */
+    private WorkflowInitiationResponse assign(WorkflowInitiationResponse created) {
+        // Assign initial tasks
+        WorkflowAssignmentResult assignment = workflowService.routeTasksForWorkflow(
+                created.getWorkflowInstanceId()
+        );
+
+        log.info("Workflow {} initiated successfully for employee: {}. {} tasks assigned.",
+                created.getWorkflowInstanceId(), created.getEmployeeName(), assignment.getAssignments().size());
+
+        WorkflowInitiationResponse response = new WorkflowInitiationResponse();
+        response.setWorkflowInstanceId(created.getWorkflowInstanceId());
+        response.setEmployeeName(created.getEmployeeName());
+        response.setStatus(assignment.getWorkflowStatus());
+        response.setTotalTasksCreated(created.getTotalTasksCreated());
+        response.setTasksAssigned(assignment.getAssignments().size());
+        response.setInitiatedAt(created.getInitiatedAt());
+
+        return response;
+    }
+
+    /**
+     * Initiates workflows for many employees in a single request (e.g. a monthly onboarding wave).
+     * Only HR_ADMIN role can initiate workflows. Rows are validated and processed individually;
+     * the response reports the outcome of every row.
+     *
+     * @param request Batch request containing one initiation entry per employee
+     * @return BatchWorkflowInitiationResponse with per-row results
+     */
+    @Operation(
+            summary = "Initiate workflows for many employees at once",
+            description = "Creates one workflow instance per entry and assigns initial tasks. Templates and the initiating " +
+                    "user are resolved once and rows are written in chunked batches. Invalid rows are reported " +
+                    "individually and do not prevent other rows from being created."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed - see per-row results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchWorkflowInitiationResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "totalRequested": 2,
+                                              "succeeded": 1,
+                                              "failed": 1,
+                                              "results": [
+                                                {
+                                                  "rowIndex": 0,
+                                                  "employeeEmail": "john.doe@company.com",
+                                                  "success": true,
+                                                  "workflowInstanceId": "550e8400-e29b-41d4-a716-446655440000",
+                                                  "status": "IN_PROGRESS",
+                                                  "totalTasksCreated": 15,
+                                                  "tasksAssigned": 3,
+                                                  "error": null
+                                                },
+                                                {
+                                                  "rowIndex": 1,
+                                                  "employeeEmail": "not-an-email",
+                                                  "success": false,
+                                                  "workflowInstanceId": null,
+                                                  "status": null,
+                                                  "totalTasksCreated": null,
+                                                  "tasksAssigned": null,
+                                                  "error": "Employee email must be valid"
+                                                }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty batch or batch larger than 1000 entries"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Only HR_ADMIN role can initiate workflows"
+            )
+    })
+    @PreAuthorize("hasRole('HR_ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchWorkflowInitiationResponse> initiateWorkflowBatch(
+            @Valid @RequestBody BatchInitiateWorkflowRequest request) {
+
+        log.info("Batch initiating {} workflows", request.getWorkflows().size());
+
+        UUID currentUserId = getCurrentUserId();
+        BatchWorkflowInitiationResponse response = workflowBatchService.initiateWorkflows(
+                request.getWorkflows(), currentUserId);
+
+        log.info("Batch initiation by user {}: {} succeeded, {} failed",
+                currentUserId, response.getSucceeded(), response.getFailed());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Queues a workflow initiation and returns immediately with a job ID.
+     * Only HR_ADMIN role can initiate workflows. The template is validated before queueing;
+     * creation and task assignment run on the initiation worker pool.
+     *
+     * @param request Workflow initiation request containing template ID and employee details
+     * @return WorkflowInitiationJobResponse with the job ID and queue position
+     */
+    @Operation(
+            summary = "Queue a workflow initiation",
+            description = "Validates the request and queues it for a bounded pool of initiation workers. " +
+                    "Returns 202 with a job ID; poll GET /api/workflows/jobs/{id} for the result. " +
+                    "Returns 429 with Retry-After when the queue is full."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Initiation queued",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = WorkflowInitiationJobResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "jobId": "0192f4a1-7c3e-7a10-9b2d-3f1e5c6d7a8b",
+                                              "status": "QUEUED",
+                                              "employeeName": "John Doe",
+                                              "submittedAt": "2025-10-31T10:30:00",
+                                              "startedAt": null,
+                                              "completedAt": null,
+                                              "queuedMillis": 0,
+                                              "queueDepth": 12,
+                                              "result": null,
+                                              "error": null
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request or inactive template"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Only HR_ADMIN role can initiate workflows"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Template not found"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Initiation queue is full - retry after the number of seconds in Retry-After"
+            )
+    })
+    @PreAuthorize("hasRole('HR_ADMIN')")
+    @PostMapping("/async")
+    public ResponseEntity<WorkflowInitiationJobResponse> initiateWorkflowAsync(
+            @Valid @RequestBody InitiateWorkflowRequest request) {
+
+        log.info("Queueing workflow initiation for employee: {} using template: {}",
+                request.getEmployeeName(), request.getTemplateId());
+
+        UUID currentUserId = getCurrentUserId();
+        WorkflowInitiationJobResponse job = workflowInitiationQueue.submit(
+                request, currentUserId, () -> initiate(request, currentUserId));
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/workflows/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Retrieves the status of an asynchronous workflow initiation.
+     * Users only see jobs they submitted.
+     *
+     * @param id Job ID returned by POST /api/workflows/async
+     * @return WorkflowInitiationJobResponse with status, time in queue and, once completed, the result
+     */
+    @Operation(
+            summary = "Get asynchronous initiation job status",
+            description = "Returns QUEUED, RUNNING, COMPLETED (with the initiation result) or FAILED (with the error). " +
+                    "Finished jobs are kept for a limited time."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job status retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = WorkflowInitiationJobResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found, expired, or submitted by another user"
+            )
+    })
+    @PreAuthorize("hasRole('HR_ADMIN')")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<WorkflowInitiationJobResponse> getInitiationJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(workflowInitiationQueue.getJob(id, getCurrentUserId()));
     }
 
     /**
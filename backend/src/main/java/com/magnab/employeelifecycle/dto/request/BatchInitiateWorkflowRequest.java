@@ -0,0 +1,20 @@
+package com.magnab.employeelifecycle.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for initiating workflows for many employees in one call (e.g. a monthly onboarding wave).
+ * Each entry follows the same rules as a single initiation request; entries are validated individually
+ * so one bad row does not reject the whole batch.
+ */
+@Data
+public class BatchInitiateWorkflowRequest {
+
+    @NotEmpty(message = "At least one workflow is required")
+    @Size(max = 1000, message = "A batch may contain at most 1000 workflows")
+    private List<InitiateWorkflowRequest> workflows;
+}
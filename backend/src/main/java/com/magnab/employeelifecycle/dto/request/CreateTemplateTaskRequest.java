@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.dto.request;
 
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.UserRole;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -10,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -37,5 +39,21 @@ public class CreateTemplateTaskRequest {
 
     private Boolean isParallel = false;
 
+    /**
+     * PUSH (default) assigns the task when it becomes ready; PULL pools it for the role's users to claim.
+     */
+    private TaskAssignmentMode assignmentMode;
+
     private UUID dependencyTaskId;
+
+    /**
+     * Optional further prerequisites; the task waits for dependencyTaskId and all of these.
+     */
+    private List<UUID> additionalDependencyTaskIds;
+
+    /**
+     * Optional visibility rule, e.g. {@code remote == true}; the task is hidden in workflows where it matches.
+     */
+    @Size(max = 1000, message = "Visibility rule must not exceed 1000 characters")
+    private String hiddenWhen;
 }
@@ -0,0 +1,28 @@
+package com.magnab.employeelifecycle.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request DTO for scheduling workflow initiations for a future start time (e.g. the Monday of a start date).
+ * The workflows are stored and created by the dispatcher once startAt has passed.
+ */
+@Data
+public class ScheduleWorkflowsRequest {
+
+    @NotNull(message = "Start time is required")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime startAt;
+
+    @NotEmpty(message = "At least one workflow is required")
+    @Size(max = 1000, message = "At most 1000 workflows can be scheduled at once")
+    @Valid
+    private List<InitiateWorkflowRequest> workflows;
+}
@@ -0,0 +1,20 @@
+package com.magnab.employeelifecycle.dto.request;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * One task transition in a batch status update.
+ */
+@Data
+public class TaskStatusChange {
+
+    @NotNull(message = "Task instance ID is required")
+    private UUID taskInstanceId;
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
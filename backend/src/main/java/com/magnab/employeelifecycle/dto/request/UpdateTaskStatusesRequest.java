@@ -0,0 +1,21 @@
+package com.magnab.employeelifecycle.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for updating the status of many tasks in one call (e.g. a line manager ticking off a checklist).
+ * Unlike batch initiation the batch is all-or-nothing: if any entry is invalid no task is updated.
+ */
+@Data
+public class UpdateTaskStatusesRequest {
+
+    @NotEmpty(message = "At least one task update is required")
+    @Size(max = 500, message = "A batch may contain at most 500 task updates")
+    @Valid
+    private List<TaskStatusChange> updates;
+}
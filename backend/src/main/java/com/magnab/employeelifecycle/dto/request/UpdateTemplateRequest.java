@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.dto.request;
 
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
 import com.magnab.employeelifecycle.enums.WorkflowType;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -34,6 +35,9 @@ public class UpdateTemplateRequest {
     @NotNull(message = "isActive flag is required")
     private Boolean isActive;
 
+    // Optional; null uses the strategy configured for each task's role
+    private AssignmentStrategyType assignmentStrategy;
+
     @NotNull(message = "Tasks are required")
     @Valid
     private List<CreateTemplateTaskRequest> tasks;
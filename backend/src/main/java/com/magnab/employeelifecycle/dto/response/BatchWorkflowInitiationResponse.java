@@ -0,0 +1,18 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Response DTO for the batch workflow initiation endpoint.
+ * Contains overall counts and one result per submitted row, in submission order.
+ */
+@Data
+public class BatchWorkflowInitiationResponse {
+
+    private Integer totalRequested;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BatchWorkflowInitiationRowResult> results;
+}
@@ -0,0 +1,23 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Response DTO describing the outcome of a single row in a batch workflow initiation.
+ * Successful rows carry the created workflow details; failed rows carry the error message.
+ */
+@Data
+public class BatchWorkflowInitiationRowResult {
+
+    private Integer rowIndex;
+    private String employeeEmail;
+    private Boolean success;
+    private UUID workflowInstanceId;
+    private WorkflowStatus status;
+    private Integer totalTasksCreated;
+    private Integer tasksAssigned;
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import com.magnab.employeelifecycle.enums.ImportFormat;
+import com.magnab.employeelifecycle.enums.ImportJobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for workflow mass-import jobs.
+ * Reports progress (checkpointed rows, successes, failures), throughput and per-row errors.
+ */
+@Data
+public class ImportJobResponse {
+
+    private UUID id;
+    private String fileName;
+    private ImportFormat format;
+    private ImportJobStatus status;
+    private UUID defaultTemplateId;
+    private Integer rowsProcessed;
+    private Integer rowsSucceeded;
+    private Integer rowsFailed;
+    private Double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime lastCheckpointAt;
+    private LocalDateTime completedAt;
+    private String errorMessage;
+    private List<ImportRowErrorResponse> errors;
+}
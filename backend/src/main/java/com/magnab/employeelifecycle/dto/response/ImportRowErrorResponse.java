@@ -0,0 +1,14 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import lombok.Data;
+
+/**
+ * Response DTO describing why a single import row was rejected.
+ */
+@Data
+public class ImportRowErrorResponse {
+
+    private Integer rowNumber;
+    private String employeeEmail;
+    private String message;
+}
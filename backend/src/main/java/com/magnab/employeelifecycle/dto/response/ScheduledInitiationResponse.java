@@ -0,0 +1,27 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for a scheduled workflow initiation.
+ * Once dispatched it carries the created workflow instance ID, or the error if creation failed.
+ */
+@Data
+public class ScheduledInitiationResponse {
+
+    private UUID id;
+    private UUID templateId;
+    private String employeeName;
+    private String employeeEmail;
+    private LocalDateTime startAt;
+    private ScheduledInitiationStatus status;
+    private UUID workflowInstanceId;
+    private String errorMessage;
+    private UUID scheduledBy;
+    private LocalDateTime dispatchedAt;
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.dto.response;
 
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.UserRole;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,7 +27,10 @@ public class TaskDetailResponse {
     private UserRole assignedRole;
     private Integer sequenceOrder;
     private Boolean isParallel;
+    private TaskAssignmentMode assignmentMode;
     private UUID dependencyTaskId;
+    private List<UUID> additionalDependencyTaskIds;
+    private String hiddenWhen;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,20 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Response DTO containing the result of moving a user's open tasks to other users of the same role.
+ * Returned when a user is deactivated and by the manual reassignment endpoint.
+ */
+@Data
+public class TaskReassignmentResult {
+
+    private UUID userId;
+    private int reassignedTasks;
+    private int queuedTasks;
+    private int remainingTasks;
+    private Map<UUID, Integer> tasksByUser;
+}
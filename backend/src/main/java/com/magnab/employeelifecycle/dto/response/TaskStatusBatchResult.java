@@ -0,0 +1,19 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO containing the result of a batch task status update.
+ * Lists the updated tasks in request order and what the update triggered in the affected workflows.
+ */
+@Data
+public class TaskStatusBatchResult {
+
+    private List<TaskStatusUpdate> tasks;
+    private int workflowsAffected;
+    private int tasksAssigned;
+    private List<UUID> completedWorkflowIds;
+}
@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.dto.response;
 
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
 import com.magnab.employeelifecycle.enums.WorkflowType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -26,6 +27,8 @@ public class TemplateDetailResponse {
     private String description;
     private WorkflowType type;
     private Boolean isActive;
+    private Integer version;
+    private AssignmentStrategyType assignmentStrategy;
     private List<TaskDetailResponse> tasks;
     private LocalDateTime createdAt;
     private UUID createdBy;
@@ -24,6 +24,7 @@ public class TemplateSummaryResponse {
     private String name;
     private WorkflowType type;
     private Boolean isActive;
+    private Integer version;
     private Integer taskCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
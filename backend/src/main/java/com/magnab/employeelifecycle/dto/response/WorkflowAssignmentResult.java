@@ -0,0 +1,20 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO containing the result of assigning the ready tasks of a workflow.
+ * Carries the workflow's status after the assignment: a workflow whose tasks were only pooled or queued
+ * is IN_PROGRESS even though no task was assigned.
+ */
+@Data
+public class WorkflowAssignmentResult {
+
+    private UUID workflowInstanceId;
+    private WorkflowStatus workflowStatus;
+    private List<TaskAssignmentResult> assignments;
+}
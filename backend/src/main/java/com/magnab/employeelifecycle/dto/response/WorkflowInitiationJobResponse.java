@@ -0,0 +1,26 @@
+package com.magnab.employeelifecycle.dto.response;
+
+import com.magnab.employeelifecycle.enums.InitiationJobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for asynchronous workflow initiation jobs.
+ * Reports the job status, how long it waited in the queue and, once completed, the initiation response.
+ */
+@Data
+public class WorkflowInitiationJobResponse {
+
+    private UUID jobId;
+    private InitiationJobStatus status;
+    private String employeeName;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long queuedMillis;
+    private Integer queueDepth;
+    private WorkflowInitiationResponse result;
+    private String error;
+}
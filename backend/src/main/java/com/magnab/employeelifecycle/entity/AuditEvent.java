@@ -24,7 +24,7 @@ public class AuditEvent {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
     private UUID id;
 
     @Column(name = "user_id")
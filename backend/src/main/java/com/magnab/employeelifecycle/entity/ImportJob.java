@@ -0,0 +1,100 @@
+package com.magnab.employeelifecycle.entity;
+
+import com.magnab.employeelifecycle.enums.ImportFormat;
+import com.magnab.employeelifecycle.enums.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ImportJob entity representing a streaming mass import of employees into workflows.
+ * The uploaded file is kept on disk and read incrementally; progress is checkpointed after every chunk.
+ *
+ * Features:
+ * - UUID primary key for security and distributed systems
+ * - Source file name, format (CSV/NDJSON) and storage location
+ * - Optional default template for rows that do not specify one
+ * - Resume checkpoint (number of data rows fully processed)
+ * - Succeeded/failed row counters and accumulated processing time for throughput reporting
+ * - Status tracking (PENDING, RUNNING, COMPLETED, FAILED)
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
+    private UUID id;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false)
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.NAMED_ENUM)
+    private ImportFormat format;
+
+    @Column(name = "storage_path", nullable = false, length = 1000)
+    private String storagePath;
+
+    @Column(name = "default_template_id")
+    private UUID defaultTemplateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.NAMED_ENUM)
+    private ImportJobStatus status = ImportJobStatus.PENDING;
+
+    @Column(name = "checkpoint_row", nullable = false)
+    private Integer checkpointRow = 0;
+
+    @Column(name = "succeeded_rows", nullable = false)
+    private Integer succeededRows = 0;
+
+    @Column(name = "failed_rows", nullable = false)
+    private Integer failedRows = 0;
+
+    @Column(name = "processing_millis", nullable = false)
+    private Long processingMillis = 0L;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "last_checkpoint_at")
+    private LocalDateTime lastCheckpointAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
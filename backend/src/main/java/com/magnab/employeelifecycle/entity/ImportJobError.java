@@ -0,0 +1,52 @@
+package com.magnab.employeelifecycle.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ImportJobError entity recording why a single row of an import job was rejected.
+ *
+ * Features:
+ * - UUID primary key for security and distributed systems
+ * - References ImportJob (parent job)
+ * - 1-based data row number within the uploaded file
+ * - Employee email (when it could be read) and error message
+ */
+@Entity
+@Table(name = "import_job_errors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
+    private UUID id;
+
+    @Column(name = "import_job_id", nullable = false)
+    private UUID importJobId;
+
+    @Column(name = "row_number", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "employee_email", length = 255)
+    private String employeeEmail;
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,94 @@
+package com.magnab.employeelifecycle.entity;
+
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ScheduledWorkflowInitiation entity representing a workflow initiation requested for a future start time.
+ * Rows are stored durably when HR schedules them and released by the dispatcher once they are due.
+ *
+ * Features:
+ * - UUID primary key for security and distributed systems
+ * - Full initiation request (template, employee details, custom field values as JSONB)
+ * - Start time from which the initiation may be dispatched
+ * - Status tracking (SCHEDULED, DISPATCHING, DISPATCHED, FAILED, CANCELLED)
+ * - Resulting workflow instance or error once dispatched
+ */
+@Entity
+@Table(name = "scheduled_workflow_initiations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledWorkflowInitiation {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
+    private UUID id;
+
+    @Column(name = "template_id", nullable = false)
+    private UUID templateId;
+
+    @Column(name = "employee_name", nullable = false, length = 255)
+    private String employeeName;
+
+    @Column(name = "employee_email", nullable = false, length = 255)
+    private String employeeEmail;
+
+    @Column(name = "employee_role", nullable = false, length = 255)
+    private String employeeRole;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "custom_field_values", columnDefinition = "jsonb")
+    private Map<String, Object> customFieldValues;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    private ScheduledInitiationStatus status = ScheduledInitiationStatus.SCHEDULED;
+
+    @Column(name = "workflow_instance_id")
+    private UUID workflowInstanceId;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "scheduled_by", nullable = false)
+    private UUID scheduledBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -23,10 +23,15 @@ import java.util.UUID;
  * - References WorkflowInstance (parent workflow)
  * - References TemplateTask (template definition)
  * - User assignment with role-based routing
+ * - Time the task entered its role's claim pool (pull-mode tasks only)
+ * - Time the task entered its role's overflow queue (ready while every user of the role was at their WIP limit)
+ * - Time the assignee first acted on the task (claimed it or changed its status); unstarted tasks may be rebalanced
  * - Status tracking (NOT_STARTED, IN_PROGRESS, BLOCKED, COMPLETED)
  * - Conditional visibility support (is_visible flag)
+ * - Count of unfinished visible prerequisites; the task is ready to assign when it reaches zero
  * - Due date tracking for SLA management
  * - Checklist data stored as JSONB for partial saves
+ * - Version for optimistic locking of status changes
  * - Complete audit trail with completion tracking
  */
 @Entity
@@ -38,7 +43,7 @@ public class TaskInstance {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
     private UUID id;
 
     @Column(name = "workflow_instance_id", nullable = false)
@@ -69,6 +74,18 @@ public class TaskInstance {
     @Column(name = "is_visible", nullable = false)
     private Boolean isVisible = true;
 
+    @Column(name = "pending_dependencies", nullable = false)
+    private Integer pendingDependencies = 0;
+
+    @Column(name = "pooled_at")
+    private LocalDateTime pooledAt;
+
+    @Column(name = "overflowed_at")
+    private LocalDateTime overflowedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
@@ -88,6 +105,10 @@ public class TaskInstance {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
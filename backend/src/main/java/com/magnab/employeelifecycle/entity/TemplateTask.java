@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.entity;
 
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -17,8 +20,12 @@ import java.util.UUID;
  * Features:
  * - UUID primary key for security and distributed systems
  * - Many-to-one relationship with WorkflowTemplate
- * - Self-referential relationship for task dependencies
+ * - Template version the task belongs to; retired tasks are immutable and kept for existing workflows
+ * - Self-referential relationships for task dependencies: depends_on_task_id plus any number of
+ *   additional prerequisites (template_task_dependencies); a task waits for all of them
  * - Sequence order for task execution ordering
+ * - Assignment mode: pushed to a user by the engine, or pooled for the role's users to claim
+ * - Optional hidden_when rule evaluated against the workflow's custom field values
  * - Complete audit trail (created_at, created_by, updated_at, updated_by)
  */
 @Entity
@@ -30,7 +37,7 @@ public class TemplateTask {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
     private UUID id;
 
     @Column(name = "template_id", nullable = false, insertable = false, updatable = false)
@@ -40,6 +47,12 @@ public class TemplateTask {
     @JoinColumn(name = "template_id", nullable = false)
     private WorkflowTemplate template;
 
+    @Column(name = "template_version", nullable = false, updatable = false)
+    private Integer templateVersion = 1;
+
+    @Column(name = "retired", nullable = false)
+    private Boolean retired = false;
+
     @Column(name = "task_name", nullable = false, length = 100)
     private String taskName;
 
@@ -54,13 +67,29 @@ public class TemplateTask {
     @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.NAMED_ENUM)
     private UserRole assignedRole = UserRole.HR_ADMIN;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "assignment_mode", nullable = false)
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.NAMED_ENUM)
+    private TaskAssignmentMode assignmentMode = TaskAssignmentMode.PUSH;
+
     @Column(name = "is_parallel", nullable = false)
     private Boolean isParallel = false;
 
+    @Column(name = "hidden_when", columnDefinition = "TEXT")
+    private String hiddenWhen;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "depends_on_task_id")
     private TemplateTask dependsOnTask;
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "template_task_dependencies",
+            joinColumns = @JoinColumn(name = "task_id"),
+            inverseJoinColumns = @JoinColumn(name = "depends_on_task_id")
+    )
+    private List<TemplateTask> additionalDependencies = new ArrayList<>();
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
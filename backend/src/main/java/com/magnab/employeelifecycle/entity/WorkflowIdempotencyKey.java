@@ -0,0 +1,66 @@
+package com.magnab.employeelifecycle.entity;
+
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationResponse;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * WorkflowIdempotencyKey entity recording the outcome of a workflow initiation made with an Idempotency-Key header.
+ * A row is claimed (response null) before the workflow is created and completed with the response afterwards,
+ * so retries of the same request replay the stored response instead of creating a duplicate workflow.
+ *
+ * Features:
+ * - UUID primary key for security and distributed systems
+ * - Keys are scoped per user (unique user_id + idempotency_key)
+ * - SHA-256 hash of the request body to reject key reuse with a different payload
+ * - Stored WorkflowInitiationResponse as JSONB for replay
+ * - Completed flag; false while the response is the one as of creation because a later step failed
+ * - Expiry timestamp for TTL eviction
+ */
+@Entity
+@Table(name = "workflow_idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowIdempotencyKey {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
+    private UUID id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "response", columnDefinition = "jsonb")
+    private WorkflowInitiationResponse response;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -20,11 +20,16 @@ import java.util.UUID;
  *
  * Features:
  * - UUID primary key for security and distributed systems
- * - References WorkflowTemplate (which template was used)
+ * - References WorkflowTemplate and the template version it was created from
  * - Employee information (name, email, role)
  * - Workflow type (ONBOARDING/OFFBOARDING)
  * - Status tracking (INITIATED, IN_PROGRESS, BLOCKED, COMPLETED)
  * - Custom field values stored as JSONB for flexibility
+ * - Task counts per status, kept current by atomic increments in the transaction of each task transition
+ *   (never written by entity updates, so a stale copy cannot overwrite them)
+ * - Stage cursor (sequence order of the open stage) and the visible tasks of that stage not yet completed, for
+ *   workflows created with stage gating; null cursor when the workflow is not gated
+ * - Version for optimistic locking; changes of the workflow (status, stage cursor, routed tasks) increment it
  * - Complete audit trail with initiation and completion timestamps
  */
 @Entity
@@ -36,12 +41,15 @@ public class WorkflowInstance {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
     private UUID id;
 
     @Column(name = "template_id", nullable = false)
     private UUID templateId;
 
+    @Column(name = "template_version", nullable = false, updatable = false)
+    private Integer templateVersion = 1;
+
     @Column(name = "employee_name", nullable = false, length = 255)
     private String employeeName;
 
@@ -74,12 +82,34 @@ public class WorkflowInstance {
     @Column(name = "custom_field_values", columnDefinition = "jsonb")
     private Map<String, Object> customFieldValues;
 
+    @Column(name = "tasks_not_started", nullable = false, updatable = false)
+    private Integer tasksNotStarted = 0;
+
+    @Column(name = "tasks_in_progress", nullable = false, updatable = false)
+    private Integer tasksInProgress = 0;
+
+    @Column(name = "tasks_blocked", nullable = false, updatable = false)
+    private Integer tasksBlocked = 0;
+
+    @Column(name = "tasks_completed", nullable = false, updatable = false)
+    private Integer tasksCompleted = 0;
+
+    @Column(name = "current_stage")
+    private Integer currentStage;
+
+    @Column(name = "stage_tasks_remaining", nullable = false)
+    private Integer stageTasksRemaining = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
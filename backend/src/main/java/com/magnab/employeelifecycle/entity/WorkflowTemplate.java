@@ -1,5 +1,6 @@
 package com.magnab.employeelifecycle.entity;
 
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
 import com.magnab.employeelifecycle.enums.WorkflowType;
 import jakarta.persistence.*;
@@ -7,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,7 +23,9 @@ import java.util.UUID;
  * - UUID primary key for security and distributed systems
  * - Workflow type enum (ONBOARDING, OFFBOARDING)
  * - Default workflow status for new workflow instances
- * - One-to-many relationship with TemplateTask
+ * - One-to-many relationship with the TemplateTasks of the current version
+ * - Version number bumped on every update; tasks of earlier versions are retired, never deleted
+ * - Optional task assignment strategy; null uses the strategy configured for each task's role
  * - Complete audit trail (created_at, created_by, updated_at, updated_by)
  */
 @Entity
@@ -33,7 +37,7 @@ public class WorkflowTemplate {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator")
     private UUID id;
 
     @Column(name = "template_name", nullable = false, unique = true, length = 100)
@@ -55,7 +59,17 @@ public class WorkflowTemplate {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
-    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Column(name = "version", nullable = false)
+    private Integer version = 1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "assignment_strategy")
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.NAMED_ENUM)
+    private AssignmentStrategyType assignmentStrategy;
+
+    // Retired tasks stay in the table (workflow instances reference them) but are not part of the template
+    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @SQLRestriction("retired = false")
     private List<TemplateTask> tasks = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
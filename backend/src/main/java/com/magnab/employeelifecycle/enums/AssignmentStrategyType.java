@@ -0,0 +1,17 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * Strategy used to pick the user a ready task is assigned to among the active users of its role.
+ *
+ * Strategies:
+ * - LEAST_LOADED: User with the fewest IN_PROGRESS tasks (exact, scans the role's users in load order)
+ * - WEIGHTED_ROUND_ROBIN: Users take turns in proportion to their configured weight, regardless of load
+ * - POWER_OF_TWO_CHOICES: Less loaded of two randomly chosen users (constant time, near-even balance)
+ * - STICKY_PER_EMPLOYEE: Same user for all tasks of one employee, as long as that user stays eligible
+ */
+public enum AssignmentStrategyType {
+    LEAST_LOADED,
+    WEIGHTED_ROUND_ROBIN,
+    POWER_OF_TWO_CHOICES,
+    STICKY_PER_EMPLOYEE
+}
@@ -0,0 +1,13 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * File format of a workflow mass-import upload.
+ *
+ * Formats:
+ * - CSV: Header row followed by one employee per line
+ * - NDJSON: One JSON initiation request per line
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
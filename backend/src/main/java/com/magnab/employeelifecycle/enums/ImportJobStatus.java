@@ -0,0 +1,17 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * Import job status enumeration for tracking mass-import progress.
+ *
+ * States:
+ * - PENDING: File stored, processing not started yet
+ * - RUNNING: Rows are being read and workflows created
+ * - COMPLETED: Every row was processed (rows may still have individual errors)
+ * - FAILED: Processing stopped; the job can be resumed from its checkpoint
+ */
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
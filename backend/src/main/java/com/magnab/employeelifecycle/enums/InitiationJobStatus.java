@@ -0,0 +1,17 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * Asynchronous workflow initiation job status enumeration.
+ *
+ * States:
+ * - QUEUED: Accepted and waiting for a pipeline worker
+ * - RUNNING: A worker is creating the workflow and assigning its tasks
+ * - COMPLETED: Workflow created; the result holds the initiation response
+ * - FAILED: Initiation failed; the error holds the reason
+ */
+public enum InitiationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
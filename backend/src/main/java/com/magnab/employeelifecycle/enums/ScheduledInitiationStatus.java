@@ -0,0 +1,19 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * Status of a scheduled (future-dated) workflow initiation.
+ *
+ * States:
+ * - SCHEDULED: Waiting for its start time
+ * - DISPATCHING: Claimed by the dispatcher; the workflow is being created
+ * - DISPATCHED: Workflow created (see workflow_instance_id)
+ * - FAILED: Workflow could not be created (see error_message)
+ * - CANCELLED: Cancelled before it was dispatched
+ */
+public enum ScheduledInitiationStatus {
+    SCHEDULED,
+    DISPATCHING,
+    DISPATCHED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,13 @@
+package com.magnab.employeelifecycle.enums;
+
+/**
+ * How a ready task reaches a user of its role.
+ *
+ * Modes:
+ * - PUSH: Assigned by the workflow engine using the configured assignment strategy
+ * - PULL: Placed in its role's pool; users of the role claim the oldest pooled task themselves
+ */
+public enum TaskAssignmentMode {
+    PUSH,
+    PULL
+}
@@ -0,0 +1,17 @@
+package com.magnab.employeelifecycle.exception;
+
+/**
+ * Thrown when a bounded work queue is full and the request should be retried later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
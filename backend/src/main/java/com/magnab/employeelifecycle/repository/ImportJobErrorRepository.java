@@ -0,0 +1,23 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.ImportJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ImportJobError entity.
+ * Provides access to per-row import errors.
+ */
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, UUID> {
+
+    /**
+     * Find errors for an import job ordered by row number.
+     * Leverages index (import_job_id, row_number); the pageable limits how many errors are returned.
+     */
+    List<ImportJobError> findByImportJobIdOrderByRowNumber(UUID importJobId, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.ImportJob;
+import com.magnab.employeelifecycle.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ImportJob entity.
+ * Provides CRUD operations and status lookups for mass-import jobs.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    /**
+     * Find import jobs with a specific status.
+     * Used at startup to mark jobs interrupted by a restart as resumable.
+     */
+    List<ImportJob> findByStatus(ImportJobStatus status);
+}
@@ -0,0 +1,48 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.ScheduledWorkflowInitiation;
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ScheduledWorkflowInitiation entity.
+ * Provides CRUD operations and the dispatcher's due-row claim query.
+ */
+@Repository
+public interface ScheduledWorkflowInitiationRepository extends JpaRepository<ScheduledWorkflowInitiation, UUID> {
+
+    /**
+     * Locks up to {@code limit} due initiations, oldest start time first.
+     * SKIP LOCKED lets several application instances dispatch concurrently without claiming the same rows.
+     * Must be called inside a transaction; the caller marks the rows DISPATCHING before committing.
+     */
+    @Query(value = "SELECT * FROM scheduled_workflow_initiations "
+            + "WHERE status = 'SCHEDULED' AND start_at <= :now "
+            + "ORDER BY start_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ScheduledWorkflowInitiation> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Find initiations claimed before the given time that are still in the given status.
+     * Used to detect dispatches interrupted by a crash or restart.
+     */
+    List<ScheduledWorkflowInitiation> findByStatusAndClaimedAtBefore(ScheduledInitiationStatus status, LocalDateTime claimedBefore);
+
+    /**
+     * Find initiations with a specific status, ordered by the pageable's sort.
+     */
+    Page<ScheduledWorkflowInitiation> findByStatus(ScheduledInitiationStatus status, Pageable pageable);
+
+    /**
+     * Count initiations with a specific status (e.g. the scheduled backlog).
+     */
+    long countByStatus(ScheduledInitiationStatus status);
+}
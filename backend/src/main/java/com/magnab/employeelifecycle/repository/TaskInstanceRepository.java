@@ -2,10 +2,17 @@ package com.magnab.employeelifecycle.repository;
 
 import com.magnab.employeelifecycle.entity.TaskInstance;
 import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -58,12 +65,161 @@ public interface TaskInstanceRepository extends JpaRepository<TaskInstance, UUID
      */
     Long countByAssignedUserIdAndStatus(UUID assignedUserId, TaskStatus status);
 
+    /**
+     * Number of tasks in a given status per active user, including users with none.
+     * Used to seed and reconcile the in-memory workload index with a single aggregate query.
+     */
+    @Query("SELECT u.id AS userId, u.role AS role, COUNT(t.id) AS taskCount FROM User u " +
+           "LEFT JOIN TaskInstance t ON t.assignedUserId = u.id AND t.status = :status " +
+           "WHERE u.isActive = true GROUP BY u.id, u.role")
+    List<UserTaskCount> countTasksPerActiveUser(@Param("status") TaskStatus status);
+
+    /**
+     * Projection for {@link #countTasksPerActiveUser(TaskStatus)}.
+     */
+    interface UserTaskCount {
+        UUID getUserId();
+
+        UserRole getRole();
+
+        Long getTaskCount();
+    }
+
+    /**
+     * Number of IN_PROGRESS tasks per active user, and how many of them the user has not started yet.
+     * Used by the workload rebalancer to plan moves for all roles with a single aggregate query.
+     */
+    @Query("SELECT u.id AS userId, u.role AS role, COUNT(t.id) AS taskCount, " +
+           "SUM(CASE WHEN t.id IS NOT NULL AND t.startedAt IS NULL THEN 1 ELSE 0 END) AS unstartedCount " +
+           "FROM User u LEFT JOIN TaskInstance t ON t.assignedUserId = u.id " +
+           "AND t.status = com.magnab.employeelifecycle.enums.TaskStatus.IN_PROGRESS " +
+           "WHERE u.isActive = true GROUP BY u.id, u.role")
+    List<UserWorkload> countWorkloadPerActiveUser();
+
+    /**
+     * Projection for {@link #countWorkloadPerActiveUser()}.
+     */
+    interface UserWorkload extends UserTaskCount {
+        Long getUnstartedCount();
+    }
+
     /**
      * Find all tasks for a workflow instance ordered by sequence.
      * Used for dependency checking during task assignment - ensures tasks are processed in correct order.
      */
     List<TaskInstance> findByWorkflowInstanceIdOrderBySequenceOrder(UUID workflowInstanceId);
 
+    /**
+     * Find the instances of the given template tasks in one workflow.
+     * Used to release the direct dependents of a completed task without loading the rest of the workflow.
+     */
+    List<TaskInstance> findByWorkflowInstanceIdAndTemplateTaskIdIn(UUID workflowInstanceId, Collection<UUID> templateTaskIds);
+
+    /**
+     * Find the tasks of one stage (sequence order) in one workflow.
+     * Used to open the next stage of a stage-gated workflow without loading the rest of the workflow.
+     */
+    List<TaskInstance> findByWorkflowInstanceIdAndSequenceOrder(UUID workflowInstanceId, Integer sequenceOrder);
+
+    /**
+     * Locks the oldest unclaimed task in a role's pool.
+     * SKIP LOCKED lets many users claim concurrently: each caller gets a different task instead of waiting for
+     * the row another caller is claiming. Must be called inside a transaction; the caller assigns the task
+     * before committing.
+     *
+     * @param role Name of the role whose pool to claim from
+     */
+    @Query(value = "SELECT * FROM task_instances "
+            + "WHERE assigned_role = CAST(:role AS user_role) AND pooled_at IS NOT NULL AND assigned_user_id IS NULL "
+            + "ORDER BY pooled_at, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<TaskInstance> lockNextPooledTask(@Param("role") String role);
+
+    /**
+     * Locks up to {@code limit} tasks waiting in a role's overflow queue, oldest first.
+     * SKIP LOCKED lets concurrent task completions drain the queue without taking the same task.
+     * Must be called inside a transaction; the caller assigns the tasks it can before committing.
+     *
+     * @param role Name of the role whose queue to drain
+     */
+    @Query(value = "SELECT * FROM task_instances "
+            + "WHERE assigned_role = CAST(:role AS user_role) AND overflowed_at IS NOT NULL AND assigned_user_id IS NULL "
+            + "ORDER BY overflowed_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskInstance> lockOverflowTasks(@Param("role") String role, @Param("limit") int limit);
+
+    /**
+     * Count a user's tasks in any of the given statuses.
+     * Used to plan bulk reassignment without loading the tasks.
+     */
+    long countByAssignedUserIdAndStatusIn(UUID assignedUserId, Collection<TaskStatus> statuses);
+
+    /**
+     * Moves up to {@code limit} of a user's tasks in one status to another user, earliest due date first.
+     * Runs as a single statement without loading the tasks; rows locked by concurrent updates are skipped and
+     * stay with the original user. Moved tasks get a new version, so a status update that read one of them
+     * before the move fails its version check and is retried against the new assignee.
+     *
+     * @param status Name of the task status to move
+     * @return number of tasks moved
+     */
+    @Modifying
+    @Query(value = "UPDATE task_instances SET assigned_user_id = :toUserId, started_at = NULL, updated_at = :now, "
+            + "version = version + 1 "
+            + "WHERE id IN (SELECT id FROM task_instances "
+            + "WHERE assigned_user_id = :fromUserId AND status = CAST(:status AS task_status) "
+            + "ORDER BY due_date NULLS LAST, id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int reassignTasks(@Param("fromUserId") UUID fromUserId, @Param("toUserId") UUID toUserId,
+                      @Param("status") String status, @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves up to {@code limit} IN_PROGRESS tasks the user has not started yet to another user, latest due date
+     * first (the tasks the user would have reached last). Runs as a single statement; rows locked by concurrent
+     * updates are skipped.
+     *
+     * @return number of tasks moved
+     */
+    @Modifying
+    @Query(value = "UPDATE task_instances SET assigned_user_id = :toUserId, updated_at = :now, version = version + 1 "
+            + "WHERE id IN (SELECT id FROM task_instances "
+            + "WHERE assigned_user_id = :fromUserId AND status = 'IN_PROGRESS' AND started_at IS NULL "
+            + "ORDER BY due_date DESC NULLS FIRST, id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int moveUnstartedTasks(@Param("fromUserId") UUID fromUserId, @Param("toUserId") UUID toUserId,
+                           @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    /**
+     * Takes a user's tasks in one status away from them and requeues them as NOT_STARTED tasks: tasks the user
+     * claimed from a pool (pooled_at set) go to the back of their role's pool, all others to the back of their
+     * role's overflow queue, so a task is never in both. Used when a deactivated user's tasks cannot be given
+     * to anyone else. The task counters of the affected workflows are adjusted in the same statement.
+     * <p>
+     * Not {@code @Modifying} on purpose: the statement is a data-modifying CTE that ends in a SELECT of the
+     * requeued count, and executeUpdate rejects a statement that returns rows. Task entities already loaded in
+     * the persistence context are not refreshed.
+     *
+     * @param status Name of the task status to requeue
+     * @return number of tasks requeued
+     */
+    @Query(value = "WITH requeued AS ("
+            + "UPDATE task_instances SET assigned_user_id = NULL, status = 'NOT_STARTED', due_date = NULL, "
+            + "started_at = NULL, pooled_at = CASE WHEN pooled_at IS NOT NULL THEN :now END, "
+            + "overflowed_at = CASE WHEN pooled_at IS NULL THEN :now END, updated_at = :now, version = version + 1 "
+            + "WHERE assigned_user_id = :userId AND status = CAST(:status AS task_status) "
+            + "RETURNING workflow_instance_id), "
+            + "per_workflow AS (SELECT workflow_instance_id, COUNT(*) AS tasks FROM requeued GROUP BY workflow_instance_id), "
+            + "counted AS (UPDATE workflow_instances w SET "
+            + "tasks_not_started = w.tasks_not_started + p.tasks, "
+            + "tasks_in_progress = w.tasks_in_progress - CASE WHEN :status = 'IN_PROGRESS' THEN p.tasks ELSE 0 END, "
+            + "tasks_blocked = w.tasks_blocked - CASE WHEN :status = 'BLOCKED' THEN p.tasks ELSE 0 END "
+            + "FROM per_workflow p WHERE w.id = p.workflow_instance_id) "
+            + "SELECT COALESCE(SUM(tasks), 0) FROM per_workflow", nativeQuery = true)
+    long requeueTasks(@Param("userId") UUID userId, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    /**
+     * Find the workflow instance a task belongs to, without loading the task.
+     * Used to route a task's status update to its workflow's mailbox.
+     */
+    @Query("SELECT t.workflowInstanceId FROM TaskInstance t WHERE t.id = :id")
+    Optional<UUID> findWorkflowInstanceIdById(@Param("id") UUID id);
+
     /**
      * Count tasks in a workflow with a specific status.
      * Used for workflow state summary - calculates task counts by status.
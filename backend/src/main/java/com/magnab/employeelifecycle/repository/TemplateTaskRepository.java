@@ -1,7 +1,10 @@
 package com.magnab.employeelifecycle.repository;
 
 import com.magnab.employeelifecycle.entity.TemplateTask;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +15,15 @@ public interface TemplateTaskRepository extends JpaRepository<TemplateTask, UUID
 
     List<TemplateTask> findByTemplateId(UUID templateId);
 
-    List<TemplateTask> findByTemplateIdOrderBySequenceOrder(UUID templateId);
+    /**
+     * Tasks of the template's current version, ordered by sequence. Retired tasks of earlier versions are excluded.
+     */
+    @Query("SELECT t FROM TemplateTask t WHERE t.templateId = :templateId AND t.retired = false ORDER BY t.sequenceOrder")
+    List<TemplateTask> findByTemplateIdOrderBySequenceOrder(@Param("templateId") UUID templateId);
+
+    /**
+     * Tasks of one template version, ordered by sequence, with their additional dependencies fetched in the same query.
+     */
+    @EntityGraph(attributePaths = "additionalDependencies")
+    List<TemplateTask> findByTemplateIdAndTemplateVersionOrderBySequenceOrder(UUID templateId, Integer templateVersion);
 }
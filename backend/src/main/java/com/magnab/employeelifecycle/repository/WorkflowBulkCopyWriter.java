@@ -0,0 +1,282 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator;
+import com.magnab.employeelifecycle.entity.WorkflowStateHistory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk writer for task instances and workflow state history using PostgreSQL binary COPY.
+ *
+ * Used instead of saveAll when a write exceeds the configured row threshold. Rows are streamed to the
+ * server on the connection of the current Spring transaction, so they commit or roll back together with
+ * the surrounding JPA work. Pending Hibernate inserts are flushed first so foreign keys to
+ * workflow_instances resolve.
+ *
+ * Features:
+ * - Opt-in via workflow.bulk-copy.enabled, applied only at or above workflow.bulk-copy.threshold rows
+ * - Assigns ids and timestamps exactly as the JPA path does (UUID generator, @PrePersist)
+ * - Same NOT NULL, enum and foreign key checks as the JPA path (enforced by the database)
+ * - SQL errors translated to Spring DataAccessException, as with repository saves
+ * - Written entities are not attached to the persistence context; re-read them through repositories
+ */
+@Repository
+@Slf4j
+public class WorkflowBulkCopyWriter {
+
+    private static final String COPY_TASK_INSTANCES = "COPY task_instances (id, workflow_instance_id, "
+            + "template_task_id, task_name, sequence_order, assigned_user_id, assigned_role, status, is_visible, "
+            + "pending_dependencies, due_date, completed_at, completed_by, checklist_data, created_at, updated_at) "
+            + "FROM STDIN (FORMAT BINARY)";
+
+    private static final String COPY_STATE_HISTORY = "COPY workflow_state_history (id, workflow_instance_id, "
+            + "previous_status, new_status, changed_by, changed_at, notes) FROM STDIN (FORMAT BINARY)";
+
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int JSONB_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int threshold;
+
+    public WorkflowBulkCopyWriter(
+            DataSource dataSource,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${workflow.bulk-copy.enabled:false}") boolean enabled,
+            @Value("${workflow.bulk-copy.threshold:500}") int threshold
+    ) {
+        this.dataSource = dataSource;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Whether a write of the given number of rows should go through COPY rather than saveAll.
+     */
+    public boolean shouldUse(int rowCount) {
+        return enabled && rowCount >= threshold;
+    }
+
+    /**
+     * Inserts task instances with binary COPY, assigning ids and audit timestamps in place.
+     *
+     * @param taskInstances New (unsaved) task instances
+     * @return The same list, with ids and timestamps populated
+     */
+    public List<TaskInstance> copyTaskInstances(List<TaskInstance> taskInstances) {
+        LocalDateTime now = LocalDateTime.now();
+        for (TaskInstance task : taskInstances) {
+            task.setId(TimeOrderedUuidGenerator.nextId());
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+        }
+
+        copy(COPY_TASK_INSTANCES, taskInstances.size(), out -> {
+            for (TaskInstance task : taskInstances) {
+                out.writeShort(16);
+                writeUuid(out, task.getId());
+                writeUuid(out, task.getWorkflowInstanceId());
+                writeUuid(out, task.getTemplateTaskId());
+                writeText(out, task.getTaskName());
+                writeInteger(out, task.getSequenceOrder());
+                writeUuid(out, task.getAssignedUserId());
+                writeText(out, task.getAssignedRole() != null ? task.getAssignedRole().name() : null);
+                writeText(out, task.getStatus() != null ? task.getStatus().name() : null);
+                writeBoolean(out, task.getIsVisible());
+                writeInteger(out, task.getPendingDependencies());
+                writeTimestamp(out, task.getDueDate());
+                writeTimestamp(out, task.getCompletedAt());
+                writeUuid(out, task.getCompletedBy());
+                writeJsonb(out, task.getChecklistData());
+                writeTimestamp(out, task.getCreatedAt());
+                writeTimestamp(out, task.getUpdatedAt());
+            }
+        });
+        return taskInstances;
+    }
+
+    /**
+     * Inserts workflow state history rows with binary COPY, assigning ids in place.
+     *
+     * @param histories New (unsaved) history rows
+     * @return The same list, with ids and changedAt populated
+     */
+    public List<WorkflowStateHistory> copyStateHistory(List<WorkflowStateHistory> histories) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WorkflowStateHistory history : histories) {
+            history.setId(TimeOrderedUuidGenerator.nextId());
+            if (history.getChangedAt() == null) {
+                history.setChangedAt(now);
+            }
+        }
+
+        copy(COPY_STATE_HISTORY, histories.size(), out -> {
+            for (WorkflowStateHistory history : histories) {
+                out.writeShort(7);
+                writeUuid(out, history.getId());
+                writeUuid(out, history.getWorkflowInstanceId());
+                writeText(out, history.getPreviousStatus() != null ? history.getPreviousStatus().name() : null);
+                writeText(out, history.getNewStatus() != null ? history.getNewStatus().name() : null);
+                writeUuid(out, history.getChangedBy());
+                writeTimestamp(out, history.getChangedAt());
+                writeText(out, history.getNotes());
+            }
+        });
+        return histories;
+    }
+
+    private void copy(String sql, int rowCount, RowWriter rowWriter) {
+        if (rowCount == 0) {
+            return;
+        }
+        // Parent rows may still be queued in Hibernate's action queue
+        entityManager.flush();
+
+        long startedAt = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(pgConnection, sql, BUFFER_SIZE);
+            try {
+                DataOutputStream out = new DataOutputStream(copyStream);
+                out.write(BINARY_SIGNATURE);
+                out.writeInt(0); // flags
+                out.writeInt(0); // header extension length
+                rowWriter.write(out);
+                out.writeShort(-1); // trailer
+                out.flush();
+                copyStream.endCopy();
+            } finally {
+                // Never leave a half-written COPY open on the transaction's connection
+                if (copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+            }
+            log.debug("Copied {} rows in {} ms: {}", rowCount,
+                    (System.nanoTime() - startedAt) / 1_000_000, sql.substring(0, sql.indexOf(" (")));
+        } catch (SQLException e) {
+            throw translate(sql, e);
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw translate(sql, sqlException);
+            }
+            throw new IllegalStateException("Bulk copy failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private DataAccessException translate(String sql, SQLException e) {
+        DataAccessException translated = new SQLStateSQLExceptionTranslator().translate("COPY", sql, e);
+        return translated != null ? translated
+                : new UncategorizedSQLException("COPY", sql, e);
+    }
+
+    private static void writeNull(DataOutputStream out) throws IOException {
+        out.writeInt(-1);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.writeInt(16);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes text, varchar and enum columns (the binary form of an enum is its label).
+     */
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.writeInt(4);
+        out.writeInt(value);
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.writeInt(1);
+        out.writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a TIMESTAMP (without time zone) as microseconds since 2000-01-01.
+     */
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+    }
+
+    private void writeJsonb(DataOutputStream out, Map<String, Object> value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Checklist data is not serializable: " + e.getMessage(), e);
+        }
+        out.writeInt(json.length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(json);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,36 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.WorkflowIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for WorkflowIdempotencyKey entity.
+ * Provides key lookup and TTL eviction for idempotent workflow initiation.
+ */
+@Repository
+public interface WorkflowIdempotencyKeyRepository extends JpaRepository<WorkflowIdempotencyKey, UUID> {
+
+    /**
+     * Find the record for a user's Idempotency-Key.
+     */
+    Optional<WorkflowIdempotencyKey> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Delete all records that expired before the given time.
+     *
+     * @return number of deleted records
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM WorkflowIdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,13 +2,17 @@ package com.magnab.employeelifecycle.repository;
 
 import com.magnab.employeelifecycle.entity.WorkflowInstance;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -89,4 +93,105 @@ public interface WorkflowInstanceRepository extends JpaRepository<WorkflowInstan
         @Param("employeeNameSearch") String employeeNameSearch,
         Pageable pageable
     );
+
+    /**
+     * Loads a workflow instance for a transition of the workflow or one of its tasks and locks its row until the
+     * end of the current transaction. Concurrent transitions of the same workflow wait for each other and then
+     * read the committed state, so they never fail on the workflow's version. The version is only incremented
+     * when the transition changes the workflow itself (status, stage cursor, routed tasks). Transitions in
+     * different workflows never wait for each other. Must be called inside a transaction.
+     *
+     * @param id The workflow instance ID
+     * @return The workflow instance if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WorkflowInstance w WHERE w.id = :id")
+    Optional<WorkflowInstance> findForTransitionById(@Param("id") UUID id);
+
+    /**
+     * Loads and locks several workflow instances for transitions in one query; see findForTransitionById.
+     * Rows are locked in ID order so concurrent callers cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WorkflowInstance w WHERE w.id IN :ids ORDER BY w.id")
+    List<WorkflowInstance> findAllForTransitionByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Locks several workflow instance rows, in ID order so concurrent callers cannot deadlock.
+     * Must be called inside a transaction.
+     */
+    @Query(value = "SELECT id FROM workflow_instances WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Atomically adds to the per-status task counters of a workflow.
+     * Called in the transaction of the task transition it records; concurrent transitions never lose an update.
+     */
+    @Modifying
+    @Query(value = "UPDATE workflow_instances SET "
+            + "tasks_not_started = tasks_not_started + :notStarted, "
+            + "tasks_in_progress = tasks_in_progress + :inProgress, "
+            + "tasks_blocked = tasks_blocked + :blocked, "
+            + "tasks_completed = tasks_completed + :completed "
+            + "WHERE id = :id", nativeQuery = true)
+    int adjustTaskCounts(@Param("id") UUID id, @Param("notStarted") int notStarted, @Param("inProgress") int inProgress,
+                         @Param("blocked") int blocked, @Param("completed") int completed);
+
+    /**
+     * Reads the per-status task counters of a workflow from the database.
+     * Used instead of the entity, whose copy of the counters does not see increments made in this transaction.
+     */
+    @Query("SELECT w.tasksNotStarted AS tasksNotStarted, w.tasksInProgress AS tasksInProgress, " +
+           "w.tasksBlocked AS tasksBlocked, w.tasksCompleted AS tasksCompleted " +
+           "FROM WorkflowInstance w WHERE w.id = :id")
+    Optional<TaskCounts> findTaskCountsById(@Param("id") UUID id);
+
+    /**
+     * Projection for {@link #findTaskCountsById(UUID)}.
+     */
+    interface TaskCounts {
+        Integer getTasksNotStarted();
+
+        Integer getTasksInProgress();
+
+        Integer getTasksBlocked();
+
+        Integer getTasksCompleted();
+    }
+
+    /**
+     * Finds unfinished workflows whose task counters differ from their task rows.
+     * Counts each workflow's tasks through the (workflow_instance_id, status) index.
+     *
+     * @param limit Maximum number of workflows to return
+     */
+    @Query(value = "SELECT w.id FROM workflow_instances w CROSS JOIN LATERAL ("
+            + "SELECT COUNT(*) FILTER (WHERE t.status = 'NOT_STARTED') AS not_started, "
+            + "COUNT(*) FILTER (WHERE t.status = 'IN_PROGRESS') AS in_progress, "
+            + "COUNT(*) FILTER (WHERE t.status = 'BLOCKED') AS blocked, "
+            + "COUNT(*) FILTER (WHERE t.status = 'COMPLETED') AS completed "
+            + "FROM task_instances t WHERE t.workflow_instance_id = w.id) c "
+            + "WHERE w.status <> 'COMPLETED' "
+            + "AND (w.tasks_not_started, w.tasks_in_progress, w.tasks_blocked, w.tasks_completed) "
+            + "IS DISTINCT FROM (c.not_started, c.in_progress, c.blocked, c.completed) "
+            + "LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsWithDriftedTaskCounts(@Param("limit") int limit);
+
+    /**
+     * Recounts the tasks of the given workflows and overwrites their counters.
+     * The caller must hold the workflows' row locks (see {@link #lockAllById(Collection)}), so no transition of
+     * these workflows commits between the recount and the write.
+     *
+     * @return number of workflows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE workflow_instances w SET "
+            + "(tasks_not_started, tasks_in_progress, tasks_blocked, tasks_completed) = ("
+            + "SELECT COUNT(*) FILTER (WHERE t.status = 'NOT_STARTED'), "
+            + "COUNT(*) FILTER (WHERE t.status = 'IN_PROGRESS'), "
+            + "COUNT(*) FILTER (WHERE t.status = 'BLOCKED'), "
+            + "COUNT(*) FILTER (WHERE t.status = 'COMPLETED') "
+            + "FROM task_instances t WHERE t.workflow_instance_id = w.id) "
+            + "WHERE w.id IN (:ids)", nativeQuery = true)
+    int recountTaskCounts(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,277 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.request.ScheduleWorkflowsRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.ScheduledInitiationResponse;
+import com.magnab.employeelifecycle.entity.ScheduledWorkflowInitiation;
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.ScheduledWorkflowInitiationRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Service for scheduled (future-dated) workflow initiation.
+ *
+ * HR schedules initiations ahead of time; they are stored in scheduled_workflow_initiations and released by
+ * a dispatcher once their start time has passed. The dispatcher takes tokens from a token bucket
+ * (workflow.schedule.rate-per-second, burst workflow.schedule.burst) and claims at most that many due rows per
+ * poll, so a Monday-morning wave of start dates becomes a steady stream of batched initiations instead of a spike.
+ * Rows are claimed with FOR UPDATE SKIP LOCKED, so several instances can dispatch without double-creating
+ * workflows; the rate limit applies per instance.
+ */
+@Service
+@Slf4j
+public class ScheduledInitiationService {
+
+    private final ScheduledWorkflowInitiationRepository scheduledInitiationRepository;
+    private final WorkflowBatchService workflowBatchService;
+    private final TemplatePlanCache templatePlanCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenBucket rateLimiter;
+    private final int maxBatch;
+    private final Duration claimTimeout;
+
+    public ScheduledInitiationService(
+            ScheduledWorkflowInitiationRepository scheduledInitiationRepository,
+            WorkflowBatchService workflowBatchService,
+            TemplatePlanCache templatePlanCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${workflow.schedule.rate-per-second:5}") double ratePerSecond,
+            @Value("${workflow.schedule.burst:20}") int burst,
+            @Value("${workflow.schedule.max-batch:100}") int maxBatch,
+            @Value("${workflow.schedule.claim-timeout:PT10M}") Duration claimTimeout
+    ) {
+        this.scheduledInitiationRepository = scheduledInitiationRepository;
+        this.workflowBatchService = workflowBatchService;
+        this.templatePlanCache = templatePlanCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new TokenBucket(ratePerSecond, burst);
+        this.maxBatch = maxBatch;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Stores workflow initiations to be dispatched at a future start time.
+     * Templates are checked now so obviously invalid schedules are rejected up front.
+     *
+     * @param request Start time and the workflows to initiate then
+     * @param scheduledBy The user scheduling the workflows; the workflows are initiated on their behalf
+     * @return One ScheduledInitiationResponse per workflow, in request order
+     * @throws ResourceNotFoundException if a template does not exist
+     * @throws ValidationException if a template is inactive
+     */
+    @Transactional
+    public List<ScheduledInitiationResponse> schedule(ScheduleWorkflowsRequest request, UUID scheduledBy) {
+        Set<UUID> templateIds = new LinkedHashSet<>();
+        request.getWorkflows().forEach(workflow -> templateIds.add(workflow.getTemplateId()));
+        for (UUID templateId : templateIds) {
+            if (!templatePlanCache.getPlan(templateId).isActive()) {
+                throw new ValidationException("Cannot instantiate inactive workflow template: " + templateId);
+            }
+        }
+
+        List<ScheduledWorkflowInitiation> initiations = new ArrayList<>(request.getWorkflows().size());
+        for (InitiateWorkflowRequest workflow : request.getWorkflows()) {
+            ScheduledWorkflowInitiation initiation = new ScheduledWorkflowInitiation();
+            initiation.setTemplateId(workflow.getTemplateId());
+            initiation.setEmployeeName(workflow.getEmployeeName());
+            initiation.setEmployeeEmail(workflow.getEmployeeEmail());
+            initiation.setEmployeeRole(workflow.getEmployeeRole());
+            initiation.setCustomFieldValues(workflow.getCustomFieldValues());
+            initiation.setStartAt(request.getStartAt());
+            initiation.setStatus(ScheduledInitiationStatus.SCHEDULED);
+            initiation.setScheduledBy(scheduledBy);
+            initiations.add(initiation);
+        }
+        initiations = scheduledInitiationRepository.saveAll(initiations);
+
+        log.info("Scheduled {} workflow initiations for {} by user: {}",
+                initiations.size(), request.getStartAt(), scheduledBy);
+        return initiations.stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * Returns a scheduled initiation.
+     *
+     * @throws ResourceNotFoundException if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public ScheduledInitiationResponse getScheduledInitiation(UUID id) {
+        return toResponse(findById(id));
+    }
+
+    /**
+     * Lists scheduled initiations in a given status, earliest start time first.
+     */
+    @Transactional(readOnly = true)
+    public Page<ScheduledInitiationResponse> getScheduledInitiations(ScheduledInitiationStatus status, int page, int size) {
+        return scheduledInitiationRepository
+                .findByStatus(status, PageRequest.of(page, size, Sort.by("startAt").ascending()))
+                .map(this::toResponse);
+    }
+
+    /**
+     * Cancels an initiation that has not been dispatched yet.
+     *
+     * @throws ResourceNotFoundException if it does not exist
+     * @throws ConflictException if it is already being dispatched or finished
+     */
+    @Transactional
+    public ScheduledInitiationResponse cancel(UUID id) {
+        ScheduledWorkflowInitiation initiation = findById(id);
+        if (initiation.getStatus() != ScheduledInitiationStatus.SCHEDULED) {
+            throw new ConflictException("Scheduled initiation " + id + " is " + initiation.getStatus()
+                    + " and can no longer be cancelled");
+        }
+        initiation.setStatus(ScheduledInitiationStatus.CANCELLED);
+        log.info("Cancelled scheduled initiation {} for employee: {}", id, initiation.getEmployeeName());
+        return toResponse(scheduledInitiationRepository.save(initiation));
+    }
+
+    /**
+     * Releases due initiations, as many as the token bucket allows, through the batch initiation path.
+     */
+    @Scheduled(fixedDelayString = "${workflow.schedule.poll-interval:PT1S}")
+    public void dispatchDue() {
+        failInterruptedDispatches();
+
+        int permits = rateLimiter.tryAcquireUpTo(maxBatch);
+        if (permits == 0) {
+            return;
+        }
+
+        List<ScheduledWorkflowInitiation> claimed = claimDue(permits);
+        if (claimed.size() < permits) {
+            rateLimiter.release(permits - claimed.size());
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        dispatch(claimed);
+    }
+
+    private List<ScheduledWorkflowInitiation> claimDue(int limit) {
+        List<ScheduledWorkflowInitiation> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ScheduledWorkflowInitiation> due = scheduledInitiationRepository.lockDue(now, limit);
+            for (ScheduledWorkflowInitiation initiation : due) {
+                initiation.setStatus(ScheduledInitiationStatus.DISPATCHING);
+                initiation.setClaimedAt(now);
+            }
+            return scheduledInitiationRepository.saveAll(due);
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void dispatch(List<ScheduledWorkflowInitiation> claimed) {
+        // Workflows are initiated on behalf of whoever scheduled them
+        Map<UUID, List<ScheduledWorkflowInitiation>> byUser = new LinkedHashMap<>();
+        for (ScheduledWorkflowInitiation initiation : claimed) {
+            byUser.computeIfAbsent(initiation.getScheduledBy(), id -> new ArrayList<>()).add(initiation);
+        }
+
+        int dispatched = 0;
+        for (Map.Entry<UUID, List<ScheduledWorkflowInitiation>> entry : byUser.entrySet()) {
+            List<ScheduledWorkflowInitiation> initiations = entry.getValue();
+            List<InitiateWorkflowRequest> requests = initiations.stream().map(this::toRequest).toList();
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                BatchWorkflowInitiationResponse response =
+                        workflowBatchService.initiateWorkflows(requests, entry.getKey());
+                for (BatchWorkflowInitiationRowResult result : response.getResults()) {
+                    ScheduledWorkflowInitiation initiation = initiations.get(result.getRowIndex());
+                    if (Boolean.TRUE.equals(result.getSuccess())) {
+                        initiation.setStatus(ScheduledInitiationStatus.DISPATCHED);
+                        initiation.setWorkflowInstanceId(result.getWorkflowInstanceId());
+                        dispatched++;
+                    } else {
+                        initiation.setStatus(ScheduledInitiationStatus.FAILED);
+                        initiation.setErrorMessage(result.getError());
+                    }
+                    initiation.setDispatchedAt(now);
+                }
+            } catch (RuntimeException e) {
+                log.error("Dispatching {} scheduled initiations of user {} failed",
+                        initiations.size(), entry.getKey(), e);
+                for (ScheduledWorkflowInitiation initiation : initiations) {
+                    initiation.setStatus(ScheduledInitiationStatus.FAILED);
+                    initiation.setErrorMessage(e.getMessage());
+                    initiation.setDispatchedAt(now);
+                }
+            }
+        }
+        scheduledInitiationRepository.saveAll(claimed);
+
+        log.info("Dispatched {} of {} due scheduled initiations ({} tokens left)",
+                dispatched, claimed.size(), rateLimiter.available());
+    }
+
+    /**
+     * Marks initiations whose dispatch never finished (instance crashed or restarted) as failed.
+     * They are not retried automatically: the workflow may already have been created.
+     */
+    private void failInterruptedDispatches() {
+        List<ScheduledWorkflowInitiation> stale = scheduledInitiationRepository.findByStatusAndClaimedAtBefore(
+                ScheduledInitiationStatus.DISPATCHING, LocalDateTime.now().minus(claimTimeout));
+        if (stale.isEmpty()) {
+            return;
+        }
+        for (ScheduledWorkflowInitiation initiation : stale) {
+            initiation.setStatus(ScheduledInitiationStatus.FAILED);
+            initiation.setErrorMessage("Dispatch was interrupted; check whether the workflow was created before rescheduling");
+            log.warn("Scheduled initiation {} for employee {} was interrupted during dispatch",
+                    initiation.getId(), initiation.getEmployeeName());
+        }
+        scheduledInitiationRepository.saveAll(stale);
+    }
+
+    private ScheduledWorkflowInitiation findById(UUID id) {
+        return scheduledInitiationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Scheduled initiation not found with id: " + id));
+    }
+
+    private InitiateWorkflowRequest toRequest(ScheduledWorkflowInitiation initiation) {
+        InitiateWorkflowRequest request = new InitiateWorkflowRequest();
+        request.setTemplateId(initiation.getTemplateId());
+        request.setEmployeeName(initiation.getEmployeeName());
+        request.setEmployeeEmail(initiation.getEmployeeEmail());
+        request.setEmployeeRole(initiation.getEmployeeRole());
+        request.setCustomFieldValues(initiation.getCustomFieldValues());
+        return request;
+    }
+
+    private ScheduledInitiationResponse toResponse(ScheduledWorkflowInitiation initiation) {
+        ScheduledInitiationResponse response = new ScheduledInitiationResponse();
+        response.setId(initiation.getId());
+        response.setTemplateId(initiation.getTemplateId());
+        response.setEmployeeName(initiation.getEmployeeName());
+        response.setEmployeeEmail(initiation.getEmployeeEmail());
+        response.setStartAt(initiation.getStartAt());
+        response.setStatus(initiation.getStatus());
+        response.setWorkflowInstanceId(initiation.getWorkflowInstanceId());
+        response.setErrorMessage(initiation.getErrorMessage());
+        response.setScheduledBy(initiation.getScheduledBy());
+        response.setDispatchedAt(initiation.getDispatchedAt());
+        response.setCreatedAt(initiation.getCreatedAt());
+        return response;
+    }
+}
@@ -9,11 +9,14 @@ import com.magnab.employeelifecycle.dto.response.TemplateSummaryResponse;
 import com.magnab.employeelifecycle.entity.TemplateTask;
 import com.magnab.employeelifecycle.entity.User;
 import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.TemplateTaskRepository;
 import com.magnab.employeelifecycle.repository.UserRepository;
 import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import com.magnab.employeelifecycle.service.plan.VisibilityRule;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -34,13 +37,16 @@ public class TemplateService {
     private final WorkflowTemplateRepository templateRepository;
     private final TemplateTaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TemplatePlanCache templatePlanCache;
 
     public TemplateService(WorkflowTemplateRepository templateRepository,
                            TemplateTaskRepository taskRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           TemplatePlanCache templatePlanCache) {
         this.templateRepository = templateRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.templatePlanCache = templatePlanCache;
     }
 
     /**
@@ -57,6 +63,7 @@ public class TemplateService {
         template.setTemplateName(request.getName());
         template.setDescription(request.getDescription());
         template.setWorkflowType(request.getType());
+        template.setAssignmentStrategy(request.getAssignmentStrategy());
         template.setIsActive(true);
         template.setCreatedBy(userId);
         template.setUpdatedBy(userId);
@@ -107,7 +114,8 @@ public class TemplateService {
 
     /**
      * Update an existing workflow template.
-     * Replaces the entire template structure (cascade update to tasks).
+     * Replaces the entire task structure by creating a new template version: the current tasks are retired
+     * (kept for workflows created from them) and the new tasks are added under the next version number.
      *
      * @param id      Template ID
      * @param request Request containing updated template and task data
@@ -125,17 +133,24 @@ public class TemplateService {
         template.setTemplateName(request.getName());
         template.setDescription(request.getDescription());
         template.setWorkflowType(request.getType());
+        template.setAssignmentStrategy(request.getAssignmentStrategy());
         template.setIsActive(request.getIsActive());
         template.setUpdatedBy(userId);
         template.setUpdatedAt(LocalDateTime.now());
 
-        // Replace tasks (clear old, add new)
-        // orphanRemoval = true ensures old tasks are deleted
+        // Replace tasks with a new version: retire the current ones, add the new ones
+        // Retired tasks stay in the table because task instances of running workflows reference them
+        for (TemplateTask retiredTask : template.getTasks()) {
+            retiredTask.setRetired(true);
+        }
         template.getTasks().clear();
+        int version = template.getVersion() + 1;
+        template.setVersion(version);
 
         for (CreateTemplateTaskRequest taskRequest : request.getTasks()) {
             TemplateTask task = toTaskEntity(taskRequest);
             task.setTemplate(template);
+            task.setTemplateVersion(version);
             task.setCreatedBy(userId);
             task.setUpdatedBy(userId);
             template.getTasks().add(task);
@@ -146,6 +161,7 @@ public class TemplateService {
         validateTemplate(template);
 
         WorkflowTemplate updated = templateRepository.save(template);
+        templatePlanCache.evict(id);
         return toDetailResponse(updated);
     }
 
@@ -174,6 +190,7 @@ public class TemplateService {
         template.setUpdatedBy(userId);
         template.setUpdatedAt(LocalDateTime.now());
         templateRepository.save(template);
+        templatePlanCache.evict(id);
     }
 
     // === Private Helper Methods ===
@@ -185,6 +202,10 @@ public class TemplateService {
         task.setAssignedRole(request.getAssignedRole());
         task.setSequenceOrder(request.getSequenceOrder());
         task.setIsParallel(request.getIsParallel() != null ? request.getIsParallel() : false);
+        task.setAssignmentMode(request.getAssignmentMode() != null
+                ? request.getAssignmentMode() : TaskAssignmentMode.PUSH);
+        task.setHiddenWhen(request.getHiddenWhen() != null && !request.getHiddenWhen().isBlank()
+                ? request.getHiddenWhen().trim() : null);
 
         // Handle dependency - will be null for new templates, actual UUID for updates
         if (request.getDependencyTaskId() != null) {
@@ -192,6 +213,13 @@ public class TemplateService {
             dependency.setId(request.getDependencyTaskId());
             task.setDependsOnTask(dependency);
         }
+        if (request.getAdditionalDependencyTaskIds() != null) {
+            for (UUID dependencyId : request.getAdditionalDependencyTaskIds()) {
+                TemplateTask dependency = new TemplateTask();
+                dependency.setId(dependencyId);
+                task.getAdditionalDependencies().add(dependency);
+            }
+        }
 
         return task;
     }
@@ -203,6 +231,8 @@ public class TemplateService {
         response.setDescription(template.getDescription());
         response.setType(template.getWorkflowType());
         response.setIsActive(template.getIsActive());
+        response.setVersion(template.getVersion());
+        response.setAssignmentStrategy(template.getAssignmentStrategy());
         response.setCreatedAt(template.getCreatedAt());
         response.setCreatedBy(template.getCreatedBy());
         response.setUpdatedAt(template.getUpdatedAt());
@@ -224,7 +254,12 @@ public class TemplateService {
         response.setAssignedRole(task.getAssignedRole());
         response.setSequenceOrder(task.getSequenceOrder());
         response.setIsParallel(task.getIsParallel());
+        response.setAssignmentMode(task.getAssignmentMode());
         response.setDependencyTaskId(task.getDependsOnTask() != null ? task.getDependsOnTask().getId() : null);
+        response.setAdditionalDependencyTaskIds(task.getAdditionalDependencies().stream()
+                .map(TemplateTask::getId)
+                .collect(Collectors.toList()));
+        response.setHiddenWhen(task.getHiddenWhen());
         response.setCreatedAt(task.getCreatedAt());
         response.setUpdatedAt(task.getUpdatedAt());
         return response;
@@ -236,6 +271,7 @@ public class TemplateService {
         response.setName(template.getTemplateName());
         response.setType(template.getWorkflowType());
         response.setIsActive(template.getIsActive());
+        response.setVersion(template.getVersion());
         response.setTaskCount(template.getTasks().size());
         response.setCreatedAt(template.getCreatedAt());
         response.setUpdatedAt(template.getUpdatedAt());
@@ -253,7 +289,8 @@ public class TemplateService {
 
     /**
      * Validates template for logical consistency.
-     * Checks: minimum tasks, unique sequence orders, parallel task configuration, valid dependencies, no circular dependencies.
+     * Checks: minimum tasks, unique sequence orders, parallel task configuration, valid dependencies, no circular dependencies,
+     * and syntactically valid visibility rules.
      *
      * @param template Template to validate
      * @throws ValidationException if validation fails with specific error message
@@ -274,6 +311,11 @@ public class TemplateService {
 
         // AC6: Detect circular dependencies
         detectCircularDependencies(tasks);
+
+        // Story 3.3: Visibility rules must compile
+        for (TemplateTask task : tasks) {
+            VisibilityRule.compile(task.getHiddenWhen());
+        }
     }
 
     /**
@@ -322,7 +364,24 @@ public class TemplateService {
     }
 
     /**
-     * Validates that all dependency_task_id values reference valid tasks within the same template.
+     * IDs of all prerequisites of a task: depends_on_task_id and the additional dependencies.
+     * Prerequisites without an ID (new tasks not yet persisted) are left out.
+     */
+    private List<UUID> prerequisiteIds(TemplateTask task) {
+        List<UUID> ids = new ArrayList<>();
+        if (task.getDependsOnTask() != null && task.getDependsOnTask().getId() != null) {
+            ids.add(task.getDependsOnTask().getId());
+        }
+        for (TemplateTask dependency : task.getAdditionalDependencies()) {
+            if (dependency.getId() != null) {
+                ids.add(dependency.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Validates that all dependency task IDs reference valid tasks within the same template.
      *
      * @param tasks List of tasks to validate
      * @throws ValidationException if any dependency references a non-existent task
@@ -334,9 +393,8 @@ public class TemplateService {
                 .collect(Collectors.toSet());
 
         for (TemplateTask task : tasks) {
-            if (task.getDependsOnTask() != null) {
-                UUID dependencyId = task.getDependsOnTask().getId();
-                if (dependencyId != null && !validTaskIds.contains(dependencyId)) {
+            for (UUID dependencyId : prerequisiteIds(task)) {
+                if (!validTaskIds.contains(dependencyId)) {
                     throw new ValidationException(
                             String.format("Task '%s' references non-existent dependency task", task.getTaskName()));
                 }
@@ -354,7 +412,7 @@ public class TemplateService {
         Set<UUID> visited = new HashSet<>();
 
         for (TemplateTask task : tasks) {
-            if (task.getDependsOnTask() != null && task.getId() != null) {
+            if (!prerequisiteIds(task).isEmpty() && task.getId() != null) {
                 Set<UUID> recursionStack = new HashSet<>();
                 detectCircularDependency(task, tasks, visited, recursionStack);
             }
@@ -389,9 +447,7 @@ public class TemplateService {
         visited.add(task.getId());
         recursionStack.add(task.getId());
 
-        if (task.getDependsOnTask() != null && task.getDependsOnTask().getId() != null) {
-            UUID dependencyId = task.getDependsOnTask().getId();
-
+        for (UUID dependencyId : prerequisiteIds(task)) {
             // Find dependency task
             TemplateTask dependencyTask = allTasks.stream()
                     .filter(t -> t.getId() != null && t.getId().equals(dependencyId))
@@ -0,0 +1,69 @@
+package com.magnab.employeelifecycle.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket rate limiter.
+ *
+ * Tokens accrue continuously at {@code ratePerSecond} up to {@code capacity}; callers take as many as
+ * they may use and hand back the ones they did not need. The capacity bounds how much work can be
+ * released at once after an idle period, the rate bounds the sustained throughput.
+ */
+public final class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int capacity, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a capacity of at least 1");
+        }
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes up to {@code max} whole tokens without waiting.
+     *
+     * @param max Maximum number of tokens wanted
+     * @return Number of tokens taken, between 0 and max
+     */
+    public synchronized int tryAcquireUpTo(int max) {
+        refill();
+        int granted = (int) Math.min(max, Math.floor(tokens));
+        tokens -= granted;
+        return Math.max(granted, 0);
+    }
+
+    /**
+     * Returns unused tokens to the bucket (never beyond its capacity).
+     */
+    public synchronized void release(int unused) {
+        tokens = Math.min(capacity, tokens + unused);
+    }
+
+    /**
+     * Whole tokens currently available.
+     */
+    public synchronized int available() {
+        refill();
+        return (int) Math.floor(tokens);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
@@ -3,12 +3,16 @@ package com.magnab.employeelifecycle.service;
 import com.magnab.employeelifecycle.dto.request.ChangePasswordRequest;
 import com.magnab.employeelifecycle.dto.request.CreateUserRequest;
 import com.magnab.employeelifecycle.dto.request.UpdateUserRequest;
+import com.magnab.employeelifecycle.dto.response.TaskReassignmentResult;
 import com.magnab.employeelifecycle.dto.response.UserResponse;
 import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.exception.ConflictException;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.UserRepository;
+import com.magnab.employeelifecycle.service.routing.RoleDirectory;
+import com.magnab.employeelifecycle.service.routing.TaskReassignmentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
@@ -30,11 +34,16 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditService auditService;
+    private final RoleDirectory roleDirectory;
+    private final TaskReassignmentService taskReassignmentService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuditService auditService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuditService auditService,
+                       RoleDirectory roleDirectory, TaskReassignmentService taskReassignmentService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.auditService = auditService;
+        this.roleDirectory = roleDirectory;
+        this.taskReassignmentService = taskReassignmentService;
     }
 
     @Transactional
@@ -65,6 +74,7 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        roleDirectory.evict(savedUser.getRole());
         log.info("User created successfully with ID: {}", savedUser.getId());
 
         // Log audit event
@@ -108,6 +118,9 @@ public class UserService {
             user.setEmail(request.getEmail());
         }
 
+        UserRole previousRole = user.getRole();
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
+
         // Update fields if provided
         if (request.getRole() != null) {
             user.setRole(request.getRole());
@@ -122,8 +135,14 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User updatedUser = userRepository.save(user);
+        roleDirectory.evict(previousRole, updatedUser.getRole());
         log.info("User updated successfully with ID: {}", updatedUser.getId());
 
+        // Hand the open tasks of a user who was just deactivated to the rest of their role
+        if (wasActive && !Boolean.TRUE.equals(updatedUser.getIsActive())) {
+            taskReassignmentService.reassignOpenTasks(updatedUser);
+        }
+
         // Log audit event
         String metadata = String.format("{\"email\":\"%s\",\"role\":\"%s\",\"isActive\":%b}",
                 updatedUser.getEmail(), updatedUser.getRole(), updatedUser.getIsActive());
@@ -148,14 +167,43 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        roleDirectory.evict(user.getRole());
         log.info("User deactivated successfully with ID: {}", id);
 
+        // Hand the user's open tasks to the rest of their role
+        TaskReassignmentResult reassignment = taskReassignmentService.reassignOpenTasks(user);
+
         // Log audit event
-        String metadata = String.format("{\"username\":\"%s\"}",user.getUsername());
+        String metadata = String.format("{\"username\":\"%s\",\"reassignedTasks\":%d,\"queuedTasks\":%d}",
+                user.getUsername(), reassignment.getReassignedTasks(), reassignment.getQueuedTasks());
         auditService.logUserAction(user.getId(), "USER_DEACTIVATED",
                 "User deactivated by " + currentUser.getUsername(), metadata);
     }
 
+    /**
+     * Redistributes a user's open tasks across the other active users of their role.
+     * Runs automatically on deactivation; this lets an administrator repeat it, e.g. for tasks that were
+     * locked by a concurrent update at the time, or to offload an active user.
+     */
+    @Transactional
+    public TaskReassignmentResult reassignTasks(UUID id) {
+        log.info("Reassigning open tasks of user with ID: {}", id);
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+        TaskReassignmentResult result = taskReassignmentService.reassignOpenTasks(user);
+
+        // Log audit event
+        User currentUser = getCurrentUser();
+        String metadata = String.format("{\"reassignedTasks\":%d,\"queuedTasks\":%d,\"remainingTasks\":%d}",
+                result.getReassignedTasks(), result.getQueuedTasks(), result.getRemainingTasks());
+        auditService.logUserAction(user.getId(), "USER_TASKS_REASSIGNED",
+                "Tasks reassigned by " + currentUser.getUsername(), metadata);
+
+        return result;
+    }
+
     @Transactional
     public void changePassword(UUID id, ChangePasswordRequest request) {
         log.info("Changing password for user with ID: {}", id);
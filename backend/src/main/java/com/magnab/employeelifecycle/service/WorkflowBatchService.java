@@ -0,0 +1,225 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.WorkflowAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.WorkflowCreationResult;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service for initiating workflows for many employees in one call (onboarding waves, acquisitions).
+ *
+ * Compiled template plans (from the TemplatePlanCache shared with single initiation) and the initiating user
+ * are resolved once for the whole batch.
+ * Accepted rows are then processed in fixed-size chunks, each in its own transaction, so that
+ * workflow instances, task instances and state history are written as JDBC batches and a failure
+ * only affects the chunk it happened in. Every row gets its own result in the response.
+ */
+@Service
+@Slf4j
+public class WorkflowBatchService {
+
+    private final WorkflowService workflowService;
+    private final TemplatePlanCache templatePlanCache;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public WorkflowBatchService(
+            WorkflowService workflowService,
+            TemplatePlanCache templatePlanCache,
+            UserRepository userRepository,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            @Value("${workflow.batch.chunk-size:100}") int chunkSize
+    ) {
+        this.workflowService = workflowService;
+        this.templatePlanCache = templatePlanCache;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Initiates one workflow per request row and assigns each workflow's initial tasks.
+     * Invalid rows (bean validation, unknown or inactive template) are reported as failed without
+     * affecting the other rows.
+     *
+     * @param requests Rows to initiate, in submission order
+     * @param initiatedBy The user ID initiating the workflows
+     * @return BatchWorkflowInitiationResponse with one result per row
+     * @throws ResourceNotFoundException if the initiating user does not exist
+     */
+    public BatchWorkflowInitiationResponse initiateWorkflows(List<InitiateWorkflowRequest> requests, UUID initiatedBy) {
+        log.info("Batch initiating {} workflows by user: {}", requests.size(), initiatedBy);
+        long startedAt = System.currentTimeMillis();
+
+        User initiatingUser = userRepository.findById(initiatedBy)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + initiatedBy));
+
+        List<BatchWorkflowInitiationRowResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BatchWorkflowInitiationRowResult result = new BatchWorkflowInitiationRowResult();
+            result.setRowIndex(i);
+            result.setEmployeeEmail(requests.get(i) != null ? requests.get(i).getEmployeeEmail() : null);
+            results.add(result);
+        }
+
+        // Validate rows individually, then resolve every referenced template once
+        List<Integer> validRows = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateRow(requests.get(i));
+            if (error != null) {
+                markFailed(results.get(i), error);
+            } else {
+                validRows.add(i);
+            }
+        }
+
+        // Every chunk uses the plan resolved here, even if the template is updated during the batch
+        Map<UUID, TemplatePlan> plans = new HashMap<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        for (Integer i : validRows) {
+            UUID templateId = requests.get(i).getTemplateId();
+            if (!plans.containsKey(templateId)) {
+                plans.put(templateId, findPlan(templateId));
+            }
+            TemplatePlan plan = plans.get(templateId);
+            if (plan == null) {
+                markFailed(results.get(i), "Workflow template not found with id: " + templateId);
+            } else if (!plan.isActive()) {
+                markFailed(results.get(i), "Cannot instantiate inactive workflow template: " + templateId);
+            } else {
+                acceptedRows.add(i);
+            }
+        }
+
+        for (int from = 0; from < acceptedRows.size(); from += chunkSize) {
+            List<Integer> chunk = acceptedRows.subList(from, Math.min(from + chunkSize, acceptedRows.size()));
+            processChunk(chunk, requests, plans, initiatingUser, results);
+        }
+
+        BatchWorkflowInitiationResponse response = new BatchWorkflowInitiationResponse();
+        int succeeded = (int) results.stream().filter(BatchWorkflowInitiationRowResult::getSuccess).count();
+        response.setTotalRequested(requests.size());
+        response.setSucceeded(succeeded);
+        response.setFailed(requests.size() - succeeded);
+        response.setResults(results);
+
+        log.info("Batch initiation finished in {} ms: {} succeeded, {} failed",
+                System.currentTimeMillis() - startedAt, succeeded, requests.size() - succeeded);
+        return response;
+    }
+
+    /**
+     * Creates and assigns the workflows for one chunk of rows in a single transaction.
+     * If anything in the chunk fails, the transaction is rolled back and every row of the chunk is marked failed.
+     */
+    private void processChunk(
+            List<Integer> chunk,
+            List<InitiateWorkflowRequest> requests,
+            Map<UUID, TemplatePlan> plans,
+            User initiatingUser,
+            List<BatchWorkflowInitiationRowResult> results
+    ) {
+        Map<UUID, List<Integer>> rowsByTemplate = chunk.stream()
+                .collect(Collectors.groupingBy(i -> requests.get(i).getTemplateId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<UUID, List<Integer>> entry : rowsByTemplate.entrySet()) {
+                    List<Integer> rows = entry.getValue();
+                    List<InitiateWorkflowRequest> chunkRequests = rows.stream().map(requests::get).toList();
+
+                    List<WorkflowCreationResult> created = workflowService.createWorkflowInstances(
+                            plans.get(entry.getKey()), chunkRequests, initiatingUser);
+
+                    for (int j = 0; j < rows.size(); j++) {
+                        WorkflowCreationResult creationResult = created.get(j);
+                        WorkflowAssignmentResult assignment = workflowService.routeTasksForWorkflow(
+                                creationResult.getWorkflowInstanceId());
+
+                        BatchWorkflowInitiationRowResult result = results.get(rows.get(j));
+                        result.setSuccess(true);
+                        result.setWorkflowInstanceId(creationResult.getWorkflowInstanceId());
+                        result.setTotalTasksCreated(creationResult.getTotalTasks());
+                        result.setTasksAssigned(assignment.getAssignments().size());
+                        result.setStatus(assignment.getWorkflowStatus());
+                    }
+                }
+                // Write the chunk now so clearing the context below never drops pending inserts,
+                // even when this chunk joins a caller's transaction
+                entityManager.flush();
+            });
+        } catch (RuntimeException e) {
+            log.error("Batch chunk of {} workflows failed and was rolled back", chunk.size(), e);
+            for (Integer i : chunk) {
+                BatchWorkflowInitiationRowResult result = results.get(i);
+                result.setWorkflowInstanceId(null);
+                result.setTotalTasksCreated(null);
+                result.setTasksAssigned(null);
+                result.setStatus(null);
+                markFailed(result, e.getMessage());
+            }
+        } finally {
+            // Keep the persistence context bounded when the batch runs inside a long-lived session
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Returns the cached plan of a template's current version, or null if the template does not exist.
+     */
+    private TemplatePlan findPlan(UUID templateId) {
+        try {
+            return templatePlanCache.getPlan(templateId);
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies InitiateWorkflowRequest bean validation rules to one row.
+     * Returns the combined error message, or null if the row is valid.
+     */
+    private String validateRow(InitiateWorkflowRequest request) {
+        if (request == null) {
+            return "Employee details are required";
+        }
+        Set<ConstraintViolation<InitiateWorkflowRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void markFailed(BatchWorkflowInitiationRowResult result, String error) {
+        result.setSuccess(false);
+        result.setError(error);
+    }
+}
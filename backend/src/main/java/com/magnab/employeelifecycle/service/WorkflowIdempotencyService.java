@@ -0,0 +1,305 @@
+package com.magnab.employeelifecycle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationResponse;
+import com.magnab.employeelifecycle.entity.WorkflowIdempotencyKey;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.WorkflowIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Service making workflow initiation idempotent per Idempotency-Key header.
+ *
+ * The first request with a key claims it in the workflow_idempotency_keys table, runs the initiation and stores
+ * the response; retries with the same key get the stored response back without creating another workflow.
+ * The key is only released when creating the workflow fails. If a later step fails (task assignment), the
+ * workflow already exists, so the key keeps the response as of creation marked as not completed; the next retry
+ * runs the later step on that workflow and stores its response instead of replaying the incomplete one.
+ * Recent responses are also kept in a bounded in-memory cache so replays usually skip the database, and
+ * concurrent requests with the same key in this instance wait for the first one instead of racing it.
+ * Keys expire after workflow.idempotency.ttl and are purged periodically.
+ */
+@Service
+@Slf4j
+public class WorkflowIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final WorkflowIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectWriter requestWriter;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Map<String, CachedResponse> responseCache;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public WorkflowIdempotencyService(
+            WorkflowIdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${workflow.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${workflow.idempotency.in-flight-timeout:PT2M}") Duration inFlightTimeout,
+            @Value("${workflow.idempotency.cache-size:10000}") int cacheSize
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.requestWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.responseCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Runs a workflow initiation that consists of creating the workflow only, at most once per user and
+     * Idempotency-Key.
+     *
+     * @see #execute(String, UUID, InitiateWorkflowRequest, Supplier, UnaryOperator)
+     */
+    public Outcome execute(
+            String idempotencyKey,
+            UUID userId,
+            InitiateWorkflowRequest request,
+            Supplier<WorkflowInitiationResponse> creation
+    ) {
+        return execute(idempotencyKey, userId, request, creation, UnaryOperator.identity());
+    }
+
+    /**
+     * Runs a workflow initiation at most once per user and Idempotency-Key.
+     *
+     * @param idempotencyKey Client-supplied key identifying the logical request
+     * @param userId The user initiating the workflow (keys are scoped per user)
+     * @param request The initiation request; retries must send the same body
+     * @param creation Creates the workflow when the key has not been used yet; if it fails the key is released
+     * @param completion Follow-up work on the created workflow (task assignment); if it fails the key keeps
+     *                   the creation response, so a retry runs it again on the same workflow instead of
+     *                   creating a second one
+     * @return Outcome with the (original or replayed) response
+     * @throws ValidationException if the key is blank or too long
+     * @throws ConflictException if the key was used with a different request or is still being processed
+     */
+    public Outcome execute(
+            String idempotencyKey,
+            UUID userId,
+            InitiateWorkflowRequest request,
+            Supplier<WorkflowInitiationResponse> creation,
+            UnaryOperator<WorkflowInitiationResponse> completion
+    ) {
+        validateKey(idempotencyKey);
+        String requestHash = hashRequest(request);
+        String cacheKey = userId + ":" + idempotencyKey;
+
+        CachedResponse cached = getCached(cacheKey);
+        if (cached != null) {
+            verifySameRequest(cached.requestHash(), requestHash, idempotencyKey);
+            log.debug("Replaying cached response for Idempotency-Key {} of user {}", idempotencyKey, userId);
+            return new Outcome(cached.response(), true);
+        }
+
+        CompletableFuture<CachedResponse> execution = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(cacheKey, execution);
+        if (existing != null) {
+            // Another request with this key is running here: share its result instead of racing it
+            CachedResponse shared = await(existing, idempotencyKey);
+            verifySameRequest(shared.requestHash(), requestHash, idempotencyKey);
+            return new Outcome(shared.response(), true);
+        }
+
+        try {
+            Outcome outcome = executeOnce(idempotencyKey, userId, requestHash, creation, completion);
+            CachedResponse result = new CachedResponse(requestHash, outcome.response(), LocalDateTime.now().plus(ttl));
+            responseCache.put(cacheKey, result);
+            execution.complete(result);
+            return outcome;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    /**
+     * Deletes expired idempotency keys from the database and the in-memory cache.
+     */
+    @Scheduled(fixedDelayString = "${workflow.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = idempotencyKeyRepository.deleteExpired(now);
+        synchronized (responseCache) {
+            responseCache.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired workflow idempotency keys", deleted);
+        }
+    }
+
+    private Outcome executeOnce(
+            String idempotencyKey,
+            UUID userId,
+            String requestHash,
+            Supplier<WorkflowInitiationResponse> creation,
+            UnaryOperator<WorkflowInitiationResponse> completion
+    ) {
+        Optional<WorkflowIdempotencyKey> stored =
+                idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+        if (stored.isPresent()) {
+            WorkflowIdempotencyKey record = stored.get();
+            if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                idempotencyKeyRepository.delete(record);
+            } else if (record.getResponse() != null) {
+                verifySameRequest(record.getRequestHash(), requestHash, idempotencyKey);
+                if (!record.isCompleted()) {
+                    return resume(record, completion);
+                }
+                log.debug("Replaying stored response for Idempotency-Key {} of user {}", idempotencyKey, userId);
+                return new Outcome(record.getResponse(), true);
+            } else if (record.getCreatedAt().isBefore(LocalDateTime.now().minus(inFlightTimeout))) {
+                // The instance that claimed the key stopped before finishing; let this request take over
+                log.warn("Taking over abandoned Idempotency-Key {} of user {}", idempotencyKey, userId);
+                idempotencyKeyRepository.delete(record);
+            } else {
+                verifySameRequest(record.getRequestHash(), requestHash, idempotencyKey);
+                throw stillProcessing(idempotencyKey);
+            }
+        }
+
+        WorkflowIdempotencyKey claim = new WorkflowIdempotencyKey();
+        claim.setIdempotencyKey(idempotencyKey);
+        claim.setUserId(userId);
+        claim.setRequestHash(requestHash);
+        claim.setExpiresAt(LocalDateTime.now().plus(ttl));
+        try {
+            claim = idempotencyKeyRepository.saveAndFlush(claim);
+        } catch (DataIntegrityViolationException e) {
+            // Claimed concurrently by another application instance
+            throw stillProcessing(idempotencyKey);
+        }
+
+        WorkflowInitiationResponse created;
+        try {
+            created = creation.get();
+        } catch (RuntimeException e) {
+            // Nothing was created: release the key so the client can retry
+            idempotencyKeyRepository.delete(claim);
+            throw e;
+        }
+
+        WorkflowInitiationResponse response;
+        try {
+            response = completion.apply(created);
+        } catch (RuntimeException e) {
+            // The workflow exists: keep the key with the response as of creation so a retry cannot create another
+            log.warn("Initiation of workflow {} for Idempotency-Key {} failed after creation; keeping the key",
+                    created.getWorkflowInstanceId(), idempotencyKey);
+            claim.setResponse(created);
+            idempotencyKeyRepository.save(claim);
+            throw e;
+        }
+
+        claim.setResponse(response);
+        claim.setCompleted(true);
+        idempotencyKeyRepository.save(claim);
+        return new Outcome(response, false);
+    }
+
+    /**
+     * Finishes an initiation whose follow-up work failed after the workflow was created, by running it again on
+     * the stored response. The key keeps the incomplete response if it fails again.
+     */
+    private Outcome resume(WorkflowIdempotencyKey record, UnaryOperator<WorkflowInitiationResponse> completion) {
+        log.info("Resuming initiation of workflow {} for Idempotency-Key {} of user {}",
+                record.getResponse().getWorkflowInstanceId(), record.getIdempotencyKey(), record.getUserId());
+        WorkflowInitiationResponse response = completion.apply(record.getResponse());
+        record.setResponse(response);
+        record.setCompleted(true);
+        idempotencyKeyRepository.save(record);
+        return new Outcome(response, true);
+    }
+
+    private CachedResponse getCached(String cacheKey) {
+        CachedResponse cached = responseCache.get(cacheKey);
+        if (cached != null && cached.expiresAt().isBefore(LocalDateTime.now())) {
+            responseCache.remove(cacheKey);
+            return null;
+        }
+        return cached;
+    }
+
+    private CachedResponse await(CompletableFuture<CachedResponse> execution, String idempotencyKey) {
+        try {
+            return execution.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw stillProcessing(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillProcessing(idempotencyKey);
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new ValidationException("Idempotency-Key header must not be blank");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key header must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private void verifySameRequest(String storedHash, String requestHash, String idempotencyKey) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key " + idempotencyKey
+                    + " was already used with a different request");
+        }
+    }
+
+    private ConflictException stillProcessing(String idempotencyKey) {
+        return new ConflictException("A request with Idempotency-Key " + idempotencyKey + " is still being processed");
+    }
+
+    private String hashRequest(InitiateWorkflowRequest request) {
+        try {
+            byte[] body = requestWriter.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash workflow initiation request", e);
+        }
+    }
+
+    /**
+     * Result of an idempotent initiation.
+     *
+     * @param response The initiation response
+     * @param replayed True if the response was produced by an earlier request with the same key
+     */
+    public record Outcome(WorkflowInitiationResponse response, boolean replayed) {
+    }
+
+    private record CachedResponse(String requestHash, WorkflowInitiationResponse response, LocalDateTime expiresAt) {
+    }
+}
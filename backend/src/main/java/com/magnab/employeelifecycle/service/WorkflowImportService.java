@@ -0,0 +1,417 @@
+package com.magnab.employeelifecycle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.ImportJobResponse;
+import com.magnab.employeelifecycle.dto.response.ImportRowErrorResponse;
+import com.magnab.employeelifecycle.entity.ImportJob;
+import com.magnab.employeelifecycle.entity.ImportJobError;
+import com.magnab.employeelifecycle.enums.ImportFormat;
+import com.magnab.employeelifecycle.enums.ImportJobStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.ImportJobErrorRepository;
+import com.magnab.employeelifecycle.repository.ImportJobRepository;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import com.magnab.employeelifecycle.service.importer.CsvImportRowReader;
+import com.magnab.employeelifecycle.service.importer.ImportRow;
+import com.magnab.employeelifecycle.service.importer.ImportRowReader;
+import com.magnab.employeelifecycle.service.importer.NdjsonImportRowReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service for streaming mass imports of employees into workflows (e.g. HR exports after an acquisition).
+ *
+ * The uploaded file is stored on disk and read one line at a time, so memory use does not grow with file size.
+ * Rows are fed to {@link WorkflowBatchService} in bounded chunks. Each chunk's workflows, row errors and the
+ * job checkpoint are committed in the same transaction, so a job that fails part-way resumes exactly after
+ * the last committed chunk instead of starting over or creating duplicate workflows.
+ */
+@Service
+@Slf4j
+public class WorkflowImportService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final WorkflowBatchService workflowBatchService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor importExecutor;
+    private final Path storageDirectory;
+    private final int chunkSize;
+    private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public WorkflowImportService(
+            ImportJobRepository importJobRepository,
+            ImportJobErrorRepository importJobErrorRepository,
+            WorkflowTemplateRepository workflowTemplateRepository,
+            WorkflowBatchService workflowBatchService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("workflowImportExecutor") TaskExecutor importExecutor,
+            @Value("${workflow.import.storage-dir:${java.io.tmpdir}/workflow-imports}") String storageDirectory,
+            @Value("${workflow.import.chunk-size:100}") int chunkSize
+    ) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.workflowTemplateRepository = workflowTemplateRepository;
+        this.workflowBatchService = workflowBatchService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importExecutor = importExecutor;
+        this.storageDirectory = Path.of(storageDirectory);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Stores an uploaded import file and starts processing it in the background.
+     *
+     * @param file Uploaded CSV or NDJSON file
+     * @param format File format; inferred from the file extension when null
+     * @param defaultTemplateId Template used for rows that do not specify one (optional)
+     * @param userId The user starting the import (recorded as workflow initiator)
+     * @return ImportJobResponse for the newly created job
+     * @throws ValidationException if the file is empty or the format cannot be determined
+     * @throws ResourceNotFoundException if the default template does not exist
+     */
+    public ImportJobResponse startImport(MultipartFile file, ImportFormat format, UUID defaultTemplateId, UUID userId) {
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException("Import file is required");
+        }
+        ImportFormat resolvedFormat = format != null ? format : inferFormat(file.getOriginalFilename());
+        if (defaultTemplateId != null && !workflowTemplateRepository.existsById(defaultTemplateId)) {
+            throw new ResourceNotFoundException("Workflow template not found with id: " + defaultTemplateId);
+        }
+
+        ImportJob job = new ImportJob();
+        job.setFileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload");
+        job.setFormat(resolvedFormat);
+        job.setDefaultTemplateId(defaultTemplateId);
+        job.setCreatedBy(userId);
+        job.setStatus(ImportJobStatus.PENDING);
+        job.setStoragePath("");
+        job = importJobRepository.save(job);
+
+        Path target = storageDirectory.resolve(job.getId() + "." + resolvedFormat.name().toLowerCase());
+        try (InputStream in = file.getInputStream()) {
+            Files.createDirectories(storageDirectory);
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            importJobRepository.delete(job);
+            throw new IllegalStateException("Failed to store import file: " + e.getMessage(), e);
+        }
+        job.setStoragePath(target.toString());
+        job = importJobRepository.save(job);
+
+        log.info("Import job {} created for file {} ({}) by user {}", job.getId(), job.getFileName(),
+                resolvedFormat, userId);
+        submit(job.getId());
+        return toResponse(job, List.of());
+    }
+
+    /**
+     * Resumes a failed import job from its last checkpoint.
+     *
+     * @param jobId The import job ID
+     * @return ImportJobResponse for the resumed job
+     * @throws ResourceNotFoundException if the job does not exist
+     * @throws ConflictException if the job is running or already completed
+     */
+    public ImportJobResponse resumeImport(UUID jobId) {
+        ImportJob job = findJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED || runningJobs.contains(jobId)) {
+            throw new ConflictException("Import job " + jobId + " is " +
+                    (job.getStatus() == ImportJobStatus.COMPLETED ? "already completed" : "already running"));
+        }
+
+        job.setStatus(ImportJobStatus.PENDING);
+        job.setErrorMessage(null);
+        job = importJobRepository.save(job);
+
+        log.info("Resuming import job {} from row {}", jobId, job.getCheckpointRow() + 1);
+        submit(jobId);
+        return toResponse(job, List.of());
+    }
+
+    /**
+     * Returns progress, throughput and the first per-row errors of an import job.
+     *
+     * @param jobId The import job ID
+     * @param errorLimit Maximum number of row errors to include
+     * @return ImportJobResponse with current progress
+     * @throws ResourceNotFoundException if the job does not exist
+     */
+    public ImportJobResponse getImportJob(UUID jobId, int errorLimit) {
+        ImportJob job = findJob(jobId);
+        List<ImportJobError> errors = errorLimit > 0
+                ? importJobErrorRepository.findByImportJobIdOrderByRowNumber(jobId, PageRequest.of(0, errorLimit))
+                : List.of();
+        return toResponse(job, errors);
+    }
+
+    /**
+     * Jobs that were RUNNING when the application stopped can no longer make progress.
+     * Mark them FAILED so they can be resumed from their checkpoint.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByStatus(ImportJobStatus.RUNNING)) {
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setErrorMessage("Interrupted by application restart; resume to continue from row "
+                    + (job.getCheckpointRow() + 1));
+            importJobRepository.save(job);
+            log.warn("Import job {} was interrupted at row {}", job.getId(), job.getCheckpointRow());
+        }
+    }
+
+    private void submit(UUID jobId) {
+        if (!runningJobs.add(jobId)) {
+            throw new ConflictException("Import job " + jobId + " is already running");
+        }
+        try {
+            importExecutor.execute(() -> runImport(jobId));
+        } catch (RuntimeException e) {
+            runningJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the job's file from its checkpoint to the end, processing rows chunk by chunk.
+     */
+    void runImport(UUID jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            runningJobs.remove(jobId);
+            return;
+        }
+
+        try {
+            job.setStatus(ImportJobStatus.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            job = importJobRepository.save(job);
+
+            try (ImportRowReader reader = openReader(job)) {
+                int skipped = reader.skip(job.getCheckpointRow());
+                log.info("Import job {} started at row {}", jobId, skipped + 1);
+
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+                long chunkStartedAt = System.nanoTime();
+                ImportRow row;
+                while ((row = reader.next()) != null) {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        job = processChunk(job, chunk, chunkStartedAt);
+                        chunk.clear();
+                        chunkStartedAt = System.nanoTime();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    job = processChunk(job, chunk, chunkStartedAt);
+                }
+            }
+
+            job.setStatus(ImportJobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            log.info("Import job {} completed: {} rows, {} succeeded, {} failed", jobId,
+                    job.getCheckpointRow(), job.getSucceededRows(), job.getFailedRows());
+        } catch (Exception e) {
+            log.error("Import job {} failed at row {}", jobId, job.getCheckpointRow() + 1, e);
+            ImportJob failed = importJobRepository.findById(jobId).orElse(job);
+            failed.setStatus(ImportJobStatus.FAILED);
+            failed.setErrorMessage(e.getMessage());
+            importJobRepository.save(failed);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Initiates the workflows for one chunk and commits them together with the row errors and checkpoint.
+     * If the chunk's writes are rolled back, its rows are recorded as failed and the checkpoint still advances.
+     */
+    private ImportJob processChunk(ImportJob job, List<ImportRow> chunk, long chunkStartedAt) {
+        List<ImportRow> parsedRows = chunk.stream().filter(row -> row.request() != null).toList();
+        List<InitiateWorkflowRequest> requests = parsedRows.stream()
+                .map(row -> withDefaultTemplate(row.request(), job.getDefaultTemplateId()))
+                .toList();
+
+        AtomicReference<ImportJob> updated = new AtomicReference<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BatchWorkflowInitiationResponse response = requests.isEmpty()
+                        ? null
+                        : workflowBatchService.initiateWorkflows(requests, job.getCreatedBy());
+                if (status.isRollbackOnly()) {
+                    throw new ChunkRolledBackException(firstError(response));
+                }
+                updated.set(recordProgress(job.getId(), chunk, parsedRows, response, null, chunkStartedAt));
+            });
+        } catch (ChunkRolledBackException e) {
+            transactionTemplate.executeWithoutResult(status -> updated.set(
+                    recordProgress(job.getId(), chunk, parsedRows, null, e.getMessage(), chunkStartedAt)));
+        }
+        return updated.get();
+    }
+
+    /**
+     * Records row errors and advances the job checkpoint. Runs inside the chunk's transaction.
+     */
+    private ImportJob recordProgress(
+            UUID jobId,
+            List<ImportRow> chunk,
+            List<ImportRow> parsedRows,
+            BatchWorkflowInitiationResponse response,
+            String rollbackMessage,
+            long chunkStartedAt
+    ) {
+        Map<Integer, BatchWorkflowInitiationRowResult> resultsByRow = new HashMap<>();
+        if (response != null) {
+            for (BatchWorkflowInitiationRowResult result : response.getResults()) {
+                resultsByRow.put(parsedRows.get(result.getRowIndex()).rowNumber(), result);
+            }
+        }
+
+        List<ImportJobError> errors = new ArrayList<>();
+        int succeeded = 0;
+        for (ImportRow row : chunk) {
+            String email = row.request() != null ? row.request().getEmployeeEmail() : null;
+            BatchWorkflowInitiationRowResult result = resultsByRow.get(row.rowNumber());
+            if (row.parseError() != null) {
+                errors.add(buildError(jobId, row.rowNumber(), email, row.parseError()));
+            } else if (rollbackMessage != null) {
+                errors.add(buildError(jobId, row.rowNumber(), email, "Chunk rolled back: " + rollbackMessage));
+            } else if (result != null && Boolean.TRUE.equals(result.getSuccess())) {
+                succeeded++;
+            } else {
+                errors.add(buildError(jobId, row.rowNumber(), email,
+                        result != null ? result.getError() : "Row was not processed"));
+            }
+        }
+        importJobErrorRepository.saveAll(errors);
+
+        ImportJob job = findJob(jobId);
+        job.setCheckpointRow(chunk.get(chunk.size() - 1).rowNumber());
+        job.setSucceededRows(job.getSucceededRows() + succeeded);
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        job.setProcessingMillis(job.getProcessingMillis() + (System.nanoTime() - chunkStartedAt) / 1_000_000);
+        job.setLastCheckpointAt(LocalDateTime.now());
+        return importJobRepository.save(job);
+    }
+
+    private ImportJobError buildError(UUID jobId, int rowNumber, String email, String message) {
+        ImportJobError error = new ImportJobError();
+        error.setImportJobId(jobId);
+        error.setRowNumber(rowNumber);
+        error.setEmployeeEmail(email);
+        error.setMessage(message != null ? message : "Unknown error");
+        return error;
+    }
+
+    private InitiateWorkflowRequest withDefaultTemplate(InitiateWorkflowRequest request, UUID defaultTemplateId) {
+        if (request.getTemplateId() == null && defaultTemplateId != null) {
+            request.setTemplateId(defaultTemplateId);
+        }
+        return request;
+    }
+
+    private String firstError(BatchWorkflowInitiationResponse response) {
+        if (response == null) {
+            return "Transaction rolled back";
+        }
+        return response.getResults().stream()
+                .filter(result -> !Boolean.TRUE.equals(result.getSuccess()) && result.getError() != null)
+                .map(BatchWorkflowInitiationRowResult::getError)
+                .findFirst()
+                .orElse("Transaction rolled back");
+    }
+
+    private ImportRowReader openReader(ImportJob job) throws IOException {
+        var reader = Files.newBufferedReader(Path.of(job.getStoragePath()), StandardCharsets.UTF_8);
+        return switch (job.getFormat()) {
+            case CSV -> new CsvImportRowReader(reader);
+            case NDJSON -> new NdjsonImportRowReader(reader, objectMapper);
+        };
+    }
+
+    private ImportFormat inferFormat(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase() : "";
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportFormat.NDJSON;
+        }
+        throw new ValidationException("Cannot determine import format from file name: " + fileName
+                + ". Use a .csv/.ndjson file or pass the format parameter");
+    }
+
+    private ImportJob findJob(UUID jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + jobId));
+    }
+
+    private ImportJobResponse toResponse(ImportJob job, List<ImportJobError> errors) {
+        ImportJobResponse response = new ImportJobResponse();
+        response.setId(job.getId());
+        response.setFileName(job.getFileName());
+        response.setFormat(job.getFormat());
+        response.setStatus(job.getStatus());
+        response.setDefaultTemplateId(job.getDefaultTemplateId());
+        response.setRowsProcessed(job.getCheckpointRow());
+        response.setRowsSucceeded(job.getSucceededRows());
+        response.setRowsFailed(job.getFailedRows());
+        response.setRowsPerSecond(job.getProcessingMillis() > 0
+                ? Math.round(job.getCheckpointRow() * 1000.0 / job.getProcessingMillis() * 10) / 10.0
+                : null);
+        response.setStartedAt(job.getStartedAt());
+        response.setLastCheckpointAt(job.getLastCheckpointAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setErrors(errors.stream().map(error -> {
+            ImportRowErrorResponse entry = new ImportRowErrorResponse();
+            entry.setRowNumber(error.getRowNumber());
+            entry.setEmployeeEmail(error.getEmployeeEmail());
+            entry.setMessage(error.getMessage());
+            return entry;
+        }).toList());
+        return response;
+    }
+
+    /**
+     * Signals that a chunk's transaction was marked rollback-only by a failure inside the batch service.
+     */
+    private static class ChunkRolledBackException extends RuntimeException {
+        ChunkRolledBackException(String message) {
+            super(message);
+        }
+    }
+}
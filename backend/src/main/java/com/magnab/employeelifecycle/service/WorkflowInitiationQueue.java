@@ -0,0 +1,320 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationJobResponse;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationResponse;
+import com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.InitiationJobStatus;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.exception.TooManyRequestsException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Bounded worker pipeline for asynchronous workflow initiation.
+ *
+ * Requests are validated on the request thread, queued, and executed by a fixed set of worker threads,
+ * so a burst of initiations no longer holds one Tomcat thread per request for the whole creation and
+ * assignment. When the queue is full the configured overflow policy applies: REJECT answers 429 right away,
+ * BLOCK waits up to workflow.async.offer-timeout for space before answering 429.
+ *
+ * Job state is kept in memory for workflow.async.result-ttl after completion. Metrics:
+ * - workflow.initiation.queue.depth (gauge): jobs waiting for a worker
+ * - workflow.initiation.queue.wait (timer): time from submission until a worker picks the job up
+ * - workflow.initiation.execution (timer): time spent creating and assigning, tagged by outcome
+ * - workflow.initiation.rejected (counter): submissions refused because the queue was full
+ */
+@Service
+@Slf4j
+public class WorkflowInitiationQueue {
+
+    /**
+     * What to do when the queue is full.
+     */
+    public enum OverflowPolicy {
+        REJECT,
+        BLOCK
+    }
+
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final BlockingQueue<InitiationJob> queue;
+    private final Map<UUID, InitiationJob> jobs = new ConcurrentHashMap<>();
+    private final int workerCount;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration offerTimeout;
+    private final Duration resultTtl;
+    private final Timer queueWaitTimer;
+    private final Timer executionSucceededTimer;
+    private final Timer executionFailedTimer;
+    private final Counter rejectedCounter;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public WorkflowInitiationQueue(
+            WorkflowTemplateRepository workflowTemplateRepository,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.async.workers:8}") int workerCount,
+            @Value("${workflow.async.queue-capacity:500}") int queueCapacity,
+            @Value("${workflow.async.overflow-policy:REJECT}") OverflowPolicy overflowPolicy,
+            @Value("${workflow.async.offer-timeout:PT2S}") Duration offerTimeout,
+            @Value("${workflow.async.result-ttl:PT1H}") Duration resultTtl
+    ) {
+        this.workflowTemplateRepository = workflowTemplateRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeout = offerTimeout;
+        this.resultTtl = resultTtl;
+
+        Gauge.builder("workflow.initiation.queue.depth", queue, BlockingQueue::size)
+                .description("Workflow initiations waiting for a worker")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("workflow.initiation.queue.wait")
+                .description("Time workflow initiations spend in the queue")
+                .register(meterRegistry);
+        this.executionSucceededTimer = Timer.builder("workflow.initiation.execution")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.executionFailedTimer = Timer.builder("workflow.initiation.execution")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("workflow.initiation.rejected")
+                .description("Workflow initiations rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::work, "workflow-initiation-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Started {} workflow initiation workers (queue capacity {}, overflow policy {})",
+                workerCount, queue.remainingCapacity(), overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(offerTimeout.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<InitiationJob> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        for (InitiationJob job : abandoned) {
+            job.fail("Application shut down before the workflow was initiated");
+        }
+        if (!abandoned.isEmpty()) {
+            log.warn("{} queued workflow initiations were not run due to shutdown", abandoned.size());
+        }
+    }
+
+    /**
+     * Validates and queues a workflow initiation.
+     *
+     * @param request The initiation request (already bean-validated)
+     * @param userId The user initiating the workflow
+     * @param initiation Creates the workflow and assigns its tasks; runs on a worker thread
+     * @return WorkflowInitiationJobResponse for the queued job
+     * @throws ResourceNotFoundException if the template does not exist
+     * @throws ValidationException if the template is inactive
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public WorkflowInitiationJobResponse submit(
+            InitiateWorkflowRequest request,
+            UUID userId,
+            Supplier<WorkflowInitiationResponse> initiation
+    ) {
+        WorkflowTemplate template = workflowTemplateRepository.findById(request.getTemplateId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workflow template not found with id: " + request.getTemplateId()));
+        if (!template.getIsActive()) {
+            throw new ValidationException("Cannot instantiate inactive workflow template: " + template.getId());
+        }
+
+        InitiationJob job = new InitiationJob(TimeOrderedUuidGenerator.nextId(), userId,
+                request.getEmployeeName(), initiation);
+        jobs.put(job.id, job);
+
+        if (!enqueue(job)) {
+            jobs.remove(job.id);
+            rejectedCounter.increment();
+            log.warn("Rejected workflow initiation for {}: queue full ({} waiting)",
+                    request.getEmployeeName(), queue.size());
+            throw new TooManyRequestsException("Workflow initiation queue is full; retry later",
+                    Math.max(1, offerTimeout.toSeconds()));
+        }
+
+        log.info("Queued workflow initiation job {} for employee: {} ({} waiting)",
+                job.id, request.getEmployeeName(), queue.size());
+        return toResponse(job);
+    }
+
+    /**
+     * Returns the status of an initiation job submitted by the given user.
+     *
+     * @param jobId The job ID
+     * @param userId The requesting user; jobs of other users are not visible
+     * @return WorkflowInitiationJobResponse with status, queue time and result
+     * @throws ResourceNotFoundException if the job does not exist, expired, or belongs to another user
+     */
+    public WorkflowInitiationJobResponse getJob(UUID jobId, UUID userId) {
+        InitiationJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Initiation job not found with id: " + jobId);
+        }
+        return toResponse(job);
+    }
+
+    /**
+     * Current number of jobs waiting for a worker.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Forgets finished jobs once their results have been available for workflow.async.result-ttl.
+     */
+    @Scheduled(fixedDelayString = "${workflow.async.purge-interval:PT5M}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private boolean enqueue(InitiationJob job) {
+        if (overflowPolicy == OverflowPolicy.REJECT) {
+            return queue.offer(job);
+        }
+        try {
+            return queue.offer(job, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void work() {
+        while (running) {
+            InitiationJob job;
+            try {
+                job = queue.poll(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (job != null) {
+                run(job);
+            }
+        }
+    }
+
+    void run(InitiationJob job) {
+        long pickedUp = System.nanoTime();
+        queueWaitTimer.record(pickedUp - job.submittedNanos, TimeUnit.NANOSECONDS);
+        job.start();
+
+        try {
+            WorkflowInitiationResponse result = job.initiation.get();
+            job.complete(result);
+            executionSucceededTimer.record(System.nanoTime() - pickedUp, TimeUnit.NANOSECONDS);
+            log.info("Initiation job {} completed: workflow {} after {} ms in queue",
+                    job.id, result.getWorkflowInstanceId(), job.queuedMillis());
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            executionFailedTimer.record(System.nanoTime() - pickedUp, TimeUnit.NANOSECONDS);
+            log.error("Initiation job {} for employee {} failed", job.id, job.employeeName, e);
+        }
+    }
+
+    private WorkflowInitiationJobResponse toResponse(InitiationJob job) {
+        WorkflowInitiationJobResponse response = new WorkflowInitiationJobResponse();
+        response.setJobId(job.id);
+        response.setStatus(job.status);
+        response.setEmployeeName(job.employeeName);
+        response.setSubmittedAt(job.submittedAt);
+        response.setStartedAt(job.startedAt);
+        response.setCompletedAt(job.completedAt);
+        response.setQueuedMillis(job.queuedMillis());
+        response.setQueueDepth(queue.size());
+        response.setResult(job.result);
+        response.setError(job.error);
+        return response;
+    }
+
+    /**
+     * In-memory state of one queued initiation. Written by one worker, read by status requests.
+     */
+    static final class InitiationJob {
+        private final UUID id;
+        private final UUID userId;
+        private final String employeeName;
+        private final Supplier<WorkflowInitiationResponse> initiation;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final long submittedNanos = System.nanoTime();
+        private volatile InitiationJobStatus status = InitiationJobStatus.QUEUED;
+        private volatile long startedNanos;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile WorkflowInitiationResponse result;
+        private volatile String error;
+
+        InitiationJob(UUID id, UUID userId, String employeeName, Supplier<WorkflowInitiationResponse> initiation) {
+            this.id = id;
+            this.userId = userId;
+            this.employeeName = employeeName;
+            this.initiation = initiation;
+        }
+
+        private void start() {
+            startedNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            status = InitiationJobStatus.RUNNING;
+        }
+
+        private void complete(WorkflowInitiationResponse result) {
+            this.result = result;
+            completedAt = LocalDateTime.now();
+            status = InitiationJobStatus.COMPLETED;
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            completedAt = LocalDateTime.now();
+            status = InitiationJobStatus.FAILED;
+        }
+
+        private long queuedMillis() {
+            long end = startedAt != null ? startedNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - submittedNanos);
+        }
+    }
+}
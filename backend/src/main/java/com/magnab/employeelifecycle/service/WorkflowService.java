@@ -1,16 +1,29 @@
 package com.magnab.employeelifecycle.service;
 
 import com.magnab.employeelifecycle.dto.request.EmployeeDetails;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.request.TaskStatusChange;
 import com.magnab.employeelifecycle.dto.response.*;
 import com.magnab.employeelifecycle.entity.*;
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.TaskStatus;
 import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
 import com.magnab.employeelifecycle.exception.ForbiddenException;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.*;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import com.magnab.employeelifecycle.service.routing.AssignmentPlanner;
+import com.magnab.employeelifecycle.service.routing.WipLimits;
+import com.magnab.employeelifecycle.service.routing.WorkloadIndex;
+import com.magnab.employeelifecycle.service.transition.OptimisticRetry;
+import com.magnab.employeelifecycle.service.transition.StatusTransitions;
+import com.magnab.employeelifecycle.service.transition.WorkflowMailboxes;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +33,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,29 +47,52 @@ public class WorkflowService {
     private final WorkflowInstanceRepository workflowInstanceRepository;
     private final TaskInstanceRepository taskInstanceRepository;
     private final WorkflowStateHistoryRepository workflowStateHistoryRepository;
-    private final WorkflowTemplateRepository workflowTemplateRepository;
-    private final TemplateTaskRepository templateTaskRepository;
     private final UserRepository userRepository;
+    private final WorkflowBulkCopyWriter bulkCopyWriter;
+    private final TemplatePlanCache templatePlanCache;
+    private final WorkloadIndex workloadIndex;
+    private final AssignmentPlanner assignmentPlanner;
+    private final WipLimits wipLimits;
+    private final OptimisticRetry optimisticRetry;
+    private final WorkflowMailboxes workflowMailboxes;
+    private final int overflowDrainBatch;
+    private final boolean stageGating;
 
     public WorkflowService(
             WorkflowInstanceRepository workflowInstanceRepository,
             TaskInstanceRepository taskInstanceRepository,
             WorkflowStateHistoryRepository workflowStateHistoryRepository,
-            WorkflowTemplateRepository workflowTemplateRepository,
-            TemplateTaskRepository templateTaskRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            WorkflowBulkCopyWriter bulkCopyWriter,
+            TemplatePlanCache templatePlanCache,
+            WorkloadIndex workloadIndex,
+            AssignmentPlanner assignmentPlanner,
+            WipLimits wipLimits,
+            OptimisticRetry optimisticRetry,
+            WorkflowMailboxes workflowMailboxes,
+            @Value("${workflow.routing.overflow.drain-batch:10}") int overflowDrainBatch,
+            @Value("${workflow.stages.enabled:false}") boolean stageGating
     ) {
         this.workflowInstanceRepository = workflowInstanceRepository;
         this.taskInstanceRepository = taskInstanceRepository;
         this.workflowStateHistoryRepository = workflowStateHistoryRepository;
-        this.workflowTemplateRepository = workflowTemplateRepository;
-        this.templateTaskRepository = templateTaskRepository;
         this.userRepository = userRepository;
+        this.bulkCopyWriter = bulkCopyWriter;
+        this.templatePlanCache = templatePlanCache;
+        this.workloadIndex = workloadIndex;
+        this.assignmentPlanner = assignmentPlanner;
+        this.wipLimits = wipLimits;
+        this.optimisticRetry = optimisticRetry;
+        this.workflowMailboxes = workflowMailboxes;
+        this.overflowDrainBatch = overflowDrainBatch;
+        this.stageGating = stageGating;
     }
 
     /**
      * Creates a new workflow instance from a template.
-     * MVP scope: Creates workflow with all tasks visible. Conditional visibility deferred to future story.
+     * Each task is created NOT_STARTED and hidden if its template task's compiled hidden_when rule matches the
+     * custom field values. Each task's pending dependency count is its number of visible prerequisites; hidden
+     * prerequisites never block their dependents. Tasks are not assigned here (see assignTasksForWorkflow).
      *
      * @param templateId The ID of the workflow template to instantiate
      * @param employeeDetails Employee information for the workflow
@@ -78,12 +115,10 @@ public class WorkflowService {
         log.info("Creating workflow instance from template: {} for employee: {}",
                 templateId, employeeDetails.getEmployeeName());
 
-        // Validate template exists and is active
-        WorkflowTemplate template = workflowTemplateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Workflow template not found with id: " + templateId));
+        // Validate template exists and is active (compiled plan is cached per template)
+        TemplatePlan plan = templatePlanCache.getPlan(templateId);
 
-        if (!template.getIsActive()) {
+        if (!plan.isActive()) {
             throw new ValidationException("Cannot instantiate inactive workflow template: " + templateId);
         }
 
@@ -94,15 +129,14 @@ public class WorkflowService {
 
         // Create workflow instance with INITIATED status
         WorkflowInstance workflowInstance = createWorkflowInstanceEntity(
-                template, employeeDetails, customFieldValues, initiatingUser);
+                plan, employeeDetails, customFieldValues, initiatingUser);
         workflowInstance = workflowInstanceRepository.save(workflowInstance);
         log.debug("Created workflow instance: {}", workflowInstance.getId());
 
-        // Fetch all template tasks and create task instances
-        List<TemplateTask> templateTasks = templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId);
+        // Create task instances from the plan's ordered tasks
         List<TaskInstance> taskInstances = createTaskInstances(
-                workflowInstance, templateTasks, customFieldValues);
-        taskInstanceRepository.saveAll(taskInstances);
+                workflowInstance, plan.getTasks(), customFieldValues);
+        saveTaskInstances(taskInstances);
         log.debug("Created {} task instances", taskInstances.size());
 
         // Create initial workflow state history record
@@ -117,6 +151,62 @@ public class WorkflowService {
         return result;
     }
 
+    /**
+     * Creates workflow instances for many employees against one already-resolved template plan.
+     * Used by batch initiation: the plan (from the TemplatePlanCache) and the initiating user are looked up once
+     * by the caller, and instances, task instances and initial history rows are each written with a
+     * single saveAll so Hibernate can group the inserts into JDBC batches. Large task and history
+     * writes go through PostgreSQL COPY when bulk copy is enabled.
+     *
+     * @param plan Compiled plan of the active template version to instantiate
+     * @param requests Employee details and custom field values, one entry per workflow to create
+     * @param initiatingUser The user initiating the workflows
+     * @return WorkflowCreationResult per request, in request order
+     * @throws ValidationException if the template is not active
+     */
+    @Transactional
+    public List<WorkflowCreationResult> createWorkflowInstances(
+            TemplatePlan plan,
+            List<InitiateWorkflowRequest> requests,
+            User initiatingUser
+    ) {
+        if (!plan.isActive()) {
+            throw new ValidationException("Cannot instantiate inactive workflow template: " + plan.getTemplateId());
+        }
+
+        log.info("Creating {} workflow instances from template: {}", requests.size(), plan.getTemplateId());
+
+        List<WorkflowInstance> workflowInstances = new ArrayList<>(requests.size());
+        for (InitiateWorkflowRequest request : requests) {
+            EmployeeDetails employeeDetails = new EmployeeDetails();
+            employeeDetails.setEmployeeName(request.getEmployeeName());
+            employeeDetails.setEmployeeEmail(request.getEmployeeEmail());
+            employeeDetails.setEmployeeRole(request.getEmployeeRole());
+            workflowInstances.add(createWorkflowInstanceEntity(
+                    plan, employeeDetails, request.getCustomFieldValues(), initiatingUser));
+        }
+        workflowInstances = workflowInstanceRepository.saveAll(workflowInstances);
+
+        List<TaskInstance> allTaskInstances = new ArrayList<>(workflowInstances.size() * plan.getTasks().size());
+        List<WorkflowStateHistory> histories = new ArrayList<>(workflowInstances.size());
+        List<WorkflowCreationResult> results = new ArrayList<>(workflowInstances.size());
+        for (int i = 0; i < workflowInstances.size(); i++) {
+            WorkflowInstance workflowInstance = workflowInstances.get(i);
+            List<TaskInstance> taskInstances = createTaskInstances(
+                    workflowInstance, plan.getTasks(), requests.get(i).getCustomFieldValues());
+            allTaskInstances.addAll(taskInstances);
+            histories.add(buildInitialStateHistory(workflowInstance, initiatingUser));
+            results.add(calculateWorkflowSummary(workflowInstance, taskInstances));
+        }
+        saveTaskInstances(allTaskInstances);
+        saveStateHistories(histories);
+
+        log.info("Created {} workflow instances with {} task instances from template: {}",
+                workflowInstances.size(), allTaskInstances.size(), plan.getTemplateId());
+
+        return results;
+    }
+
     /**
      * Validates employee details are complete and properly formatted.
      */
@@ -128,61 +218,130 @@ public class WorkflowService {
     }
 
     /**
-     * Creates a WorkflowInstance entity from template and employee details.
+     * Creates a WorkflowInstance entity from template plan and employee details.
      */
     private WorkflowInstance createWorkflowInstanceEntity(
-            WorkflowTemplate template,
+            TemplatePlan plan,
             EmployeeDetails employeeDetails,
             Map<String, Object> customFieldValues,
             User initiatingUser
     ) {
         WorkflowInstance instance = new WorkflowInstance();
-        instance.setTemplateId(template.getId());
+        instance.setTemplateId(plan.getTemplateId());
+        instance.setTemplateVersion(plan.getVersion());
         instance.setEmployeeName(employeeDetails.getEmployeeName());
         instance.setEmployeeEmail(employeeDetails.getEmployeeEmail());
         instance.setEmployeeRole(employeeDetails.getEmployeeRole());
-        instance.setWorkflowType(template.getWorkflowType());
+        instance.setWorkflowType(plan.getWorkflowType());
         instance.setStatus(WorkflowStatus.INITIATED);
         instance.setInitiatedBy(initiatingUser.getId());
         instance.setInitiatedAt(LocalDateTime.now());
         instance.setCustomFieldValues(customFieldValues != null ? customFieldValues : new HashMap<>());
+        instance.setTasksNotStarted(plan.getTasks().size());
+        if (stageGating) {
+            openFirstStage(instance, plan, instance.getCustomFieldValues());
+        }
         return instance;
     }
 
+    /**
+     * Points a new workflow's stage cursor at its first stage with a visible task. Stages whose tasks are all
+     * hidden are skipped; a workflow without visible tasks is left ungated.
+     */
+    private void openFirstStage(WorkflowInstance instance, TemplatePlan plan, Map<String, Object> customFieldValues) {
+        for (Map.Entry<Integer, List<TemplatePlan.PlannedTask>> stage : plan.getStages().entrySet()) {
+            int visibleTasks = (int) stage.getValue().stream()
+                    .filter(task -> task.isVisibleFor(customFieldValues))
+                    .count();
+            if (visibleTasks > 0) {
+                instance.setCurrentStage(stage.getKey());
+                instance.setStageTasksRemaining(visibleTasks);
+                return;
+            }
+        }
+    }
+
     /**
      * Creates task instances from template tasks.
-     * MVP: All tasks are visible by default. Conditional visibility will be added in future story.
+     * Story 3.3: A task is created hidden when its compiled visibility rule matches the custom field values.
+     * Each task starts with a pending dependency count of its visible prerequisites; hidden prerequisites are
+     * skipped, not waited for.
      */
     private List<TaskInstance> createTaskInstances(
             WorkflowInstance workflowInstance,
-            List<TemplateTask> templateTasks,
+            List<TemplatePlan.PlannedTask> plannedTasks,
             Map<String, Object> customFieldValues
     ) {
-        List<TaskInstance> taskInstances = new ArrayList<>();
+        List<TaskInstance> taskInstances = new ArrayList<>(plannedTasks.size());
 
-        for (TemplateTask templateTask : templateTasks) {
+        for (TemplatePlan.PlannedTask plannedTask : plannedTasks) {
             TaskInstance taskInstance = new TaskInstance();
             taskInstance.setWorkflowInstanceId(workflowInstance.getId());
-            taskInstance.setTemplateTaskId(templateTask.getId());
-            taskInstance.setTaskName(templateTask.getTaskName());
-            taskInstance.setSequenceOrder(templateTask.getSequenceOrder());
-            taskInstance.setAssignedRole(templateTask.getAssignedRole());
+            taskInstance.setTemplateTaskId(plannedTask.templateTaskId());
+            taskInstance.setTaskName(plannedTask.taskName());
+            taskInstance.setSequenceOrder(plannedTask.sequenceOrder());
+            taskInstance.setAssignedRole(plannedTask.assignedRole());
             taskInstance.setStatus(TaskStatus.NOT_STARTED);
 
-            // MVP: All tasks visible by default
-            // TODO: Story 3.3 will add conditional_rules field to template_tasks and implement conditional visibility
-            taskInstance.setIsVisible(true);
+            // Story 3.3: Rules are compiled once per template version, evaluation is a few map lookups
+            taskInstance.setIsVisible(plannedTask.isVisibleFor(customFieldValues));
 
             taskInstances.add(taskInstance);
         }
 
+        // Second pass: visibility of every prerequisite is known only once all tasks exist
+        Map<UUID, TaskInstance> tasksByTemplateTaskId = new HashMap<>(taskInstances.size() * 2);
+        for (TaskInstance taskInstance : taskInstances) {
+            tasksByTemplateTaskId.put(taskInstance.getTemplateTaskId(), taskInstance);
+        }
+        for (int i = 0; i < plannedTasks.size(); i++) {
+            int pending = 0;
+            for (UUID prerequisiteId : plannedTasks.get(i).prerequisiteTemplateTaskIds()) {
+                TaskInstance prerequisite = tasksByTemplateTaskId.get(prerequisiteId);
+                if (prerequisite != null && prerequisite.getIsVisible()) {
+                    pending++;
+                }
+            }
+            taskInstances.get(i).setPendingDependencies(pending);
+        }
+
         return taskInstances;
     }
 
+    /**
+     * Persists new task instances, using COPY instead of saveAll above the bulk copy threshold.
+     */
+    private void saveTaskInstances(List<TaskInstance> taskInstances) {
+        if (bulkCopyWriter.shouldUse(taskInstances.size())) {
+            bulkCopyWriter.copyTaskInstances(taskInstances);
+        } else {
+            taskInstanceRepository.saveAll(taskInstances);
+        }
+    }
+
+    /**
+     * Persists new state history rows, using COPY instead of saveAll above the bulk copy threshold.
+     */
+    private void saveStateHistories(List<WorkflowStateHistory> histories) {
+        if (bulkCopyWriter.shouldUse(histories.size())) {
+            bulkCopyWriter.copyStateHistory(histories);
+        } else {
+            workflowStateHistoryRepository.saveAll(histories);
+        }
+    }
+
     /**
      * Creates the initial workflow state history record.
      */
     private void createInitialStateHistory(WorkflowInstance workflowInstance, User initiatingUser) {
+        workflowStateHistoryRepository.save(buildInitialStateHistory(workflowInstance, initiatingUser));
+        log.debug("Created initial state history for workflow: {}", workflowInstance.getId());
+    }
+
+    /**
+     * Builds (without saving) the initial workflow state history record.
+     */
+    private WorkflowStateHistory buildInitialStateHistory(WorkflowInstance workflowInstance, User initiatingUser) {
         WorkflowStateHistory history = new WorkflowStateHistory();
         history.setWorkflowInstanceId(workflowInstance.getId());
         history.setPreviousStatus(WorkflowStatus.INITIATED); // Initial state uses same status for both
@@ -190,8 +349,7 @@ public class WorkflowService {
         history.setChangedBy(initiatingUser.getId());
         history.setChangedAt(LocalDateTime.now());
         history.setNotes("Workflow initiated");
-        workflowStateHistoryRepository.save(history);
-        log.debug("Created initial state history for workflow: {}", workflowInstance.getId());
+        return history;
     }
 
     /**
@@ -218,25 +376,47 @@ public class WorkflowService {
      * Implements automatic task routing with load balancing and dependency checking.
      *
      * Algorithm:
-     * 1. Filter tasks that are ready to assign (NOT_STARTED, visible, dependencies satisfied)
-     * 2. For each task, find active users with matching role
-     * 3. Select user with fewest IN_PROGRESS tasks (load balancing)
-     * 4. Assign task to user and set status to IN_PROGRESS
-     * 5. Set due date to 2 days from now (MVP scope)
+     * 1. Filter tasks that are ready to assign (NOT_STARTED, visible, no pending dependencies)
+     * 2. Plan all ready tasks in one pass (AssignmentPlanner): active users are loaded once per role and
+     *    each task goes to the user picked by the template's or role's AssignmentStrategy (by default the
+     *    user with fewest IN_PROGRESS tasks, counting the tasks planned before it)
+     * 3. Assign each task to its user and set status to IN_PROGRESS
+     * 4. Set due date to 2 days from now (MVP scope)
+     * 5. Save all assigned tasks in one batched write
      * 6. Update workflow status to IN_PROGRESS if this is the first assignment
      *
      * Idempotent: Can be called multiple times without error. Already-assigned tasks are skipped.
+     * Concurrent calls for the same workflow are serialized by the workflow's row lock: the later call waits and
+     * then finds the tasks already routed, so a task is never assigned twice and the first-assignment status change
+     * is recorded once. The workflow's version is only incremented when tasks were routed.
      *
      * @param workflowInstanceId The ID of the workflow instance to assign tasks for
      * @return List of TaskAssignmentResult for each newly assigned task
      * @throws ResourceNotFoundException if workflow instance not found
+     * @throws ConflictException if the assignment kept conflicting with concurrent updates of the workflow
      */
-    @Transactional
     public List<TaskAssignmentResult> assignTasksForWorkflow(UUID workflowInstanceId) {
+        return routeTasksForWorkflow(workflowInstanceId).getAssignments();
+    }
+
+    /**
+     * Assigns the ready tasks of a workflow like {@link #assignTasksForWorkflow(UUID)} and also reports the
+     * workflow's resulting status, which is IN_PROGRESS once any task was assigned, pooled or queued.
+     * Used by initiation responses, which cannot infer the status from the number of assignments.
+     *
+     * @param workflowInstanceId The ID of the workflow instance to assign tasks for
+     * @return The newly assigned tasks and the workflow's status afterwards
+     * @throws ResourceNotFoundException if workflow instance not found
+     * @throws ConflictException if the assignment kept conflicting with concurrent updates of the workflow
+     */
+    public WorkflowAssignmentResult routeTasksForWorkflow(UUID workflowInstanceId) {
         log.info("Assigning tasks for workflow instance: {}", workflowInstanceId);
+        return mutateWorkflow(workflowInstanceId, "task-assignment", () -> assignTasks(workflowInstanceId));
+    }
 
-        // Validate workflow instance exists
-        WorkflowInstance workflowInstance = workflowInstanceRepository.findById(workflowInstanceId)
+    private WorkflowAssignmentResult assignTasks(UUID workflowInstanceId) {
+        // Validate workflow instance exists and lock it; concurrent assignments wait here and see our routing
+        WorkflowInstance workflowInstance = workflowInstanceRepository.findForTransitionById(workflowInstanceId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Workflow instance not found with id: " + workflowInstanceId));
 
@@ -244,141 +424,321 @@ public class WorkflowService {
         List<TaskInstance> allTasks = taskInstanceRepository
                 .findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId);
 
-        // Get template tasks for dependency checking
-        Map<UUID, TemplateTask> templateTaskMap = templateTaskRepository
-                .findByTemplateIdOrderBySequenceOrder(workflowInstance.getTemplateId())
-                .stream()
-                .collect(Collectors.toMap(TemplateTask::getId, tt -> tt));
+        // Compiled plan of the template version this workflow was created from (immutable, cached per version)
+        TemplatePlan plan = templatePlanCache.getPlan(
+                workflowInstance.getTemplateId(), workflowInstance.getTemplateVersion());
 
         // Filter tasks ready to assign (idempotency: skip already assigned)
-        List<TaskInstance> readyTasks = filterReadyToAssignTasks(allTasks, templateTaskMap);
+        List<TaskInstance> readyTasks = filterReadyToAssignTasks(workflowInstance, allTasks);
         log.debug("Found {} tasks ready to assign", readyTasks.size());
 
         // Track if this is the first assignment for workflow status update
-        boolean isFirstAssignment = allTasks.stream()
-                .noneMatch(task -> task.getAssignedUserId() != null);
+        // (pooling a task or queueing it for capacity counts as routing it)
+        boolean isFirstAssignment = allTasks.stream().noneMatch(this::isRouted);
 
-        // Assign each ready task
-        List<TaskAssignmentResult> results = new ArrayList<>();
-        for (TaskInstance task : readyTasks) {
-            TaskAssignmentResult result = assignTaskToUser(task, templateTaskMap);
-            if (result != null) {
-                results.add(result);
-            }
-        }
-
-        // Save all assigned tasks
-        if (!results.isEmpty()) {
-            taskInstanceRepository.saveAll(readyTasks);
-            log.debug("Saved {} assigned tasks", results.size());
-        }
+        List<TaskAssignmentResult> results = assignReadyTasks(workflowInstance, plan, readyTasks);
+        boolean anyQueued = readyTasks.stream().anyMatch(this::isRouted);
 
         // Update workflow status to IN_PROGRESS if first assignment
-        if (isFirstAssignment && !results.isEmpty()) {
+        if (isFirstAssignment && (!results.isEmpty() || anyQueued)) {
             updateWorkflowStatusToInProgress(workflowInstance);
         }
 
         log.info("Assigned {} tasks for workflow instance: {}", results.size(), workflowInstanceId);
-        return results;
+        WorkflowAssignmentResult result = new WorkflowAssignmentResult();
+        result.setWorkflowInstanceId(workflowInstanceId);
+        result.setWorkflowStatus(workflowInstance.getStatus());
+        result.setAssignments(results);
+        return result;
     }
 
     /**
      * Filters tasks that are ready to be assigned.
-     * Ready criteria: NOT_STARTED status, visible, and all dependencies satisfied.
      * Implements idempotency by skipping already-assigned tasks.
      */
-    private List<TaskInstance> filterReadyToAssignTasks(
-            List<TaskInstance> allTasks,
-            Map<UUID, TemplateTask> templateTaskMap
-    ) {
+    private List<TaskInstance> filterReadyToAssignTasks(WorkflowInstance workflowInstance, List<TaskInstance> allTasks) {
         return allTasks.stream()
-                .filter(task -> {
-                    // Idempotency: skip already assigned tasks
-                    if (task.getAssignedUserId() != null) {
-                        return false;
-                    }
-
-                    // Must be NOT_STARTED
-                    if (task.getStatus() != TaskStatus.NOT_STARTED) {
-                        return false;
-                    }
-
-                    // Must be visible
-                    if (!task.getIsVisible()) {
-                        return false;
-                    }
-
-                    // Check dependencies satisfied
-                    return isDependencySatisfied(task, allTasks, templateTaskMap);
-                })
+                .filter(task -> isReadyToAssign(task) && isStageOpen(workflowInstance, task))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Checks if a task's dependencies are satisfied.
-     * A task is ready if:
-     * - It has no dependency (depends_on_task_id is null), OR
-     * - Its dependent task has status COMPLETED
+     * Checks if a task is ready to be assigned.
+     * Ready criteria: not yet assigned or queued, NOT_STARTED status, visible, and no pending dependencies
+     * (every visible prerequisite is COMPLETED).
+     */
+    private boolean isReadyToAssign(TaskInstance task) {
+        return !isRouted(task)
+                && task.getStatus() == TaskStatus.NOT_STARTED
+                && task.getIsVisible()
+                && task.getPendingDependencies() == 0;
+    }
+
+    /**
+     * Checks if a task's stage has been reached. Stage-gated workflows only assign tasks up to the stage cursor;
+     * tasks of ungated workflows are never held back by stage.
      */
-    private boolean isDependencySatisfied(
-            TaskInstance task,
-            List<TaskInstance> allTasks,
-            Map<UUID, TemplateTask> templateTaskMap
+    private boolean isStageOpen(WorkflowInstance workflowInstance, TaskInstance task) {
+        return workflowInstance.getCurrentStage() == null
+                || task.getSequenceOrder() <= workflowInstance.getCurrentStage();
+    }
+
+    /**
+     * Whether a task has left the engine's hands: assigned, in its role's claim pool, or in its role's
+     * overflow queue.
+     */
+    private boolean isRouted(TaskInstance task) {
+        return task.getAssignedUserId() != null || task.getPooledAt() != null || task.getOverflowedAt() != null;
+    }
+
+    /**
+     * Plans all ready PUSH tasks at once (AssignmentPlanner), applies the plan and saves the assigned tasks
+     * in one batched write. Ready PULL tasks are put in their role's pool instead (see claimNextTask), and PUSH
+     * tasks no user of the role has capacity for go to the role's overflow queue (see drainOverflow).
+     *
+     * @return TaskAssignmentResult for each assigned task; tasks whose role has no active user stay unassigned
+     */
+    private List<TaskAssignmentResult> assignReadyTasks(
+            WorkflowInstance workflowInstance,
+            TemplatePlan plan,
+            List<TaskInstance> readyTasks
     ) {
-        TemplateTask templateTask = templateTaskMap.get(task.getTemplateTaskId());
-        if (templateTask == null) {
-            log.warn("Template task not found for task instance: {}", task.getId());
-            return false;
+        if (readyTasks.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // No dependency = ready
-        if (templateTask.getDependsOnTask() == null) {
-            return true;
+        List<TaskInstance> pushTasks = new ArrayList<>(readyTasks.size());
+        List<TaskInstance> routedTasks = new ArrayList<>(readyTasks.size());
+        LocalDateTime pooledAt = LocalDateTime.now();
+        for (TaskInstance task : readyTasks) {
+            TemplatePlan.PlannedTask plannedTask = plan.getTask(task.getTemplateTaskId());
+            if (plannedTask != null && plannedTask.assignmentMode() == TaskAssignmentMode.PULL) {
+                task.setPooledAt(pooledAt);
+                routedTasks.add(task);
+            } else {
+                pushTasks.add(task);
+            }
+        }
+        if (!routedTasks.isEmpty()) {
+            log.debug("Pooled {} tasks for claiming", routedTasks.size());
         }
 
-        UUID dependencyTemplateTaskId = templateTask.getDependsOnTask().getId();
+        List<TaskAssignmentResult> results = new ArrayList<>(pushTasks.size());
+        if (!pushTasks.isEmpty()) {
+            AssignmentPlanner.Result planned = assignmentPlanner.plan(
+                    pushTasks, plan, workflowInstance.getEmployeeEmail());
+            for (AssignmentPlanner.Assignment assignment : planned.assignments()) {
+                results.add(applyAssignment(assignment.task(), assignment.user()));
+                routedTasks.add(assignment.task());
+            }
+            recordTaskTransitions(workflowInstance.getId(), TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS,
+                    results.size());
+            for (TaskInstance task : planned.overCapacity()) {
+                task.setOverflowedAt(pooledAt);
+                routedTasks.add(task);
+            }
+        }
+
+        // Save all assigned, pooled and queued tasks
+        if (!routedTasks.isEmpty()) {
+            touchWorkflow(workflowInstance);
+            taskInstanceRepository.saveAll(routedTasks);
+            log.debug("Saved {} routed tasks", routedTasks.size());
+        }
+        return results;
+    }
 
-        // Find the task instance for this dependency
-        Optional<TaskInstance> dependentTaskOpt = allTasks.stream()
-                .filter(t -> t.getTemplateTaskId().equals(dependencyTemplateTaskId))
-                .findFirst();
+    /**
+     * Releases the direct dependents of completed tasks of one workflow and assigns those that became ready.
+     * Each dependent's pending dependency count is decremented once per completed prerequisite; only the
+     * dependents are read and written (in one query and one batched write), not the rest of the workflow.
+     * Hidden tasks were never counted as prerequisites, so completing one releases nothing. Dependents in a
+     * stage that is not open yet only have their count decremented; they are assigned when the stage opens.
+     *
+     * @return The number of released dependents that were assigned
+     */
+    private int releaseDependents(WorkflowInstance workflowInstance, List<TaskInstance> completedTasks) {
+        List<TaskInstance> visibleTasks = completedTasks.stream().filter(TaskInstance::getIsVisible).toList();
+        if (visibleTasks.isEmpty()) {
+            return 0;
+        }
 
-        if (!dependentTaskOpt.isPresent()) {
-            log.warn("Dependent task instance not found for template task: {}", dependencyTemplateTaskId);
-            return false;
+        UUID workflowInstanceId = workflowInstance.getId();
+        TemplatePlan plan = templatePlanCache.getPlan(
+                workflowInstance.getTemplateId(), workflowInstance.getTemplateVersion());
+
+        // Prerequisites completed per dependent; a dependent of several completed tasks is read and saved once
+        Map<UUID, Integer> releasesByTemplateTaskId = new HashMap<>();
+        for (TaskInstance completedTask : visibleTasks) {
+            for (TemplatePlan.PlannedTask dependent : plan.getDependents(completedTask.getTemplateTaskId())) {
+                releasesByTemplateTaskId.merge(dependent.templateTaskId(), 1, Integer::sum);
+            }
+        }
+        if (releasesByTemplateTaskId.isEmpty()) {
+            return 0;
         }
 
-        TaskInstance dependentTask = dependentTaskOpt.get();
-        return dependentTask.getStatus() == TaskStatus.COMPLETED;
+        List<TaskInstance> dependents = taskInstanceRepository
+                .findByWorkflowInstanceIdAndTemplateTaskIdIn(workflowInstanceId, releasesByTemplateTaskId.keySet());
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        for (TaskInstance dependent : dependents) {
+            int released = releasesByTemplateTaskId.getOrDefault(dependent.getTemplateTaskId(), 0);
+            dependent.setPendingDependencies(Math.max(0, dependent.getPendingDependencies() - released));
+            if (isReadyToAssign(dependent) && isStageOpen(workflowInstance, dependent)) {
+                readyTasks.add(dependent);
+            }
+        }
+        taskInstanceRepository.saveAll(dependents);
+
+        List<TaskAssignmentResult> results = assignReadyTasks(workflowInstance, plan, readyTasks);
+        log.debug("Released {} dependents of {} completed tasks in workflow {}, assigned {}",
+                dependents.size(), visibleTasks.size(), workflowInstanceId, results.size());
+        return results.size();
     }
 
     /**
-     * Assigns a task to the best available user based on role and load balancing.
-     * Returns TaskAssignmentResult if assignment successful, null otherwise.
+     * Counts completed tasks against the open stage of a stage-gated workflow and opens the next stage once
+     * every visible task of the open stage is completed. Constant work per completion: the cursor and the
+     * remaining count are fields of the workflow row, which completions hold the lock on anyway, and opening a
+     * stage reads only that stage's tasks. Stages without a visible, uncompleted task are skipped.
+     * Completed tasks of later stages (started early) are not counted now; they are already done when their
+     * stage opens.
+     *
+     * @return The number of tasks of newly opened stages that were assigned
      */
-    private TaskAssignmentResult assignTaskToUser(
-            TaskInstance task,
-            Map<UUID, TemplateTask> templateTaskMap
-    ) {
-        TemplateTask templateTask = templateTaskMap.get(task.getTemplateTaskId());
-        if (templateTask == null) {
-            log.error("Template task not found for task instance: {}", task.getId());
-            return null;
+    private int advanceStage(WorkflowInstance workflowInstance, List<TaskInstance> completedTasks) {
+        Integer stage = workflowInstance.getCurrentStage();
+        if (stage == null) {
+            return 0;
+        }
+        int completedInStage = (int) completedTasks.stream()
+                .filter(task -> task.getIsVisible() && stage.equals(task.getSequenceOrder()))
+                .count();
+        int remaining = Math.max(0, workflowInstance.getStageTasksRemaining() - completedInStage);
+        workflowInstance.setStageTasksRemaining(remaining);
+        if (remaining > 0 || completedInStage == 0) {
+            return 0;
+        }
+
+        UUID workflowInstanceId = workflowInstance.getId();
+        TemplatePlan plan = templatePlanCache.getPlan(
+                workflowInstance.getTemplateId(), workflowInstance.getTemplateVersion());
+        int openStage = stage;
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        Integer nextStage = plan.getNextStage(openStage);
+        while (remaining == 0 && nextStage != null) {
+            openStage = nextStage;
+            for (TaskInstance task : taskInstanceRepository
+                    .findByWorkflowInstanceIdAndSequenceOrder(workflowInstanceId, openStage)) {
+                if (task.getIsVisible() && task.getStatus() != TaskStatus.COMPLETED) {
+                    remaining++;
+                }
+                if (isReadyToAssign(task)) {
+                    readyTasks.add(task);
+                }
+            }
+            nextStage = plan.getNextStage(openStage);
+        }
+        if (openStage == stage) {
+            return 0;
+        }
+        workflowInstance.setCurrentStage(openStage);
+        workflowInstance.setStageTasksRemaining(remaining);
+
+        // Tasks of the opened stages still wait for their own prerequisites
+        List<TaskAssignmentResult> results = assignReadyTasks(workflowInstance, plan, readyTasks);
+        log.info("Workflow {} advanced from stage {} to stage {} with {} tasks remaining, assigned {}",
+                workflowInstanceId, stage, openStage, remaining, results.size());
+        return results.size();
+    }
+
+    /**
+     * Assigns the oldest tasks in a role's overflow queue, in queue order, until no user of the role has
+     * capacity left. Called when a task of the role leaves IN_PROGRESS; reads only the queue's head, never the
+     * tasks of other workflows. Queued rows are locked with SKIP LOCKED, so concurrent drains take different tasks.
+     * Drained tasks leave the queue (their overflowed_at is cleared). The drained tasks may belong to other
+     * workflows than the one whose task triggered the drain; those workflows are neither loaded for a transition
+     * nor have their versions bumped, so the row locks on the tasks are what keeps two drains apart.
+     */
+    private void drainOverflow(UserRole role) {
+        List<TaskInstance> waiting = taskInstanceRepository.lockOverflowTasks(role.name(), overflowDrainBatch);
+        if (waiting.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> workflowIds = waiting.stream().map(TaskInstance::getWorkflowInstanceId).collect(Collectors.toSet());
+        Map<UUID, WorkflowInstance> workflowsById = workflowInstanceRepository.findAllById(workflowIds).stream()
+                .collect(Collectors.toMap(WorkflowInstance::getId, workflow -> workflow));
+
+        List<TaskInstance> drained = new ArrayList<>();
+        for (TaskInstance task : waiting) {
+            WorkflowInstance workflow = workflowsById.get(task.getWorkflowInstanceId());
+            TemplatePlan plan = templatePlanCache.getPlan(workflow.getTemplateId(), workflow.getTemplateVersion());
+            AssignmentPlanner.Result planned = assignmentPlanner.plan(List.of(task), plan, workflow.getEmployeeEmail());
+            if (planned.assignments().isEmpty()) {
+                // Role is full again: later tasks keep their place in the queue
+                break;
+            }
+            task.setOverflowedAt(null);
+            applyAssignment(task, planned.assignments().get(0).user());
+            drained.add(task);
+        }
+
+        if (!drained.isEmpty()) {
+            taskInstanceRepository.saveAll(drained);
+            drained.stream()
+                    .collect(Collectors.groupingBy(TaskInstance::getWorkflowInstanceId, Collectors.counting()))
+                    .forEach((workflowId, tasks) -> recordTaskTransitions(
+                            workflowId, TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS, tasks.intValue()));
+            log.info("Assigned {} tasks from the {} overflow queue", drained.size(), role);
         }
+    }
 
-        UserRole requiredRole = templateTask.getAssignedRole();
+    /**
+     * Claims the oldest task in the pool of the user's role and assigns it to the user.
+     * The pooled row is locked with SKIP LOCKED, so concurrent claims never wait for each other or take the same
+     * task, and the workflow row is not locked: a claim only touches the claimed task.
+     *
+     * @param userId The user claiming a task
+     * @return The assignment, or empty if the role's pool is empty
+     * @throws ResourceNotFoundException if user not found
+     * @throws ForbiddenException if the user is inactive
+     * @throws ConflictException if the user is at their WIP limit
+     */
+    @Transactional
+    public Optional<TaskAssignmentResult> claimNextTask(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User with ID " + userId + " not found"));
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new ForbiddenException("Inactive users cannot claim tasks");
+        }
+        if (!wipLimits.hasCapacity(user.getRole(), userId)) {
+            throw new ConflictException("Work-in-progress limit of "
+                    + wipLimits.limitOf(user.getRole(), userId) + " tasks reached");
+        }
 
-        // Find all active users with the required role
-        List<User> eligibleUsers = userRepository.findByRoleAndIsActive(requiredRole, true);
-        if (eligibleUsers.isEmpty()) {
-            log.warn("No active users found for role: {}", requiredRole);
-            return null;
+        Optional<TaskInstance> pooledTask = taskInstanceRepository.lockNextPooledTask(user.getRole().name());
+        if (pooledTask.isEmpty()) {
+            log.debug("No pooled {} task for user {}", user.getRole(), userId);
+            return Optional.empty();
         }
 
-        // Load balancing: select user with fewest IN_PROGRESS tasks
-        User selectedUser = selectUserWithLeastLoad(eligibleUsers);
+        // A claimed task was picked by the user and is never rebalanced away from them
+        TaskInstance task = pooledTask.get();
+        TaskAssignmentResult result = applyAssignment(task, user);
+        task.setStartedAt(LocalDateTime.now());
+        taskInstanceRepository.save(task);
+        recordTaskTransitions(task.getWorkflowInstanceId(), TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS, 1);
+        workloadIndex.acquire(user.getRole(), user.getId());
+
+        log.info("User {} claimed task {} of workflow {}", userId, task.getId(), task.getWorkflowInstanceId());
+        return Optional.of(result);
+    }
 
-        // Assign task to selected user
+    /**
+     * Assigns a task to the user selected by the assignment planner or claiming it.
+     */
+    private TaskAssignmentResult applyAssignment(TaskInstance task, User selectedUser) {
         task.setAssignedUserId(selectedUser.getId());
         task.setStatus(TaskStatus.IN_PROGRESS);
         task.setDueDate(LocalDateTime.now().plusDays(2)); // MVP: 2-day SLA
@@ -398,27 +758,12 @@ public class WorkflowService {
     }
 
     /**
-     * Selects the user with the least workload (fewest IN_PROGRESS tasks).
-     * Implements round-robin load balancing for fair task distribution.
+     * Marks a locked workflow as changed because tasks of it were routed, so its version is incremented on
+     * commit. Status and stage changes make the workflow dirty by themselves; runs that route nothing leave the
+     * version alone.
      */
-    private User selectUserWithLeastLoad(List<User> eligibleUsers) {
-        User selectedUser = eligibleUsers.get(0);
-        long minLoad = taskInstanceRepository.countByAssignedUserIdAndStatus(
-                selectedUser.getId(), TaskStatus.IN_PROGRESS);
-
-        for (int i = 1; i < eligibleUsers.size(); i++) {
-            User user = eligibleUsers.get(i);
-            long userLoad = taskInstanceRepository.countByAssignedUserIdAndStatus(
-                    user.getId(), TaskStatus.IN_PROGRESS);
-
-            if (userLoad < minLoad) {
-                minLoad = userLoad;
-                selectedUser = user;
-            }
-        }
-
-        log.debug("Selected user {} with {} IN_PROGRESS tasks", selectedUser.getEmail(), minLoad);
-        return selectedUser;
+    private void touchWorkflow(WorkflowInstance workflowInstance) {
+        workflowInstance.setUpdatedAt(LocalDateTime.now());
     }
 
     /**
@@ -455,8 +800,8 @@ public class WorkflowService {
      * @return WorkflowStateSummary with updated workflow state and task counts
      * @throws ResourceNotFoundException if workflow not found
      * @throws ValidationException if state transition is invalid
+     * @throws ConflictException if the update kept conflicting with concurrent updates of the workflow
      */
-    @Transactional
     public WorkflowStateSummary updateWorkflowStatus(
             UUID workflowInstanceId,
             WorkflowStatus newStatus,
@@ -465,18 +810,34 @@ public class WorkflowService {
     ) {
         log.info("Updating workflow {} status to {}", workflowInstanceId, newStatus);
 
-        // Validate workflow exists
-        WorkflowInstance workflowInstance = workflowInstanceRepository.findById(workflowInstanceId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Workflow with ID " + workflowInstanceId + " not found"));
+        return mutateWorkflow(workflowInstanceId, "workflow-status", () -> {
+            // Validate workflow exists and lock it until commit
+            WorkflowInstance workflowInstance = workflowInstanceRepository.findForTransitionById(workflowInstanceId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Workflow with ID " + workflowInstanceId + " not found"));
 
+            applyWorkflowStatus(workflowInstance, newStatus, userId, notes);
+
+            // Return workflow state summary
+            return getWorkflowStateSummary(workflowInstanceId);
+        });
+    }
+
+    /**
+     * Validates and applies a workflow status transition and records it in the state history.
+     * Runs in the caller's transaction.
+     */
+    private void applyWorkflowStatus(
+            WorkflowInstance workflowInstance,
+            WorkflowStatus newStatus,
+            UUID userId,
+            String notes
+    ) {
+        UUID workflowInstanceId = workflowInstance.getId();
         WorkflowStatus currentStatus = workflowInstance.getStatus();
 
         // Validate state transition
-        if (!isValidWorkflowTransition(currentStatus, newStatus)) {
-            throw new ValidationException(
-                    "Invalid workflow state transition from " + currentStatus + " to " + newStatus);
-        }
+        StatusTransitions.WORKFLOW.check(currentStatus, newStatus);
 
         // Update workflow status
         workflowInstance.setStatus(newStatus);
@@ -496,26 +857,6 @@ public class WorkflowService {
         workflowStateHistoryRepository.save(history);
 
         log.info("Workflow {} status updated from {} to {}", workflowInstanceId, currentStatus, newStatus);
-
-        // Return workflow state summary
-        return getWorkflowStateSummary(workflowInstanceId);
-    }
-
-    /**
-     * Validates if a workflow state transition is allowed.
-     * Enforces business rules: INITIATED→IN_PROGRESS, IN_PROGRESS→COMPLETED/BLOCKED, BLOCKED→IN_PROGRESS.
-     * COMPLETED is a terminal state, INITIATED cannot be returned to.
-     */
-    private boolean isValidWorkflowTransition(WorkflowStatus current, WorkflowStatus next) {
-        if (current == WorkflowStatus.COMPLETED) return false; // Terminal state
-        if (next == WorkflowStatus.INITIATED) return false; // Can't return to INITIATED
-
-        return switch (current) {
-            case INITIATED -> next == WorkflowStatus.IN_PROGRESS;
-            case IN_PROGRESS -> next == WorkflowStatus.COMPLETED || next == WorkflowStatus.BLOCKED;
-            case BLOCKED -> next == WorkflowStatus.IN_PROGRESS;
-            default -> false;
-        };
     }
 
     /**
@@ -528,41 +869,47 @@ public class WorkflowService {
                         "Workflow with ID " + workflowInstanceId + " not found"));
 
         if (workflowInstance.getStatus() == WorkflowStatus.INITIATED) {
-            updateWorkflowStatus(workflowInstanceId, WorkflowStatus.IN_PROGRESS, userId,
-                    "First task assigned");
+            applyWorkflowStatus(workflowInstance, WorkflowStatus.IN_PROGRESS, userId, "First task assigned");
         }
     }
 
     /**
      * Transitions workflow to COMPLETED if all visible tasks are COMPLETED.
      * Called when any task is marked complete. Idempotent - does nothing if not all tasks done.
+     * Stage-gated workflows are decided from the stage cursor alone, without reading their tasks.
+     *
+     * @return true if the workflow was transitioned to COMPLETED
      */
-    private void transitionToCompletedIfAllTasksDone(UUID workflowInstanceId, UUID userId) {
-        // Get all visible tasks for the workflow
-        List<TaskInstance> visibleTasks = taskInstanceRepository
-                .findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true);
-
-        // Check if all visible tasks are COMPLETED
-        boolean allTasksCompleted = !visibleTasks.isEmpty() &&
-                visibleTasks.stream().allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
+    private boolean transitionToCompletedIfAllTasksDone(WorkflowInstance workflowInstance, UUID userId) {
+        boolean allTasksCompleted;
+        if (workflowInstance.getCurrentStage() != null) {
+            // Stage-gated: every visible task is COMPLETED once the last stage has none remaining
+            TemplatePlan plan = templatePlanCache.getPlan(
+                    workflowInstance.getTemplateId(), workflowInstance.getTemplateVersion());
+            allTasksCompleted = workflowInstance.getStageTasksRemaining() == 0
+                    && plan.getNextStage(workflowInstance.getCurrentStage()) == null;
+        } else {
+            // Get all visible tasks for the workflow
+            List<TaskInstance> visibleTasks = taskInstanceRepository
+                    .findByWorkflowInstanceIdAndIsVisible(workflowInstance.getId(), true);
 
-        if (allTasksCompleted) {
-            WorkflowInstance workflowInstance = workflowInstanceRepository.findById(workflowInstanceId)
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Workflow with ID " + workflowInstanceId + " not found"));
+            // Check if all visible tasks are COMPLETED
+            allTasksCompleted = !visibleTasks.isEmpty() &&
+                    visibleTasks.stream().allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
+        }
 
-            // Only transition if currently IN_PROGRESS
-            if (workflowInstance.getStatus() == WorkflowStatus.IN_PROGRESS) {
-                updateWorkflowStatus(workflowInstanceId, WorkflowStatus.COMPLETED, userId,
-                        "All visible tasks completed");
-            }
+        // Only transition if currently IN_PROGRESS
+        if (allTasksCompleted && workflowInstance.getStatus() == WorkflowStatus.IN_PROGRESS) {
+            applyWorkflowStatus(workflowInstance, WorkflowStatus.COMPLETED, userId, "All visible tasks completed");
+            return true;
         }
+        return false;
     }
 
     /**
      * Calculates workflow state summary with task counts by status.
      * Used to provide current workflow state after status updates.
-     * Optimized to use database-level counting instead of loading all tasks into memory.
+     * Reads the workflow's task counters (a single row) instead of counting its tasks.
      */
     private WorkflowStateSummary getWorkflowStateSummary(UUID workflowInstanceId) {
         WorkflowInstance workflowInstance = workflowInstanceRepository.findById(workflowInstanceId)
@@ -573,31 +920,58 @@ public class WorkflowService {
         summary.setWorkflowInstanceId(workflowInstanceId);
         summary.setStatus(workflowInstance.getStatus());
 
-        // Use repository count methods for efficient database-level aggregation
-        // instead of loading all tasks into memory
-        Long completed = taskInstanceRepository.countByWorkflowInstanceIdAndStatus(
-                workflowInstanceId, TaskStatus.COMPLETED);
-        Long inProgress = taskInstanceRepository.countByWorkflowInstanceIdAndStatus(
-                workflowInstanceId, TaskStatus.IN_PROGRESS);
-        Long blocked = taskInstanceRepository.countByWorkflowInstanceIdAndStatus(
-                workflowInstanceId, TaskStatus.BLOCKED);
-        Long notStarted = taskInstanceRepository.countByWorkflowInstanceIdAndStatus(
-                workflowInstanceId, TaskStatus.NOT_STARTED);
-
-        summary.setTasksCompleted(completed.intValue());
-        summary.setTasksInProgress(inProgress.intValue());
-        summary.setTasksBlocked(blocked.intValue());
-        summary.setTasksNotStarted(notStarted.intValue());
-        summary.setTotalTasks(completed.intValue() + inProgress.intValue() +
-                blocked.intValue() + notStarted.intValue());
+        // Counters may have been incremented in this transaction, after the entity was loaded
+        WorkflowInstanceRepository.TaskCounts counts = workflowInstanceRepository.findTaskCountsById(workflowInstanceId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workflow with ID " + workflowInstanceId + " not found"));
+
+        summary.setTasksCompleted(counts.getTasksCompleted());
+        summary.setTasksInProgress(counts.getTasksInProgress());
+        summary.setTasksBlocked(counts.getTasksBlocked());
+        summary.setTasksNotStarted(counts.getTasksNotStarted());
+        summary.setTotalTasks(counts.getTasksCompleted() + counts.getTasksInProgress() +
+                counts.getTasksBlocked() + counts.getTasksNotStarted());
 
         return summary;
     }
 
+    /**
+     * Moves tasks of a workflow from one status counter to another with one atomic UPDATE.
+     * Must run in the transaction that changes the tasks, so the counters commit or roll back with them.
+     */
+    private void recordTaskTransitions(UUID workflowInstanceId, TaskStatus from, TaskStatus to, int tasks) {
+        if (tasks == 0 || from == to) {
+            return;
+        }
+        workflowInstanceRepository.adjustTaskCounts(workflowInstanceId,
+                countDelta(TaskStatus.NOT_STARTED, from, to, tasks),
+                countDelta(TaskStatus.IN_PROGRESS, from, to, tasks),
+                countDelta(TaskStatus.BLOCKED, from, to, tasks),
+                countDelta(TaskStatus.COMPLETED, from, to, tasks));
+    }
+
+    private static int countDelta(TaskStatus counter, TaskStatus from, TaskStatus to, int tasks) {
+        return (counter == to ? tasks : 0) - (counter == from ? tasks : 0);
+    }
+
+    /**
+     * Runs a mutation of one workflow in its own transaction, retried on optimistic locking conflicts, and in
+     * the workflow's mailbox when mailboxes are enabled (WorkflowMailboxes).
+     */
+    private <T> T mutateWorkflow(UUID workflowInstanceId, String operation, Supplier<T> mutation) {
+        return workflowMailboxes.execute(workflowInstanceId, () -> optimisticRetry.execute(operation, mutation));
+    }
+
     /**
      * Updates task status with validation and triggers dependent task assignment.
      * Validates state transitions and sets completedAt/completedBy when task is marked COMPLETED.
      * Automatically triggers assignment of dependent tasks and checks for workflow completion.
+     * A task leaving IN_PROGRESS (completed or blocked) frees a slot, so the role's overflow queue is drained first.
+     * In a stage-gated workflow, completing the last open task of the current stage opens the next stage.
+     * Completions lock the workflow row, so two completions in the same workflow run one after the other and
+     * cannot both miss each other (dependent assignment, workflow completion). Starting or blocking a task locks
+     * nothing; a concurrent update of the same task fails the task's version check and is retried from the start
+     * (OptimisticRetry). Updates in different workflows never wait for each other.
      *
      * @param taskInstanceId The ID of the task to update
      * @param newStatus The new status to transition to
@@ -605,8 +979,8 @@ public class WorkflowService {
      * @return TaskStatusUpdate with updated task details
      * @throws ResourceNotFoundException if task not found
      * @throws ValidationException if state transition is invalid
+     * @throws ConflictException if the update kept conflicting with concurrent updates
      */
-    @Transactional
     public TaskStatusUpdate updateTaskStatus(
             UUID taskInstanceId,
             TaskStatus newStatus,
@@ -614,65 +988,206 @@ public class WorkflowService {
     ) {
         log.info("Updating task {} status to {}", taskInstanceId, newStatus);
 
+        // The task's workflow is only needed to pick its mailbox
+        UUID workflowInstanceId = workflowMailboxes.isEnabled()
+                ? taskInstanceRepository.findWorkflowInstanceIdById(taskInstanceId)
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Task with ID " + taskInstanceId + " not found"))
+                : null;
+        return mutateWorkflow(workflowInstanceId, "task-status",
+                () -> applyTaskStatus(taskInstanceId, newStatus, userId));
+    }
+
+    private TaskStatusUpdate applyTaskStatus(UUID taskInstanceId, TaskStatus newStatus, UUID userId) {
         // Validate task exists
         TaskInstance taskInstance = taskInstanceRepository.findById(taskInstanceId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Task with ID " + taskInstanceId + " not found"));
 
+        UUID workflowInstanceId = taskInstance.getWorkflowInstanceId();
         TaskStatus currentStatus = taskInstance.getStatus();
 
         // Validate state transition
-        if (!isValidTaskTransition(currentStatus, newStatus)) {
-            throw new ValidationException(
-                    "Invalid task state transition from " + currentStatus + " to " + newStatus);
-        }
+        StatusTransitions.TASK.check(currentStatus, newStatus);
 
-        // Update task status
-        taskInstance.setStatus(newStatus);
+        // A completion reads and changes workflow-wide state; lock the workflow so other transitions of it wait
+        WorkflowInstance workflowInstance = null;
         if (newStatus == TaskStatus.COMPLETED) {
-            taskInstance.setCompletedAt(LocalDateTime.now());
-            taskInstance.setCompletedBy(userId);
+            workflowInstance = workflowInstanceRepository.findForTransitionById(workflowInstanceId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Workflow with ID " + workflowInstanceId + " not found"));
         }
+
+        setTaskStatus(taskInstance, newStatus, userId, LocalDateTime.now());
         taskInstanceRepository.save(taskInstance);
+        recordTaskTransitions(workflowInstanceId, currentStatus, newStatus, 1);
+        workloadIndex.onStatusChange(taskInstance.getAssignedUserId(), currentStatus, newStatus);
 
         log.info("Task {} status updated from {} to {}", taskInstanceId, currentStatus, newStatus);
 
+        // A task leaving IN_PROGRESS frees capacity; queued tasks of the role go before newly released dependents
+        if (currentStatus == TaskStatus.IN_PROGRESS && taskInstance.getAssignedRole() != null) {
+            drainOverflow(taskInstance.getAssignedRole());
+        }
+
         // If task is completed, trigger dependent task assignment and check workflow completion
-        if (newStatus == TaskStatus.COMPLETED) {
-            UUID workflowInstanceId = taskInstance.getWorkflowInstanceId();
+        if (workflowInstance != null) {
+            // Assign the direct dependents that have no pending dependencies left
+            releaseDependents(workflowInstance, List.of(taskInstance));
 
-            // Assign any newly-ready dependent tasks
-            assignTasksForWorkflow(workflowInstanceId);
+            // Open the next stage if this was the last open task of the workflow's current stage
+            advanceStage(workflowInstance, List.of(taskInstance));
 
             // Check if workflow should be marked complete
-            transitionToCompletedIfAllTasksDone(workflowInstanceId, userId);
+            transitionToCompletedIfAllTasksDone(workflowInstance, userId);
         }
 
-        // Build and return result DTO
-        TaskStatusUpdate result = new TaskStatusUpdate();
-        result.setTaskInstanceId(taskInstance.getId());
-        result.setTaskName(taskInstance.getTaskName());
-        result.setStatus(taskInstance.getStatus());
-        result.setCompletedAt(taskInstance.getCompletedAt());
-        result.setCompletedBy(taskInstance.getCompletedBy());
+        return toStatusUpdate(taskInstance);
+    }
 
+    /**
+     * Updates the status of many tasks in one transaction, e.g. a checklist ticked off at once.
+     * All entries are validated before any task changes; the batch is rejected as a whole if a task does not
+     * exist, appears twice, is not assigned to the caller (HR_ADMIN may update any task) or cannot make its
+     * transition. The follow-up work a single update does per task runs once per affected workflow instead:
+     * one counter update, one release of the dependents of all its completed tasks (a dependent of several of
+     * them is decremented and assigned once) and one completion check. A role's overflow queue is drained once.
+     * Workflows with completions are locked in ID order, so the batch waits for concurrent transitions of those
+     * workflows like a single update; a task changed concurrently fails its version check and the batch is
+     * retried as a whole (OptimisticRetry). The batch spans workflows and therefore does not go through workflow
+     * mailboxes.
+     *
+     * @param changes The task transitions to apply
+     * @param userId The user making the status changes
+     * @param userRole Role of the user
+     * @return TaskStatusBatchResult with the updated tasks in request order
+     * @throws ValidationException if any entry is invalid; no task is updated
+     * @throws ForbiddenException if any task is not assigned to the user
+     * @throws ConflictException if the batch kept conflicting with concurrent updates
+     */
+    public TaskStatusBatchResult updateTaskStatuses(List<TaskStatusChange> changes, UUID userId, UserRole userRole) {
+        log.info("Updating status of {} tasks for user {}", changes.size(), userId);
+        return optimisticRetry.execute("task-status-batch", () -> applyTaskStatuses(changes, userId, userRole));
+    }
+
+    private TaskStatusBatchResult applyTaskStatuses(List<TaskStatusChange> changes, UUID userId, UserRole userRole) {
+        Set<UUID> taskIds = new LinkedHashSet<>();
+        List<String> errors = new ArrayList<>();
+        for (TaskStatusChange change : changes) {
+            if (!taskIds.add(change.getTaskInstanceId())) {
+                errors.add("Task " + change.getTaskInstanceId() + " appears more than once");
+            }
+        }
+        Map<UUID, TaskInstance> tasksById = taskInstanceRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(TaskInstance::getId, task -> task));
+
+        // Validate every entry before changing anything
+        for (TaskStatusChange change : changes) {
+            TaskInstance task = tasksById.get(change.getTaskInstanceId());
+            if (task == null) {
+                errors.add("Task with ID " + change.getTaskInstanceId() + " not found");
+                continue;
+            }
+            if (userRole != UserRole.HR_ADMIN && !userId.equals(task.getAssignedUserId())) {
+                throw new ForbiddenException(
+                        "Access denied: Task " + task.getId() + " is not assigned to you");
+            }
+            if (!StatusTransitions.TASK.isAllowed(task.getStatus(), change.getStatus())) {
+                errors.add("Invalid task state transition from " + task.getStatus() + " to "
+                        + change.getStatus() + " for task " + task.getId());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(String.join("; ", errors));
+        }
+
+        // Workflows with completions read and change workflow-wide state; lock them before changing their tasks
+        Set<UUID> completingWorkflowIds = changes.stream()
+                .filter(change -> change.getStatus() == TaskStatus.COMPLETED)
+                .map(change -> tasksById.get(change.getTaskInstanceId()).getWorkflowInstanceId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<WorkflowInstance> completingWorkflows = completingWorkflowIds.isEmpty()
+                ? List.of()
+                : workflowInstanceRepository.findAllForTransitionByIdIn(completingWorkflowIds);
+
+        // Apply all transitions, collecting per-workflow counter deltas (indexed by TaskStatus ordinal)
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, int[]> countDeltas = new LinkedHashMap<>();
+        Map<UUID, List<TaskInstance>> completedByWorkflow = new HashMap<>();
+        Set<UserRole> freedRoles = EnumSet.noneOf(UserRole.class);
+        List<TaskInstance> updated = new ArrayList<>(changes.size());
+        for (TaskStatusChange change : changes) {
+            TaskInstance task = tasksById.get(change.getTaskInstanceId());
+            TaskStatus currentStatus = task.getStatus();
+            TaskStatus newStatus = change.getStatus();
+            setTaskStatus(task, newStatus, userId, now);
+            updated.add(task);
+
+            int[] deltas = countDeltas.computeIfAbsent(task.getWorkflowInstanceId(),
+                    id -> new int[TaskStatus.values().length]);
+            deltas[currentStatus.ordinal()]--;
+            deltas[newStatus.ordinal()]++;
+            workloadIndex.onStatusChange(task.getAssignedUserId(), currentStatus, newStatus);
+            if (currentStatus == TaskStatus.IN_PROGRESS && task.getAssignedRole() != null) {
+                freedRoles.add(task.getAssignedRole());
+            }
+            if (newStatus == TaskStatus.COMPLETED) {
+                completedByWorkflow.computeIfAbsent(task.getWorkflowInstanceId(), id -> new ArrayList<>()).add(task);
+            }
+        }
+        taskInstanceRepository.saveAll(updated);
+        countDeltas.forEach((workflowId, deltas) -> workflowInstanceRepository.adjustTaskCounts(workflowId,
+                deltas[TaskStatus.NOT_STARTED.ordinal()],
+                deltas[TaskStatus.IN_PROGRESS.ordinal()],
+                deltas[TaskStatus.BLOCKED.ordinal()],
+                deltas[TaskStatus.COMPLETED.ordinal()]));
+        log.info("Updated status of {} tasks in {} workflows", updated.size(), countDeltas.size());
+
+        // Freed slots go to queued tasks of the role before newly released dependents
+        freedRoles.forEach(this::drainOverflow);
+
+        // Dependent assignment and completion detection once per workflow
+        int tasksAssigned = 0;
+        List<UUID> completedWorkflowIds = new ArrayList<>();
+        for (WorkflowInstance workflowInstance : completingWorkflows) {
+            List<TaskInstance> completedTasks = completedByWorkflow.get(workflowInstance.getId());
+            tasksAssigned += releaseDependents(workflowInstance, completedTasks);
+            tasksAssigned += advanceStage(workflowInstance, completedTasks);
+            if (transitionToCompletedIfAllTasksDone(workflowInstance, userId)) {
+                completedWorkflowIds.add(workflowInstance.getId());
+            }
+        }
+
+        TaskStatusBatchResult result = new TaskStatusBatchResult();
+        result.setTasks(updated.stream().map(this::toStatusUpdate).toList());
+        result.setWorkflowsAffected(countDeltas.size());
+        result.setTasksAssigned(tasksAssigned);
+        result.setCompletedWorkflowIds(completedWorkflowIds);
         return result;
     }
 
     /**
-     * Validates if a task state transition is allowed.
-     * Enforces business rules: NOT_STARTED→IN_PROGRESS, IN_PROGRESS→COMPLETED/BLOCKED, BLOCKED→IN_PROGRESS.
-     * COMPLETED is a terminal state.
+     * Applies a validated status to a task; the task counts as started from now on and is no longer rebalanced.
      */
-    private boolean isValidTaskTransition(TaskStatus current, TaskStatus next) {
-        if (current == TaskStatus.COMPLETED) return false; // Terminal state
+    private void setTaskStatus(TaskInstance task, TaskStatus newStatus, UUID userId, LocalDateTime now) {
+        task.setStatus(newStatus);
+        if (task.getStartedAt() == null) {
+            task.setStartedAt(now);
+        }
+        if (newStatus == TaskStatus.COMPLETED) {
+            task.setCompletedAt(now);
+            task.setCompletedBy(userId);
+        }
+    }
 
-        return switch (current) {
-            case NOT_STARTED -> next == TaskStatus.IN_PROGRESS;
-            case IN_PROGRESS -> next == TaskStatus.COMPLETED || next == TaskStatus.BLOCKED;
-            case BLOCKED -> next == TaskStatus.IN_PROGRESS;
-            default -> false;
-        };
+    private TaskStatusUpdate toStatusUpdate(TaskInstance task) {
+        TaskStatusUpdate result = new TaskStatusUpdate();
+        result.setTaskInstanceId(task.getId());
+        result.setTaskName(task.getTaskName());
+        result.setStatus(task.getStatus());
+        result.setCompletedAt(task.getCompletedAt());
+        result.setCompletedBy(task.getCompletedBy());
+        return result;
     }
 
     /**
@@ -782,7 +1297,7 @@ public class WorkflowService {
 
     /**
      * Maps WorkflowInstance entity to WorkflowSummaryResponse DTO.
-     * Calculates totalTasks and completedTasks by querying task instances.
+     * totalTasks and completedTasks come from the workflow's task counters, so no tasks are read.
      */
     private WorkflowSummaryResponse mapToWorkflowSummary(WorkflowInstance workflow) {
         WorkflowSummaryResponse response = new WorkflowSummaryResponse();
@@ -792,11 +1307,9 @@ public class WorkflowService {
         response.setStatus(workflow.getStatus());
         response.setInitiatedAt(workflow.getInitiatedAt());
 
-        // Calculate task counts
-        List<TaskInstance> tasks = taskInstanceRepository.findByWorkflowInstanceId(workflow.getId());
-        response.setTotalTasks(tasks.size());
-        response.setCompletedTasks(
-                (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count());
+        response.setTotalTasks(workflow.getTasksNotStarted() + workflow.getTasksInProgress()
+                + workflow.getTasksBlocked() + workflow.getTasksCompleted());
+        response.setCompletedTasks(workflow.getTasksCompleted());
 
         return response;
     }
@@ -0,0 +1,80 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.repository.WorkflowInstanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repairs drift of the per-status task counters on workflow_instances.
+ *
+ * The counters are adjusted in the transaction of every task transition, so they only drift when tasks are
+ * changed outside the application (manual SQL, restored backups) or by a bug. Each run
+ * (workflow.counters.reconcile-interval) finds unfinished workflows whose counters differ from their task rows
+ * and recounts them, workflow.counters.reconcile-batch workflows per transaction. The workflows are locked
+ * first, so a transition committing concurrently is never overwritten by an older count. Repaired workflows
+ * are counted as workflow.counters.repaired.
+ */
+@Service
+@Slf4j
+public class WorkflowTaskCounterReconciler {
+
+    private final WorkflowInstanceRepository workflowInstanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounter;
+    private final int batchSize;
+
+    public WorkflowTaskCounterReconciler(
+            WorkflowInstanceRepository workflowInstanceRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.counters.reconcile-batch:500}") int batchSize
+    ) {
+        this.workflowInstanceRepository = workflowInstanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairedCounter = Counter.builder("workflow.counters.repaired")
+                .description("Workflows whose task counters were recounted because they had drifted")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Recounts the tasks of every unfinished workflow whose counters have drifted.
+     *
+     * @return Number of workflows repaired
+     */
+    @Scheduled(fixedDelayString = "${workflow.counters.reconcile-interval:PT1H}",
+               initialDelayString = "${workflow.counters.reconcile-interval:PT1H}")
+    public int reconcile() {
+        int repaired = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<UUID> drifted = workflowInstanceRepository.findIdsWithDriftedTaskCounts(batchSize);
+                if (drifted.isEmpty()) {
+                    return 0;
+                }
+                workflowInstanceRepository.lockAllById(drifted);
+                return workflowInstanceRepository.recountTaskCounts(drifted);
+            });
+            int count = batch != null ? batch : 0;
+            repaired += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (repaired > 0) {
+            repairedCounter.increment(repaired);
+            log.warn("Repaired task counters of {} workflows", repaired);
+        }
+        return repaired;
+    }
+}
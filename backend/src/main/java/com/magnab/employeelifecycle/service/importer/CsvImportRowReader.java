@@ -0,0 +1,135 @@
+package com.magnab.employeelifecycle.service.importer;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads CSV import files: a header row followed by one employee per line.
+ *
+ * Recognised columns (case-insensitive): templateId, employeeName, employeeEmail, employeeRole.
+ * Every other column becomes a custom field value (empty cells are skipped).
+ * Fields may be quoted with double quotes; a doubled quote inside a quoted field is a literal quote.
+ * Records must fit on one line. Blank lines are ignored and not counted as rows.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final String TEMPLATE_ID = "templateid";
+    private static final String EMPLOYEE_NAME = "employeename";
+    private static final String EMPLOYEE_EMAIL = "employeeemail";
+    private static final String EMPLOYEE_ROLE = "employeerole";
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private int rowNumber;
+
+    public CsvImportRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (header == null) {
+            String headerLine = nextNonBlankLine();
+            if (headerLine == null) {
+                return null;
+            }
+            header = parseLine(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+        }
+
+        String line = nextNonBlankLine();
+        if (line == null) {
+            return null;
+        }
+        rowNumber++;
+
+        List<String> values = parseLine(line);
+        if (values.size() > header.size()) {
+            return ImportRow.failed(rowNumber,
+                    "Row has " + values.size() + " columns but header has " + header.size());
+        }
+
+        InitiateWorkflowRequest request = new InitiateWorkflowRequest();
+        Map<String, Object> customFieldValues = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String column = header.get(i).trim();
+            String value = values.get(i).trim();
+            switch (column.toLowerCase()) {
+                case TEMPLATE_ID -> {
+                    if (!value.isEmpty()) {
+                        try {
+                            request.setTemplateId(UUID.fromString(value));
+                        } catch (IllegalArgumentException e) {
+                            return ImportRow.failed(rowNumber, "Invalid template ID: " + value);
+                        }
+                    }
+                }
+                case EMPLOYEE_NAME -> request.setEmployeeName(value);
+                case EMPLOYEE_EMAIL -> request.setEmployeeEmail(value);
+                case EMPLOYEE_ROLE -> request.setEmployeeRole(value);
+                default -> {
+                    if (!value.isEmpty()) {
+                        customFieldValues.put(column, value);
+                    }
+                }
+            }
+        }
+        request.setCustomFieldValues(customFieldValues);
+        return ImportRow.parsed(rowNumber, request);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits one CSV line into fields, honouring double-quoted fields.
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,22 @@
+package com.magnab.employeelifecycle.service.importer;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+
+/**
+ * A single data row read from an import file.
+ * Either carries the parsed initiation request or, if the row could not be parsed, the parse error.
+ *
+ * @param rowNumber 1-based data row number (header and blank lines are not counted)
+ * @param request Parsed request, null if the row could not be parsed
+ * @param parseError Parse error message, null if the row was parsed
+ */
+public record ImportRow(int rowNumber, InitiateWorkflowRequest request, String parseError) {
+
+    public static ImportRow parsed(int rowNumber, InitiateWorkflowRequest request) {
+        return new ImportRow(rowNumber, request, null);
+    }
+
+    public static ImportRow failed(int rowNumber, String parseError) {
+        return new ImportRow(rowNumber, null, parseError);
+    }
+}
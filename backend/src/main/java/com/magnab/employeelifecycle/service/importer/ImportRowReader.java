@@ -0,0 +1,33 @@
+package com.magnab.employeelifecycle.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental reader over the data rows of an import file.
+ * Implementations read one line at a time so files of any size can be imported without buffering them.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Reads the next data row.
+     *
+     * @return the next row, or null at end of input
+     * @throws IOException if the underlying file cannot be read
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * Skips data rows that were already processed (used when resuming from a checkpoint).
+     *
+     * @param rows Number of data rows to skip
+     * @return number of rows actually skipped (less than requested if the input ended)
+     */
+    default int skip(int rows) throws IOException {
+        int skipped = 0;
+        while (skipped < rows && next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+}
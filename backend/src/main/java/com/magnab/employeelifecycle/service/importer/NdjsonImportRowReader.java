@@ -0,0 +1,47 @@
+package com.magnab.employeelifecycle.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads NDJSON import files: one JSON object per line with the same shape as a single
+ * workflow initiation request. Blank lines are ignored and not counted as rows.
+ */
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int rowNumber;
+
+    public NdjsonImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        rowNumber++;
+
+        try {
+            return ImportRow.parsed(rowNumber, objectMapper.readValue(line, InitiateWorkflowRequest.class));
+        } catch (JsonProcessingException e) {
+            return ImportRow.failed(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
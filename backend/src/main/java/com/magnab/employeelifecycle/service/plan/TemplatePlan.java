@@ -0,0 +1,288 @@
+package com.magnab.employeelifecycle.service.plan;
+
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.enums.WorkflowType;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, pre-compiled view of a workflow template used to instantiate and route workflows.
+ *
+ * Built once per template version from the template row and the tasks of that version, so workflow creation
+ * and task assignment do not have to query and re-index the template on every call. Holds plain values only
+ * (no JPA entities), so a plan can be shared between threads and outlive the session it was loaded in.
+ * The task structure of a version never changes; template-level settings (active, workflow type, assignment strategy) are those of
+ * the template when the plan was loaded and only matter for the current version.
+ *
+ * Features:
+ * - Tasks in sequence order, plus lookup by template task ID
+ * - Dependency adjacency index in both directions (prerequisites and dependents); a task may have several
+ *   prerequisites and waits for all of them
+ * - Roles required by the template and the tasks per role
+ * - Parallel groups: tasks grouped by dependency depth; tasks in one group can run at the same time
+ * - Sequence stages: tasks grouped by sequence order (parallel tasks share one), for stage gating
+ * - Visibility rules compiled once per version (see VisibilityRule)
+ */
+public final class TemplatePlan {
+
+    /**
+     * One template task as seen by the workflow engine.
+     *
+     * @param templateTaskId The template task ID
+     * @param taskName Task name copied to each task instance
+     * @param sequenceOrder Position within the template
+     * @param assignedRole Role that performs the task
+     * @param parallel Whether the template marks the task as parallel
+     * @param assignmentMode Whether the ready task is assigned by the engine (PUSH) or pooled for claiming (PULL)
+     * @param prerequisiteTemplateTaskIds Template tasks this task waits for (empty if none)
+     * @param hiddenWhen Compiled visibility rule; the task is hidden in workflows whose custom fields match it
+     */
+    public record PlannedTask(
+            UUID templateTaskId,
+            String taskName,
+            int sequenceOrder,
+            UserRole assignedRole,
+            boolean parallel,
+            TaskAssignmentMode assignmentMode,
+            List<UUID> prerequisiteTemplateTaskIds,
+            Predicate<Map<String, Object>> hiddenWhen
+    ) {
+
+        /**
+         * Whether the task is visible in a workflow with the given custom field values.
+         */
+        public boolean isVisibleFor(Map<String, Object> customFieldValues) {
+            return !hiddenWhen.test(customFieldValues != null ? customFieldValues : Map.of());
+        }
+    }
+
+    private static final Predicate<Map<String, Object>> NEVER_HIDDEN = values -> false;
+
+    private final UUID templateId;
+    private final int version;
+    private final WorkflowType workflowType;
+    private final boolean active;
+    private final AssignmentStrategyType assignmentStrategy;
+    private final List<PlannedTask> tasks;
+    private final Map<UUID, PlannedTask> tasksById;
+    private final Map<UUID, List<PlannedTask>> dependents;
+    private final Map<UserRole, List<PlannedTask>> tasksByRole;
+    private final List<List<PlannedTask>> parallelGroups;
+    private final NavigableMap<Integer, List<PlannedTask>> stages;
+
+    private TemplatePlan(
+            UUID templateId,
+            int version,
+            WorkflowType workflowType,
+            boolean active,
+            AssignmentStrategyType assignmentStrategy,
+            List<PlannedTask> tasks
+    ) {
+        this.templateId = templateId;
+        this.version = version;
+        this.workflowType = workflowType;
+        this.active = active;
+        this.assignmentStrategy = assignmentStrategy;
+        this.tasks = List.copyOf(tasks);
+
+        Map<UUID, PlannedTask> byId = new LinkedHashMap<>();
+        Map<UUID, List<PlannedTask>> byPrerequisite = new HashMap<>();
+        Map<UserRole, List<PlannedTask>> byRole = new EnumMap<>(UserRole.class);
+        NavigableMap<Integer, List<PlannedTask>> bySequence = new TreeMap<>();
+        for (PlannedTask task : this.tasks) {
+            byId.put(task.templateTaskId(), task);
+            for (UUID prerequisiteId : task.prerequisiteTemplateTaskIds()) {
+                byPrerequisite.computeIfAbsent(prerequisiteId, id -> new ArrayList<>()).add(task);
+            }
+            byRole.computeIfAbsent(task.assignedRole(), role -> new ArrayList<>()).add(task);
+            bySequence.computeIfAbsent(task.sequenceOrder(), order -> new ArrayList<>()).add(task);
+        }
+        this.tasksById = Collections.unmodifiableMap(byId);
+        this.dependents = freeze(byPrerequisite);
+        this.tasksByRole = freeze(byRole);
+        this.parallelGroups = groupByDepth(this.tasks, byId);
+        bySequence.replaceAll((order, stage) -> List.copyOf(stage));
+        this.stages = Collections.unmodifiableNavigableMap(bySequence);
+    }
+
+    /**
+     * Compiles a plan for the template's current version.
+     *
+     * @param template The workflow template
+     * @param templateTasks The tasks of the template's current version (any order; the plan orders them by sequence)
+     * @return The compiled plan
+     */
+    public static TemplatePlan compile(WorkflowTemplate template, List<TemplateTask> templateTasks) {
+        return compile(template, template.getVersion() != null ? template.getVersion() : 1, templateTasks);
+    }
+
+    /**
+     * Compiles a plan for a specific version of a template.
+     *
+     * @param template The workflow template
+     * @param version The template version the tasks belong to
+     * @param templateTasks The tasks of that version (any order; the plan orders them by sequence)
+     * @return The compiled plan
+     */
+    public static TemplatePlan compile(WorkflowTemplate template, int version, List<TemplateTask> templateTasks) {
+        List<PlannedTask> tasks = templateTasks.stream()
+                .sorted(Comparator.comparing(TemplateTask::getSequenceOrder))
+                .map(task -> new PlannedTask(
+                        task.getId(),
+                        task.getTaskName(),
+                        task.getSequenceOrder(),
+                        task.getAssignedRole(),
+                        Boolean.TRUE.equals(task.getIsParallel()),
+                        task.getAssignmentMode() != null ? task.getAssignmentMode() : TaskAssignmentMode.PUSH,
+                        prerequisiteIds(task),
+                        task.getHiddenWhen() != null ? VisibilityRule.compile(task.getHiddenWhen()) : NEVER_HIDDEN))
+                .toList();
+        return new TemplatePlan(template.getId(), version, template.getWorkflowType(),
+                Boolean.TRUE.equals(template.getIsActive()), template.getAssignmentStrategy(), tasks);
+    }
+
+    public UUID getTemplateId() {
+        return templateId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public WorkflowType getWorkflowType() {
+        return workflowType;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Assignment strategy chosen by the template, or null to use the strategy configured for each role.
+     */
+    public AssignmentStrategyType getAssignmentStrategy() {
+        return assignmentStrategy;
+    }
+
+    /**
+     * All tasks in sequence order.
+     */
+    public List<PlannedTask> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Looks up a task by template task ID.
+     *
+     * @return The task, or null if it is not part of this template
+     */
+    public PlannedTask getTask(UUID templateTaskId) {
+        return tasksById.get(templateTaskId);
+    }
+
+    /**
+     * Tasks that depend directly on the given task.
+     */
+    public List<PlannedTask> getDependents(UUID templateTaskId) {
+        return dependents.getOrDefault(templateTaskId, List.of());
+    }
+
+    /**
+     * Roles that have at least one task in this template.
+     */
+    public Set<UserRole> getRequiredRoles() {
+        return tasksByRole.keySet();
+    }
+
+    /**
+     * Tasks performed by the given role, in sequence order.
+     */
+    public List<PlannedTask> getTasksForRole(UserRole role) {
+        return tasksByRole.getOrDefault(role, List.of());
+    }
+
+    /**
+     * Tasks grouped by dependency depth. Group 0 holds the tasks without prerequisites,
+     * group n the tasks whose deepest prerequisite is in group n-1.
+     */
+    public List<List<PlannedTask>> getParallelGroups() {
+        return parallelGroups;
+    }
+
+    /**
+     * Tasks grouped by sequence order, in order. Each group is a stage: parallel tasks share a sequence order
+     * and therefore a stage, every other task is a stage of its own.
+     */
+    public NavigableMap<Integer, List<PlannedTask>> getStages() {
+        return stages;
+    }
+
+    /**
+     * Sequence order of the stage after the given one.
+     *
+     * @return The next stage's sequence order, or null if the given stage is the last
+     */
+    public Integer getNextStage(int sequenceOrder) {
+        return stages.higherKey(sequenceOrder);
+    }
+
+    private static List<UUID> prerequisiteIds(TemplateTask task) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (task.getDependsOnTask() != null) {
+            ids.add(task.getDependsOnTask().getId());
+        }
+        if (task.getAdditionalDependencies() != null) {
+            for (TemplateTask dependency : task.getAdditionalDependencies()) {
+                ids.add(dependency.getId());
+            }
+        }
+        ids.remove(null);
+        return List.copyOf(ids);
+    }
+
+    private static List<List<PlannedTask>> groupByDepth(List<PlannedTask> tasks, Map<UUID, PlannedTask> byId) {
+        Map<UUID, Integer> depths = new HashMap<>();
+        Set<UUID> inProgress = new HashSet<>();
+        List<List<PlannedTask>> groups = new ArrayList<>();
+        for (PlannedTask task : tasks) {
+            int depth = depthOf(task, byId, depths, inProgress);
+            while (groups.size() <= depth) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(depth).add(task);
+        }
+        return groups.stream().map(List::copyOf).toList();
+    }
+
+    private static int depthOf(PlannedTask task, Map<UUID, PlannedTask> byId, Map<UUID, Integer> depths,
+                               Set<UUID> inProgress) {
+        Integer known = depths.get(task.templateTaskId());
+        if (known != null) {
+            return known;
+        }
+        // The in-progress set guards against cycles in hand-edited data: an edge back into the current path is ignored
+        if (!inProgress.add(task.templateTaskId())) {
+            return -1;
+        }
+        int depth = 0;
+        for (UUID prerequisiteId : task.prerequisiteTemplateTaskIds()) {
+            PlannedTask prerequisite = byId.get(prerequisiteId);
+            if (prerequisite != null) {
+                depth = Math.max(depth, depthOf(prerequisite, byId, depths, inProgress) + 1);
+            }
+        }
+        inProgress.remove(task.templateTaskId());
+        depths.put(task.templateTaskId(), depth);
+        return depth;
+    }
+
+    private static <K> Map<K, List<PlannedTask>> freeze(Map<K, List<PlannedTask>> index) {
+        index.replaceAll((key, value) -> List.copyOf(value));
+        return Collections.unmodifiableMap(index);
+    }
+}
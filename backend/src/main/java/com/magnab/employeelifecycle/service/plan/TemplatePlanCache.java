@@ -0,0 +1,141 @@
+package com.magnab.employeelifecycle.service.plan;
+
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.repository.TemplateTaskRepository;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of compiled template plans.
+ *
+ * Two levels:
+ * - Current plan per template ID, used to instantiate new workflows. Kept until the template changes;
+ *   TemplateService evicts a template when it is updated or deleted. Eviction is repeated after the surrounding
+ *   transaction completes, and a plan loaded while an eviction happened is not cached, so readers never keep
+ *   a plan from before the change.
+ * - Plan per template version, used by running workflows. The tasks of a version never change, so these
+ *   plans are cached for the lifetime of the application and never evicted.
+ * The number of templates and versions is small, so both maps are unbounded.
+ */
+@Service
+@Slf4j
+public class TemplatePlanCache {
+
+    private record VersionKey(UUID templateId, int version) {
+    }
+
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final TemplateTaskRepository templateTaskRepository;
+    private final Map<UUID, TemplatePlan> plans = new ConcurrentHashMap<>();
+    private final Map<VersionKey, TemplatePlan> versionPlans = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TemplatePlanCache(
+            WorkflowTemplateRepository workflowTemplateRepository,
+            TemplateTaskRepository templateTaskRepository
+    ) {
+        this.workflowTemplateRepository = workflowTemplateRepository;
+        this.templateTaskRepository = templateTaskRepository;
+    }
+
+    /**
+     * Returns the compiled plan of a template's current version, loading it on first use.
+     *
+     * @param templateId The workflow template ID
+     * @return The compiled plan (active and inactive templates alike)
+     * @throws ResourceNotFoundException if the template does not exist
+     */
+    public TemplatePlan getPlan(UUID templateId) {
+        TemplatePlan plan = plans.get(templateId);
+        if (plan != null) {
+            return plan;
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        WorkflowTemplate template = findTemplate(templateId);
+        plan = compileVersion(template, template.getVersion());
+        versionPlans.putIfAbsent(new VersionKey(templateId, plan.getVersion()), plan);
+
+        if (evictions.get() == evictionsBeforeLoad) {
+            plans.putIfAbsent(templateId, plan);
+            log.debug("Compiled plan for template {} version {} with {} tasks",
+                    templateId, plan.getVersion(), plan.getTasks().size());
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the compiled plan of a specific template version, loading it on first use.
+     * Used for workflows that are already running: they keep following the version they were created from.
+     *
+     * @param templateId The workflow template ID
+     * @param version The template version
+     * @return The compiled plan of that version
+     * @throws ResourceNotFoundException if the template or the version does not exist
+     */
+    public TemplatePlan getPlan(UUID templateId, int version) {
+        TemplatePlan plan = versionPlans.get(new VersionKey(templateId, version));
+        if (plan != null) {
+            return plan;
+        }
+
+        WorkflowTemplate template = findTemplate(templateId);
+        if (version < 1 || version > template.getVersion()) {
+            throw new ResourceNotFoundException(
+                    "Workflow template " + templateId + " has no version " + version);
+        }
+        plan = compileVersion(template, version);
+        TemplatePlan cached = versionPlans.putIfAbsent(new VersionKey(templateId, version), plan);
+        log.debug("Compiled plan for template {} version {} with {} tasks", templateId, version, plan.getTasks().size());
+        return cached != null ? cached : plan;
+    }
+
+    /**
+     * Drops the cached current plan of a template now and again once the current transaction (if any) completes.
+     * Plans of individual versions are unaffected.
+     *
+     * @param templateId The workflow template ID
+     */
+    public void evict(UUID templateId) {
+        evictNow(templateId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(templateId);
+                }
+            });
+        }
+    }
+
+    private WorkflowTemplate findTemplate(UUID templateId) {
+        return workflowTemplateRepository.findById(templateId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Workflow template not found with id: " + templateId));
+    }
+
+    private TemplatePlan compileVersion(WorkflowTemplate template, int version) {
+        // Only committed versions are visible here and their tasks are immutable, so the plan never goes stale
+        List<TemplateTask> templateTasks = templateTaskRepository
+                .findByTemplateIdAndTemplateVersionOrderBySequenceOrder(template.getId(), version);
+        return TemplatePlan.compile(template, version, templateTasks);
+    }
+
+    private void evictNow(UUID templateId) {
+        evictions.incrementAndGet();
+        if (plans.remove(templateId) != null) {
+            log.debug("Evicted plan for template {}", templateId);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.magnab.employeelifecycle.service.plan;
+
+import com.magnab.employeelifecycle.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiler for conditional task visibility rules.
+ *
+ * A rule is a boolean expression over a workflow's custom field values, stored on a template task as
+ * {@code hidden_when}; the task instance is created hidden when the rule matches. Rules are parsed once and
+ * compiled into a tree of lambdas, so evaluating a rule is a few map lookups and comparisons with no parsing
+ * or reflection per workflow.
+ *
+ * Syntax:
+ * - Comparisons: {@code field == value}, {@code !=}, {@code <}, {@code <=}, {@code >}, {@code >=}
+ * - Values: {@code true}, {@code false}, {@code null}, numbers, and 'single' or "double" quoted strings
+ * - A bare field name is true when the field is true (boolean or the string "true")
+ * - Combinators: {@code &&}, {@code ||}, {@code !} and parentheses
+ *
+ * Example: {@code remote == true || office == 'none'}.
+ * Missing fields are null. Numbers compare numerically; other values of different types are compared as text.
+ */
+public final class VisibilityRule {
+
+    private VisibilityRule() {
+    }
+
+    /**
+     * Compiles a rule expression.
+     *
+     * @param expression The rule; null or blank means the rule never matches
+     * @return Predicate over custom field values
+     * @throws ValidationException if the expression is not valid
+     */
+    public static Predicate<Map<String, Object>> compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return values -> false;
+        }
+        Parser parser = new Parser(expression, tokenize(expression));
+        Predicate<Map<String, Object>> predicate = parser.parseOr();
+        parser.expectEnd();
+        return predicate;
+    }
+
+    // === Tokenizer ===
+
+    private enum TokenType { IDENTIFIER, NUMBER, STRING, OPERATOR, LEFT_PAREN, RIGHT_PAREN }
+
+    private record Token(TokenType type, String text, int position) {
+    }
+
+    private static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new Token(c == '(' ? TokenType.LEFT_PAREN : TokenType.RIGHT_PAREN, String.valueOf(c), i));
+                i++;
+            } else if (c == '\'' || c == '"') {
+                int end = expression.indexOf(c, i + 1);
+                if (end < 0) {
+                    throw invalid(expression, "unterminated string at position " + i);
+                }
+                tokens.add(new Token(TokenType.STRING, expression.substring(i + 1, end), i));
+                i = end + 1;
+            } else if (Character.isDigit(c) || (c == '-' && i + 1 < expression.length()
+                    && Character.isDigit(expression.charAt(i + 1)))) {
+                int start = i++;
+                while (i < expression.length()
+                        && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, expression.substring(start, i), start));
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < expression.length() && (Character.isLetterOrDigit(expression.charAt(i))
+                        || expression.charAt(i) == '_' || expression.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENTIFIER, expression.substring(start, i), start));
+            } else {
+                String operator = operatorAt(expression, i);
+                if (operator == null) {
+                    throw invalid(expression, "unexpected character '" + c + "' at position " + i);
+                }
+                tokens.add(new Token(TokenType.OPERATOR, operator, i));
+                i += operator.length();
+            }
+        }
+        return tokens;
+    }
+
+    private static String operatorAt(String expression, int i) {
+        for (String operator : List.of("==", "!=", "<=", ">=", "&&", "||", "<", ">", "!")) {
+            if (expression.startsWith(operator, i)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    // === Parser: recursive descent producing lambdas ===
+
+    private static final class Parser {
+
+        private final String expression;
+        private final List<Token> tokens;
+        private int position;
+
+        private Parser(String expression, List<Token> tokens) {
+            this.expression = expression;
+            this.tokens = tokens;
+        }
+
+        private Predicate<Map<String, Object>> parseOr() {
+            Predicate<Map<String, Object>> left = parseAnd();
+            while (acceptOperator("||")) {
+                Predicate<Map<String, Object>> first = left;
+                Predicate<Map<String, Object>> second = parseAnd();
+                left = values -> first.test(values) || second.test(values);
+            }
+            return left;
+        }
+
+        private Predicate<Map<String, Object>> parseAnd() {
+            Predicate<Map<String, Object>> left = parseUnary();
+            while (acceptOperator("&&")) {
+                Predicate<Map<String, Object>> first = left;
+                Predicate<Map<String, Object>> second = parseUnary();
+                left = values -> first.test(values) && second.test(values);
+            }
+            return left;
+        }
+
+        private Predicate<Map<String, Object>> parseUnary() {
+            if (acceptOperator("!")) {
+                Predicate<Map<String, Object>> operand = parseUnary();
+                return values -> !operand.test(values);
+            }
+            if (peek() != null && peek().type() == TokenType.LEFT_PAREN) {
+                position++;
+                Predicate<Map<String, Object>> inner = parseOr();
+                Token closing = next();
+                if (closing == null || closing.type() != TokenType.RIGHT_PAREN) {
+                    throw invalid(expression, "missing ')'");
+                }
+                return inner;
+            }
+            return parseComparison();
+        }
+
+        private Predicate<Map<String, Object>> parseComparison() {
+            Token leftToken = peek();
+            Function<Map<String, Object>, Object> left = parseOperand();
+            Token operator = peek();
+            if (operator == null || operator.type() != TokenType.OPERATOR || !isComparison(operator.text())) {
+                if (leftToken.type() != TokenType.IDENTIFIER || isKeyword(leftToken.text())) {
+                    throw invalid(expression, "expected a comparison after '" + leftToken.text() + "'");
+                }
+                return values -> isTrue(left.apply(values));
+            }
+            position++;
+            Function<Map<String, Object>, Object> right = parseOperand();
+            if (operator.text().equals("==")) {
+                return values -> valuesEqual(left.apply(values), right.apply(values));
+            }
+            if (operator.text().equals("!=")) {
+                return values -> !valuesEqual(left.apply(values), right.apply(values));
+            }
+            IntPredicate order = switch (operator.text()) {
+                case "<" -> result -> result < 0;
+                case "<=" -> result -> result <= 0;
+                case ">" -> result -> result > 0;
+                default -> result -> result >= 0;
+            };
+            return values -> {
+                Integer result = compare(left.apply(values), right.apply(values));
+                return result != null && order.test(result);
+            };
+        }
+
+        private Function<Map<String, Object>, Object> parseOperand() {
+            Token token = next();
+            if (token == null) {
+                throw invalid(expression, "unexpected end of rule");
+            }
+            switch (token.type()) {
+                case NUMBER -> {
+                    Double number = parseNumber(token);
+                    return values -> number;
+                }
+                case STRING -> {
+                    String text = token.text();
+                    return values -> text;
+                }
+                case IDENTIFIER -> {
+                    return switch (token.text()) {
+                        case "true" -> values -> Boolean.TRUE;
+                        case "false" -> values -> Boolean.FALSE;
+                        case "null" -> values -> null;
+                        default -> {
+                            String field = token.text();
+                            yield values -> values != null ? values.get(field) : null;
+                        }
+                    };
+                }
+                default -> throw invalid(expression, "unexpected '" + token.text() + "' at position " + token.position());
+            }
+        }
+
+        private Double parseNumber(Token token) {
+            try {
+                return Double.valueOf(token.text());
+            } catch (NumberFormatException e) {
+                throw invalid(expression, "invalid number '" + token.text() + "'");
+            }
+        }
+
+        private boolean acceptOperator(String operator) {
+            Token token = peek();
+            if (token != null && token.type() == TokenType.OPERATOR && token.text().equals(operator)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private Token next() {
+            return position < tokens.size() ? tokens.get(position++) : null;
+        }
+
+        private void expectEnd() {
+            Token token = peek();
+            if (token != null) {
+                throw invalid(expression, "unexpected '" + token.text() + "' at position " + token.position());
+            }
+        }
+    }
+
+    // === Runtime helpers used by the compiled lambdas ===
+
+    private static boolean isComparison(String operator) {
+        return switch (operator) {
+            case "==", "!=", "<", "<=", ">", ">=" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isKeyword(String identifier) {
+        return identifier.equals("true") || identifier.equals("false") || identifier.equals("null");
+    }
+
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || (value instanceof String text && text.equalsIgnoreCase("true"));
+    }
+
+    private static boolean valuesEqual(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Number a && right instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        if (left.getClass() == right.getClass()) {
+            return left.equals(right);
+        }
+        // Form values often arrive as text ("true", "3"); compare those against typed literals as text
+        return Objects.equals(asText(left), asText(right));
+    }
+
+    /**
+     * Orders two values, or returns null when they cannot be ordered (a value is missing).
+     */
+    private static Integer compare(Object left, Object right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        Double a = asNumber(left);
+        Double b = asNumber(right);
+        if (a != null && b != null) {
+            return Double.compare(a, b);
+        }
+        return asText(left).compareTo(asText(right));
+    }
+
+    private static Double asNumber(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String asText(Object value) {
+        if (value instanceof Double number && number == Math.rint(number) && !Double.isInfinite(number)) {
+            return String.valueOf(number.longValue());
+        }
+        return String.valueOf(value);
+    }
+
+    private static ValidationException invalid(String expression, String reason) {
+        return new ValidationException("Invalid visibility rule '" + expression + "': " + reason);
+    }
+}
@@ -0,0 +1,156 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Plans the assignment of a batch of ready tasks in a single pass.
+ *
+ * Features:
+ * - Eligible users are looked up once per required role, not once per task, from the RoleDirectory cache
+ * - Each task goes to the user chosen by its AssignmentStrategy: the template's strategy if it sets one,
+ *   otherwise workflow.routing.strategy.roles.&lt;ROLE&gt;, otherwise workflow.routing.strategy.default
+ *   (LEAST_LOADED unless configured)
+ * - Loads come from the WorkloadIndex and include the assignments planned earlier in the same batch, so a
+ *   batch is spread across users instead of piling onto whoever was least loaded when it started
+ * - Users at their WIP limit (WipLimits) are not eligible; tasks of a role whose users are all at their limit
+ *   are returned as over capacity instead of being assigned
+ * - Tasks are not modified; the caller applies the plan and persists it in one write
+ */
+@Service
+@Slf4j
+public class AssignmentPlanner {
+
+    /**
+     * A planned assignment of one task to one user.
+     */
+    public record Assignment(TaskInstance task, User user) {
+    }
+
+    /**
+     * Planned assignments, and the ready tasks whose role has active users but none with spare capacity.
+     */
+    public record Result(List<Assignment> assignments, List<TaskInstance> overCapacity) {
+    }
+
+    /**
+     * Active users of one role by ID, and the users below their WIP limit as a list in a stable order for the
+     * strategy. Users are removed from the list as the batch fills them up.
+     */
+    private record Candidates(Map<UUID, User> usersById, List<UUID> userIds) {
+    }
+
+    private final RoleDirectory roleDirectory;
+    private final WipLimits wipLimits;
+    private final Map<AssignmentStrategyType, AssignmentStrategy> strategies = new EnumMap<>(AssignmentStrategyType.class);
+    private final Map<UserRole, AssignmentStrategy> roleStrategies = new EnumMap<>(UserRole.class);
+
+    public AssignmentPlanner(
+            RoleDirectory roleDirectory,
+            WipLimits wipLimits,
+            List<AssignmentStrategy> strategies,
+            Environment environment
+    ) {
+        this.roleDirectory = roleDirectory;
+        this.wipLimits = wipLimits;
+        for (AssignmentStrategy strategy : strategies) {
+            this.strategies.put(strategy.getType(), strategy);
+        }
+
+        AssignmentStrategyType defaultType = environment.getProperty(
+                "workflow.routing.strategy.default", AssignmentStrategyType.class, AssignmentStrategyType.LEAST_LOADED);
+        for (UserRole role : UserRole.values()) {
+            AssignmentStrategyType type = environment.getProperty(
+                    "workflow.routing.strategy.roles." + role.name(), AssignmentStrategyType.class, defaultType);
+            roleStrategies.put(role, strategyOf(type));
+        }
+        log.info("Task assignment strategies by role: {}", roleStrategies.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().getType())
+                .toList());
+    }
+
+    /**
+     * Plans assignments for the given ready tasks. Tasks whose role has no active users, or that are not
+     * part of the template plan, are left out; tasks whose role's users are all at their WIP limit are
+     * returned as over capacity.
+     *
+     * Must be called inside the transaction that persists the plan: the selected users' workloads are counted
+     * immediately and reverted if that transaction rolls back.
+     *
+     * @param readyTasks Tasks ready to assign, in assignment order
+     * @param plan Compiled plan of the workflow's template version
+     * @param routingKey Identifies the workflow's employee, for sticky routing (the employee email)
+     * @return Planned assignments and over-capacity tasks, each in task order
+     */
+    public Result plan(List<TaskInstance> readyTasks, TemplatePlan plan, String routingKey) {
+        Map<UserRole, Candidates> candidatesByRole = new EnumMap<>(UserRole.class);
+        AssignmentStrategy templateStrategy = plan.getAssignmentStrategy() != null
+                ? strategyOf(plan.getAssignmentStrategy()) : null;
+        List<Assignment> assignments = new ArrayList<>(readyTasks.size());
+        List<TaskInstance> overCapacity = new ArrayList<>();
+
+        for (TaskInstance task : readyTasks) {
+            TemplatePlan.PlannedTask plannedTask = plan.getTask(task.getTemplateTaskId());
+            if (plannedTask == null) {
+                log.error("Template task not found for task instance: {}", task.getId());
+                continue;
+            }
+
+            UserRole requiredRole = plannedTask.assignedRole();
+            Candidates candidates = candidatesByRole.computeIfAbsent(requiredRole, this::loadCandidates);
+            if (candidates.usersById().isEmpty()) {
+                continue;
+            }
+            if (candidates.userIds().isEmpty()) {
+                overCapacity.add(task);
+                continue;
+            }
+
+            AssignmentStrategy strategy = templateStrategy != null ? templateStrategy : roleStrategies.get(requiredRole);
+            UUID selectedUserId = strategy.assign(requiredRole, candidates.userIds(), routingKey);
+            User selectedUser = candidates.usersById().get(selectedUserId);
+            log.debug("Planned task {} for user {} ({})", task.getTaskName(), selectedUser.getEmail(), strategy.getType());
+            assignments.add(new Assignment(task, selectedUser));
+            if (!wipLimits.hasCapacity(requiredRole, selectedUserId)) {
+                candidates.userIds().remove(selectedUserId);
+            }
+        }
+
+        if (!overCapacity.isEmpty()) {
+            log.info("{} ready tasks exceed the WIP limits of their roles", overCapacity.size());
+        }
+        return new Result(assignments, overCapacity);
+    }
+
+    private Candidates loadCandidates(UserRole role) {
+        List<User> users = roleDirectory.getActiveUsers(role);
+        if (users.isEmpty()) {
+            log.warn("No active users found for role: {}", role);
+        }
+        Map<UUID, User> usersById = new LinkedHashMap<>();
+        List<UUID> userIds = new ArrayList<>(users.size());
+        for (User user : users) {
+            usersById.put(user.getId(), user);
+            if (wipLimits.hasCapacity(role, user.getId())) {
+                userIds.add(user.getId());
+            }
+        }
+        return new Candidates(usersById, userIds);
+    }
+
+    private AssignmentStrategy strategyOf(AssignmentStrategyType type) {
+        AssignmentStrategy strategy = strategies.get(type);
+        if (strategy == null) {
+            throw new IllegalStateException("No assignment strategy registered for " + type);
+        }
+        return strategy;
+    }
+}
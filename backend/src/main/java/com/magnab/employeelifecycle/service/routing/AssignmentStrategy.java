@@ -0,0 +1,33 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Picks the user a ready task is assigned to.
+ *
+ * Implementations are Spring beans, one per AssignmentStrategyType; AssignmentPlanner chooses one per task from
+ * the template's strategy or, if the template has none, the strategy configured for the task's role
+ * (workflow.routing.strategy). Every implementation must record the assignment in the WorkloadIndex, so the
+ * other strategies keep seeing correct loads.
+ */
+public interface AssignmentStrategy {
+
+    /**
+     * The strategy this implementation provides.
+     */
+    AssignmentStrategyType getType();
+
+    /**
+     * Selects one of the eligible users and counts the new task in the WorkloadIndex.
+     *
+     * @param role The role the task is routed to
+     * @param eligibleUserIds Active users of that role, in a stable order (never empty)
+     * @param routingKey Identifies the employee the workflow is for (used by sticky routing; may be null)
+     * @return The selected user ID
+     */
+    UUID assign(UserRole role, List<UUID> eligibleUserIds, String routingKey);
+}
@@ -0,0 +1,32 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Assigns to the eligible user with the fewest IN_PROGRESS tasks.
+ * Selection and increment happen atomically in the WorkloadIndex; ties go to the lowest user ID.
+ */
+@Service
+public class LeastLoadedStrategy implements AssignmentStrategy {
+
+    private final WorkloadIndex workloadIndex;
+
+    public LeastLoadedStrategy(WorkloadIndex workloadIndex) {
+        this.workloadIndex = workloadIndex;
+    }
+
+    @Override
+    public AssignmentStrategyType getType() {
+        return AssignmentStrategyType.LEAST_LOADED;
+    }
+
+    @Override
+    public UUID assign(UserRole role, List<UUID> eligibleUserIds, String routingKey) {
+        return workloadIndex.acquireLeastLoaded(role, eligibleUserIds);
+    }
+}
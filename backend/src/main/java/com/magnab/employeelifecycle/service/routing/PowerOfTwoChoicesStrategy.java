@@ -0,0 +1,50 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns to the less loaded of two randomly chosen eligible users.
+ * Constant time regardless of the number of users, and keeps the maximum load within a small margin of the
+ * optimum; loads of the two candidates are read from the WorkloadIndex.
+ */
+@Service
+public class PowerOfTwoChoicesStrategy implements AssignmentStrategy {
+
+    private final WorkloadIndex workloadIndex;
+
+    public PowerOfTwoChoicesStrategy(WorkloadIndex workloadIndex) {
+        this.workloadIndex = workloadIndex;
+    }
+
+    @Override
+    public AssignmentStrategyType getType() {
+        return AssignmentStrategyType.POWER_OF_TWO_CHOICES;
+    }
+
+    @Override
+    public UUID assign(UserRole role, List<UUID> eligibleUserIds, String routingKey) {
+        int size = eligibleUserIds.size();
+        UUID selected;
+        if (size == 1) {
+            selected = eligibleUserIds.get(0);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            UUID a = eligibleUserIds.get(first);
+            UUID b = eligibleUserIds.get(second);
+            selected = workloadIndex.getLoad(b) < workloadIndex.getLoad(a) ? b : a;
+        }
+        workloadIndex.acquire(role, selected);
+        return selected;
+    }
+}
@@ -0,0 +1,112 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the active users of each role, used by task routing.
+ *
+ * Role membership changes rarely compared to how often tasks are assigned, so the user list of a role is
+ * loaded once and kept until a user of that role changes:
+ * - UserService evicts the affected roles when a user is created, updated or deactivated. Eviction is repeated
+ *   after the surrounding transaction completes, and a list loaded while an eviction happened is not cached,
+ *   so readers never keep a list from before the change
+ * - Roles with more than workflow.routing.directory.max-users-per-role active users are not cached
+ * - Lookups are counted as workflow.routing.directory.lookups with result=hit or result=miss
+ *
+ * Cached users are detached entities shared between threads and must not be modified.
+ */
+@Service
+@Slf4j
+public class RoleDirectory {
+
+    private final UserRepository userRepository;
+    private final int maxUsersPerRole;
+    private final Map<UserRole, List<User>> activeUsers = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RoleDirectory(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.routing.directory.max-users-per-role:5000}") int maxUsersPerRole
+    ) {
+        this.userRepository = userRepository;
+        this.maxUsersPerRole = maxUsersPerRole;
+        this.hitCounter = Counter.builder("workflow.routing.directory.lookups")
+                .tag("result", "hit")
+                .description("Active user lookups by role answered from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("workflow.routing.directory.lookups")
+                .tag("result", "miss")
+                .description("Active user lookups by role that queried the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the active users of a role, loading them on first use.
+     *
+     * @param role The user role
+     * @return Unmodifiable list of active users (empty if the role has none)
+     */
+    public List<User> getActiveUsers(UserRole role) {
+        List<User> users = activeUsers.get(role);
+        if (users != null) {
+            hitCounter.increment();
+            return users;
+        }
+
+        missCounter.increment();
+        long evictionsBeforeLoad = evictions.get();
+        users = List.copyOf(userRepository.findByRoleAndIsActive(role, true));
+
+        if (users.size() > maxUsersPerRole) {
+            log.debug("Not caching {} active users of role {} (limit {})", users.size(), role, maxUsersPerRole);
+        } else if (evictions.get() == evictionsBeforeLoad) {
+            activeUsers.putIfAbsent(role, users);
+            log.debug("Cached {} active users of role {}", users.size(), role);
+        }
+        return users;
+    }
+
+    /**
+     * Drops the cached users of the given roles now and again once the current transaction (if any) completes.
+     * Null roles are ignored.
+     *
+     * @param roles The roles whose membership changed
+     */
+    public void evict(UserRole... roles) {
+        evictNow(roles);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(roles);
+                }
+            });
+        }
+    }
+
+    private void evictNow(UserRole... roles) {
+        evictions.incrementAndGet();
+        for (UserRole role : roles) {
+            if (role != null) {
+                activeUsers.remove(role);
+            }
+        }
+    }
+}
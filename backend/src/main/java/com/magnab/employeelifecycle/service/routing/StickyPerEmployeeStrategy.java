@@ -0,0 +1,74 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Assigns all tasks of one employee and role to the same user.
+ *
+ * Uses rendezvous (highest random weight) hashing of the routing key (the employee's email) against each
+ * eligible user, so no assignment state is stored: the same employee maps to the same user on every instance,
+ * and when a user leaves the role only that user's employees move to someone else. Workflows without a routing
+ * key fall back to least-loaded assignment.
+ */
+@Service
+public class StickyPerEmployeeStrategy implements AssignmentStrategy {
+
+    private final WorkloadIndex workloadIndex;
+
+    public StickyPerEmployeeStrategy(WorkloadIndex workloadIndex) {
+        this.workloadIndex = workloadIndex;
+    }
+
+    @Override
+    public AssignmentStrategyType getType() {
+        return AssignmentStrategyType.STICKY_PER_EMPLOYEE;
+    }
+
+    @Override
+    public UUID assign(UserRole role, List<UUID> eligibleUserIds, String routingKey) {
+        if (routingKey == null || routingKey.isBlank()) {
+            return workloadIndex.acquireLeastLoaded(role, eligibleUserIds);
+        }
+
+        long keyHash = hash(routingKey.trim().toLowerCase(Locale.ROOT));
+        UUID selected = null;
+        long bestScore = 0;
+        for (UUID userId : eligibleUserIds) {
+            long score = mix(keyHash ^ mix(userId.getMostSignificantBits() ^ userId.getLeastSignificantBits()));
+            if (selected == null || Long.compareUnsigned(score, bestScore) > 0) {
+                selected = userId;
+                bestScore = score;
+            }
+        }
+        workloadIndex.acquire(role, selected);
+        return selected;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key's UTF-8 bytes (stable across JVMs, unlike String.hashCode on its own).
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads similar inputs over the whole 64-bit range.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
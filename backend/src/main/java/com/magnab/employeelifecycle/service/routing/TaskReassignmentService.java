@@ -0,0 +1,153 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.dto.response.TaskReassignmentResult;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Moves all open (IN_PROGRESS and BLOCKED) tasks of one user to the other active users of the same role.
+ *
+ * Used when a user is deactivated, so their tasks do not sit with someone who will never work on them.
+ * A user may hold thousands of tasks, so no task is loaded:
+ * - The number of tasks per status is counted and split into a quota per receiving user up front.
+ *   IN_PROGRESS tasks go to the least-loaded users first, up to their WIP limit, so loads end up level.
+ *   BLOCKED tasks do not count towards load and are spread evenly
+ * - Each quota is moved by one set-based UPDATE, earliest due date first
+ * - IN_PROGRESS counts in the WorkloadIndex are moved along with the tasks
+ *
+ * Rows locked by a concurrent update are skipped and stay with the user. If the user is inactive, tasks that
+ * could not be moved (no other active user, all at their WIP limit, or skipped) are requeued as NOT_STARTED
+ * tasks: tasks claimed from the role's pool go back to the pool, all others to the role's overflow queue, which
+ * is drained as capacity frees up.
+ */
+@Service
+@Slf4j
+public class TaskReassignmentService {
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.IN_PROGRESS, TaskStatus.BLOCKED);
+
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final RoleDirectory roleDirectory;
+    private final WorkloadIndex workloadIndex;
+    private final WipLimits wipLimits;
+
+    public TaskReassignmentService(TaskInstanceRepository taskInstanceRepository, RoleDirectory roleDirectory,
+                                   WorkloadIndex workloadIndex, WipLimits wipLimits) {
+        this.taskInstanceRepository = taskInstanceRepository;
+        this.roleDirectory = roleDirectory;
+        this.workloadIndex = workloadIndex;
+        this.wipLimits = wipLimits;
+    }
+
+    /**
+     * Redistributes the user's open tasks across the other active users of their role.
+     *
+     * @param user The user whose tasks to move
+     * @return Number of tasks moved per receiving user, and the number requeued
+     */
+    @Transactional
+    public TaskReassignmentResult reassignOpenTasks(User user) {
+        UserRole role = user.getRole();
+        List<UUID> candidates = roleDirectory.getActiveUsers(role).stream()
+                .map(User::getId)
+                .filter(id -> !id.equals(user.getId()))
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<UUID, Integer> tasksByUser = new LinkedHashMap<>();
+        int queued = 0;
+        for (TaskStatus status : OPEN_STATUSES) {
+            long open = taskInstanceRepository.countByAssignedUserIdAndStatus(user.getId(), status);
+            if (open == 0) {
+                continue;
+            }
+
+            Map<UUID, Integer> quotas = status == TaskStatus.IN_PROGRESS
+                    ? levelLoads(role, candidates, open)
+                    : spreadEvenly(candidates, open);
+            for (Map.Entry<UUID, Integer> quota : quotas.entrySet()) {
+                int moved = taskInstanceRepository.reassignTasks(
+                        user.getId(), quota.getKey(), status.name(), quota.getValue(), now);
+                if (moved > 0) {
+                    tasksByUser.merge(quota.getKey(), moved, Integer::sum);
+                    if (status == TaskStatus.IN_PROGRESS) {
+                        workloadIndex.transfer(role, user.getId(), quota.getKey(), moved);
+                    }
+                }
+            }
+
+            if (!Boolean.TRUE.equals(user.getIsActive())) {
+                int requeued = (int) taskInstanceRepository.requeueTasks(user.getId(), status.name(), now);
+                if (requeued > 0 && status == TaskStatus.IN_PROGRESS) {
+                    workloadIndex.transfer(role, user.getId(), null, requeued);
+                }
+                queued += requeued;
+            }
+        }
+
+        int reassigned = tasksByUser.values().stream().mapToInt(Integer::intValue).sum();
+        long remaining = taskInstanceRepository.countByAssignedUserIdAndStatusIn(user.getId(), OPEN_STATUSES);
+        log.info("Reassigned {} open tasks of user {} to {} users ({} queued, {} remaining)",
+                reassigned, user.getId(), tasksByUser.size(), queued, remaining);
+
+        TaskReassignmentResult result = new TaskReassignmentResult();
+        result.setUserId(user.getId());
+        result.setReassignedTasks(reassigned);
+        result.setQueuedTasks(queued);
+        result.setRemainingTasks((int) remaining);
+        result.setTasksByUser(tasksByUser);
+        return result;
+    }
+
+    /**
+     * Hands out IN_PROGRESS tasks one at a time to the currently least-loaded user that is below their WIP limit.
+     */
+    private Map<UUID, Integer> levelLoads(UserRole role, List<UUID> candidates, long tasks) {
+        record Load(UUID userId, long load, int limit) {
+        }
+
+        PriorityQueue<Load> queue = new PriorityQueue<>(
+                Comparator.comparingLong(Load::load).thenComparing(Load::userId));
+        for (UUID userId : candidates) {
+            queue.add(new Load(userId, workloadIndex.getLoad(userId), wipLimits.limitOf(role, userId)));
+        }
+
+        Map<UUID, Integer> quotas = new LinkedHashMap<>();
+        long remaining = tasks;
+        while (remaining > 0 && !queue.isEmpty()) {
+            Load next = queue.poll();
+            if (next.limit() > 0 && next.load() >= next.limit()) {
+                // At their limit: drop the user and give the task to the next one
+                continue;
+            }
+            quotas.merge(next.userId(), 1, Integer::sum);
+            queue.add(new Load(next.userId(), next.load() + 1, next.limit()));
+            remaining--;
+        }
+        return quotas;
+    }
+
+    private Map<UUID, Integer> spreadEvenly(List<UUID> candidates, long tasks) {
+        Map<UUID, Integer> quotas = new LinkedHashMap<>();
+        if (candidates.isEmpty()) {
+            return quotas;
+        }
+        long share = tasks / candidates.size();
+        long remainder = tasks % candidates.size();
+        for (int i = 0; i < candidates.size(); i++) {
+            int quota = (int) (share + (i < remainder ? 1 : 0));
+            if (quota > 0) {
+                quotas.put(candidates.get(i), quota);
+            }
+        }
+        return quotas;
+    }
+}
@@ -0,0 +1,74 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.UserRole;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns tasks to the eligible users in turn, in proportion to their weights, without looking at load.
+ *
+ * Uses smooth weighted round-robin: every decision adds each user's weight to their running credit, picks the
+ * user with the most credit and subtracts the total weight from it. A user with weight 3 gets three of every
+ * four tasks next to a user with weight 1, interleaved rather than in bursts.
+ *
+ * Weights are configured per user ID as workflow.routing.weights.&lt;user-id&gt; and default to 1.
+ * Turn state is kept per role and per application instance.
+ */
+@Service
+public class WeightedRoundRobinStrategy implements AssignmentStrategy {
+
+    private static final String WEIGHT_PROPERTY_PREFIX = "workflow.routing.weights.";
+
+    private final WorkloadIndex workloadIndex;
+    private final Environment environment;
+    private final Map<UserRole, Map<UUID, Long>> credits = new EnumMap<>(UserRole.class);
+    private final Map<UUID, Integer> weights = new ConcurrentHashMap<>();
+
+    public WeightedRoundRobinStrategy(WorkloadIndex workloadIndex, Environment environment) {
+        this.workloadIndex = workloadIndex;
+        this.environment = environment;
+        for (UserRole role : UserRole.values()) {
+            credits.put(role, new HashMap<>());
+        }
+    }
+
+    @Override
+    public AssignmentStrategyType getType() {
+        return AssignmentStrategyType.WEIGHTED_ROUND_ROBIN;
+    }
+
+    @Override
+    public UUID assign(UserRole role, List<UUID> eligibleUserIds, String routingKey) {
+        Map<UUID, Long> roleCredits = credits.get(role);
+        UUID selected = null;
+        synchronized (roleCredits) {
+            long totalWeight = 0;
+            long bestCredit = Long.MIN_VALUE;
+            for (UUID userId : eligibleUserIds) {
+                int weight = weightOf(userId);
+                long credit = roleCredits.merge(userId, (long) weight, Long::sum);
+                totalWeight += weight;
+                if (credit > bestCredit) {
+                    bestCredit = credit;
+                    selected = userId;
+                }
+            }
+            roleCredits.merge(selected, -totalWeight, Long::sum);
+            if (roleCredits.size() > eligibleUserIds.size()) {
+                // Users that left the role keep no credit
+                roleCredits.keySet().retainAll(new HashSet<>(eligibleUserIds));
+            }
+        }
+        workloadIndex.acquire(role, selected);
+        return selected;
+    }
+
+    private int weightOf(UUID userId) {
+        return weights.computeIfAbsent(userId, id ->
+                Math.max(1, environment.getProperty(WEIGHT_PROPERTY_PREFIX + id, Integer.class, 1)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.UserRole;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maximum number of IN_PROGRESS tasks (work in progress) a user may hold.
+ *
+ * The limit of a user is workflow.routing.wip-limit.users.&lt;user-id&gt; if set, otherwise
+ * workflow.routing.wip-limit.roles.&lt;ROLE&gt;, otherwise workflow.routing.wip-limit.default.
+ * A limit of 0 (the default) means unlimited. Current loads come from the WorkloadIndex.
+ */
+@Component
+public class WipLimits {
+
+    private static final String USER_PROPERTY_PREFIX = "workflow.routing.wip-limit.users.";
+    private static final String ROLE_PROPERTY_PREFIX = "workflow.routing.wip-limit.roles.";
+    private static final int NOT_SET = Integer.MIN_VALUE;
+
+    private final WorkloadIndex workloadIndex;
+    private final Environment environment;
+    private final Map<UserRole, Integer> roleLimits = new EnumMap<>(UserRole.class);
+    private final Map<UUID, Integer> userLimits = new ConcurrentHashMap<>();
+
+    public WipLimits(WorkloadIndex workloadIndex, Environment environment) {
+        this.workloadIndex = workloadIndex;
+        this.environment = environment;
+        int defaultLimit = environment.getProperty("workflow.routing.wip-limit.default", Integer.class, 0);
+        for (UserRole role : UserRole.values()) {
+            roleLimits.put(role, environment.getProperty(ROLE_PROPERTY_PREFIX + role.name(), Integer.class, defaultLimit));
+        }
+    }
+
+    /**
+     * Whether the user may take one more task.
+     *
+     * @param role The role the task is routed to
+     * @param userId The user
+     */
+    public boolean hasCapacity(UserRole role, UUID userId) {
+        int limit = limitOf(role, userId);
+        return limit <= 0 || workloadIndex.getLoad(userId) < limit;
+    }
+
+    /**
+     * The user's WIP limit; 0 or less means unlimited.
+     */
+    public int limitOf(UserRole role, UUID userId) {
+        int userLimit = userLimits.computeIfAbsent(userId, id ->
+                environment.getProperty(USER_PROPERTY_PREFIX + id, Integer.class, NOT_SET));
+        return userLimit != NOT_SET ? userLimit : roleLimits.get(role);
+    }
+}
@@ -0,0 +1,293 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserTaskCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of each active user's workload (number of IN_PROGRESS tasks), grouped by role.
+ *
+ * Task routing asks for the least-loaded eligible user of a role; answering that from the database took one
+ * count query per eligible user per task. The index keeps the counts in memory instead:
+ * - Seeded from a single aggregate query on first use and reconciled against the database periodically
+ *   (workflow.routing.reconcile-interval), which also drops deactivated users and picks up role changes
+ * - Updated on every assignment (by the assignment strategies) and task status transition
+ * - Counts of one role are ordered by load, so the least-loaded user is found in O(log n)
+ * - Each role has its own lock, so routing for different roles never contends
+ *
+ * Changes made inside a transaction are reverted if the transaction rolls back. Counts are per application
+ * instance; assignments made by other instances show up at the next reconciliation.
+ */
+@Service
+@Slf4j
+public class WorkloadIndex {
+
+    private record Entry(long load, UUID userId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byLoad = Long.compare(load, other.load);
+            return byLoad != 0 ? byLoad : userId.compareTo(other.userId);
+        }
+    }
+
+    /**
+     * Workload counters of one role. All access is guarded by the bucket's monitor.
+     */
+    private static final class RoleBucket {
+        private final Map<UUID, Long> loads = new HashMap<>();
+        private final NavigableSet<Entry> byLoad = new TreeSet<>();
+
+        void put(UUID userId, long load) {
+            Long previous = loads.put(userId, load);
+            if (previous != null) {
+                byLoad.remove(new Entry(previous, userId));
+            }
+            byLoad.add(new Entry(load, userId));
+        }
+
+        Long remove(UUID userId) {
+            Long previous = loads.remove(userId);
+            if (previous != null) {
+                byLoad.remove(new Entry(previous, userId));
+            }
+            return previous;
+        }
+
+        void adjust(UUID userId, long delta) {
+            Long previous = loads.get(userId);
+            if (previous != null) {
+                put(userId, Math.max(0, previous + delta));
+            }
+        }
+
+        void clear() {
+            loads.clear();
+            byLoad.clear();
+        }
+    }
+
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final Map<UserRole, RoleBucket> buckets = new EnumMap<>(UserRole.class);
+    private final Map<UUID, UserRole> userRoles = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    public WorkloadIndex(TaskInstanceRepository taskInstanceRepository) {
+        this.taskInstanceRepository = taskInstanceRepository;
+        for (UserRole role : UserRole.values()) {
+            buckets.put(role, new RoleBucket());
+        }
+    }
+
+    /**
+     * Picks the least-loaded of the given users and counts one more IN_PROGRESS task for them.
+     * Selection and increment happen under the role's lock, so concurrent routing spreads tasks evenly.
+     *
+     * @param role The role the task is routed to
+     * @param eligibleUserIds Active users of that role (must not be empty)
+     * @return The selected user ID, or null if no user was given
+     */
+    public UUID acquireLeastLoaded(UserRole role, Collection<UUID> eligibleUserIds) {
+        ensureSeeded();
+        Set<UUID> eligible = eligibleUserIds instanceof Set<UUID> set ? set : new HashSet<>(eligibleUserIds);
+        for (UUID userId : eligible) {
+            if (userRoles.get(userId) != role) {
+                adopt(userId, role);
+            }
+        }
+
+        RoleBucket bucket = buckets.get(role);
+        UUID selected = null;
+        synchronized (bucket) {
+            for (Entry entry : bucket.byLoad) {
+                if (eligible.contains(entry.userId())) {
+                    selected = entry.userId();
+                    bucket.adjust(selected, 1);
+                    break;
+                }
+            }
+        }
+        if (selected != null) {
+            revertOnRollback(selected, 1);
+        }
+        return selected;
+    }
+
+    /**
+     * Counts one more IN_PROGRESS task for a user chosen by the caller.
+     * Used by assignment strategies that select the user themselves.
+     *
+     * @param role The role the task is routed to
+     * @param userId The selected user
+     */
+    public void acquire(UserRole role, UUID userId) {
+        ensureSeeded();
+        if (userRoles.get(userId) != role) {
+            adopt(userId, role);
+        }
+        adjust(userId, 1);
+        revertOnRollback(userId, 1);
+    }
+
+    /**
+     * Moves IN_PROGRESS tasks from one user's counter to another's, e.g. after a bulk reassignment.
+     *
+     * @param role The role of the receiving user
+     * @param fromUserId The previous assignee
+     * @param toUserId The new assignee, or null if the tasks were taken off the user without a new assignee
+     * @param count Number of IN_PROGRESS tasks moved
+     */
+    public void transfer(UserRole role, UUID fromUserId, UUID toUserId, long count) {
+        if (count == 0) {
+            return;
+        }
+        ensureSeeded();
+        adjust(fromUserId, -count);
+        revertOnRollback(fromUserId, -count);
+        if (toUserId != null) {
+            if (userRoles.get(toUserId) != role) {
+                adopt(toUserId, role);
+            }
+            adjust(toUserId, count);
+            revertOnRollback(toUserId, count);
+        }
+    }
+
+    /**
+     * Records a task status transition of a task assigned to the given user.
+     *
+     * @param userId The assignee
+     * @param from Previous status
+     * @param to New status
+     */
+    public void onStatusChange(UUID userId, TaskStatus from, TaskStatus to) {
+        long delta = (to == TaskStatus.IN_PROGRESS ? 1 : 0) - (from == TaskStatus.IN_PROGRESS ? 1 : 0);
+        if (userId == null || delta == 0) {
+            return;
+        }
+        ensureSeeded();
+        adjust(userId, delta);
+        revertOnRollback(userId, delta);
+    }
+
+    /**
+     * Current number of IN_PROGRESS tasks of a user as seen by the index (0 for unknown users).
+     */
+    public long getLoad(UUID userId) {
+        ensureSeeded();
+        UserRole role = userRoles.get(userId);
+        if (role == null) {
+            return 0;
+        }
+        RoleBucket bucket = buckets.get(role);
+        synchronized (bucket) {
+            return bucket.loads.getOrDefault(userId, 0L);
+        }
+    }
+
+    /**
+     * Replaces all counters with the database state. Assignments that are still in flight while the
+     * aggregate query runs are corrected at the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${workflow.routing.reconcile-interval:PT5M}",
+               initialDelayString = "${workflow.routing.reconcile-interval:PT5M}")
+    public void reconcile() {
+        List<UserTaskCount> counts = taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS);
+
+        Map<UserRole, Map<UUID, Long>> byRole = new EnumMap<>(UserRole.class);
+        for (UserTaskCount count : counts) {
+            byRole.computeIfAbsent(count.getRole(), role -> new HashMap<>())
+                    .put(count.getUserId(), count.getTaskCount() != null ? count.getTaskCount() : 0L);
+        }
+
+        int drifted = 0;
+        Map<UUID, UserRole> roles = new HashMap<>();
+        for (Map.Entry<UserRole, RoleBucket> entry : buckets.entrySet()) {
+            Map<UUID, Long> loads = byRole.getOrDefault(entry.getKey(), Map.of());
+            RoleBucket bucket = entry.getValue();
+            synchronized (bucket) {
+                for (Map.Entry<UUID, Long> load : loads.entrySet()) {
+                    if (!load.getValue().equals(bucket.loads.get(load.getKey()))) {
+                        drifted++;
+                    }
+                }
+                bucket.clear();
+                loads.forEach(bucket::put);
+            }
+            loads.keySet().forEach(userId -> roles.put(userId, entry.getKey()));
+        }
+        userRoles.keySet().retainAll(roles.keySet());
+        userRoles.putAll(roles);
+
+        if (seeded) {
+            log.debug("Reconciled workload index for {} users ({} counters corrected)", roles.size(), drifted);
+        } else {
+            log.info("Seeded workload index for {} active users", roles.size());
+            seeded = true;
+        }
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            synchronized (this) {
+                if (!seeded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a user into the bucket of the given role, keeping their load (0 for users new to the index).
+     */
+    private void adopt(UUID userId, UserRole role) {
+        long load = 0;
+        UserRole previousRole = userRoles.get(userId);
+        if (previousRole != null) {
+            RoleBucket previous = buckets.get(previousRole);
+            synchronized (previous) {
+                Long removed = previous.remove(userId);
+                load = removed != null ? removed : 0;
+            }
+        }
+        RoleBucket bucket = buckets.get(role);
+        synchronized (bucket) {
+            if (!bucket.loads.containsKey(userId)) {
+                bucket.put(userId, load);
+            }
+        }
+        userRoles.put(userId, role);
+    }
+
+    private void adjust(UUID userId, long delta) {
+        UserRole role = userRoles.get(userId);
+        if (role == null) {
+            return;
+        }
+        RoleBucket bucket = buckets.get(role);
+        synchronized (bucket) {
+            bucket.adjust(userId, delta);
+        }
+    }
+
+    private void revertOnRollback(UUID userId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        adjust(userId, -delta);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserWorkload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Periodically evens out IN_PROGRESS task counts between the active users of each role.
+ *
+ * Tasks are balanced when they are assigned, but loads drift afterwards: some tasks take days and others
+ * minutes, and users go on leave with full queues. Each run (workflow.routing.rebalance.interval):
+ * - Reads every active user's load, and how many of their tasks they have not started yet, with one aggregate
+ *   query
+ * - Plans moves per role: repeatedly one unstarted task from the most loaded user that has one to the least
+ *   loaded user below their WIP limit, while their loads differ by at least workflow.routing.rebalance.min-load-gap,
+ *   and at most workflow.routing.rebalance.max-moves-per-run tasks in total
+ * - Moves the tasks with set-based updates, workflow.routing.rebalance.batch-size tasks per transaction, and
+ *   moves their counts in the WorkloadIndex along with them
+ *
+ * Only tasks the assignee has not acted on yet (started_at IS NULL) are moved; a claimed task or one whose
+ * status the user changed stays with them. Moves are counted as workflow.routing.rebalance.moved and the
+ * reduction of the load variance of a role as workflow.routing.rebalance.variance.reduction, both tagged by role.
+ */
+@Service
+@Slf4j
+public class WorkloadRebalancer {
+
+    /**
+     * Planned load of one user. Ordered by load, then user ID.
+     */
+    private record Member(UUID userId, long load, long unstarted, int limit) implements Comparable<Member> {
+        @Override
+        public int compareTo(Member other) {
+            int byLoad = Long.compare(load, other.load);
+            return byLoad != 0 ? byLoad : userId.compareTo(other.userId);
+        }
+
+        boolean hasCapacity() {
+            return limit <= 0 || load < limit;
+        }
+    }
+
+    /**
+     * Number of tasks planned to move from one user to another.
+     */
+    private record Move(UUID fromUserId, UUID toUserId, int tasks) {
+    }
+
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final WorkloadIndex workloadIndex;
+    private final WipLimits wipLimits;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long minLoadGap;
+    private final int maxMovesPerRun;
+    private final int batchSize;
+
+    public WorkloadRebalancer(
+            TaskInstanceRepository taskInstanceRepository,
+            WorkloadIndex workloadIndex,
+            WipLimits wipLimits,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.routing.rebalance.enabled:true}") boolean enabled,
+            @Value("${workflow.routing.rebalance.min-load-gap:2}") long minLoadGap,
+            @Value("${workflow.routing.rebalance.max-moves-per-run:200}") int maxMovesPerRun,
+            @Value("${workflow.routing.rebalance.batch-size:20}") int batchSize
+    ) {
+        this.taskInstanceRepository = taskInstanceRepository;
+        this.workloadIndex = workloadIndex;
+        this.wipLimits = wipLimits;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        // Moving a task between users whose loads differ by less than 2 cannot make them more even
+        this.minLoadGap = Math.max(2, minLoadGap);
+        this.maxMovesPerRun = maxMovesPerRun;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Plans and executes one rebalancing run over all roles.
+     *
+     * @return Number of tasks moved
+     */
+    @Scheduled(fixedDelayString = "${workflow.routing.rebalance.interval:PT15M}",
+               initialDelayString = "${workflow.routing.rebalance.interval:PT15M}")
+    public int rebalance() {
+        if (!enabled) {
+            return 0;
+        }
+
+        Map<UserRole, List<Member>> byRole = new EnumMap<>(UserRole.class);
+        for (UserWorkload workload : taskInstanceRepository.countWorkloadPerActiveUser()) {
+            byRole.computeIfAbsent(workload.getRole(), role -> new ArrayList<>()).add(new Member(
+                    workload.getUserId(),
+                    workload.getTaskCount() != null ? workload.getTaskCount() : 0,
+                    workload.getUnstartedCount() != null ? workload.getUnstartedCount() : 0,
+                    wipLimits.limitOf(workload.getRole(), workload.getUserId())));
+        }
+
+        int budget = maxMovesPerRun;
+        int movedTotal = 0;
+        for (Map.Entry<UserRole, List<Member>> entry : byRole.entrySet()) {
+            if (budget <= 0) {
+                break;
+            }
+            UserRole role = entry.getKey();
+            List<Member> members = entry.getValue();
+            List<Move> moves = plan(members, budget);
+            if (moves.isEmpty()) {
+                continue;
+            }
+
+            Map<UUID, Long> loads = new HashMap<>();
+            members.forEach(member -> loads.put(member.userId(), member.load()));
+            double varianceBefore = variance(loads.values());
+
+            int moved = 0;
+            for (Move move : moves) {
+                int movedForPair = execute(role, move);
+                loads.merge(move.fromUserId(), (long) -movedForPair, Long::sum);
+                loads.merge(move.toUserId(), (long) movedForPair, Long::sum);
+                moved += movedForPair;
+            }
+            budget -= moved;
+            movedTotal += moved;
+
+            double varianceAfter = variance(loads.values());
+            meterRegistry.counter("workflow.routing.rebalance.moved", "role", role.name()).increment(moved);
+            DistributionSummary.builder("workflow.routing.rebalance.variance.reduction")
+                    .tag("role", role.name())
+                    .description("Reduction of the variance of IN_PROGRESS task counts per user achieved by a run")
+                    .register(meterRegistry)
+                    .record(varianceBefore - varianceAfter);
+            log.info("Rebalanced {} {} tasks between {} users (load variance {} -> {})",
+                    moved, role, members.size(), String.format("%.2f", varianceBefore),
+                    String.format("%.2f", varianceAfter));
+        }
+        return movedTotal;
+    }
+
+    /**
+     * Plans moves within one role: one task at a time from the most loaded user with an unstarted task to the
+     * least loaded user with capacity, while that narrows a gap of at least minLoadGap.
+     *
+     * @param members Loads of the role's active users
+     * @param budget Maximum number of tasks to move
+     * @return Tasks to move per pair of users, in planning order
+     */
+    private List<Move> plan(List<Member> members, int budget) {
+        NavigableSet<Member> byLoad = new TreeSet<>(members);
+        Map<List<UUID>, Integer> pairs = new LinkedHashMap<>();
+
+        for (int planned = 0; planned < budget; planned++) {
+            Member source = null;
+            for (Member member : byLoad.descendingSet()) {
+                if (member.unstarted() > 0) {
+                    source = member;
+                    break;
+                }
+            }
+            Member target = null;
+            for (Member member : byLoad) {
+                if (member.hasCapacity()) {
+                    target = member;
+                    break;
+                }
+            }
+            if (source == null || target == null || source.load() - target.load() < minLoadGap) {
+                break;
+            }
+
+            byLoad.remove(source);
+            byLoad.remove(target);
+            byLoad.add(new Member(source.userId(), source.load() - 1, source.unstarted() - 1, source.limit()));
+            byLoad.add(new Member(target.userId(), target.load() + 1, target.unstarted() + 1, target.limit()));
+            pairs.merge(List.of(source.userId(), target.userId()), 1, Integer::sum);
+        }
+
+        List<Move> moves = new ArrayList<>(pairs.size());
+        pairs.forEach((pair, tasks) -> moves.add(new Move(pair.get(0), pair.get(1), tasks)));
+        return moves;
+    }
+
+    /**
+     * Moves the planned tasks in transactions of at most batchSize tasks. Stops early when the source runs out
+     * of unstarted tasks (e.g. the user started some since the loads were read).
+     *
+     * @return Number of tasks actually moved
+     */
+    private int execute(UserRole role, Move move) {
+        int moved = 0;
+        while (moved < move.tasks()) {
+            int limit = Math.min(batchSize, move.tasks() - moved);
+            Integer batch = transactionTemplate.execute(status -> {
+                int count = taskInstanceRepository.moveUnstartedTasks(
+                        move.fromUserId(), move.toUserId(), limit, LocalDateTime.now());
+                workloadIndex.transfer(role, move.fromUserId(), move.toUserId(), count);
+                return count;
+            });
+            int count = batch != null ? batch : 0;
+            moved += count;
+            if (count < limit) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private static double variance(Collection<Long> loads) {
+        if (loads.isEmpty()) {
+            return 0;
+        }
+        double mean = loads.stream().mapToLong(Long::longValue).average().orElse(0);
+        return loads.stream().mapToDouble(load -> (load - mean) * (load - mean)).sum() / loads.size();
+    }
+}
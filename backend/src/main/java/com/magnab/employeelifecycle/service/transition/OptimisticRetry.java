@@ -0,0 +1,106 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.exception.ConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs status transitions in their own transaction and retries them when they lose an optimistic locking race.
+ *
+ * Transitions of one workflow are serialized by the workflow's row lock, but workflows and tasks are also
+ * versioned: a transaction that read a task another transaction has changed since (a concurrent start or block of
+ * the same task, a bulk reassign, rebalance or requeue) fails when it commits. The whole transition is then run
+ * again in a new
+ * transaction, so it re-reads the current state and re-validates against it. Between attempts the caller waits
+ * workflow.transitions.initial-backoff, doubled per retry up to workflow.transitions.max-backoff, with random
+ * jitter so colliding callers spread out. After workflow.transitions.max-attempts conflicting attempts a
+ * ConflictException (409) is thrown.
+ *
+ * Called inside an existing transaction, the action joins it and is not retried: the conflict only surfaces when
+ * the outer transaction commits, and must be handled there.
+ *
+ * Conflicts are counted as workflow.transitions.conflicts and retries as workflow.transitions.retries, both
+ * tagged by operation.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.transitions.max-attempts:5}") int maxAttempts,
+            @Value("${workflow.transitions.initial-backoff:PT0.01S}") Duration initialBackoff,
+            @Value("${workflow.transitions.max-backoff:PT0.2S}") Duration maxBackoff
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Runs an action in a new transaction, retrying it while its commit fails with an optimistic locking failure.
+     *
+     * @param operation Name of the transition, used in metrics and messages (e.g. "task-status")
+     * @param action The transition; must be safe to run again from the start
+     * @return The action's result
+     * @throws ConflictException if every attempt conflicted with a concurrent update
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("workflow.transitions.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up {} after {} conflicting attempts: {}", operation, attempt, e.getMessage());
+                    throw new ConflictException(
+                            "The resource was modified concurrently, please retry (" + operation + ")");
+                }
+                meterRegistry.counter("workflow.transitions.retries", "operation", operation).increment();
+                log.debug("Retrying {} after optimistic locking conflict (attempt {})", operation, attempt);
+                backOff(operation, attempt);
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt: the doubled backoff for this attempt, scaled by a random factor in [0.5, 1).
+     */
+    private void backOff(String operation, int attempt) {
+        long backoff = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (backoff <= 0) {
+            return;
+        }
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(jittered);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting to retry " + operation);
+        }
+    }
+}
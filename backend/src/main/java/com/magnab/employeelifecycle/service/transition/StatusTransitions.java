@@ -0,0 +1,31 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+
+/**
+ * The status transition rules of workflows and tasks.
+ *
+ * - Workflow: INITIATED→IN_PROGRESS, IN_PROGRESS→COMPLETED/BLOCKED, BLOCKED→IN_PROGRESS. COMPLETED is terminal
+ *   and INITIATED cannot be returned to.
+ * - Task: NOT_STARTED→IN_PROGRESS, IN_PROGRESS→COMPLETED/BLOCKED, BLOCKED→IN_PROGRESS. COMPLETED is terminal.
+ */
+public final class StatusTransitions {
+
+    public static final TransitionTable<WorkflowStatus> WORKFLOW =
+            TransitionTable.builder(WorkflowStatus.class, "workflow")
+                    .allow(WorkflowStatus.INITIATED, WorkflowStatus.IN_PROGRESS)
+                    .allow(WorkflowStatus.IN_PROGRESS, WorkflowStatus.COMPLETED, WorkflowStatus.BLOCKED)
+                    .allow(WorkflowStatus.BLOCKED, WorkflowStatus.IN_PROGRESS)
+                    .build();
+
+    public static final TransitionTable<TaskStatus> TASK =
+            TransitionTable.builder(TaskStatus.class, "task")
+                    .allow(TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS)
+                    .allow(TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED, TaskStatus.BLOCKED)
+                    .allow(TaskStatus.BLOCKED, TaskStatus.IN_PROGRESS)
+                    .build();
+
+    private StatusTransitions() {
+    }
+}
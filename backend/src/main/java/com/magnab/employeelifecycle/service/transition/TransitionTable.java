@@ -0,0 +1,97 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.exception.ValidationException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table of the allowed transitions of a status enum.
+ *
+ * Holds one EnumSet of allowed targets per source status, so a lookup is an array index and a bit test.
+ * Statuses without an entry (terminal statuses) allow no transition. Tables are built once and shared between
+ * threads; see StatusTransitions for the workflow and task tables.
+ *
+ * @param <S> The status enum
+ */
+public final class TransitionTable<S extends Enum<S>> {
+
+    private final String subject;
+    private final Map<S, Set<S>> targets;
+
+    private TransitionTable(String subject, Map<S, Set<S>> targets) {
+        this.subject = subject;
+        this.targets = targets;
+    }
+
+    /**
+     * Starts a table for the given status enum.
+     *
+     * @param type The status enum
+     * @param subject What the statuses belong to (e.g. "task"), used in error messages
+     */
+    public static <S extends Enum<S>> Builder<S> builder(Class<S> type, String subject) {
+        return new Builder<>(type, subject);
+    }
+
+    /**
+     * Whether a transition from one status to another is allowed.
+     */
+    public boolean isAllowed(S from, S to) {
+        Set<S> allowed = targets.get(from);
+        return allowed != null && allowed.contains(to);
+    }
+
+    /**
+     * The statuses reachable from the given status in one transition (empty for terminal statuses).
+     */
+    public Set<S> targetsOf(S from) {
+        return targets.getOrDefault(from, Set.of());
+    }
+
+    /**
+     * Rejects a transition the table does not allow.
+     *
+     * @throws ValidationException if the transition is not allowed
+     */
+    public void check(S from, S to) {
+        if (!isAllowed(from, to)) {
+            throw new ValidationException("Invalid " + subject + " state transition from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Collects the allowed transitions of a table.
+     */
+    public static final class Builder<S extends Enum<S>> {
+
+        private final Class<S> type;
+        private final String subject;
+        private final Map<S, EnumSet<S>> targets;
+
+        private Builder(Class<S> type, String subject) {
+            this.type = type;
+            this.subject = subject;
+            this.targets = new EnumMap<>(type);
+        }
+
+        /**
+         * Allows transitions from one status to each of the given statuses.
+         */
+        @SafeVarargs
+        public final Builder<S> allow(S from, S... to) {
+            EnumSet<S> allowed = targets.computeIfAbsent(from, status -> EnumSet.noneOf(type));
+            Collections.addAll(allowed, to);
+            return this;
+        }
+
+        public TransitionTable<S> build() {
+            Map<S, Set<S>> frozen = new EnumMap<>(type);
+            targets.forEach((from, to) -> frozen.put(from, Collections.unmodifiableSet(EnumSet.copyOf(to))));
+            return new TransitionTable<>(subject, Collections.unmodifiableMap(frozen));
+        }
+    }
+}
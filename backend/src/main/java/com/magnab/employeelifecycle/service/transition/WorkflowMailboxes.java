@@ -0,0 +1,169 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Optional per-workflow serialization of mutations (workflow.mailbox.enabled, off by default).
+ *
+ * Most contention is inside one workflow: several tasks of a checklist completed within seconds of each other
+ * all re-read and re-write the same workflow and dependent rows, and queue on the workflow's row lock, each
+ * holding a database connection while it waits. With mailboxes enabled every mutation of a workflow is handed
+ * to one of workflow.mailbox.stripes single-threaded executors, picked by the hash of the workflow ID, and the
+ * caller waits for the result. Work
+ * for one workflow then runs one at a time without conflicts or lock waits, while workflows on different
+ * stripes run in parallel.
+ *
+ * - Serialization is per application instance; the workflow row lock and the version checks still guard
+ *   against other instances and bulk updates
+ * - Each stripe queues at most workflow.mailbox.queue-capacity mutations; further ones are rejected with 429
+ * - A caller waits at most workflow.mailbox.timeout and then gets 429. A mutation that already started still
+ *   completes; one still queued is cancelled
+ * - Mutations called from a mailbox thread or inside an open transaction run on the calling thread: waiting
+ *   for another stripe could deadlock, and a mailbox thread cannot see the caller's uncommitted rows
+ *
+ * Metrics: workflow.mailbox.queued (gauge, mutations waiting), workflow.mailbox.wait (timer, time until a
+ * mutation starts) and workflow.mailbox.rejected (counter).
+ */
+@Component
+@Slf4j
+public class WorkflowMailboxes {
+
+    private static final ThreadLocal<Boolean> ON_MAILBOX_THREAD = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor[] stripes;
+    private final Duration timeout;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public WorkflowMailboxes(
+            MeterRegistry meterRegistry,
+            @Value("${workflow.mailbox.enabled:false}") boolean enabled,
+            @Value("${workflow.mailbox.stripes:0}") int stripeCount,
+            @Value("${workflow.mailbox.queue-capacity:200}") int queueCapacity,
+            @Value("${workflow.mailbox.timeout:PT10S}") Duration timeout
+    ) {
+        this.enabled = enabled;
+        this.timeout = timeout;
+        int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+        this.stripes = new ThreadPoolExecutor[enabled ? count : 0];
+        for (int i = 0; i < stripes.length; i++) {
+            String name = "workflow-mailbox-" + (i + 1);
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                        Thread thread = new Thread(() -> {
+                            ON_MAILBOX_THREAD.set(Boolean.TRUE);
+                            runnable.run();
+                        }, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        Gauge.builder("workflow.mailbox.queued", stripes,
+                        executors -> Arrays.stream(executors).mapToInt(executor -> executor.getQueue().size()).sum())
+                .description("Workflow mutations waiting in a mailbox")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("workflow.mailbox.wait")
+                .description("Time workflow mutations wait in their mailbox before running")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("workflow.mailbox.rejected")
+                .description("Workflow mutations rejected because their mailbox was full or busy for too long")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Serializing workflow mutations over {} mailboxes", stripes.length);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ThreadPoolExecutor stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("{} queued workflow mutations were not run due to shutdown",
+                            stripe.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whether mutations are routed to mailboxes; callers skip resolving the workflow ID when they are not.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs a mutation of a workflow in the workflow's mailbox and waits for its result.
+     * Runs it on the calling thread when mailboxes are disabled, from a mailbox thread or inside a transaction.
+     *
+     * @param workflowInstanceId The workflow the mutation changes (may be null when mailboxes are disabled)
+     * @param mutation The mutation; opens its own transaction
+     * @return The mutation's result
+     * @throws TooManyRequestsException if the mailbox is full or the mutation did not finish in time
+     */
+    public <T> T execute(UUID workflowInstanceId, Supplier<T> mutation) {
+        if (!enabled || ON_MAILBOX_THREAD.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return mutation.get();
+        }
+
+        ThreadPoolExecutor stripe = stripes[Math.floorMod(workflowInstanceId.hashCode(), stripes.length)];
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = stripe.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return mutation.get();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Rejected mutation of workflow {}: mailbox full ({} waiting)",
+                    workflowInstanceId, stripe.getQueue().size());
+            throw new TooManyRequestsException("Too many pending updates for this workflow; retry later",
+                    Math.max(1, timeout.toSeconds()));
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejectedCounter.increment();
+            log.warn("Mutation of workflow {} did not finish within {}", workflowInstanceId, timeout);
+            throw new TooManyRequestsException("Workflow is busy; retry later", Math.max(1, timeout.toSeconds()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new TooManyRequestsException("Interrupted while waiting for the workflow", 1);
+        }
+    }
+}
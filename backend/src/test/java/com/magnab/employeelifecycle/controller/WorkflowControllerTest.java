@@ -3,6 +3,7 @@ package com.magnab.employeelifecycle.controller;
 import com.magnab.employeelifecycle.dto.request.EmployeeDetails;
 import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
 import com.magnab.employeelifecycle.dto.response.*;
+import com.magnab.employeelifecycle.enums.InitiationJobStatus;
 import com.magnab.employeelifecycle.enums.WorkflowType;
 import com.magnab.employeelifecycle.exception.ForbiddenException;
 import org.springframework.data.domain.Page;
@@ -13,6 +14,8 @@ import com.magnab.employeelifecycle.enums.WorkflowStatus;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.UnauthorizedException;
 import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.service.WorkflowIdempotencyService;
+import com.magnab.employeelifecycle.service.WorkflowInitiationQueue;
 import com.magnab.employeelifecycle.service.WorkflowService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +35,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +51,12 @@ class WorkflowControllerTest {
     @Mock
     private WorkflowService workflowService;
 
+    @Mock
+    private WorkflowIdempotencyService workflowIdempotencyService;
+
+    @Mock
+    private WorkflowInitiationQueue workflowInitiationQueue;
+
     @InjectMocks
     private WorkflowController workflowController;
 
@@ -89,6 +100,14 @@ class WorkflowControllerTest {
         SecurityContextHolder.setContext(securityContext);
     }
 
+    private WorkflowAssignmentResult routed(WorkflowStatus status, List<TaskAssignmentResult> assignments) {
+        WorkflowAssignmentResult result = new WorkflowAssignmentResult();
+        result.setWorkflowInstanceId(workflowInstanceId);
+        result.setWorkflowStatus(status);
+        result.setAssignments(assignments);
+        return result;
+    }
+
     @Test
     @DisplayName("Should return 201 Created with workflow details when valid request")
     void initiateWorkflow_ValidRequest_Returns201Created() {
@@ -109,11 +128,11 @@ class WorkflowControllerTest {
                 any(Map.class), any(UUID.class)))
                 .thenReturn(creationResult);
 
-        when(workflowService.assignTasksForWorkflow(workflowInstanceId))
-                .thenReturn(List.of(assignmentResult, assignmentResult, assignmentResult));
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId)).thenReturn(
+                routed(WorkflowStatus.IN_PROGRESS, List.of(assignmentResult, assignmentResult, assignmentResult)));
 
         // Act
-        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(validRequest);
+        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(null, validRequest);
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -133,7 +152,7 @@ class WorkflowControllerTest {
                 eq(validRequest.getCustomFieldValues()),
                 eq(userId)
         );
-        verify(workflowService).assignTasksForWorkflow(workflowInstanceId);
+        verify(workflowService).routeTasksForWorkflow(workflowInstanceId);
 
         // Verify EmployeeDetails populated correctly
         EmployeeDetails capturedDetails = employeeCaptor.getValue();
@@ -151,13 +170,13 @@ class WorkflowControllerTest {
                 .thenThrow(new ResourceNotFoundException("Workflow template with ID " + templateId + " not found"));
 
         // Act & Assert
-        assertThatThrownBy(() -> workflowController.initiateWorkflow(validRequest))
+        assertThatThrownBy(() -> workflowController.initiateWorkflow(null, validRequest))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("not found");
 
         verify(workflowService).createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
                 any(Map.class), any(UUID.class));
-        verify(workflowService, never()).assignTasksForWorkflow(any(UUID.class));
+        verify(workflowService, never()).routeTasksForWorkflow(any(UUID.class));
     }
 
     @Test
@@ -169,13 +188,13 @@ class WorkflowControllerTest {
                 .thenThrow(new ValidationException("Required custom field 'startDate' not provided"));
 
         // Act & Assert
-        assertThatThrownBy(() -> workflowController.initiateWorkflow(validRequest))
+        assertThatThrownBy(() -> workflowController.initiateWorkflow(null, validRequest))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("startDate");
 
         verify(workflowService).createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
                 any(Map.class), any(UUID.class));
-        verify(workflowService, never()).assignTasksForWorkflow(any(UUID.class));
+        verify(workflowService, never()).routeTasksForWorkflow(any(UUID.class));
     }
 
     @Test
@@ -187,13 +206,13 @@ class WorkflowControllerTest {
                 .thenThrow(new ValidationException("Workflow template with ID " + templateId + " is not active"));
 
         // Act & Assert
-        assertThatThrownBy(() -> workflowController.initiateWorkflow(validRequest))
+        assertThatThrownBy(() -> workflowController.initiateWorkflow(null, validRequest))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("not active");
 
         verify(workflowService).createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
                 any(Map.class), any(UUID.class));
-        verify(workflowService, never()).assignTasksForWorkflow(any(UUID.class));
+        verify(workflowService, never()).routeTasksForWorkflow(any(UUID.class));
     }
 
     @Test
@@ -205,7 +224,7 @@ class WorkflowControllerTest {
         SecurityContextHolder.setContext(securityContext);
 
         // Act & Assert
-        assertThatThrownBy(() -> workflowController.initiateWorkflow(validRequest))
+        assertThatThrownBy(() -> workflowController.initiateWorkflow(null, validRequest))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("authenticated");
 
@@ -227,11 +246,11 @@ class WorkflowControllerTest {
                 any(), any(UUID.class)))
                 .thenReturn(creationResult);
 
-        when(workflowService.assignTasksForWorkflow(workflowInstanceId))
-                .thenReturn(Collections.emptyList());
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId))
+                .thenReturn(routed(WorkflowStatus.INITIATED, Collections.emptyList()));
 
         // Act
-        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(validRequest);
+        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(null, validRequest);
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -257,11 +276,11 @@ class WorkflowControllerTest {
                 any(Map.class), any(UUID.class)))
                 .thenReturn(creationResult);
 
-        when(workflowService.assignTasksForWorkflow(workflowInstanceId))
-                .thenReturn(Collections.emptyList());
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId))
+                .thenReturn(routed(WorkflowStatus.INITIATED, Collections.emptyList()));
 
         // Act
-        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(validRequest);
+        ResponseEntity<WorkflowInitiationResponse> response = workflowController.initiateWorkflow(null, validRequest);
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
@@ -281,17 +300,124 @@ class WorkflowControllerTest {
                 any(Map.class), any(UUID.class)))
                 .thenReturn(creationResult);
 
-        when(workflowService.assignTasksForWorkflow(workflowInstanceId))
-                .thenReturn(Collections.emptyList());
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId))
+                .thenReturn(routed(WorkflowStatus.INITIATED, Collections.emptyList()));
 
         // Act
-        workflowController.initiateWorkflow(validRequest);
+        workflowController.initiateWorkflow(null, validRequest);
 
         // Assert - Verify order of invocation
         var inOrder = inOrder(workflowService);
         inOrder.verify(workflowService).createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
                 any(Map.class), any(UUID.class));
-        inOrder.verify(workflowService).assignTasksForWorkflow(workflowInstanceId);
+        inOrder.verify(workflowService).routeTasksForWorkflow(workflowInstanceId);
+    }
+
+    @Test
+    @DisplayName("Should initiate through idempotency service when Idempotency-Key is sent")
+    void initiateWorkflow_WithIdempotencyKey_RunsInitiationOnce() {
+        // Arrange
+        WorkflowCreationResult creationResult = new WorkflowCreationResult();
+        creationResult.setWorkflowInstanceId(workflowInstanceId);
+        creationResult.setTotalTasks(10);
+        when(workflowService.createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
+                any(Map.class), any(UUID.class)))
+                .thenReturn(creationResult);
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId))
+                .thenReturn(routed(WorkflowStatus.INITIATED, Collections.emptyList()));
+        when(workflowIdempotencyService.execute(eq("hris-4711"), eq(userId), eq(validRequest), any(), any()))
+                .thenAnswer(invocation -> {
+                    Supplier<WorkflowInitiationResponse> creation = invocation.getArgument(3);
+                    UnaryOperator<WorkflowInitiationResponse> completion = invocation.getArgument(4);
+                    return new WorkflowIdempotencyService.Outcome(completion.apply(creation.get()), false);
+                });
+
+        // Act
+        ResponseEntity<WorkflowInitiationResponse> response =
+                workflowController.initiateWorkflow("hris-4711", validRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("false");
+        assertThat(response.getBody().getWorkflowInstanceId()).isEqualTo(workflowInstanceId);
+        verify(workflowService).routeTasksForWorkflow(workflowInstanceId);
+    }
+
+    @Test
+    @DisplayName("Should return replayed response without creating a workflow")
+    void initiateWorkflow_ReplayedIdempotencyKey_ReturnsStoredResponse() {
+        // Arrange
+        WorkflowInitiationResponse stored = new WorkflowInitiationResponse();
+        stored.setWorkflowInstanceId(workflowInstanceId);
+        when(workflowIdempotencyService.execute(eq("hris-4711"), eq(userId), eq(validRequest), any(), any()))
+                .thenReturn(new WorkflowIdempotencyService.Outcome(stored, true));
+
+        // Act
+        ResponseEntity<WorkflowInitiationResponse> response =
+                workflowController.initiateWorkflow("hris-4711", validRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(response.getBody()).isSameAs(stored);
+        verifyNoInteractions(workflowService);
+    }
+
+    // ========== Asynchronous initiation Tests ==========
+
+    @Test
+    @DisplayName("POST /api/workflows/async - Should return 202 Accepted with job location")
+    void initiateWorkflowAsync_ValidRequest_Returns202WithLocation() {
+        // Arrange
+        WorkflowCreationResult creationResult = new WorkflowCreationResult();
+        creationResult.setWorkflowInstanceId(workflowInstanceId);
+        creationResult.setTotalTasks(10);
+        when(workflowService.createWorkflowInstance(any(UUID.class), any(EmployeeDetails.class),
+                any(Map.class), any(UUID.class)))
+                .thenReturn(creationResult);
+        when(workflowService.routeTasksForWorkflow(workflowInstanceId))
+                .thenReturn(routed(WorkflowStatus.INITIATED, Collections.emptyList()));
+
+        UUID jobId = UUID.randomUUID();
+        List<WorkflowInitiationResponse> workerResults = new ArrayList<>();
+        when(workflowInitiationQueue.submit(eq(validRequest), eq(userId), any()))
+                .thenAnswer(invocation -> {
+                    // Simulate the worker running the queued initiation
+                    Supplier<WorkflowInitiationResponse> initiation = invocation.getArgument(2);
+                    workerResults.add(initiation.get());
+                    WorkflowInitiationJobResponse job = new WorkflowInitiationJobResponse();
+                    job.setJobId(jobId);
+                    job.setStatus(InitiationJobStatus.QUEUED);
+                    return job;
+                });
+
+        // Act
+        ResponseEntity<WorkflowInitiationJobResponse> response = workflowController.initiateWorkflowAsync(validRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).hasToString("/api/workflows/jobs/" + jobId);
+        assertThat(response.getBody().getStatus()).isEqualTo(InitiationJobStatus.QUEUED);
+        assertThat(workerResults).singleElement()
+                .extracting(WorkflowInitiationResponse::getWorkflowInstanceId).isEqualTo(workflowInstanceId);
+    }
+
+    @Test
+    @DisplayName("GET /api/workflows/jobs/{id} - Should look up job for current user")
+    void getInitiationJob_ReturnsJobOfCurrentUser() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        WorkflowInitiationJobResponse job = new WorkflowInitiationJobResponse();
+        job.setJobId(jobId);
+        job.setStatus(InitiationJobStatus.COMPLETED);
+        when(workflowInitiationQueue.getJob(jobId, userId)).thenReturn(job);
+
+        // Act
+        ResponseEntity<WorkflowInitiationJobResponse> response = workflowController.getInitiationJob(jobId);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(job);
     }
 
     // ========== GET /api/workflows Tests ==========
@@ -0,0 +1,91 @@
+package com.magnab.employeelifecycle.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOrderedUuidGenerator.
+ * Tests UUIDv7 layout, embedded timestamp and ordering under sequential and concurrent use.
+ */
+@DisplayName("TimeOrderedUuidGenerator Unit Tests")
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Should produce version 7, RFC 4122 variant UUIDs")
+    void shouldProduceVersion7() {
+        UUID id = TimeOrderedUuidGenerator.nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should embed the current time in milliseconds")
+    void shouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.nextId();
+        long after = System.currentTimeMillis();
+
+        // A counter overflow may borrow at most a few milliseconds ahead
+        assertThat(TimeOrderedUuidGenerator.timestampOf(id)).isBetween(before, after + 5);
+    }
+
+    @Test
+    @DisplayName("Should sort in generation order when compared as unsigned bytes (PostgreSQL uuid order)")
+    void shouldBeMonotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.nextId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()))
+                    .as("id %d must sort after id %d", i, i - 1)
+                    .isNegative();
+        }
+    }
+
+    @Test
+    @DisplayName("Should never repeat an id across threads")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(TimeOrderedUuidGenerator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                all.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(all).hasSize(80_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should carry counter overflow into the timestamp")
+    void shouldCarryCounterOverflow() {
+        long millis = 1_700_000_000_000L;
+        UUID last = TimeOrderedUuidGenerator.fromState((millis << 12) | 0xFFF, 0L);
+        UUID next = TimeOrderedUuidGenerator.fromState(((millis << 12) | 0xFFF) + 1, 0L);
+
+        assertThat(TimeOrderedUuidGenerator.timestampOf(last)).isEqualTo(millis);
+        assertThat(TimeOrderedUuidGenerator.timestampOf(next)).isEqualTo(millis + 1);
+        assertThat(next.version()).isEqualTo(7);
+    }
+}
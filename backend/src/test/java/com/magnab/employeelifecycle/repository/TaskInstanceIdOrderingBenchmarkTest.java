@@ -0,0 +1,121 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark comparing random (v4) and time-ordered (v7) primary keys on a task_instances-shaped table.
+ * Loads the same number of rows with each id scheme into a copy of task_instances (same columns and indexes)
+ * and reports insert throughput and the size of every index.
+ *
+ * Run with: mvn test -Dtest=TaskInstanceIdOrderingBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=2000000]
+ */
+@SpringBootTest
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Task instance id ordering benchmark")
+class TaskInstanceIdOrderingBenchmarkTest {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int TASKS_PER_WORKFLOW = 40;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmark_RandomVersusTimeOrderedIds() {
+        int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+
+        Result random = load("bench_task_instances_v4", rows, UUID::randomUUID);
+        Result timeOrdered = load("bench_task_instances_v7", rows, TimeOrderedUuidGenerator::nextId);
+
+        System.out.printf("task_instances id benchmark: %,d rows, %d tasks per workflow%n", rows, TASKS_PER_WORKFLOW);
+        for (Result result : List.of(random, timeOrdered)) {
+            System.out.printf("  %s: %,.0f rows/s overall, %,.0f rows/s for the last 10%%%n",
+                    result.table(), result.rowsPerSecond(), result.tailRowsPerSecond());
+            result.indexSizes().forEach((index, bytes) ->
+                    System.out.printf("      %-60s %,12d KB%n", index, bytes / 1024));
+        }
+
+        assertThat(random.rowCount()).isEqualTo(rows);
+        assertThat(timeOrdered.rowCount()).isEqualTo(rows);
+    }
+
+    private Result load(String table, int rows, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE task_instances INCLUDING DEFAULTS INCLUDING INDEXES)");
+
+        String sql = "INSERT INTO " + table + " (id, workflow_instance_id, template_task_id, task_name, "
+                + "sequence_order, assigned_role, status, is_visible) "
+                + "VALUES (?, ?, ?, ?, ?, ?::user_role, ?::task_status, true)";
+        UUID templateTaskId = UUID.randomUUID();
+        int tailStart = rows - rows / 10;
+        long startedAt = System.nanoTime();
+        long tailStartedAt = startedAt;
+
+        UUID workflowId = ids.get();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            if (i == tailStart) {
+                tailStartedAt = System.nanoTime();
+            }
+            int sequence = i % TASKS_PER_WORKFLOW;
+            if (sequence == 0) {
+                workflowId = ids.get();
+            }
+            batch.add(new Object[]{ids.get(), workflowId, templateTaskId, "Task " + sequence, sequence + 1,
+                    "HR_ADMIN", "NOT_STARTED"});
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        long finishedAt = System.nanoTime();
+
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        Map<String, Long> indexSizes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT indexrelid::regclass::text AS name, pg_relation_size(indexrelid) AS bytes "
+                        + "FROM pg_index WHERE indrelid = ?::regclass ORDER BY 1",
+                rs -> {
+                    indexSizes.put(rs.getString("name"), rs.getLong("bytes"));
+                }, table);
+        Long rowCount = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+
+        return new Result(table, rowCount != null ? rowCount : 0,
+                rows / ((finishedAt - startedAt) / 1e9),
+                (rows - tailStart) / ((finishedAt - tailStartedAt) / 1e9),
+                indexSizes);
+    }
+
+    private record Result(String table, long rowCount, double rowsPerSecond, double tailRowsPerSecond,
+                          Map<String, Long> indexSizes) {
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +58,9 @@ class TaskInstanceRepositoryTest {
     @Autowired
     private WorkflowTemplateRepository workflowTemplateRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Test
     void save_WithAllRequiredFields_PersistsSuccessfully() {
         // Arrange
@@ -342,6 +347,39 @@ class TaskInstanceRepositoryTest {
         assertTrue(saved.getIsVisible(), "Default visibility should be true");
     }
 
+    @Test
+    void lockNextPooledTask_ReturnsOldestUnclaimedTaskOfRole() {
+        // Arrange
+        UUID adminUserId = userRepository.findAll().get(0).getId();
+        UUID templateId = workflowTemplateRepository.findAll().get(0).getId();
+        UUID templateTaskId = templateTaskRepository.findAll().get(0).getId();
+
+        WorkflowInstance workflowInstance = createTestWorkflowInstance(adminUserId, templateId);
+        WorkflowInstance savedWorkflow = workflowInstanceRepository.save(workflowInstance);
+        LocalDateTime now = LocalDateTime.now();
+
+        TaskInstance claimed = createTestTaskInstance(savedWorkflow.getId(), templateTaskId, "Claimed", adminUserId);
+        claimed.setAssignedRole(UserRole.TECH_SUPPORT);
+        claimed.setPooledAt(now.minusHours(3));
+        TaskInstance oldest = createTestTaskInstance(savedWorkflow.getId(), templateTaskId, "Oldest", null);
+        oldest.setAssignedRole(UserRole.TECH_SUPPORT);
+        oldest.setPooledAt(now.minusHours(2));
+        TaskInstance newer = createTestTaskInstance(savedWorkflow.getId(), templateTaskId, "Newer", null);
+        newer.setAssignedRole(UserRole.TECH_SUPPORT);
+        newer.setPooledAt(now.minusHours(1));
+        TaskInstance otherRole = createTestTaskInstance(savedWorkflow.getId(), templateTaskId, "Other role", null);
+        otherRole.setPooledAt(now.minusHours(4));
+        taskInstanceRepository.saveAll(List.of(claimed, oldest, newer, otherRole));
+
+        // Act
+        Optional<TaskInstance> next = transactionTemplate.execute(
+                status -> taskInstanceRepository.lockNextPooledTask(UserRole.TECH_SUPPORT.name()));
+
+        // Assert
+        assertTrue(next.isPresent(), "Pooled task should be found");
+        assertEquals(oldest.getId(), next.get().getId(), "Oldest unclaimed task of the role comes first");
+    }
+
     // Helper methods
     private WorkflowInstance createTestWorkflowInstance(UUID initiatedBy, UUID templateId) {
         WorkflowInstance workflowInstance = new WorkflowInstance();
@@ -0,0 +1,258 @@
+package com.magnab.employeelifecycle.repository;
+
+import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.entity.WorkflowInstance;
+import com.magnab.employeelifecycle.entity.WorkflowStateHistory;
+import com.magnab.employeelifecycle.enums.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for WorkflowBulkCopyWriter using TestContainers.
+ * Tests that COPY writes the same rows the JPA path does, and (with -Dbenchmark=true)
+ * compares COPY against saveAll for a large batch.
+ */
+@SpringBootTest
+@Testcontainers
+@Transactional
+@DisplayName("WorkflowBulkCopyWriter Integration Tests")
+class WorkflowBulkCopyWriterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WorkflowBulkCopyWriter bulkCopyWriter;
+
+    @Autowired
+    private TaskInstanceRepository taskInstanceRepository;
+
+    @Autowired
+    private WorkflowStateHistoryRepository workflowStateHistoryRepository;
+
+    @Autowired
+    private WorkflowInstanceRepository workflowInstanceRepository;
+
+    @Autowired
+    private TemplateTaskRepository templateTaskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID adminUserId;
+    private UUID templateId;
+    private UUID templateTaskId;
+
+    @BeforeEach
+    void setUp() {
+        adminUserId = userRepository.findAll().get(0).getId();
+        templateId = workflowTemplateRepository.findAll().get(0).getId();
+        templateTaskId = templateTaskRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void copyTaskInstances_WritesAllColumns() {
+        // Arrange
+        WorkflowInstance workflow = workflowInstanceRepository.save(createWorkflowInstance());
+        TaskInstance task = createTaskInstance(workflow.getId(), "Prepare laptop");
+        task.setAssignedUserId(adminUserId);
+        task.setDueDate(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS));
+        task.setChecklistData(Map.of("laptop", true, "notes", "Ünïcode ✓"));
+
+        // Act
+        bulkCopyWriter.copyTaskInstances(List.of(task));
+        entityManager.clear();
+
+        // Assert
+        TaskInstance stored = taskInstanceRepository.findById(task.getId()).orElseThrow();
+        assertThat(stored.getWorkflowInstanceId()).isEqualTo(workflow.getId());
+        assertThat(stored.getTemplateTaskId()).isEqualTo(templateTaskId);
+        assertThat(stored.getTaskName()).isEqualTo("Prepare laptop");
+        assertThat(stored.getSequenceOrder()).isEqualTo(3);
+        assertThat(stored.getAssignedUserId()).isEqualTo(adminUserId);
+        assertThat(stored.getAssignedRole()).isEqualTo(UserRole.TECH_SUPPORT);
+        assertThat(stored.getStatus()).isEqualTo(TaskStatus.NOT_STARTED);
+        assertThat(stored.getIsVisible()).isTrue();
+        assertThat(stored.getDueDate()).isEqualTo(task.getDueDate());
+        assertThat(stored.getCompletedAt()).isNull();
+        assertThat(stored.getChecklistData()).containsEntry("laptop", true).containsEntry("notes", "Ünïcode ✓");
+        assertThat(stored.getCreatedAt()).isNotNull();
+        assertThat(stored.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void copyStateHistory_WritesAllColumns() {
+        // Arrange
+        WorkflowInstance workflow = workflowInstanceRepository.save(createWorkflowInstance());
+        WorkflowStateHistory history = new WorkflowStateHistory();
+        history.setWorkflowInstanceId(workflow.getId());
+        history.setPreviousStatus(WorkflowStatus.INITIATED);
+        history.setNewStatus(WorkflowStatus.INITIATED);
+        history.setChangedBy(adminUserId);
+        history.setNotes("Workflow initiated");
+
+        // Act
+        bulkCopyWriter.copyStateHistory(List.of(history));
+        entityManager.clear();
+
+        // Assert
+        List<WorkflowStateHistory> stored =
+                workflowStateHistoryRepository.findByWorkflowInstanceIdOrderByChangedAtAsc(workflow.getId());
+        assertThat(stored).hasSize(1);
+        assertThat(stored.get(0).getId()).isEqualTo(history.getId());
+        assertThat(stored.get(0).getNewStatus()).isEqualTo(WorkflowStatus.INITIATED);
+        assertThat(stored.get(0).getChangedBy()).isEqualTo(adminUserId);
+        assertThat(stored.get(0).getChangedAt()).isNotNull();
+        assertThat(stored.get(0).getNotes()).isEqualTo("Workflow initiated");
+    }
+
+    @Test
+    void copyTaskInstances_WithUnknownWorkflow_ThrowsDataIntegrityViolation() {
+        // Arrange
+        TaskInstance task = createTaskInstance(UUID.randomUUID(), "Orphan task");
+
+        // Act & Assert
+        assertThatThrownBy(() -> bulkCopyWriter.copyTaskInstances(List.of(task)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_CopyVersusSaveAll() {
+        int workflows = Integer.getInteger("benchmark.workflows", 200);
+        int tasksPerWorkflow = Integer.getInteger("benchmark.tasks", 40);
+
+        // Warm up both paths so class loading and statement preparation are not measured
+        writeWithSaveAll(createWorkflows(5), tasksPerWorkflow);
+        writeWithCopy(createWorkflows(5), tasksPerWorkflow);
+
+        long saveAllMillis = writeWithSaveAll(createWorkflows(workflows), tasksPerWorkflow);
+        long copyMillis = writeWithCopy(createWorkflows(workflows), tasksPerWorkflow);
+
+        int rows = workflows * (tasksPerWorkflow + 1);
+        System.out.printf("Bulk write benchmark: %d workflows x %d tasks (%d rows)%n",
+                workflows, tasksPerWorkflow, rows);
+        System.out.printf("  saveAll: %6d ms (%.0f rows/s)%n", saveAllMillis, rows * 1000.0 / Math.max(saveAllMillis, 1));
+        System.out.printf("  COPY:    %6d ms (%.0f rows/s)%n", copyMillis, rows * 1000.0 / Math.max(copyMillis, 1));
+
+        assertThat(taskInstanceRepository.count()).isGreaterThanOrEqualTo((long) workflows * tasksPerWorkflow * 2);
+    }
+
+    private long writeWithSaveAll(List<WorkflowInstance> workflows, int tasksPerWorkflow) {
+        List<TaskInstance> tasks = createTasks(workflows, tasksPerWorkflow);
+        List<WorkflowStateHistory> histories = createHistories(workflows);
+        long startedAt = System.nanoTime();
+        taskInstanceRepository.saveAll(tasks);
+        workflowStateHistoryRepository.saveAll(histories);
+        entityManager.flush();
+        long elapsed = (System.nanoTime() - startedAt) / 1_000_000;
+        entityManager.clear();
+        return elapsed;
+    }
+
+    private long writeWithCopy(List<WorkflowInstance> workflows, int tasksPerWorkflow) {
+        List<TaskInstance> tasks = createTasks(workflows, tasksPerWorkflow);
+        List<WorkflowStateHistory> histories = createHistories(workflows);
+        long startedAt = System.nanoTime();
+        bulkCopyWriter.copyTaskInstances(tasks);
+        bulkCopyWriter.copyStateHistory(histories);
+        long elapsed = (System.nanoTime() - startedAt) / 1_000_000;
+        entityManager.clear();
+        return elapsed;
+    }
+
+    private List<WorkflowInstance> createWorkflows(int count) {
+        List<WorkflowInstance> workflows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            workflows.add(createWorkflowInstance());
+        }
+        workflows = workflowInstanceRepository.saveAll(workflows);
+        entityManager.flush();
+        return workflows;
+    }
+
+    private List<TaskInstance> createTasks(List<WorkflowInstance> workflows, int tasksPerWorkflow) {
+        List<TaskInstance> tasks = new ArrayList<>(workflows.size() * tasksPerWorkflow);
+        for (WorkflowInstance workflow : workflows) {
+            for (int i = 0; i < tasksPerWorkflow; i++) {
+                tasks.add(createTaskInstance(workflow.getId(), "Task " + i));
+            }
+        }
+        return tasks;
+    }
+
+    private List<WorkflowStateHistory> createHistories(List<WorkflowInstance> workflows) {
+        List<WorkflowStateHistory> histories = new ArrayList<>(workflows.size());
+        for (WorkflowInstance workflow : workflows) {
+            WorkflowStateHistory history = new WorkflowStateHistory();
+            history.setWorkflowInstanceId(workflow.getId());
+            history.setPreviousStatus(WorkflowStatus.INITIATED);
+            history.setNewStatus(WorkflowStatus.INITIATED);
+            history.setChangedBy(adminUserId);
+            history.setChangedAt(LocalDateTime.now());
+            history.setNotes("Workflow initiated");
+            histories.add(history);
+        }
+        return histories;
+    }
+
+    // Helper methods
+    private WorkflowInstance createWorkflowInstance() {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setTemplateId(templateId);
+        workflowInstance.setEmployeeName("Test Employee " + System.nanoTime());
+        workflowInstance.setEmployeeEmail("test" + System.nanoTime() + "@example.com");
+        workflowInstance.setEmployeeRole("Developer");
+        workflowInstance.setWorkflowType(WorkflowType.ONBOARDING);
+        workflowInstance.setStatus(WorkflowStatus.INITIATED);
+        workflowInstance.setInitiatedBy(adminUserId);
+        workflowInstance.setInitiatedAt(LocalDateTime.now());
+        return workflowInstance;
+    }
+
+    private TaskInstance createTaskInstance(UUID workflowInstanceId, String taskName) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setWorkflowInstanceId(workflowInstanceId);
+        taskInstance.setTemplateTaskId(templateTaskId);
+        taskInstance.setTaskName(taskName);
+        taskInstance.setAssignedRole(UserRole.TECH_SUPPORT);
+        taskInstance.setStatus(TaskStatus.NOT_STARTED);
+        taskInstance.setIsVisible(true);
+        taskInstance.setSequenceOrder(3);
+        return taskInstance;
+    }
+}
@@ -0,0 +1,278 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.request.ScheduleWorkflowsRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.ScheduledInitiationResponse;
+import com.magnab.employeelifecycle.entity.ScheduledWorkflowInitiation;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.ScheduledInitiationStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.ScheduledWorkflowInitiationRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScheduledInitiationService.
+ * Tests scheduling validation, cancellation, rate-limited claiming and recording of dispatch results.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScheduledInitiationService Unit Tests")
+class ScheduledInitiationServiceTest {
+
+    @Mock
+    private ScheduledWorkflowInitiationRepository scheduledInitiationRepository;
+
+    @Mock
+    private WorkflowBatchService workflowBatchService;
+
+    @Mock
+    private TemplatePlanCache templatePlanCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledInitiationService scheduledInitiationService;
+    private WorkflowTemplate template;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        scheduledInitiationService = createService(5);
+
+        template = new WorkflowTemplate();
+        template.setId(UUID.randomUUID());
+        template.setIsActive(true);
+        userId = UUID.randomUUID();
+    }
+
+    private ScheduledInitiationService createService(int burst) {
+        return new ScheduledInitiationService(scheduledInitiationRepository, workflowBatchService,
+                templatePlanCache, transactionManager, 1.0, burst, 100, Duration.ofMinutes(10));
+    }
+
+    private InitiateWorkflowRequest createRequest(String name) {
+        InitiateWorkflowRequest request = new InitiateWorkflowRequest();
+        request.setTemplateId(template.getId());
+        request.setEmployeeName(name);
+        request.setEmployeeEmail(name.toLowerCase().replace(' ', '.') + "@company.com");
+        request.setEmployeeRole("Software Engineer");
+        request.setCustomFieldValues(Map.of("office", "Berlin"));
+        return request;
+    }
+
+    private ScheduledWorkflowInitiation createScheduled(String name, UUID scheduledBy) {
+        ScheduledWorkflowInitiation initiation = new ScheduledWorkflowInitiation();
+        initiation.setId(UUID.randomUUID());
+        initiation.setTemplateId(template.getId());
+        initiation.setEmployeeName(name);
+        initiation.setEmployeeEmail(name.toLowerCase().replace(' ', '.') + "@company.com");
+        initiation.setEmployeeRole("Software Engineer");
+        initiation.setStartAt(LocalDateTime.now().minusMinutes(1));
+        initiation.setStatus(ScheduledInitiationStatus.SCHEDULED);
+        initiation.setScheduledBy(scheduledBy);
+        return initiation;
+    }
+
+    private BatchWorkflowInitiationRowResult rowResult(int rowIndex, boolean success, String error) {
+        BatchWorkflowInitiationRowResult result = new BatchWorkflowInitiationRowResult();
+        result.setRowIndex(rowIndex);
+        result.setSuccess(success);
+        result.setWorkflowInstanceId(success ? UUID.randomUUID() : null);
+        result.setError(error);
+        return result;
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class Scheduling {
+
+        @Test
+        void schedule_ActiveTemplate_StoresOneRowPerWorkflow() {
+            // Arrange
+            when(templatePlanCache.getPlan(template.getId())).thenReturn(TemplatePlan.compile(template, List.of()));
+            when(scheduledInitiationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            ScheduleWorkflowsRequest request = new ScheduleWorkflowsRequest();
+            request.setStartAt(LocalDateTime.now().plusDays(7));
+            request.setWorkflows(List.of(createRequest("John Doe"), createRequest("Jane Roe")));
+
+            // Act
+            List<ScheduledInitiationResponse> responses = scheduledInitiationService.schedule(request, userId);
+
+            // Assert
+            assertThat(responses).hasSize(2);
+            assertThat(responses).allSatisfy(response -> {
+                assertThat(response.getStatus()).isEqualTo(ScheduledInitiationStatus.SCHEDULED);
+                assertThat(response.getStartAt()).isEqualTo(request.getStartAt());
+                assertThat(response.getScheduledBy()).isEqualTo(userId);
+            });
+            verify(templatePlanCache, times(1)).getPlan(template.getId());
+        }
+
+        @Test
+        void schedule_InactiveTemplate_ThrowsValidationException() {
+            // Arrange
+            template.setIsActive(false);
+            when(templatePlanCache.getPlan(template.getId())).thenReturn(TemplatePlan.compile(template, List.of()));
+            ScheduleWorkflowsRequest request = new ScheduleWorkflowsRequest();
+            request.setStartAt(LocalDateTime.now().plusDays(7));
+            request.setWorkflows(List.of(createRequest("John Doe")));
+
+            // Act & Assert
+            assertThatThrownBy(() -> scheduledInitiationService.schedule(request, userId))
+                    .isInstanceOf(ValidationException.class);
+            verify(scheduledInitiationRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        void cancel_AlreadyDispatched_ThrowsConflict() {
+            // Arrange
+            ScheduledWorkflowInitiation initiation = createScheduled("John Doe", userId);
+            initiation.setStatus(ScheduledInitiationStatus.DISPATCHED);
+            when(scheduledInitiationRepository.findById(initiation.getId())).thenReturn(Optional.of(initiation));
+
+            // Act & Assert
+            assertThatThrownBy(() -> scheduledInitiationService.cancel(initiation.getId()))
+                    .isInstanceOf(ConflictException.class);
+        }
+
+        @Test
+        void cancel_Scheduled_MarksCancelled() {
+            // Arrange
+            ScheduledWorkflowInitiation initiation = createScheduled("John Doe", userId);
+            when(scheduledInitiationRepository.findById(initiation.getId())).thenReturn(Optional.of(initiation));
+            when(scheduledInitiationRepository.save(initiation)).thenReturn(initiation);
+
+            // Act
+            ScheduledInitiationResponse response = scheduledInitiationService.cancel(initiation.getId());
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(ScheduledInitiationStatus.CANCELLED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Dispatching")
+    class Dispatching {
+
+        @BeforeEach
+        void stubRepository() {
+            lenient().when(scheduledInitiationRepository.findByStatusAndClaimedAtBefore(
+                    eq(ScheduledInitiationStatus.DISPATCHING), any(LocalDateTime.class))).thenReturn(List.of());
+        }
+
+        @Test
+        void dispatchDue_ClaimsNoMoreThanAvailableTokens() {
+            // Arrange
+            when(scheduledInitiationRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+            // Act - the bucket starts full with 5 tokens and refills at 1 per second
+            scheduledInitiationService.dispatchDue();
+
+            // Assert
+            verify(scheduledInitiationRepository).lockDue(any(LocalDateTime.class), eq(5));
+            verifyNoInteractions(workflowBatchService);
+        }
+
+        @Test
+        void dispatchDue_TokensExhausted_DoesNotClaim() {
+            // Arrange
+            List<ScheduledWorkflowInitiation> due = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                due.add(createScheduled("Employee " + i, userId));
+            }
+            when(scheduledInitiationRepository.lockDue(any(LocalDateTime.class), eq(5))).thenReturn(due);
+            when(scheduledInitiationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            BatchWorkflowInitiationResponse response = new BatchWorkflowInitiationResponse();
+            List<BatchWorkflowInitiationRowResult> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(rowResult(i, true, null));
+            }
+            response.setResults(results);
+            when(workflowBatchService.initiateWorkflows(anyList(), eq(userId))).thenReturn(response);
+
+            // Act
+            scheduledInitiationService.dispatchDue();
+            scheduledInitiationService.dispatchDue();
+
+            // Assert - the second poll finds the bucket empty and does not touch the table
+            verify(scheduledInitiationRepository, times(1)).lockDue(any(LocalDateTime.class), anyInt());
+            verify(workflowBatchService, times(1)).initiateWorkflows(anyList(), eq(userId));
+        }
+
+        @Test
+        void dispatchDue_RecordsWorkflowOrErrorPerRow() {
+            // Arrange
+            UUID otherUserId = UUID.randomUUID();
+            ScheduledWorkflowInitiation first = createScheduled("John Doe", userId);
+            ScheduledWorkflowInitiation second = createScheduled("Jane Roe", userId);
+            ScheduledWorkflowInitiation third = createScheduled("Max Mustermann", otherUserId);
+            when(scheduledInitiationRepository.lockDue(any(LocalDateTime.class), eq(5)))
+                    .thenReturn(List.of(first, second, third));
+            when(scheduledInitiationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            BatchWorkflowInitiationResponse userResponse = new BatchWorkflowInitiationResponse();
+            userResponse.setResults(List.of(rowResult(0, true, null),
+                    rowResult(1, false, "Cannot instantiate inactive workflow template")));
+            when(workflowBatchService.initiateWorkflows(anyList(), eq(userId))).thenReturn(userResponse);
+            when(workflowBatchService.initiateWorkflows(anyList(), eq(otherUserId)))
+                    .thenThrow(new RuntimeException("User not found with id: " + otherUserId));
+
+            // Act
+            scheduledInitiationService.dispatchDue();
+
+            // Assert
+            assertThat(first.getStatus()).isEqualTo(ScheduledInitiationStatus.DISPATCHED);
+            assertThat(first.getWorkflowInstanceId()).isNotNull();
+            assertThat(first.getDispatchedAt()).isNotNull();
+            assertThat(second.getStatus()).isEqualTo(ScheduledInitiationStatus.FAILED);
+            assertThat(second.getErrorMessage()).contains("inactive");
+            assertThat(third.getStatus()).isEqualTo(ScheduledInitiationStatus.FAILED);
+            assertThat(third.getErrorMessage()).contains("User not found");
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<InitiateWorkflowRequest>> requests = ArgumentCaptor.forClass(List.class);
+            verify(workflowBatchService).initiateWorkflows(requests.capture(), eq(userId));
+            assertThat(requests.getValue()).extracting(InitiateWorkflowRequest::getEmployeeName)
+                    .containsExactly("John Doe", "Jane Roe");
+        }
+
+        @Test
+        void dispatchDue_StaleClaim_MarksFailed() {
+            // Arrange
+            ScheduledWorkflowInitiation stale = createScheduled("John Doe", userId);
+            stale.setStatus(ScheduledInitiationStatus.DISPATCHING);
+            stale.setClaimedAt(LocalDateTime.now().minusHours(1));
+            when(scheduledInitiationRepository.findByStatusAndClaimedAtBefore(
+                    eq(ScheduledInitiationStatus.DISPATCHING), any(LocalDateTime.class))).thenReturn(List.of(stale));
+            when(scheduledInitiationRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+            // Act
+            scheduledInitiationService.dispatchDue();
+
+            // Assert
+            assertThat(stale.getStatus()).isEqualTo(ScheduledInitiationStatus.FAILED);
+            assertThat(stale.getErrorMessage()).contains("interrupted");
+            verify(scheduledInitiationRepository).saveAll(List.of(stale));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.magnab.employeelifecycle.service;
 import com.magnab.employeelifecycle.dto.request.CreateTemplateRequest;
 import com.magnab.employeelifecycle.dto.request.CreateTemplateTaskRequest;
 import com.magnab.employeelifecycle.dto.request.UpdateTemplateRequest;
+import com.magnab.employeelifecycle.dto.response.TaskDetailResponse;
 import com.magnab.employeelifecycle.dto.response.TemplateDetailResponse;
 import com.magnab.employeelifecycle.dto.response.TemplateSummaryResponse;
 import com.magnab.employeelifecycle.entity.TemplateTask;
@@ -16,6 +17,7 @@ import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.TemplateTaskRepository;
 import com.magnab.employeelifecycle.repository.UserRepository;
 import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +52,9 @@ class TemplateServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TemplatePlanCache templatePlanCache;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -260,6 +265,7 @@ class TemplateServiceTest {
         assertNotNull(result);
         ArgumentCaptor<WorkflowTemplate> captor = ArgumentCaptor.forClass(WorkflowTemplate.class);
         verify(templateRepository).save(captor.capture());
+        verify(templatePlanCache).evict(templateId);
 
         WorkflowTemplate captured = captor.getValue();
         assertEquals("Updated Template", captured.getTemplateName());
@@ -302,6 +308,32 @@ class TemplateServiceTest {
         assertEquals("Only Task", captured.getTasks().get(0).getTaskName());
     }
 
+    @Test
+    void updateTemplate_CreatesNewVersionAndRetiresOldTasks() {
+        // Arrange
+        UUID templateId = UUID.randomUUID();
+        mockTemplate.setId(templateId);
+        List<TemplateTask> previousTasks = new ArrayList<>(mockTemplate.getTasks());
+
+        when(templateRepository.findById(templateId)).thenReturn(Optional.of(mockTemplate));
+        when(templateRepository.save(any(WorkflowTemplate.class))).thenReturn(mockTemplate);
+
+        UpdateTemplateRequest request = new UpdateTemplateRequest();
+        request.setName("Updated Template");
+        request.setType(WorkflowType.ONBOARDING);
+        request.setIsActive(true);
+        request.setTasks(List.of(createTaskRequest("Only Task", UserRole.HR_ADMIN, 1)));
+
+        // Act
+        TemplateDetailResponse result = templateService.updateTemplate(templateId, request);
+
+        // Assert - old tasks are kept for running workflows, new tasks belong to version 2
+        assertEquals(2, result.getVersion());
+        assertTrue(previousTasks.stream().allMatch(TemplateTask::getRetired));
+        assertEquals(2, mockTemplate.getTasks().get(0).getTemplateVersion());
+        assertFalse(mockTemplate.getTasks().get(0).getRetired());
+    }
+
     @Test
     void updateTemplate_WithNonExistentId_ThrowsResourceNotFoundException() {
         // Arrange
@@ -371,6 +403,7 @@ class TemplateServiceTest {
         // Assert
         ArgumentCaptor<WorkflowTemplate> captor = ArgumentCaptor.forClass(WorkflowTemplate.class);
         verify(templateRepository).save(captor.capture());
+        verify(templatePlanCache).evict(templateId);
 
         WorkflowTemplate captured = captor.getValue();
         assertFalse(captured.getIsActive());
@@ -659,4 +692,48 @@ class TemplateServiceTest {
         assertEquals(1, tasks.get(0).getSequenceOrder());
         assertEquals(2, tasks.get(1).getSequenceOrder());
     }
+
+    @Test
+    void createTemplate_WithUnknownAdditionalDependency_ThrowsValidationException() {
+        // Arrange
+        CreateTemplateRequest request = new CreateTemplateRequest();
+        request.setName("Template with Unknown Prerequisite");
+        request.setType(WorkflowType.ONBOARDING);
+
+        CreateTemplateTaskRequest task1 = createTaskRequest("Create account", UserRole.HR_ADMIN, 1);
+        CreateTemplateTaskRequest task2 = createTaskRequest("Order laptop", UserRole.TECH_SUPPORT, 2);
+        task2.setAdditionalDependencyTaskIds(List.of(UUID.randomUUID()));
+        request.setTasks(List.of(task1, task2));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(
+            ValidationException.class,
+            () -> templateService.createTemplate(request)
+        );
+
+        assertEquals("Task 'Order laptop' references non-existent dependency task", exception.getMessage());
+        verify(templateRepository, never()).save(any());
+    }
+
+    @Test
+    void getTemplateById_WithSeveralPrerequisites_ReturnsAllDependencyIds() {
+        // Arrange
+        UUID templateId = UUID.randomUUID();
+        TemplateTask createAccount = createMockTask("Create account", 1);
+        TemplateTask approveHardware = createMockTask("Approve hardware", 2);
+        TemplateTask orderLaptop = createMockTask("Order laptop", 3);
+        orderLaptop.setDependsOnTask(createAccount);
+        orderLaptop.getAdditionalDependencies().add(approveHardware);
+        mockTemplate.setTasks(new ArrayList<>(List.of(createAccount, approveHardware, orderLaptop)));
+        when(templateRepository.findById(templateId)).thenReturn(Optional.of(mockTemplate));
+
+        // Act
+        TemplateDetailResponse result = templateService.getTemplateById(templateId);
+
+        // Assert
+        TaskDetailResponse laptop = result.getTasks().get(2);
+        assertEquals(createAccount.getId(), laptop.getDependencyTaskId());
+        assertEquals(List.of(approveHardware.getId()), laptop.getAdditionalDependencyTaskIds());
+        assertTrue(result.getTasks().get(0).getAdditionalDependencyTaskIds().isEmpty());
+    }
 }
@@ -0,0 +1,65 @@
+package com.magnab.employeelifecycle.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket.
+ * Uses a manual clock to test burst capacity, refill rate and returning unused tokens.
+ */
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquireUpTo_StartsFullAndGrantsAtMostCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2.0, 10, clock::get);
+
+        // Act & Assert
+        assertThat(bucket.tryAcquireUpTo(4)).isEqualTo(4);
+        assertThat(bucket.tryAcquireUpTo(100)).isEqualTo(6);
+        assertThat(bucket.tryAcquireUpTo(100)).isZero();
+    }
+
+    @Test
+    void tryAcquireUpTo_RefillsAtRateUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2.0, 10, clock::get);
+        bucket.tryAcquireUpTo(10);
+
+        // Act & Assert
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertThat(bucket.tryAcquireUpTo(100)).isEqualTo(3);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThat(bucket.available()).isEqualTo(10);
+    }
+
+    @Test
+    void release_ReturnsUnusedTokensWithoutExceedingCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1.0, 5, clock::get);
+        bucket.tryAcquireUpTo(5);
+
+        // Act
+        bucket.release(3);
+
+        // Assert
+        assertThat(bucket.available()).isEqualTo(3);
+        bucket.release(100);
+        assertThat(bucket.available()).isEqualTo(5);
+    }
+
+    @Test
+    void constructor_InvalidSettings_Throws() {
+        assertThatThrownBy(() -> new TokenBucket(0, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1.0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,11 +1,15 @@
 package com.magnab.employeelifecycle.service;
 
 import com.magnab.employeelifecycle.dto.request.CreateUserRequest;
+import com.magnab.employeelifecycle.dto.request.UpdateUserRequest;
+import com.magnab.employeelifecycle.dto.response.TaskReassignmentResult;
 import com.magnab.employeelifecycle.dto.response.UserResponse;
 import com.magnab.employeelifecycle.entity.User;
 import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.exception.ConflictException;
 import com.magnab.employeelifecycle.repository.UserRepository;
+import com.magnab.employeelifecycle.service.routing.RoleDirectory;
+import com.magnab.employeelifecycle.service.routing.TaskReassignmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +30,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
@@ -41,6 +46,12 @@ class UserServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private RoleDirectory roleDirectory;
+
+    @Mock
+    private TaskReassignmentService taskReassignmentService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -107,6 +118,7 @@ class UserServiceTest {
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
         verify(auditService).logUserAction(any(UUID.class), eq("USER_CREATED"), anyString(), anyString());
+        verify(roleDirectory).evict(UserRole.HR_ADMIN);
     }
 
     @Test
@@ -159,6 +171,79 @@ class UserServiceTest {
         verify(auditService, never()).logUserAction(any(), any(), any(), any());
     }
 
+    @Test
+    void updateUser_WithRoleChange_EvictsPreviousAndNewRole() {
+        // Arrange
+        User existingUser = new User();
+        existingUser.setId(UUID.randomUUID());
+        existingUser.setUsername("mover");
+        existingUser.setEmail("mover@magnab.com");
+        existingUser.setRole(UserRole.TECH_SUPPORT);
+        existingUser.setIsActive(true);
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setRole(UserRole.HR_ADMIN);
+
+        when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+
+        // Act
+        UserResponse result = userService.updateUser(existingUser.getId(), request);
+
+        // Assert
+        assertEquals(UserRole.HR_ADMIN, result.getRole());
+        verify(roleDirectory).evict(UserRole.TECH_SUPPORT, UserRole.HR_ADMIN);
+    }
+
+    @Test
+    void updateUser_WhenDeactivated_ReassignsOpenTasks() {
+        // Arrange
+        User existingUser = new User();
+        existingUser.setId(UUID.randomUUID());
+        existingUser.setUsername("leaver");
+        existingUser.setEmail("leaver@magnab.com");
+        existingUser.setRole(UserRole.HR_ADMIN);
+        existingUser.setIsActive(true);
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setIsActive(false);
+
+        when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+
+        // Act
+        userService.updateUser(existingUser.getId(), request);
+
+        // Assert
+        verify(taskReassignmentService).reassignOpenTasks(existingUser);
+    }
+
+    @Test
+    void deactivateUser_ReassignsOpenTasksAndAuditsCounts() {
+        // Arrange
+        User existingUser = new User();
+        existingUser.setId(UUID.randomUUID());
+        existingUser.setUsername("leaver");
+        existingUser.setRole(UserRole.HR_ADMIN);
+        existingUser.setIsActive(true);
+
+        TaskReassignmentResult reassignment = new TaskReassignmentResult();
+        reassignment.setReassignedTasks(12);
+        reassignment.setQueuedTasks(2);
+
+        when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        when(taskReassignmentService.reassignOpenTasks(existingUser)).thenReturn(reassignment);
+
+        // Act
+        userService.deactivateUser(existingUser.getId());
+
+        // Assert
+        assertFalse(existingUser.getIsActive());
+        verify(roleDirectory).evict(UserRole.HR_ADMIN);
+        verify(auditService).logUserAction(eq(existingUser.getId()), eq("USER_DEACTIVATED"), anyString(),
+                contains("\"reassignedTasks\":12"));
+    }
+
     @Test
     void getAllUsers_ReturnsListOfUserResponses() {
         // Arrange
@@ -0,0 +1,296 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.TaskAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.WorkflowAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.WorkflowCreationResult;
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import com.magnab.employeelifecycle.enums.WorkflowType;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.repository.TemplateTaskRepository;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowBatchService.
+ * Tests per-row validation, one-time template resolution through the plan cache, chunking and chunk failure
+ * isolation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowBatchService Unit Tests")
+class WorkflowBatchServiceTest {
+
+    @Mock
+    private WorkflowService workflowService;
+
+    @Mock
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @Mock
+    private TemplateTaskRepository templateTaskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private WorkflowBatchService workflowBatchService;
+
+    private UUID templateId;
+    private UUID userId;
+    private WorkflowTemplate template;
+    private User initiator;
+    private List<TemplateTask> templateTasks;
+
+    @BeforeEach
+    void setUp() {
+        workflowBatchService = new WorkflowBatchService(
+                workflowService,
+                new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository),
+                userRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager,
+                entityManager,
+                2
+        );
+
+        templateId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        template = new WorkflowTemplate();
+        template.setId(templateId);
+        template.setTemplateName("Onboarding");
+        template.setWorkflowType(WorkflowType.ONBOARDING);
+        template.setIsActive(true);
+
+        initiator = new User();
+        initiator.setId(userId);
+        initiator.setRole(UserRole.HR_ADMIN);
+
+        TemplateTask task = new TemplateTask();
+        task.setId(UUID.randomUUID());
+        task.setTemplateId(templateId);
+        task.setTaskName("Send welcome email");
+        task.setAssignedRole(UserRole.HR_ADMIN);
+        task.setSequenceOrder(1);
+        templateTasks = List.of(task);
+    }
+
+    private InitiateWorkflowRequest row(String name, String email) {
+        InitiateWorkflowRequest request = new InitiateWorkflowRequest();
+        request.setTemplateId(templateId);
+        request.setEmployeeName(name);
+        request.setEmployeeEmail(email);
+        request.setEmployeeRole("Engineer");
+        return request;
+    }
+
+    private void stubCreation() {
+        when(workflowService.createWorkflowInstances(any(TemplatePlan.class), anyList(), eq(initiator)))
+                .thenAnswer(invocation -> {
+                    List<?> requests = invocation.getArgument(1);
+                    List<WorkflowCreationResult> results = new ArrayList<>();
+                    for (int i = 0; i < requests.size(); i++) {
+                        WorkflowCreationResult result = new WorkflowCreationResult();
+                        result.setWorkflowInstanceId(UUID.randomUUID());
+                        result.setTotalTasks(1);
+                        result.setImmediateTasksCount(1);
+                        results.add(result);
+                    }
+                    return results;
+                });
+    }
+
+    private WorkflowAssignmentResult routed(WorkflowStatus status, List<TaskAssignmentResult> assignments) {
+        WorkflowAssignmentResult result = new WorkflowAssignmentResult();
+        result.setWorkflowStatus(status);
+        result.setAssignments(assignments);
+        return result;
+    }
+
+    private void stubAssignment() {
+        when(workflowService.routeTasksForWorkflow(any(UUID.class)))
+                .thenReturn(routed(WorkflowStatus.IN_PROGRESS, List.of(new TaskAssignmentResult())));
+    }
+
+    @Nested
+    @DisplayName("Batch Initiation")
+    class BatchInitiation {
+
+        @Test
+        @DisplayName("Should resolve template and initiator once and process rows in chunks")
+        void shouldResolveOnceAndChunk() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.of(initiator));
+            when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(template));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1)).thenReturn(templateTasks);
+            stubCreation();
+            stubAssignment();
+
+            List<InitiateWorkflowRequest> rows = List.of(
+                    row("A", "a@company.com"), row("B", "b@company.com"), row("C", "c@company.com"),
+                    row("D", "d@company.com"), row("E", "e@company.com"));
+
+            // Act
+            BatchWorkflowInitiationResponse response = workflowBatchService.initiateWorkflows(rows, userId);
+
+            // Assert
+            assertThat(response.getTotalRequested()).isEqualTo(5);
+            assertThat(response.getSucceeded()).isEqualTo(5);
+            assertThat(response.getFailed()).isZero();
+            assertThat(response.getResults()).allSatisfy(result -> {
+                assertThat(result.getSuccess()).isTrue();
+                assertThat(result.getWorkflowInstanceId()).isNotNull();
+                assertThat(result.getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+                assertThat(result.getTasksAssigned()).isEqualTo(1);
+            });
+
+            verify(userRepository, times(1)).findById(userId);
+            verify(workflowTemplateRepository, times(1)).findById(templateId);
+            verify(templateTaskRepository, times(1)).findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1);
+            // 5 rows with chunk size 2 -> 3 chunks, all from the one cached plan
+            verify(workflowService, times(3)).createWorkflowInstances(any(TemplatePlan.class), anyList(), any());
+            verify(workflowService, times(5)).routeTasksForWorkflow(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should report the workflow status after assignment even when no task was assigned")
+        void shouldReportStatusOfPooledOnlyWorkflows() {
+            // Arrange: the only ready task is pulled from a claim pool, so it is pooled rather than assigned
+            when(userRepository.findById(userId)).thenReturn(Optional.of(initiator));
+            when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(template));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1)).thenReturn(templateTasks);
+            stubCreation();
+            when(workflowService.routeTasksForWorkflow(any(UUID.class)))
+                    .thenReturn(routed(WorkflowStatus.IN_PROGRESS, List.of()));
+
+            // Act
+            BatchWorkflowInitiationResponse response =
+                    workflowBatchService.initiateWorkflows(List.of(row("A", "a@company.com")), userId);
+
+            // Assert
+            BatchWorkflowInitiationRowResult result = response.getResults().get(0);
+            assertThat(result.getTasksAssigned()).isZero();
+            assertThat(result.getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+        }
+
+        @Test
+        @DisplayName("Should report invalid rows individually without aborting the batch")
+        void shouldReportInvalidRows() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.of(initiator));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1)).thenReturn(templateTasks);
+            stubCreation();
+            stubAssignment();
+
+            InitiateWorkflowRequest unknownTemplate = row("C", "c@company.com");
+            unknownTemplate.setTemplateId(UUID.randomUUID());
+            when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(template));
+            when(workflowTemplateRepository.findById(unknownTemplate.getTemplateId())).thenReturn(Optional.empty());
+
+            List<InitiateWorkflowRequest> rows = List.of(
+                    row("A", "a@company.com"), row("B", "not-an-email"), unknownTemplate);
+
+            // Act
+            BatchWorkflowInitiationResponse response = workflowBatchService.initiateWorkflows(rows, userId);
+
+            // Assert
+            assertThat(response.getSucceeded()).isEqualTo(1);
+            assertThat(response.getFailed()).isEqualTo(2);
+            List<BatchWorkflowInitiationRowResult> results = response.getResults();
+            assertThat(results.get(0).getSuccess()).isTrue();
+            assertThat(results.get(1).getSuccess()).isFalse();
+            assertThat(results.get(1).getError()).contains("Employee email must be valid");
+            assertThat(results.get(2).getSuccess()).isFalse();
+            assertThat(results.get(2).getError()).contains("Workflow template not found with id");
+        }
+
+        @Test
+        @DisplayName("Should reject rows for inactive templates")
+        void shouldRejectInactiveTemplate() {
+            // Arrange
+            template.setIsActive(false);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(initiator));
+            when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(template));
+
+            // Act
+            BatchWorkflowInitiationResponse response = workflowBatchService.initiateWorkflows(
+                    List.of(row("A", "a@company.com")), userId);
+
+            // Assert
+            assertThat(response.getFailed()).isEqualTo(1);
+            assertThat(response.getResults().get(0).getError())
+                    .contains("Cannot instantiate inactive workflow template");
+            verifyNoInteractions(workflowService);
+        }
+
+        @Test
+        @DisplayName("Should mark only the failing chunk as failed")
+        void shouldIsolateChunkFailure() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.of(initiator));
+            when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(template));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1)).thenReturn(templateTasks);
+            stubCreation();
+            when(workflowService.routeTasksForWorkflow(any(UUID.class)))
+                    .thenReturn(routed(WorkflowStatus.INITIATED, List.of()))
+                    .thenReturn(routed(WorkflowStatus.INITIATED, List.of()))
+                    .thenThrow(new RuntimeException("Database connection lost"));
+
+            List<InitiateWorkflowRequest> rows = List.of(
+                    row("A", "a@company.com"), row("B", "b@company.com"), row("C", "c@company.com"));
+
+            // Act
+            BatchWorkflowInitiationResponse response = workflowBatchService.initiateWorkflows(rows, userId);
+
+            // Assert
+            assertThat(response.getSucceeded()).isEqualTo(2);
+            assertThat(response.getResults().get(0).getStatus()).isEqualTo(WorkflowStatus.INITIATED);
+            assertThat(response.getResults().get(2).getSuccess()).isFalse();
+            assertThat(response.getResults().get(2).getWorkflowInstanceId()).isNull();
+            assertThat(response.getResults().get(2).getError()).isEqualTo("Database connection lost");
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when initiating user not found")
+        void shouldThrowWhenInitiatorMissing() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowBatchService.initiateWorkflows(
+                    List.of(row("A", "a@company.com")), userId))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("User not found with id");
+            verifyNoInteractions(workflowService);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.magnab.employeelifecycle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationResponse;
+import com.magnab.employeelifecycle.entity.WorkflowIdempotencyKey;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.WorkflowIdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowIdempotencyService.
+ * Tests first execution, replay from cache and database, key reuse detection and collapsing of concurrent requests.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowIdempotencyService Unit Tests")
+class WorkflowIdempotencyServiceTest {
+
+    private static final String KEY = "hris-4711";
+
+    @Mock
+    private WorkflowIdempotencyKeyRepository idempotencyKeyRepository;
+
+    private WorkflowIdempotencyService workflowIdempotencyService;
+    private UUID userId;
+    private InitiateWorkflowRequest request;
+    private WorkflowInitiationResponse response;
+
+    @BeforeEach
+    void setUp() {
+        workflowIdempotencyService = new WorkflowIdempotencyService(
+                idempotencyKeyRepository, new ObjectMapper(), Duration.ofHours(24), Duration.ofSeconds(10), 100);
+
+        userId = UUID.randomUUID();
+        request = new InitiateWorkflowRequest();
+        request.setTemplateId(UUID.randomUUID());
+        request.setEmployeeName("John Doe");
+        request.setEmployeeEmail("john.doe@company.com");
+        request.setEmployeeRole("Software Engineer");
+        request.setCustomFieldValues(new HashMap<>(Map.of("startDate", "2025-02-01", "office", "Berlin")));
+
+        response = new WorkflowInitiationResponse();
+        response.setWorkflowInstanceId(UUID.randomUUID());
+    }
+
+    private void stubNewKey() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(any(WorkflowIdempotencyKey.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private WorkflowIdempotencyKey storedRecord(InitiateWorkflowRequest storedRequest) {
+        // Capture the hash the service computes for a request by letting it claim a fresh key
+        stubNewKey();
+        ArgumentCaptor<WorkflowIdempotencyKey> captor = ArgumentCaptor.forClass(WorkflowIdempotencyKey.class);
+        new WorkflowIdempotencyService(idempotencyKeyRepository, new ObjectMapper(),
+                Duration.ofHours(24), Duration.ofSeconds(10), 100)
+                .execute(KEY, userId, storedRequest, () -> response);
+        verify(idempotencyKeyRepository).save(captor.capture());
+        reset(idempotencyKeyRepository);
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("First Execution")
+    class FirstExecution {
+
+        @Test
+        @DisplayName("Should claim the key, run the initiation and store the response")
+        void shouldRunAndStore() {
+            // Arrange
+            stubNewKey();
+
+            // Act
+            WorkflowIdempotencyService.Outcome outcome =
+                    workflowIdempotencyService.execute(KEY, userId, request, () -> response);
+
+            // Assert
+            assertThat(outcome.replayed()).isFalse();
+            assertThat(outcome.response()).isSameAs(response);
+            ArgumentCaptor<WorkflowIdempotencyKey> captor = ArgumentCaptor.forClass(WorkflowIdempotencyKey.class);
+            verify(idempotencyKeyRepository).save(captor.capture());
+            assertThat(captor.getValue().getResponse()).isSameAs(response);
+            assertThat(captor.getValue().isCompleted()).isTrue();
+            assertThat(captor.getValue().getRequestHash()).hasSize(64);
+            assertThat(captor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusHours(23));
+        }
+
+        @Test
+        @DisplayName("Should release the key when the initiation fails")
+        void shouldReleaseKeyOnFailure() {
+            // Arrange
+            stubNewKey();
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                throw new ValidationException("Cannot instantiate inactive workflow template");
+            })).isInstanceOf(ValidationException.class);
+            verify(idempotencyKeyRepository).delete(any(WorkflowIdempotencyKey.class));
+            verify(idempotencyKeyRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should keep the key with the creation response when a later step fails")
+        void shouldKeepKeyWhenCompletionFails() {
+            // Arrange
+            stubNewKey();
+            when(idempotencyKeyRepository.save(any(WorkflowIdempotencyKey.class)))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(KEY, userId, request, () -> response,
+                    created -> {
+                        throw new ConflictException("Workflow was modified concurrently");
+                    })).isInstanceOf(ConflictException.class);
+            ArgumentCaptor<WorkflowIdempotencyKey> captor = ArgumentCaptor.forClass(WorkflowIdempotencyKey.class);
+            verify(idempotencyKeyRepository).save(captor.capture());
+            assertThat(captor.getValue().getResponse()).isSameAs(response);
+            assertThat(captor.getValue().isCompleted()).isFalse();
+            verify(idempotencyKeyRepository, never()).delete(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a blank key")
+        void shouldRejectBlankKey() {
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(" ", userId, request, () -> response))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("must not be blank");
+            verifyNoInteractions(idempotencyKeyRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class Replay {
+
+        @Test
+        @DisplayName("Should replay from the in-memory cache without touching the database")
+        void shouldReplayFromCache() {
+            // Arrange
+            stubNewKey();
+            AtomicInteger executions = new AtomicInteger();
+            workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                executions.incrementAndGet();
+                return response;
+            });
+
+            // Act
+            WorkflowIdempotencyService.Outcome outcome = workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                executions.incrementAndGet();
+                return response;
+            });
+
+            // Assert
+            assertThat(outcome.replayed()).isTrue();
+            assertThat(outcome.response()).isSameAs(response);
+            assertThat(executions).hasValue(1);
+            verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(userId, KEY);
+        }
+
+        @Test
+        @DisplayName("Should replay a response stored by an earlier instance")
+        void shouldReplayFromDatabase() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            stored.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+
+            // Act
+            WorkflowIdempotencyService.Outcome outcome = workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                throw new AssertionError("Initiation must not run again");
+            });
+
+            // Assert
+            assertThat(outcome.replayed()).isTrue();
+            assertThat(outcome.response().getWorkflowInstanceId()).isEqualTo(response.getWorkflowInstanceId());
+            verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("Should finish an initiation whose later step failed instead of replaying it")
+        void shouldResumeIncompleteInitiation() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            stored.setCompleted(false);
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+            WorkflowInitiationResponse assigned = new WorkflowInitiationResponse();
+            assigned.setWorkflowInstanceId(response.getWorkflowInstanceId());
+            assigned.setTasksAssigned(3);
+            List<UUID> completedWorkflows = new ArrayList<>();
+
+            // Act
+            WorkflowIdempotencyService.Outcome outcome = workflowIdempotencyService.execute(KEY, userId, request,
+                    () -> {
+                        throw new AssertionError("Workflow must not be created again");
+                    },
+                    created -> {
+                        completedWorkflows.add(created.getWorkflowInstanceId());
+                        return assigned;
+                    });
+
+            // Assert
+            assertThat(outcome.replayed()).isTrue();
+            assertThat(outcome.response()).isSameAs(assigned);
+            assertThat(completedWorkflows).containsExactly(response.getWorkflowInstanceId());
+            verify(idempotencyKeyRepository).save(stored);
+            assertThat(stored.getResponse()).isSameAs(assigned);
+            assertThat(stored.isCompleted()).isTrue();
+            verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("Should keep an incomplete initiation for the next retry when finishing it fails again")
+        void shouldKeepIncompleteInitiationWhenResumeFails() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            stored.setCompleted(false);
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(KEY, userId, request, () -> response,
+                    created -> {
+                        throw new ConflictException("Workflow was modified concurrently");
+                    })).isInstanceOf(ConflictException.class);
+            assertThat(stored.getResponse()).isSameAs(response);
+            assertThat(stored.isCompleted()).isFalse();
+            verify(idempotencyKeyRepository, never()).save(any());
+            verify(idempotencyKeyRepository, never()).delete(any());
+        }
+
+        @Test
+        @DisplayName("Should treat custom field order as the same request")
+        void shouldIgnoreMapOrder() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+            Map<String, Object> reordered = new LinkedHashMap<>();
+            reordered.put("office", "Berlin");
+            reordered.put("startDate", "2025-02-01");
+            request.setCustomFieldValues(reordered);
+
+            // Act
+            WorkflowIdempotencyService.Outcome outcome =
+                    workflowIdempotencyService.execute(KEY, userId, request, () -> response);
+
+            // Assert
+            assertThat(outcome.replayed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject reuse of a key with a different request")
+        void shouldRejectDifferentRequest() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+            request.setEmployeeName("Jane Doe");
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(KEY, userId, request, () -> response))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("different request");
+        }
+
+        @Test
+        @DisplayName("Should report a key still being processed by another instance")
+        void shouldRejectKeyInProgressElsewhere() {
+            // Arrange
+            WorkflowIdempotencyKey stored = storedRecord(request);
+            stored.setResponse(null);
+            stored.setCreatedAt(LocalDateTime.now());
+            when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(stored));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowIdempotencyService.execute(KEY, userId, request, () -> response))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("still being processed");
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Requests")
+    class ConcurrentRequests {
+
+        @Test
+        @DisplayName("Should run the initiation once for concurrent requests with the same key")
+        void shouldCollapseConcurrentRequests() throws Exception {
+            // Arrange
+            stubNewKey();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger executions = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            try {
+                Future<WorkflowIdempotencyService.Outcome> first = executor.submit(() ->
+                        workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                            executions.incrementAndGet();
+                            started.countDown();
+                            awaitQuietly(release);
+                            return response;
+                        }));
+                assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+                List<Future<WorkflowIdempotencyService.Outcome>> followers = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    followers.add(executor.submit(() ->
+                            workflowIdempotencyService.execute(KEY, userId, request, () -> {
+                                executions.incrementAndGet();
+                                return response;
+                            })));
+                }
+
+                // Act
+                release.countDown();
+
+                // Assert
+                assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+                for (Future<WorkflowIdempotencyService.Outcome> follower : followers) {
+                    WorkflowIdempotencyService.Outcome outcome = follower.get(5, TimeUnit.SECONDS);
+                    assertThat(outcome.replayed()).isTrue();
+                    assertThat(outcome.response()).isSameAs(response);
+                }
+                assertThat(executions).hasValue(1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
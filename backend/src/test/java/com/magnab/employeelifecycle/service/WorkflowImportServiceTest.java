@@ -0,0 +1,307 @@
+package com.magnab.employeelifecycle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationResponse;
+import com.magnab.employeelifecycle.dto.response.BatchWorkflowInitiationRowResult;
+import com.magnab.employeelifecycle.dto.response.ImportJobResponse;
+import com.magnab.employeelifecycle.entity.ImportJob;
+import com.magnab.employeelifecycle.entity.ImportJobError;
+import com.magnab.employeelifecycle.enums.ImportFormat;
+import com.magnab.employeelifecycle.enums.ImportJobStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.repository.ImportJobErrorRepository;
+import com.magnab.employeelifecycle.repository.ImportJobRepository;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowImportService.
+ * Tests streaming CSV/NDJSON parsing, chunked processing, per-row errors and resuming from a checkpoint.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowImportService Unit Tests")
+class WorkflowImportServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Mock
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @Mock
+    private WorkflowBatchService workflowBatchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private WorkflowImportService workflowImportService;
+    private SimpleTransactionStatus transactionStatus;
+    private UUID userId;
+    private UUID templateId;
+    private ImportJob job;
+
+    @BeforeEach
+    void setUp() {
+        workflowImportService = new WorkflowImportService(
+                importJobRepository,
+                importJobErrorRepository,
+                workflowTemplateRepository,
+                workflowBatchService,
+                new ObjectMapper(),
+                transactionManager,
+                Runnable::run,
+                tempDir.toString(),
+                2
+        );
+
+        transactionStatus = new SimpleTransactionStatus();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+        userId = UUID.randomUUID();
+        templateId = UUID.randomUUID();
+
+        job = new ImportJob();
+        job.setId(UUID.randomUUID());
+        job.setFileName("hires.csv");
+        job.setCreatedBy(userId);
+        job.setStatus(ImportJobStatus.PENDING);
+    }
+
+    private void givenFile(ImportFormat format, String content) throws IOException {
+        Path file = tempDir.resolve("import." + format.name().toLowerCase());
+        Files.writeString(file, content);
+        job.setFormat(format);
+        job.setStoragePath(file.toString());
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private void batchSucceedsForAllRows() {
+        when(workflowBatchService.initiateWorkflows(anyList(), eq(userId))).thenAnswer(invocation -> {
+            List<InitiateWorkflowRequest> requests = invocation.getArgument(0);
+            BatchWorkflowInitiationResponse response = new BatchWorkflowInitiationResponse();
+            List<BatchWorkflowInitiationRowResult> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                BatchWorkflowInitiationRowResult result = new BatchWorkflowInitiationRowResult();
+                result.setRowIndex(i);
+                result.setEmployeeEmail(requests.get(i).getEmployeeEmail());
+                result.setSuccess(true);
+                results.add(result);
+            }
+            response.setResults(results);
+            return response;
+        });
+    }
+
+    private String csvRow(int n) {
+        return templateId + ",Employee " + n + ",employee" + n + "@company.com,Engineer,remote\n";
+    }
+
+    @Nested
+    @DisplayName("Running Imports")
+    class RunningImports {
+
+        @Test
+        @DisplayName("Should process CSV rows in chunks and complete the job")
+        void shouldProcessCsvInChunks() throws IOException {
+            // Arrange
+            givenFile(ImportFormat.CSV, "templateId,employeeName,employeeEmail,employeeRole,location\n"
+                    + csvRow(1) + csvRow(2) + "\n" + csvRow(3));
+            batchSucceedsForAllRows();
+
+            // Act
+            workflowImportService.runImport(job.getId());
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<InitiateWorkflowRequest>> captor = ArgumentCaptor.forClass(List.class);
+            verify(workflowBatchService, times(2)).initiateWorkflows(captor.capture(), eq(userId));
+            assertThat(captor.getAllValues().get(0)).hasSize(2);
+            assertThat(captor.getAllValues().get(1)).hasSize(1);
+
+            InitiateWorkflowRequest first = captor.getAllValues().get(0).get(0);
+            assertThat(first.getTemplateId()).isEqualTo(templateId);
+            assertThat(first.getEmployeeEmail()).isEqualTo("employee1@company.com");
+            assertThat(first.getCustomFieldValues()).containsEntry("location", "remote");
+
+            assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+            assertThat(job.getCheckpointRow()).isEqualTo(3);
+            assertThat(job.getSucceededRows()).isEqualTo(3);
+            assertThat(job.getFailedRows()).isZero();
+            assertThat(job.getCompletedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should resume after the checkpoint without re-importing earlier rows")
+        void shouldResumeFromCheckpoint() throws IOException {
+            // Arrange
+            givenFile(ImportFormat.CSV, "templateId,employeeName,employeeEmail,employeeRole,location\n"
+                    + csvRow(1) + csvRow(2) + csvRow(3) + csvRow(4));
+            job.setCheckpointRow(2);
+            job.setSucceededRows(2);
+            job.setStatus(ImportJobStatus.FAILED);
+            batchSucceedsForAllRows();
+
+            // Act
+            workflowImportService.runImport(job.getId());
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<InitiateWorkflowRequest>> captor = ArgumentCaptor.forClass(List.class);
+            verify(workflowBatchService, times(1)).initiateWorkflows(captor.capture(), eq(userId));
+            assertThat(captor.getValue()).extracting(InitiateWorkflowRequest::getEmployeeEmail)
+                    .containsExactly("employee3@company.com", "employee4@company.com");
+            assertThat(job.getCheckpointRow()).isEqualTo(4);
+            assertThat(job.getSucceededRows()).isEqualTo(4);
+            assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Should record parse errors and rejected rows per row")
+        void shouldRecordRowErrors() throws IOException {
+            // Arrange
+            givenFile(ImportFormat.NDJSON,
+                    "{\"templateId\":\"" + templateId + "\",\"employeeName\":\"A\",\"employeeEmail\":\"a@company.com\",\"employeeRole\":\"Engineer\"}\n"
+                            + "{not json\n");
+            when(workflowBatchService.initiateWorkflows(anyList(), eq(userId))).thenAnswer(invocation -> {
+                BatchWorkflowInitiationRowResult result = new BatchWorkflowInitiationRowResult();
+                result.setRowIndex(0);
+                result.setSuccess(false);
+                result.setError("Workflow template not found with id: " + templateId);
+                BatchWorkflowInitiationResponse response = new BatchWorkflowInitiationResponse();
+                response.setResults(List.of(result));
+                return response;
+            });
+
+            // Act
+            workflowImportService.runImport(job.getId());
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ImportJobError>> errorCaptor = ArgumentCaptor.forClass(List.class);
+            verify(importJobErrorRepository).saveAll(errorCaptor.capture());
+            List<ImportJobError> errors = errorCaptor.getValue();
+            assertThat(errors).hasSize(2);
+            assertThat(errors.get(0).getRowNumber()).isEqualTo(1);
+            assertThat(errors.get(0).getEmployeeEmail()).isEqualTo("a@company.com");
+            assertThat(errors.get(0).getMessage()).contains("Workflow template not found");
+            assertThat(errors.get(1).getRowNumber()).isEqualTo(2);
+            assertThat(errors.get(1).getMessage()).startsWith("Malformed JSON");
+
+            assertThat(job.getFailedRows()).isEqualTo(2);
+            assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Should record every row of a rolled-back chunk as failed and still advance")
+        void shouldRecordRolledBackChunk() throws IOException {
+            // Arrange
+            givenFile(ImportFormat.CSV, "templateId,employeeName,employeeEmail,employeeRole,location\n"
+                    + csvRow(1) + csvRow(2));
+            when(workflowBatchService.initiateWorkflows(anyList(), eq(userId))).thenAnswer(invocation -> {
+                transactionStatus.setRollbackOnly();
+                BatchWorkflowInitiationRowResult result = new BatchWorkflowInitiationRowResult();
+                result.setRowIndex(0);
+                result.setSuccess(false);
+                result.setError("duplicate key value");
+                BatchWorkflowInitiationResponse response = new BatchWorkflowInitiationResponse();
+                response.setResults(List.of(result));
+                return response;
+            });
+
+            // Act
+            workflowImportService.runImport(job.getId());
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ImportJobError>> errorCaptor = ArgumentCaptor.forClass(List.class);
+            verify(importJobErrorRepository).saveAll(errorCaptor.capture());
+            assertThat(errorCaptor.getValue()).hasSize(2)
+                    .allSatisfy(error -> assertThat(error.getMessage()).isEqualTo("Chunk rolled back: duplicate key value"));
+            assertThat(job.getCheckpointRow()).isEqualTo(2);
+            assertThat(job.getSucceededRows()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should mark the job FAILED when the file cannot be read")
+        void shouldFailWhenFileMissing() {
+            // Arrange
+            job.setFormat(ImportFormat.CSV);
+            job.setStoragePath(tempDir.resolve("missing.csv").toString());
+            when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+            when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            workflowImportService.runImport(job.getId());
+
+            // Assert
+            assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+            assertThat(job.getErrorMessage()).isNotBlank();
+            verifyNoInteractions(workflowBatchService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Job Status")
+    class JobStatus {
+
+        @Test
+        @DisplayName("Should report throughput in rows per second")
+        void shouldReportThroughput() {
+            // Arrange
+            job.setFormat(ImportFormat.CSV);
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setCheckpointRow(8000);
+            job.setProcessingMillis(4000L);
+            when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+            when(importJobErrorRepository.findByImportJobIdOrderByRowNumber(eq(job.getId()), any()))
+                    .thenReturn(List.of());
+
+            // Act
+            ImportJobResponse response = workflowImportService.getImportJob(job.getId(), 100);
+
+            // Assert
+            assertThat(response.getRowsProcessed()).isEqualTo(8000);
+            assertThat(response.getRowsPerSecond()).isEqualTo(2000.0);
+        }
+
+        @Test
+        @DisplayName("Should not resume a completed job")
+        void shouldRejectResumeOfCompletedJob() {
+            // Arrange
+            job.setStatus(ImportJobStatus.COMPLETED);
+            when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowImportService.resumeImport(job.getId()))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("already completed");
+        }
+    }
+}
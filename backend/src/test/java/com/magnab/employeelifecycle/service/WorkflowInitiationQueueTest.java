@@ -0,0 +1,281 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationJobResponse;
+import com.magnab.employeelifecycle.dto.response.WorkflowInitiationResponse;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.InitiationJobStatus;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.exception.TooManyRequestsException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowInitiationQueue.
+ * Tests validation before queueing, both overflow policies, job completion and failure, and queue metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowInitiationQueue Unit Tests")
+class WorkflowInitiationQueueTest {
+
+    @Mock
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkflowInitiationQueue queue;
+    private UUID userId;
+    private InitiateWorkflowRequest request;
+    private WorkflowTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userId = UUID.randomUUID();
+
+        template = new WorkflowTemplate();
+        template.setId(UUID.randomUUID());
+        template.setIsActive(true);
+
+        request = new InitiateWorkflowRequest();
+        request.setTemplateId(template.getId());
+        request.setEmployeeName("John Doe");
+        request.setEmployeeEmail("john.doe@company.com");
+        request.setEmployeeRole("Software Engineer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    private WorkflowInitiationQueue createQueue(int workers, int capacity, WorkflowInitiationQueue.OverflowPolicy policy) {
+        return new WorkflowInitiationQueue(workflowTemplateRepository, meterRegistry, workers, capacity, policy,
+                Duration.ofMillis(100), Duration.ofHours(1));
+    }
+
+    private WorkflowInitiationResponse response() {
+        WorkflowInitiationResponse response = new WorkflowInitiationResponse();
+        response.setWorkflowInstanceId(UUID.randomUUID());
+        return response;
+    }
+
+    private WorkflowInitiationJobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        WorkflowInitiationJobResponse job = queue.getJob(jobId, userId);
+        while (job.getCompletedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = queue.getJob(jobId, userId);
+        }
+        return job;
+    }
+
+    @Nested
+    @DisplayName("Submission")
+    class SubmissionTests {
+
+        @Test
+        void submit_TemplateNotFound_ThrowsResourceNotFound() {
+            // Arrange
+            queue = createQueue(0, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> queue.submit(request, userId, WorkflowInitiationQueueTest.this::response))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining(template.getId().toString());
+            assertThat(queue.getQueueDepth()).isZero();
+        }
+
+        @Test
+        void submit_InactiveTemplate_ThrowsValidationException() {
+            // Arrange
+            queue = createQueue(0, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            template.setIsActive(false);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+
+            // Act & Assert
+            assertThatThrownBy(() -> queue.submit(request, userId, WorkflowInitiationQueueTest.this::response))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("inactive");
+        }
+
+        @Test
+        void submit_ValidRequest_QueuesJob() {
+            // Arrange
+            queue = createQueue(0, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+
+            // Act
+            WorkflowInitiationJobResponse job = queue.submit(request, userId, WorkflowInitiationQueueTest.this::response);
+
+            // Assert
+            assertThat(job.getJobId()).isNotNull();
+            assertThat(job.getStatus()).isEqualTo(InitiationJobStatus.QUEUED);
+            assertThat(job.getEmployeeName()).isEqualTo("John Doe");
+            assertThat(job.getQueueDepth()).isEqualTo(1);
+            assertThat(meterRegistry.get("workflow.initiation.queue.depth").gauge().value()).isEqualTo(1.0);
+        }
+
+        @Test
+        void getJob_OtherUser_ThrowsResourceNotFound() {
+            // Arrange
+            queue = createQueue(0, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            WorkflowInitiationJobResponse job = queue.submit(request, userId, WorkflowInitiationQueueTest.this::response);
+
+            // Act & Assert
+            assertThatThrownBy(() -> queue.getJob(job.getJobId(), UUID.randomUUID()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure")
+    class BackpressureTests {
+
+        @Test
+        void submit_RejectPolicyQueueFull_ThrowsTooManyRequests() {
+            // Arrange - no workers, so the single slot stays occupied
+            queue = createQueue(0, 1, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            queue.submit(request, userId, WorkflowInitiationQueueTest.this::response);
+
+            // Act & Assert
+            assertThatThrownBy(() -> queue.submit(request, userId, WorkflowInitiationQueueTest.this::response))
+                    .isInstanceOf(TooManyRequestsException.class)
+                    .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(1));
+            assertThat(queue.getQueueDepth()).isEqualTo(1);
+            assertThat(meterRegistry.get("workflow.initiation.rejected").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        void submit_BlockPolicyQueueFull_WaitsForOfferTimeoutThenRejects() {
+            // Arrange
+            queue = createQueue(0, 1, WorkflowInitiationQueue.OverflowPolicy.BLOCK);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            queue.submit(request, userId, WorkflowInitiationQueueTest.this::response);
+
+            // Act
+            long startedAt = System.nanoTime();
+            Throwable thrown = catchThrowable(() ->
+                    queue.submit(request, userId, WorkflowInitiationQueueTest.this::response));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            // Assert
+            assertThat(thrown).isInstanceOf(TooManyRequestsException.class);
+            assertThat(waitedMillis).isGreaterThanOrEqualTo(90);
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution")
+    class ExecutionTests {
+
+        @Test
+        void worker_RunsJob_CompletesWithResult() throws InterruptedException {
+            // Arrange
+            queue = createQueue(2, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            WorkflowInitiationResponse result = response();
+            queue.start();
+
+            // Act
+            WorkflowInitiationJobResponse submitted = queue.submit(request, userId, () -> result);
+            WorkflowInitiationJobResponse job = awaitFinished(submitted.getJobId());
+
+            // Assert
+            assertThat(job.getStatus()).isEqualTo(InitiationJobStatus.COMPLETED);
+            assertThat(job.getResult()).isSameAs(result);
+            assertThat(job.getStartedAt()).isNotNull();
+            assertThat(job.getQueuedMillis()).isNotNull().isGreaterThanOrEqualTo(0L);
+            assertThat(meterRegistry.get("workflow.initiation.queue.wait").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("workflow.initiation.execution").tag("outcome", "success").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void worker_InitiationThrows_MarksJobFailed() throws InterruptedException {
+            // Arrange
+            queue = createQueue(1, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            queue.start();
+
+            // Act
+            WorkflowInitiationJobResponse submitted = queue.submit(request, userId, () -> {
+                throw new ValidationException("No users available for role TECH_SUPPORT");
+            });
+            WorkflowInitiationJobResponse job = awaitFinished(submitted.getJobId());
+
+            // Assert
+            assertThat(job.getStatus()).isEqualTo(InitiationJobStatus.FAILED);
+            assertThat(job.getError()).isEqualTo("No users available for role TECH_SUPPORT");
+            assertThat(job.getResult()).isNull();
+            assertThat(meterRegistry.get("workflow.initiation.execution").tag("outcome", "failure").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void worker_WhileJobRunning_ReportsRunning() throws InterruptedException {
+            // Arrange
+            queue = createQueue(1, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            queue.start();
+
+            // Act
+            WorkflowInitiationJobResponse submitted = queue.submit(request, userId, () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return response();
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            WorkflowInitiationJobResponse running = queue.getJob(submitted.getJobId(), userId);
+            release.countDown();
+
+            // Assert
+            assertThat(running.getStatus()).isEqualTo(InitiationJobStatus.RUNNING);
+            assertThat(awaitFinished(submitted.getJobId()).getStatus()).isEqualTo(InitiationJobStatus.COMPLETED);
+        }
+
+        @Test
+        void stop_WithQueuedJobs_FailsThem() {
+            // Arrange
+            queue = createQueue(0, 10, WorkflowInitiationQueue.OverflowPolicy.REJECT);
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+            WorkflowInitiationJobResponse submitted = queue.submit(request, userId, WorkflowInitiationQueueTest.this::response);
+
+            // Act
+            queue.stop();
+
+            // Assert
+            WorkflowInitiationJobResponse job = queue.getJob(submitted.getJobId(), userId);
+            assertThat(job.getStatus()).isEqualTo(InitiationJobStatus.FAILED);
+            assertThat(queue.getQueueDepth()).isZero();
+        }
+    }
+}
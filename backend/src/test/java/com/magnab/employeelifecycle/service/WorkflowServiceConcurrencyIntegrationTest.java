@@ -0,0 +1,262 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.dto.request.EmployeeDetails;
+import com.magnab.employeelifecycle.dto.response.TaskAssignmentResult;
+import com.magnab.employeelifecycle.entity.*;
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import com.magnab.employeelifecycle.enums.WorkflowType;
+import com.magnab.employeelifecycle.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Multi-threaded stress tests for WorkflowService against a real PostgreSQL database.
+ * Runs task assignment and task completion for the same workflow from many threads at once, each in its own
+ * transaction, and checks that tasks are assigned once and workflow transitions are recorded once. Transitions of
+ * one workflow wait on its row lock, so none of the calls may lose a version check and be retried.
+ *
+ * Not transactional: every call must commit for the other threads to see it.
+ */
+@SpringBootTest
+@Testcontainers
+@DisplayName("WorkflowService Concurrency Integration Tests")
+class WorkflowServiceConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+    private static final int ROOT_TASKS = 6;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2-alpine")
+            .withDatabaseName("employee_lifecycle_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @Autowired
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @Autowired
+    private TemplateTaskRepository templateTaskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkflowInstanceRepository workflowInstanceRepository;
+
+    @Autowired
+    private TaskInstanceRepository taskInstanceRepository;
+
+    @Autowired
+    private WorkflowStateHistoryRepository workflowStateHistoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User initiator;
+    private WorkflowTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        initiator = createUser("admin_" + suffix, UserRole.ADMINISTRATOR);
+        createUser("hr1_" + suffix, UserRole.HR_ADMIN);
+        createUser("hr2_" + suffix, UserRole.HR_ADMIN);
+        createUser("hr3_" + suffix, UserRole.HR_ADMIN);
+
+        template = new WorkflowTemplate();
+        template.setTemplateName("Concurrency Template " + suffix);
+        template.setWorkflowType(WorkflowType.ONBOARDING);
+        template.setDescription("Concurrency stress test template");
+        template.setIsActive(true);
+        template.setCreatedBy(initiator.getId());
+        template = workflowTemplateRepository.save(template);
+
+        // ROOT_TASKS independent tasks, plus one follow-up task that waits for the first of them
+        TemplateTask firstRoot = null;
+        for (int sequence = 1; sequence <= ROOT_TASKS; sequence++) {
+            TemplateTask task = createTemplateTask("Root task " + sequence, sequence, null);
+            if (firstRoot == null) {
+                firstRoot = task;
+            }
+        }
+        createTemplateTask("Follow-up task", ROOT_TASKS + 1, firstRoot);
+    }
+
+    private User createUser(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPasswordHash("hashed_password");
+        user.setRole(role);
+        user.setIsActive(true);
+        return userRepository.save(user);
+    }
+
+    private TemplateTask createTemplateTask(String name, int sequence, TemplateTask dependsOn) {
+        TemplateTask task = new TemplateTask();
+        task.setTemplate(template);
+        task.setTaskName(name);
+        task.setDescription(name);
+        task.setAssignedRole(UserRole.HR_ADMIN);
+        task.setSequenceOrder(sequence);
+        task.setDependsOnTask(dependsOn);
+        task.setCreatedBy(initiator.getId());
+        return templateTaskRepository.save(task);
+    }
+
+    private UUID createWorkflow(int round) {
+        EmployeeDetails employeeDetails = new EmployeeDetails();
+        employeeDetails.setEmployeeName("Employee " + round);
+        employeeDetails.setEmployeeEmail("employee" + round + "." + UUID.randomUUID() + "@example.com");
+        employeeDetails.setEmployeeRole("Engineer");
+        return workflowService.createWorkflowInstance(
+                template.getId(), employeeDetails, new HashMap<>(), initiator.getId()).getWorkflowInstanceId();
+    }
+
+    /**
+     * Runs the given calls from separate threads, released at the same moment, and returns their results.
+     */
+    private <T> List<T> runConcurrently(List<Callable<T>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> call : calls) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double conflicts(String operation) {
+        Counter counter = meterRegistry.find("workflow.transitions.conflicts").tag("operation", operation).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private long historyRowsTo(UUID workflowInstanceId, WorkflowStatus status) {
+        return workflowStateHistoryRepository.findByWorkflowInstanceIdOrderByChangedAtAsc(workflowInstanceId)
+                .stream()
+                .filter(history -> history.getNewStatus() == status)
+                .count();
+    }
+
+    @Test
+    @DisplayName("Concurrent assignment of the same workflow assigns each task once")
+    void assignTasksForWorkflow_ConcurrentCalls_AssignEachTaskOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Arrange
+            UUID workflowInstanceId = createWorkflow(round);
+            double conflictsBefore = conflicts("task-assignment");
+            List<Callable<List<TaskAssignmentResult>>> calls = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                calls.add(() -> workflowService.assignTasksForWorkflow(workflowInstanceId));
+            }
+
+            // Act
+            List<List<TaskAssignmentResult>> results = runConcurrently(calls);
+
+            // Assert
+            List<UUID> assignedTaskIds = results.stream()
+                    .flatMap(List::stream)
+                    .map(TaskAssignmentResult::getTaskInstanceId)
+                    .toList();
+            assertThat(assignedTaskIds).hasSize(ROOT_TASKS).doesNotHaveDuplicates();
+            assertThat(historyRowsTo(workflowInstanceId, WorkflowStatus.IN_PROGRESS)).isEqualTo(1);
+            assertThat(workflowInstanceRepository.findById(workflowInstanceId).orElseThrow().getStatus())
+                    .isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(conflicts("task-assignment")).isEqualTo(conflictsBefore);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent completion of all tasks completes the workflow exactly once")
+    void updateTaskStatus_ConcurrentCompletions_CompleteWorkflowOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Arrange - all root tasks are IN_PROGRESS, the follow-up task waits for the first of them
+            UUID workflowInstanceId = createWorkflow(round);
+            workflowService.assignTasksForWorkflow(workflowInstanceId);
+            List<TaskInstance> rootTasks = taskInstanceRepository.findByWorkflowInstanceIdAndStatus(
+                    workflowInstanceId, TaskStatus.IN_PROGRESS);
+            assertThat(rootTasks).hasSize(ROOT_TASKS);
+
+            // Act - complete every root task at the same moment
+            double conflictsBefore = conflicts("task-status");
+            List<Callable<Object>> completions = new ArrayList<>();
+            for (TaskInstance task : rootTasks) {
+                completions.add(() -> workflowService.updateTaskStatus(
+                        task.getId(), TaskStatus.COMPLETED, initiator.getId()));
+            }
+            runConcurrently(completions);
+
+            // Assert - the follow-up task was assigned exactly once and the workflow is not done yet
+            List<TaskInstance> remaining = taskInstanceRepository.findByWorkflowInstanceIdAndStatus(
+                    workflowInstanceId, TaskStatus.IN_PROGRESS);
+            assertThat(remaining).hasSize(1);
+            assertThat(remaining.get(0).getTaskName()).isEqualTo("Follow-up task");
+            assertThat(historyRowsTo(workflowInstanceId, WorkflowStatus.COMPLETED)).isZero();
+            assertThat(conflicts("task-status")).isEqualTo(conflictsBefore);
+
+            // Act - complete the follow-up task concurrently with retried completions of a root task
+            TaskInstance followUp = remaining.get(0);
+            List<Callable<Object>> finalCompletions = new ArrayList<>();
+            finalCompletions.add(() -> workflowService.updateTaskStatus(
+                    followUp.getId(), TaskStatus.COMPLETED, initiator.getId()));
+            for (int i = 1; i < THREADS; i++) {
+                finalCompletions.add(() -> {
+                    try {
+                        return workflowService.updateTaskStatus(
+                                rootTasks.get(0).getId(), TaskStatus.COMPLETED, initiator.getId());
+                    } catch (RuntimeException e) {
+                        return e; // COMPLETED -> COMPLETED is rejected; only the side effects matter here
+                    }
+                });
+            }
+            runConcurrently(finalCompletions);
+
+            // Assert
+            assertThat(workflowInstanceRepository.findById(workflowInstanceId).orElseThrow().getStatus())
+                    .isEqualTo(WorkflowStatus.COMPLETED);
+            assertThat(historyRowsTo(workflowInstanceId, WorkflowStatus.COMPLETED)).isEqualTo(1);
+            assertThat(historyRowsTo(workflowInstanceId, WorkflowStatus.IN_PROGRESS)).isEqualTo(1);
+        }
+    }
+}
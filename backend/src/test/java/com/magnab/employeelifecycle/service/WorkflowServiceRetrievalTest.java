@@ -10,7 +10,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -41,7 +40,6 @@ class WorkflowServiceRetrievalTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private WorkflowService workflowService;
 
     private UUID userId;
@@ -51,6 +49,10 @@ class WorkflowServiceRetrievalTest {
 
     @BeforeEach
     void setUp() {
+        // Retrieval does not route tasks: no plan cache, workload index or planner needed
+        workflowService = new WorkflowService(workflowInstanceRepository, taskInstanceRepository,
+                workflowStateHistoryRepository, userRepository, null, null, null, null, null, null, null, 10, false);
+
         userId = UUID.randomUUID();
         workflowId = UUID.randomUUID();
 
@@ -93,10 +95,8 @@ class WorkflowServiceRetrievalTest {
                 any(), any(), any(), any(Pageable.class)
         )).thenReturn(mockPage);
 
-        when(taskInstanceRepository.findByWorkflowInstanceId(workflowInstance.getId()))
-                .thenReturn(createMockTasksWithStatus(15, 5));
-        when(taskInstanceRepository.findByWorkflowInstanceId(workflow2.getId()))
-                .thenReturn(createMockTasksWithStatus(12, 12));
+        setTaskCounts(workflowInstance, 15, 5);
+        setTaskCounts(workflow2, 12, 12);
 
         // Act
         Page<WorkflowSummaryResponse> result = workflowService.getWorkflows(
@@ -123,8 +123,7 @@ class WorkflowServiceRetrievalTest {
                 eq(userId), any(), any(), any(), any(Pageable.class)
         )).thenReturn(mockPage);
 
-        when(taskInstanceRepository.findByWorkflowInstanceId(workflowInstance.getId()))
-                .thenReturn(createMockTasksWithStatus(15, 5));
+        setTaskCounts(workflowInstance, 15, 5);
 
         // Act
         Page<WorkflowSummaryResponse> result = workflowService.getWorkflows(
@@ -173,8 +172,7 @@ class WorkflowServiceRetrievalTest {
         when(workflowInstanceRepository.findAllByFilters(any(), any(), any(), any(Pageable.class)))
                 .thenReturn(mockPage);
 
-        when(taskInstanceRepository.findByWorkflowInstanceId(workflowId))
-                .thenReturn(createMockTasksWithStatus(15, 8));
+        setTaskCounts(workflowInstance, 15, 8);
 
         // Act
         Page<WorkflowSummaryResponse> result = workflowService.getWorkflows(
@@ -184,6 +182,7 @@ class WorkflowServiceRetrievalTest {
         // Assert
         assertThat(result.getContent().get(0).getTotalTasks()).isEqualTo(15);
         assertThat(result.getContent().get(0).getCompletedTasks()).isEqualTo(8);
+        verify(taskInstanceRepository, never()).findByWorkflowInstanceId(any());
     }
 
     @Test
@@ -477,16 +476,9 @@ class WorkflowServiceRetrievalTest {
      * @param completedCount Number of tasks that should have COMPLETED status
      * @return List of TaskInstance objects
      */
-    private List<TaskInstance> createMockTasksWithStatus(int totalCount, int completedCount) {
-        List<TaskInstance> tasks = new ArrayList<>();
-        for (int i = 0; i < totalCount; i++) {
-            TaskInstance task = new TaskInstance();
-            task.setId(UUID.randomUUID());
-            task.setTaskName("Task " + (i + 1));
-            task.setStatus(i < completedCount ? TaskStatus.COMPLETED : TaskStatus.IN_PROGRESS);
-            tasks.add(task);
-        }
-        return tasks;
+    private void setTaskCounts(WorkflowInstance workflow, int totalCount, int completedCount) {
+        workflow.setTasksInProgress(totalCount - completedCount);
+        workflow.setTasksCompleted(completedCount);
     }
 
     private List<TaskInstance> createMockTaskInstances(int count) {
@@ -1,25 +1,47 @@
 package com.magnab.employeelifecycle.service;
 
+import com.magnab.employeelifecycle.dto.request.TaskStatusChange;
+import com.magnab.employeelifecycle.dto.response.TaskAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.TaskStatusBatchResult;
 import com.magnab.employeelifecycle.dto.response.TaskStatusUpdate;
 import com.magnab.employeelifecycle.dto.response.WorkflowStateSummary;
 import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.User;
 import com.magnab.employeelifecycle.entity.WorkflowInstance;
 import com.magnab.employeelifecycle.entity.WorkflowStateHistory;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ForbiddenException;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.*;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import com.magnab.employeelifecycle.service.routing.AssignmentPlanner;
+import com.magnab.employeelifecycle.service.routing.LeastLoadedStrategy;
+import com.magnab.employeelifecycle.service.routing.RoleDirectory;
+import com.magnab.employeelifecycle.service.routing.WipLimits;
+import com.magnab.employeelifecycle.service.routing.WorkloadIndex;
+import com.magnab.employeelifecycle.service.transition.OptimisticRetry;
+import com.magnab.employeelifecycle.service.transition.WorkflowMailboxes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,7 +75,11 @@ class WorkflowServiceStateTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OptimisticRetry optimisticRetry;
+    private WorkflowMailboxes workflowMailboxes;
     private WorkflowService workflowService;
 
     private UUID workflowInstanceId;
@@ -62,12 +88,30 @@ class WorkflowServiceStateTest {
 
     @BeforeEach
     void setUp() {
+        WorkloadIndex workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        WipLimits wipLimits = new WipLimits(workloadIndex, new MockEnvironment());
+        optimisticRetry = new OptimisticRetry(transactionManager, new SimpleMeterRegistry(), 3, Duration.ZERO, Duration.ZERO);
+        workflowMailboxes = new WorkflowMailboxes(new SimpleMeterRegistry(), false, 0, 0, Duration.ZERO);
+        workflowService = new WorkflowService(workflowInstanceRepository, taskInstanceRepository,
+                workflowStateHistoryRepository, userRepository, null,
+                new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository),
+                workloadIndex, new AssignmentPlanner(
+                        new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000), wipLimits,
+                        List.of(new LeastLoadedStrategy(workloadIndex)), new MockEnvironment()),
+                wipLimits, optimisticRetry, workflowMailboxes, 10, false);
+
         workflowInstanceId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
         mockWorkflowInstance = new WorkflowInstance();
         mockWorkflowInstance.setId(workflowInstanceId);
+        mockWorkflowInstance.setTemplateId(UUID.randomUUID());
         mockWorkflowInstance.setStatus(WorkflowStatus.INITIATED);
+
+        // Template lookup behind the plan cache, used when completing a task triggers assignment
+        WorkflowTemplate template = new WorkflowTemplate();
+        template.setId(mockWorkflowInstance.getTemplateId());
+        lenient().when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
     }
 
     @Nested
@@ -78,15 +122,18 @@ class WorkflowServiceStateTest {
         @DisplayName("Should update workflow status with valid transition and create state history")
         void updateWorkflowStatus_ValidTransition_UpdatesStatusSuccessfully() {
             // Arrange
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            // Re-read for getWorkflowStateSummary
             when(workflowInstanceRepository.findById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
             when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
                     .thenReturn(new WorkflowStateHistory());
-            // Mock count methods for getWorkflowStateSummary
-            when(taskInstanceRepository.countByWorkflowInstanceIdAndStatus(eq(workflowInstanceId), any(TaskStatus.class)))
-                    .thenReturn(0L);
+            // Mock task counters for getWorkflowStateSummary
+            when(workflowInstanceRepository.findTaskCountsById(workflowInstanceId))
+                    .thenReturn(Optional.of(taskCounts(0, 0, 0, 0)));
 
             // Act
             WorkflowStateSummary result = workflowService.updateWorkflowStatus(
@@ -114,7 +161,7 @@ class WorkflowServiceStateTest {
         void updateWorkflowStatus_InvalidTransition_ThrowsValidationException() {
             // Arrange
             mockWorkflowInstance.setStatus(WorkflowStatus.COMPLETED);
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
 
             // Act & Assert
@@ -136,15 +183,18 @@ class WorkflowServiceStateTest {
         void updateWorkflowStatus_InProgressToCompleted_SetsCompletedAt() {
             // Arrange
             mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            // Re-read for getWorkflowStateSummary
             when(workflowInstanceRepository.findById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
             when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
                     .thenReturn(new WorkflowStateHistory());
-            // Mock count methods for getWorkflowStateSummary
-            when(taskInstanceRepository.countByWorkflowInstanceIdAndStatus(eq(workflowInstanceId), any(TaskStatus.class)))
-                    .thenReturn(0L);
+            // Mock task counters for getWorkflowStateSummary
+            when(workflowInstanceRepository.findTaskCountsById(workflowInstanceId))
+                    .thenReturn(Optional.of(taskCounts(0, 0, 0, 0)));
 
             // Act
             LocalDateTime beforeUpdate = LocalDateTime.now();
@@ -163,7 +213,7 @@ class WorkflowServiceStateTest {
         @DisplayName("Should throw ResourceNotFoundException when workflow not found")
         void updateWorkflowStatus_WorkflowNotFound_ThrowsResourceNotFoundException() {
             // Arrange
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.empty());
 
             // Act & Assert
@@ -180,15 +230,18 @@ class WorkflowServiceStateTest {
         @DisplayName("Should create state history with correct timestamps and user")
         void updateWorkflowStatus_InitiatedToInProgress_CreatesStateHistory() {
             // Arrange
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            // Re-read for getWorkflowStateSummary
             when(workflowInstanceRepository.findById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
             when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
                     .thenReturn(new WorkflowStateHistory());
-            // Mock count methods for getWorkflowStateSummary
-            when(taskInstanceRepository.countByWorkflowInstanceIdAndStatus(eq(workflowInstanceId), any(TaskStatus.class)))
-                    .thenReturn(0L);
+            // Mock task counters for getWorkflowStateSummary
+            when(workflowInstanceRepository.findTaskCountsById(workflowInstanceId))
+                    .thenReturn(Optional.of(taskCounts(0, 0, 0, 0)));
 
             // Act
             LocalDateTime beforeUpdate = LocalDateTime.now();
@@ -227,6 +280,26 @@ class WorkflowServiceStateTest {
             mockTaskInstance.setStatus(TaskStatus.NOT_STARTED);
         }
 
+        private TemplateTask createTemplateTask(String name, int sequence) {
+            TemplateTask task = new TemplateTask();
+            task.setId(UUID.randomUUID());
+            task.setTaskName(name);
+            task.setSequenceOrder(sequence);
+            task.setAssignedRole(UserRole.TECH_SUPPORT);
+            return task;
+        }
+
+        private TaskInstance createDependentInstance(TemplateTask templateTask, int pendingDependencies) {
+            TaskInstance task = new TaskInstance();
+            task.setId(UUID.randomUUID());
+            task.setWorkflowInstanceId(workflowInstanceId);
+            task.setTemplateTaskId(templateTask.getId());
+            task.setTaskName(templateTask.getTaskName());
+            task.setAssignedRole(templateTask.getAssignedRole());
+            task.setPendingDependencies(pendingDependencies);
+            return task;
+        }
+
         @Test
         @DisplayName("Should update task status with valid transition")
         void updateTaskStatus_ValidTransition_UpdatesStatusSuccessfully() {
@@ -236,12 +309,10 @@ class WorkflowServiceStateTest {
                     .thenReturn(Optional.of(mockTaskInstance));
             when(taskInstanceRepository.save(any(TaskInstance.class)))
                     .thenReturn(mockTaskInstance);
-            // Mock for assignTasksForWorkflow call (triggered when task is completed)
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            // Mocks for releasing dependents and the completion check (triggered when task is completed)
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
-            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
-                    .thenReturn(new ArrayList<>());
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(any()))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
                     .thenReturn(new ArrayList<>());
             when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(new ArrayList<>());
@@ -258,6 +329,7 @@ class WorkflowServiceStateTest {
 
             verify(taskInstanceRepository).save(mockTaskInstance);
             assertThat(mockTaskInstance.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+            verify(workflowInstanceRepository).adjustTaskCounts(workflowInstanceId, 0, -1, 0, 1);
         }
 
         @Test
@@ -289,11 +361,9 @@ class WorkflowServiceStateTest {
                     .thenReturn(Optional.of(mockTaskInstance));
             when(taskInstanceRepository.save(any(TaskInstance.class)))
                     .thenReturn(mockTaskInstance);
-            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
-                    .thenReturn(new ArrayList<>());
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(any()))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
                     .thenReturn(new ArrayList<>());
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(new ArrayList<>());
@@ -316,19 +386,146 @@ class WorkflowServiceStateTest {
         }
 
         @Test
-        @DisplayName("Should trigger assignment of dependent tasks when task is completed")
-        void updateTaskStatus_CompletedTask_TriggersAssignmentOfDependentTasks() {
+        @DisplayName("Should assign only the dependents whose last pending dependency was the completed task")
+        void updateTaskStatus_CompletedTask_ReleasesAndAssignsDirectDependents() {
+            // Arrange - "Order laptop" waits for the completed task, "Install software" waits for it and another task
+            TemplateTask completedTemplateTask = createTemplateTask("Create account", 1);
+            TemplateTask otherPrerequisite = createTemplateTask("Approve hardware", 2);
+            TemplateTask orderLaptop = createTemplateTask("Order laptop", 3);
+            orderLaptop.setDependsOnTask(completedTemplateTask);
+            TemplateTask installSoftware = createTemplateTask("Install software", 4);
+            installSoftware.setDependsOnTask(completedTemplateTask);
+            installSoftware.getAdditionalDependencies().add(otherPrerequisite);
+
+            mockTaskInstance.setStatus(TaskStatus.IN_PROGRESS);
+            mockTaskInstance.setTemplateTaskId(completedTemplateTask.getId());
+            TaskInstance orderLaptopInstance = createDependentInstance(orderLaptop, 1);
+            TaskInstance installSoftwareInstance = createDependentInstance(installSoftware, 2);
+
+            User techUser = new User();
+            techUser.setId(UUID.randomUUID());
+            techUser.setRole(UserRole.TECH_SUPPORT);
+            techUser.setIsActive(true);
+
+            when(taskInstanceRepository.findById(taskInstanceId))
+                    .thenReturn(Optional.of(mockTaskInstance));
+            when(taskInstanceRepository.save(any(TaskInstance.class)))
+                    .thenReturn(mockTaskInstance);
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(List.of(completedTemplateTask, otherPrerequisite, orderLaptop, installSoftware));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndTemplateTaskIdIn(eq(workflowInstanceId), anyCollection()))
+                    .thenReturn(List.of(orderLaptopInstance, installSoftwareInstance));
+            when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of(techUser));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
+                    .thenReturn(new ArrayList<>());
+
+            // Act
+            workflowService.updateTaskStatus(taskInstanceId, TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(orderLaptopInstance.getPendingDependencies()).isZero();
+            assertThat(orderLaptopInstance.getAssignedUserId()).isEqualTo(techUser.getId());
+            assertThat(orderLaptopInstance.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(installSoftwareInstance.getPendingDependencies()).isEqualTo(1);
+            assertThat(installSoftwareInstance.getAssignedUserId()).isNull();
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdOrderBySequenceOrder(any());
+        }
+
+        @Test
+        @DisplayName("Should pool a released pull-mode dependent instead of assigning it")
+        void updateTaskStatus_CompletedTask_PoolsPullModeDependent() {
             // Arrange
+            TemplateTask completedTemplateTask = createTemplateTask("Create account", 1);
+            TemplateTask setUpPhone = createTemplateTask("Set up phone", 2);
+            setUpPhone.setDependsOnTask(completedTemplateTask);
+            setUpPhone.setAssignmentMode(TaskAssignmentMode.PULL);
+
             mockTaskInstance.setStatus(TaskStatus.IN_PROGRESS);
+            mockTaskInstance.setTemplateTaskId(completedTemplateTask.getId());
+            TaskInstance setUpPhoneInstance = createDependentInstance(setUpPhone, 1);
+
             when(taskInstanceRepository.findById(taskInstanceId))
                     .thenReturn(Optional.of(mockTaskInstance));
             when(taskInstanceRepository.save(any(TaskInstance.class)))
                     .thenReturn(mockTaskInstance);
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
-            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(List.of(completedTemplateTask, setUpPhone));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndTemplateTaskIdIn(eq(workflowInstanceId), anyCollection()))
+                    .thenReturn(List.of(setUpPhoneInstance));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(new ArrayList<>());
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(any()))
+
+            // Act
+            workflowService.updateTaskStatus(taskInstanceId, TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(setUpPhoneInstance.getPooledAt()).isNotNull();
+            assertThat(setUpPhoneInstance.getAssignedUserId()).isNull();
+            assertThat(setUpPhoneInstance.getStatus()).isEqualTo(TaskStatus.NOT_STARTED);
+            verify(userRepository, never()).findByRoleAndIsActive(any(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should assign the head of the role's overflow queue when an in-progress task completes")
+        void updateTaskStatus_CompletedTask_DrainsOverflowQueueOfRole() {
+            // Arrange - a task of another workflow waits for TECH_SUPPORT capacity
+            mockTaskInstance.setStatus(TaskStatus.IN_PROGRESS);
+            mockTaskInstance.setAssignedRole(UserRole.TECH_SUPPORT);
+            TemplateTask queuedTemplateTask = createTemplateTask("Order laptop", 1);
+            WorkflowInstance otherWorkflow = new WorkflowInstance();
+            otherWorkflow.setId(UUID.randomUUID());
+            otherWorkflow.setTemplateId(mockWorkflowInstance.getTemplateId());
+            otherWorkflow.setEmployeeEmail("jane@example.com");
+            TaskInstance queuedTask = createDependentInstance(queuedTemplateTask, 0);
+            queuedTask.setWorkflowInstanceId(otherWorkflow.getId());
+            queuedTask.setOverflowedAt(LocalDateTime.now().minusHours(1));
+
+            User techUser = new User();
+            techUser.setId(UUID.randomUUID());
+            techUser.setRole(UserRole.TECH_SUPPORT);
+            techUser.setIsActive(true);
+
+            when(taskInstanceRepository.findById(taskInstanceId))
+                    .thenReturn(Optional.of(mockTaskInstance));
+            when(taskInstanceRepository.save(any(TaskInstance.class)))
+                    .thenReturn(mockTaskInstance);
+            when(taskInstanceRepository.lockOverflowTasks("TECH_SUPPORT", 10)).thenReturn(List.of(queuedTask));
+            when(workflowInstanceRepository.findAllById(anySet())).thenReturn(List.of(otherWorkflow));
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(List.of(queuedTemplateTask));
+            when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of(techUser));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
+                    .thenReturn(new ArrayList<>());
+
+            // Act
+            workflowService.updateTaskStatus(taskInstanceId, TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(queuedTask.getAssignedUserId()).isEqualTo(techUser.getId());
+            assertThat(queuedTask.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(queuedTask.getOverflowedAt()).isNull();
+            verify(taskInstanceRepository).saveAll(List.of(queuedTask));
+            verify(workflowInstanceRepository, never()).findForTransitionById(otherWorkflow.getId());
+        }
+
+        @Test
+        @DisplayName("Should not release dependents when the completed task has none")
+        void updateTaskStatus_CompletedTaskWithoutDependents_DoesNotLoadOtherTasks() {
+            // Arrange
+            mockTaskInstance.setStatus(TaskStatus.IN_PROGRESS);
+            when(taskInstanceRepository.findById(taskInstanceId))
+                    .thenReturn(Optional.of(mockTaskInstance));
+            when(taskInstanceRepository.save(any(TaskInstance.class)))
+                    .thenReturn(mockTaskInstance);
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
                     .thenReturn(new ArrayList<>());
             when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(new ArrayList<>());
@@ -336,9 +533,10 @@ class WorkflowServiceStateTest {
             // Act
             workflowService.updateTaskStatus(taskInstanceId, TaskStatus.COMPLETED, userId);
 
-            // Assert - verify assignTasksForWorkflow was called
-            verify(taskInstanceRepository).findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId);
-            verify(templateTaskRepository).findByTemplateIdOrderBySequenceOrder(any());
+            // Assert
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndTemplateTaskIdIn(any(), anyCollection());
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdOrderBySequenceOrder(any());
+            verify(taskInstanceRepository, never()).saveAll(anyList());
         }
 
         @Test
@@ -356,6 +554,461 @@ class WorkflowServiceStateTest {
                     .hasMessageContaining("Task with ID")
                     .hasMessageContaining("not found");
         }
+
+        @Test
+        @DisplayName("Should not touch the workflow for transitions other than completion")
+        void updateTaskStatus_StartingTask_DoesNotIncrementWorkflowVersion() {
+            // Arrange
+            when(taskInstanceRepository.findById(taskInstanceId))
+                    .thenReturn(Optional.of(mockTaskInstance));
+            when(taskInstanceRepository.save(any(TaskInstance.class)))
+                    .thenReturn(mockTaskInstance);
+
+            // Act
+            workflowService.updateTaskStatus(taskInstanceId, TaskStatus.IN_PROGRESS, userId);
+
+            // Assert
+            verify(workflowInstanceRepository, never()).findForTransitionById(any());
+            verify(workflowInstanceRepository).adjustTaskCounts(workflowInstanceId, -1, 1, 0, 0);
+            verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should re-read and retry the update when its commit conflicts with a concurrent update")
+        void updateTaskStatus_OptimisticLockConflict_RetriesWithFreshState() {
+            // Arrange - the first attempt read a copy another transaction changed before our commit
+            TaskInstance staleCopy = new TaskInstance();
+            staleCopy.setId(taskInstanceId);
+            staleCopy.setWorkflowInstanceId(workflowInstanceId);
+            staleCopy.setTaskName("Test Task");
+            staleCopy.setStatus(TaskStatus.NOT_STARTED);
+            when(taskInstanceRepository.findById(taskInstanceId))
+                    .thenReturn(Optional.of(staleCopy))
+                    .thenReturn(Optional.of(mockTaskInstance));
+            doThrow(new ObjectOptimisticLockingFailureException(TaskInstance.class, taskInstanceId))
+                    .doNothing()
+                    .when(transactionManager).commit(any());
+
+            // Act
+            TaskStatusUpdate result = workflowService.updateTaskStatus(taskInstanceId, TaskStatus.IN_PROGRESS, userId);
+
+            // Assert
+            assertThat(result.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(mockTaskInstance.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            verify(taskInstanceRepository, times(2)).findById(taskInstanceId);
+            verify(transactionManager, times(2)).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should run the update in the mailbox of the task's workflow when mailboxes are enabled")
+        void updateTaskStatus_MailboxesEnabled_RunsOnMailboxThreadOfWorkflow() {
+            // Arrange
+            WorkloadIndex workloadIndex = new WorkloadIndex(taskInstanceRepository);
+            WipLimits wipLimits = new WipLimits(workloadIndex, new MockEnvironment());
+            WorkflowMailboxes mailboxes = new WorkflowMailboxes(new SimpleMeterRegistry(), true, 2, 10,
+                    Duration.ofSeconds(5));
+            WorkflowService mailboxService = new WorkflowService(workflowInstanceRepository, taskInstanceRepository,
+                    workflowStateHistoryRepository, userRepository, null,
+                    new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository),
+                    workloadIndex, new AssignmentPlanner(
+                            new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000), wipLimits,
+                            List.of(new LeastLoadedStrategy(workloadIndex)), new MockEnvironment()),
+                    wipLimits, optimisticRetry, mailboxes, 10, false);
+            List<String> threads = new ArrayList<>();
+            when(taskInstanceRepository.findWorkflowInstanceIdById(taskInstanceId))
+                    .thenReturn(Optional.of(workflowInstanceId));
+            when(taskInstanceRepository.findById(taskInstanceId)).thenAnswer(invocation -> {
+                threads.add(Thread.currentThread().getName());
+                return Optional.of(mockTaskInstance);
+            });
+
+            try {
+                // Act
+                TaskStatusUpdate result = mailboxService.updateTaskStatus(
+                        taskInstanceId, TaskStatus.IN_PROGRESS, userId);
+
+                // Assert
+                assertThat(result.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+                assertThat(threads).singleElement().asString().startsWith("workflow-mailbox-");
+            } finally {
+                mailboxes.stop();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("claimNextTask Tests")
+    class ClaimNextTaskTests {
+
+        private User techUser;
+
+        @BeforeEach
+        void setUpClaimTests() {
+            techUser = new User();
+            techUser.setId(userId);
+            techUser.setEmail("tech@example.com");
+            techUser.setRole(UserRole.TECH_SUPPORT);
+            techUser.setIsActive(true);
+        }
+
+        @Test
+        @DisplayName("Should assign the oldest pooled task of the user's role to the user")
+        void claimNextTask_PooledTaskAvailable_AssignsItToUser() {
+            // Arrange
+            TaskInstance pooledTask = new TaskInstance();
+            pooledTask.setId(UUID.randomUUID());
+            pooledTask.setWorkflowInstanceId(workflowInstanceId);
+            pooledTask.setTaskName("Set up phone");
+            pooledTask.setAssignedRole(UserRole.TECH_SUPPORT);
+            pooledTask.setPooledAt(LocalDateTime.now().minusHours(1));
+            when(userRepository.findById(userId)).thenReturn(Optional.of(techUser));
+            when(taskInstanceRepository.lockNextPooledTask("TECH_SUPPORT")).thenReturn(Optional.of(pooledTask));
+
+            // Act
+            Optional<TaskAssignmentResult> result = workflowService.claimNextTask(userId);
+
+            // Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().getTaskInstanceId()).isEqualTo(pooledTask.getId());
+            assertThat(result.get().getAssignedUserId()).isEqualTo(userId);
+            assertThat(pooledTask.getAssignedUserId()).isEqualTo(userId);
+            assertThat(pooledTask.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(pooledTask.getDueDate()).isNotNull();
+            verify(taskInstanceRepository).save(pooledTask);
+            verify(workflowInstanceRepository, never()).findForTransitionById(any());
+            verify(workflowInstanceRepository).adjustTaskCounts(pooledTask.getWorkflowInstanceId(), -1, 1, 0, 0);
+        }
+
+        @Test
+        @DisplayName("Should return empty when the role's pool is empty")
+        void claimNextTask_EmptyPool_ReturnsEmpty() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.of(techUser));
+            when(taskInstanceRepository.lockNextPooledTask("TECH_SUPPORT")).thenReturn(Optional.empty());
+
+            // Act
+            Optional<TaskAssignmentResult> result = workflowService.claimNextTask(userId);
+
+            // Assert
+            assertThat(result).isEmpty();
+            verify(taskInstanceRepository, never()).save(any(TaskInstance.class));
+        }
+
+        @Test
+        @DisplayName("Should reject claims by users at their WIP limit")
+        void claimNextTask_UserAtWipLimit_ThrowsConflictException() {
+            // Arrange - a limit of one task and one task already in progress
+            WorkloadIndex workloadIndex = new WorkloadIndex(taskInstanceRepository);
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("workflow.routing.wip-limit.default", "1");
+            WipLimits wipLimits = new WipLimits(workloadIndex, environment);
+            WorkflowService limitedService = new WorkflowService(workflowInstanceRepository, taskInstanceRepository,
+                    workflowStateHistoryRepository, userRepository, null,
+                    new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository),
+                    workloadIndex, new AssignmentPlanner(
+                            new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000), wipLimits,
+                            List.of(new LeastLoadedStrategy(workloadIndex)), environment),
+                    wipLimits, optimisticRetry, workflowMailboxes, 10, false);
+            workloadIndex.acquire(UserRole.TECH_SUPPORT, userId);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(techUser));
+
+            // Act & Assert
+            assertThatThrownBy(() -> limitedService.claimNextTask(userId))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining("limit");
+            verify(taskInstanceRepository, never()).lockNextPooledTask(any());
+        }
+
+        @Test
+        @DisplayName("Should reject claims by inactive users")
+        void claimNextTask_InactiveUser_ThrowsForbiddenException() {
+            // Arrange
+            techUser.setIsActive(false);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(techUser));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowService.claimNextTask(userId))
+                    .isInstanceOf(ForbiddenException.class);
+            verify(taskInstanceRepository, never()).lockNextPooledTask(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateTaskStatuses Tests")
+    class UpdateTaskStatusesTests {
+
+        private TaskInstance createTask(String name, TaskStatus status) {
+            TaskInstance task = new TaskInstance();
+            task.setId(UUID.randomUUID());
+            task.setWorkflowInstanceId(workflowInstanceId);
+            task.setTaskName(name);
+            task.setStatus(status);
+            task.setAssignedUserId(userId);
+            return task;
+        }
+
+        private TaskStatusChange change(TaskInstance task, TaskStatus status) {
+            TaskStatusChange change = new TaskStatusChange();
+            change.setTaskInstanceId(task.getId());
+            change.setStatus(status);
+            return change;
+        }
+
+        @Test
+        @DisplayName("Should record counters and check completion once for several completions in a workflow")
+        void updateTaskStatuses_TwoCompletionsInWorkflow_ChecksCompletionOnce() {
+            // Arrange
+            mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            TaskInstance first = createTask("Sign contract", TaskStatus.IN_PROGRESS);
+            TaskInstance second = createTask("Return equipment", TaskStatus.IN_PROGRESS);
+            when(taskInstanceRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+            when(workflowInstanceRepository.findAllForTransitionByIdIn(anyCollection()))
+                    .thenReturn(List.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(new ArrayList<>());
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
+                    .thenReturn(List.of(first, second));
+
+            // Act
+            TaskStatusBatchResult result = workflowService.updateTaskStatuses(
+                    List.of(change(first, TaskStatus.COMPLETED), change(second, TaskStatus.COMPLETED)),
+                    userId, UserRole.LINE_MANAGER);
+
+            // Assert
+            assertThat(result.getTasks()).extracting(TaskStatusUpdate::getStatus)
+                    .containsExactly(TaskStatus.COMPLETED, TaskStatus.COMPLETED);
+            assertThat(result.getWorkflowsAffected()).isEqualTo(1);
+            assertThat(result.getCompletedWorkflowIds()).containsExactly(workflowInstanceId);
+            assertThat(mockWorkflowInstance.getStatus()).isEqualTo(WorkflowStatus.COMPLETED);
+            verify(taskInstanceRepository).saveAll(List.of(first, second));
+            verify(workflowInstanceRepository).adjustTaskCounts(workflowInstanceId, 0, -2, 0, 2);
+            verify(taskInstanceRepository).findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true);
+            verify(workflowStateHistoryRepository).save(any(WorkflowStateHistory.class));
+        }
+
+        @Test
+        @DisplayName("Should release a dependent of two completed prerequisites once and assign it")
+        void updateTaskStatuses_BothPrerequisitesCompleted_ReleasesDependentOnce() {
+            // Arrange - "Install software" waits for both tasks completed in the batch
+            TemplateTask createAccount = new TemplateTask();
+            createAccount.setId(UUID.randomUUID());
+            createAccount.setTaskName("Create account");
+            createAccount.setSequenceOrder(1);
+            createAccount.setAssignedRole(UserRole.TECH_SUPPORT);
+            TemplateTask approveHardware = new TemplateTask();
+            approveHardware.setId(UUID.randomUUID());
+            approveHardware.setTaskName("Approve hardware");
+            approveHardware.setSequenceOrder(2);
+            approveHardware.setAssignedRole(UserRole.TECH_SUPPORT);
+            TemplateTask installSoftware = new TemplateTask();
+            installSoftware.setId(UUID.randomUUID());
+            installSoftware.setTaskName("Install software");
+            installSoftware.setSequenceOrder(3);
+            installSoftware.setAssignedRole(UserRole.TECH_SUPPORT);
+            installSoftware.setDependsOnTask(createAccount);
+            installSoftware.getAdditionalDependencies().add(approveHardware);
+
+            mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            TaskInstance first = createTask("Create account", TaskStatus.IN_PROGRESS);
+            first.setTemplateTaskId(createAccount.getId());
+            TaskInstance second = createTask("Approve hardware", TaskStatus.IN_PROGRESS);
+            second.setTemplateTaskId(approveHardware.getId());
+            TaskInstance dependent = createTask("Install software", TaskStatus.NOT_STARTED);
+            dependent.setAssignedUserId(null);
+            dependent.setTemplateTaskId(installSoftware.getId());
+            dependent.setAssignedRole(UserRole.TECH_SUPPORT);
+            dependent.setPendingDependencies(2);
+
+            User techUser = new User();
+            techUser.setId(UUID.randomUUID());
+            techUser.setRole(UserRole.TECH_SUPPORT);
+            techUser.setIsActive(true);
+
+            when(taskInstanceRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+            when(workflowInstanceRepository.findAllForTransitionByIdIn(anyCollection()))
+                    .thenReturn(List.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(List.of(createAccount, approveHardware, installSoftware));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndTemplateTaskIdIn(eq(workflowInstanceId), anyCollection()))
+                    .thenReturn(List.of(dependent));
+            when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of(techUser));
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
+                    .thenReturn(List.of(first, second, dependent));
+
+            // Act
+            TaskStatusBatchResult result = workflowService.updateTaskStatuses(
+                    List.of(change(first, TaskStatus.COMPLETED), change(second, TaskStatus.COMPLETED)),
+                    userId, UserRole.HR_ADMIN);
+
+            // Assert
+            assertThat(dependent.getPendingDependencies()).isZero();
+            assertThat(dependent.getAssignedUserId()).isEqualTo(techUser.getId());
+            assertThat(result.getTasksAssigned()).isEqualTo(1);
+            assertThat(result.getCompletedWorkflowIds()).isEmpty();
+            verify(taskInstanceRepository).findByWorkflowInstanceIdAndTemplateTaskIdIn(eq(workflowInstanceId), anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should reject the whole batch and update nothing when one entry is invalid")
+        void updateTaskStatuses_OneInvalidTransition_UpdatesNothing() {
+            // Arrange
+            TaskInstance valid = createTask("Sign contract", TaskStatus.NOT_STARTED);
+            TaskInstance done = createTask("Return equipment", TaskStatus.COMPLETED);
+            UUID missingTaskId = UUID.randomUUID();
+            TaskStatusChange missing = new TaskStatusChange();
+            missing.setTaskInstanceId(missingTaskId);
+            missing.setStatus(TaskStatus.IN_PROGRESS);
+            when(taskInstanceRepository.findAllById(anyCollection())).thenReturn(List.of(valid, done));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowService.updateTaskStatuses(
+                    List.of(change(valid, TaskStatus.IN_PROGRESS), change(done, TaskStatus.IN_PROGRESS), missing),
+                    userId, UserRole.HR_ADMIN))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("from COMPLETED to IN_PROGRESS")
+                    .hasMessageContaining(missingTaskId + " not found");
+
+            assertThat(valid.getStatus()).isEqualTo(TaskStatus.NOT_STARTED);
+            verify(taskInstanceRepository, never()).saveAll(any());
+            verify(workflowInstanceRepository, never()).adjustTaskCounts(any(), anyInt(), anyInt(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should forbid updating tasks assigned to other users unless HR_ADMIN")
+        void updateTaskStatuses_TaskOfOtherUser_ThrowsForbiddenException() {
+            // Arrange
+            TaskInstance othersTask = createTask("Order laptop", TaskStatus.IN_PROGRESS);
+            othersTask.setAssignedUserId(UUID.randomUUID());
+            when(taskInstanceRepository.findAllById(anyCollection())).thenReturn(List.of(othersTask));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workflowService.updateTaskStatuses(
+                    List.of(change(othersTask, TaskStatus.COMPLETED)), userId, UserRole.TECH_SUPPORT))
+                    .isInstanceOf(ForbiddenException.class);
+            verify(taskInstanceRepository, never()).saveAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stage Gating Tests")
+    class StageGatingTests {
+
+        // Stage 1: sign contract; stage 2: order laptop and create account in parallel; stage 3: welcome meeting
+        private List<TemplateTask> templateTasks;
+        private User techUser;
+
+        @BeforeEach
+        void setUpStages() {
+            templateTasks = List.of(
+                    createTemplateTask("Sign contract", 1, false),
+                    createTemplateTask("Order laptop", 2, true),
+                    createTemplateTask("Create account", 2, true),
+                    createTemplateTask("Welcome meeting", 3, false));
+
+            techUser = new User();
+            techUser.setId(UUID.randomUUID());
+            techUser.setRole(UserRole.TECH_SUPPORT);
+            techUser.setIsActive(true);
+        }
+
+        private TemplateTask createTemplateTask(String name, int sequence, boolean parallel) {
+            TemplateTask task = new TemplateTask();
+            task.setId(UUID.randomUUID());
+            task.setTaskName(name);
+            task.setSequenceOrder(sequence);
+            task.setIsParallel(parallel);
+            task.setAssignedRole(UserRole.TECH_SUPPORT);
+            return task;
+        }
+
+        private TaskInstance createInstance(TemplateTask templateTask, TaskStatus status) {
+            TaskInstance task = new TaskInstance();
+            task.setId(UUID.randomUUID());
+            task.setWorkflowInstanceId(workflowInstanceId);
+            task.setTemplateTaskId(templateTask.getId());
+            task.setTaskName(templateTask.getTaskName());
+            task.setSequenceOrder(templateTask.getSequenceOrder());
+            task.setAssignedRole(templateTask.getAssignedRole());
+            task.setStatus(status);
+            return task;
+        }
+
+        private void stubCompletion(TaskInstance task) {
+            when(taskInstanceRepository.findById(task.getId())).thenReturn(Optional.of(task));
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
+                    .thenReturn(templateTasks);
+        }
+
+        @Test
+        @DisplayName("Should open the next stage and assign its tasks when the last task of the stage completes")
+        void updateTaskStatus_LastTaskOfStage_OpensNextStage() {
+            // Arrange
+            mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            mockWorkflowInstance.setCurrentStage(1);
+            mockWorkflowInstance.setStageTasksRemaining(1);
+            TaskInstance signContract = createInstance(templateTasks.get(0), TaskStatus.IN_PROGRESS);
+            TaskInstance orderLaptop = createInstance(templateTasks.get(1), TaskStatus.NOT_STARTED);
+            TaskInstance createAccount = createInstance(templateTasks.get(2), TaskStatus.NOT_STARTED);
+            stubCompletion(signContract);
+            when(taskInstanceRepository.findByWorkflowInstanceIdAndSequenceOrder(workflowInstanceId, 2))
+                    .thenReturn(List.of(orderLaptop, createAccount));
+            when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of(techUser));
+
+            // Act
+            workflowService.updateTaskStatus(signContract.getId(), TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(mockWorkflowInstance.getCurrentStage()).isEqualTo(2);
+            assertThat(mockWorkflowInstance.getStageTasksRemaining()).isEqualTo(2);
+            assertThat(orderLaptop.getAssignedUserId()).isEqualTo(techUser.getId());
+            assertThat(createAccount.getAssignedUserId()).isEqualTo(techUser.getId());
+            assertThat(mockWorkflowInstance.getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndSequenceOrder(workflowInstanceId, 3);
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdOrderBySequenceOrder(any());
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndIsVisible(any(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should only count down the stage while parallel tasks of it are still open")
+        void updateTaskStatus_ParallelTaskWithOthersOpen_KeepsStage() {
+            // Arrange
+            mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            mockWorkflowInstance.setCurrentStage(2);
+            mockWorkflowInstance.setStageTasksRemaining(2);
+            TaskInstance orderLaptop = createInstance(templateTasks.get(1), TaskStatus.IN_PROGRESS);
+            stubCompletion(orderLaptop);
+
+            // Act
+            workflowService.updateTaskStatus(orderLaptop.getId(), TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(mockWorkflowInstance.getCurrentStage()).isEqualTo(2);
+            assertThat(mockWorkflowInstance.getStageTasksRemaining()).isEqualTo(1);
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndSequenceOrder(any(), any());
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndIsVisible(any(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should complete the workflow from the stage cursor when the last stage is done")
+        void updateTaskStatus_LastTaskOfLastStage_CompletesWorkflowWithoutReadingTasks() {
+            // Arrange
+            mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
+            mockWorkflowInstance.setCurrentStage(3);
+            mockWorkflowInstance.setStageTasksRemaining(1);
+            TaskInstance welcomeMeeting = createInstance(templateTasks.get(3), TaskStatus.IN_PROGRESS);
+            stubCompletion(welcomeMeeting);
+
+            // Act
+            workflowService.updateTaskStatus(welcomeMeeting.getId(), TaskStatus.COMPLETED, userId);
+
+            // Assert
+            assertThat(mockWorkflowInstance.getStageTasksRemaining()).isZero();
+            assertThat(mockWorkflowInstance.getStatus()).isEqualTo(WorkflowStatus.COMPLETED);
+            verify(workflowStateHistoryRepository).save(any(WorkflowStateHistory.class));
+            verify(taskInstanceRepository, never()).findByWorkflowInstanceIdAndIsVisible(any(), anyBoolean());
+        }
     }
 
     @Nested
@@ -400,11 +1053,9 @@ class WorkflowServiceStateTest {
                     .thenReturn(Optional.of(task2));
             when(taskInstanceRepository.save(any(TaskInstance.class)))
                     .thenReturn(task2);
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
-            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
-                    .thenReturn(Arrays.asList(task1, task2));
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(any()))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
                     .thenReturn(new ArrayList<>());
             when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(Arrays.asList(task1)); // Only task1 is visible, and it's completed
@@ -412,9 +1063,6 @@ class WorkflowServiceStateTest {
                     .thenReturn(mockWorkflowInstance);
             when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
                     .thenReturn(new WorkflowStateHistory());
-            // Mock count methods for getWorkflowStateSummary
-            when(taskInstanceRepository.countByWorkflowInstanceIdAndStatus(eq(workflowInstanceId), any(TaskStatus.class)))
-                    .thenReturn(0L);
 
             // Act - Complete task2, but only task1 is visible and completed
             workflowService.updateTaskStatus(task2.getId(), TaskStatus.COMPLETED, userId);
@@ -475,11 +1123,9 @@ class WorkflowServiceStateTest {
                     .thenReturn(Optional.of(visibleTask));
             when(taskInstanceRepository.save(any(TaskInstance.class)))
                     .thenReturn(visibleTask);
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
-            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
-                    .thenReturn(new ArrayList<>());
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(any()))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(any(), anyInt()))
                     .thenReturn(new ArrayList<>());
             when(taskInstanceRepository.findByWorkflowInstanceIdAndIsVisible(workflowInstanceId, true))
                     .thenReturn(Arrays.asList(visibleTask));
@@ -487,9 +1133,6 @@ class WorkflowServiceStateTest {
                     .thenReturn(mockWorkflowInstance);
             when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
                     .thenReturn(new WorkflowStateHistory());
-            // Mock count methods for getWorkflowStateSummary
-            when(taskInstanceRepository.countByWorkflowInstanceIdAndStatus(eq(workflowInstanceId), any(TaskStatus.class)))
-                    .thenReturn(0L);
 
             // Act - Complete visible task (hidden task is NOT_STARTED but shouldn't count)
             workflowService.updateTaskStatus(visibleTask.getId(), TaskStatus.COMPLETED, userId);
@@ -498,4 +1141,28 @@ class WorkflowServiceStateTest {
             verify(workflowInstanceRepository, atLeastOnce()).save(mockWorkflowInstance);
         }
     }
+
+    private WorkflowInstanceRepository.TaskCounts taskCounts(int notStarted, int inProgress, int blocked, int completed) {
+        return new WorkflowInstanceRepository.TaskCounts() {
+            @Override
+            public Integer getTasksNotStarted() {
+                return notStarted;
+            }
+
+            @Override
+            public Integer getTasksInProgress() {
+                return inProgress;
+            }
+
+            @Override
+            public Integer getTasksBlocked() {
+                return blocked;
+            }
+
+            @Override
+            public Integer getTasksCompleted() {
+                return completed;
+            }
+        };
+    }
 }
@@ -1,9 +1,12 @@
 package com.magnab.employeelifecycle.service;
 
 import com.magnab.employeelifecycle.dto.request.EmployeeDetails;
+import com.magnab.employeelifecycle.dto.request.InitiateWorkflowRequest;
 import com.magnab.employeelifecycle.dto.response.TaskAssignmentResult;
+import com.magnab.employeelifecycle.dto.response.WorkflowAssignmentResult;
 import com.magnab.employeelifecycle.dto.response.WorkflowCreationResult;
 import com.magnab.employeelifecycle.entity.*;
+import com.magnab.employeelifecycle.enums.TaskAssignmentMode;
 import com.magnab.employeelifecycle.enums.TaskStatus;
 import com.magnab.employeelifecycle.enums.UserRole;
 import com.magnab.employeelifecycle.enums.WorkflowStatus;
@@ -11,16 +14,28 @@ import com.magnab.employeelifecycle.enums.WorkflowType;
 import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
 import com.magnab.employeelifecycle.exception.ValidationException;
 import com.magnab.employeelifecycle.repository.*;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import com.magnab.employeelifecycle.service.plan.TemplatePlanCache;
+import com.magnab.employeelifecycle.service.routing.AssignmentPlanner;
+import com.magnab.employeelifecycle.service.routing.LeastLoadedStrategy;
+import com.magnab.employeelifecycle.service.routing.RoleDirectory;
+import com.magnab.employeelifecycle.service.routing.WipLimits;
+import com.magnab.employeelifecycle.service.routing.WorkloadIndex;
+import com.magnab.employeelifecycle.service.transition.OptimisticRetry;
+import com.magnab.employeelifecycle.service.transition.WorkflowMailboxes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -56,7 +71,14 @@ class WorkflowServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private WorkflowBulkCopyWriter bulkCopyWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OptimisticRetry optimisticRetry;
+    private WorkflowMailboxes workflowMailboxes;
     private WorkflowService workflowService;
 
     private UUID templateId;
@@ -68,6 +90,10 @@ class WorkflowServiceTest {
 
     @BeforeEach
     void setUp() {
+        optimisticRetry = new OptimisticRetry(transactionManager, new SimpleMeterRegistry(), 3, Duration.ZERO, Duration.ZERO);
+        workflowMailboxes = new WorkflowMailboxes(new SimpleMeterRegistry(), false, 0, 0, Duration.ZERO);
+        workflowService = createService(false);
+
         templateId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
@@ -94,6 +120,18 @@ class WorkflowServiceTest {
         mockTemplateTasks = createMockTemplateTasks();
     }
 
+    private WorkflowService createService(boolean stageGating) {
+        WorkloadIndex workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        WipLimits wipLimits = new WipLimits(workloadIndex, new MockEnvironment());
+        return new WorkflowService(workflowInstanceRepository, taskInstanceRepository,
+                workflowStateHistoryRepository, userRepository, bulkCopyWriter,
+                new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository),
+                workloadIndex, new AssignmentPlanner(
+                        new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000), wipLimits,
+                        List.of(new LeastLoadedStrategy(workloadIndex)), new MockEnvironment()),
+                wipLimits, optimisticRetry, workflowMailboxes, 10, stageGating);
+    }
+
     private List<TemplateTask> createMockTemplateTasks() {
         UUID templateId = UUID.randomUUID();
 
@@ -121,6 +159,25 @@ class WorkflowServiceTest {
         return Arrays.asList(task1, task2, task3);
     }
 
+    private TaskInstanceRepository.UserTaskCount workload(User user, long inProgressTasks) {
+        return new TaskInstanceRepository.UserTaskCount() {
+            @Override
+            public UUID getUserId() {
+                return user.getId();
+            }
+
+            @Override
+            public UserRole getRole() {
+                return user.getRole();
+            }
+
+            @Override
+            public Long getTaskCount() {
+                return inProgressTasks;
+            }
+        };
+    }
+
     @Nested
     @DisplayName("AC1: Template Validation Tests")
     class TemplateValidationTests {
@@ -204,7 +261,7 @@ class WorkflowServiceTest {
         void setupMocks() {
             when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(mockTemplate));
             when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockTemplateTasks);
         }
 
@@ -281,6 +338,30 @@ class WorkflowServiceTest {
             assertThat(task3.getIsVisible()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should count visible prerequisites as pending dependencies")
+        void shouldCountVisiblePrerequisitesAsPendingDependencies() {
+            // Setup: task 3 waits for tasks 1 and 2, task 2 is hidden for remote employees
+            mockTemplateTasks.get(2).setDependsOnTask(mockTemplateTasks.get(0));
+            mockTemplateTasks.get(2).getAdditionalDependencies().add(mockTemplateTasks.get(1));
+            mockTemplateTasks.get(1).setHiddenWhen("remote == true");
+            WorkflowInstance savedInstance = new WorkflowInstance();
+            savedInstance.setId(UUID.randomUUID());
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class))).thenReturn(savedInstance);
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            workflowService.createWorkflowInstance(templateId, employeeDetails, Map.of("remote", true), userId);
+
+            // Verify: hidden task 2 is skipped, so task 3 only waits for task 1
+            ArgumentCaptor<List<TaskInstance>> taskCaptor = ArgumentCaptor.forClass(List.class);
+            verify(taskInstanceRepository).saveAll(taskCaptor.capture());
+            assertThat(taskCaptor.getValue()).extracting(TaskInstance::getPendingDependencies)
+                    .containsExactly(0, 0, 1);
+        }
+
         @Test
         @DisplayName("AC6: Should create initial workflow state history")
         void shouldCreateInitialStateHistory() {
@@ -388,6 +469,77 @@ class WorkflowServiceTest {
             // All tasks visible in MVP
             assertThat(result.getImmediateTasksCount()).isEqualTo(3);
         }
+
+        @Test
+        @DisplayName("Story 3.3: Should hide tasks whose visibility rule matches the custom fields")
+        void shouldHideTasksMatchingVisibilityRule() {
+            // Setup: Task 2 is hidden for remote employees
+            mockTemplateTasks.get(1).setHiddenWhen("remote == true");
+            WorkflowInstance savedInstance = new WorkflowInstance();
+            savedInstance.setId(UUID.randomUUID());
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class))).thenReturn(savedInstance);
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            WorkflowCreationResult result = workflowService.createWorkflowInstance(
+                    templateId, employeeDetails, Map.of("remote", true), userId);
+
+            // Verify: All tasks created, Task 2 hidden
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TaskInstance>> tasksCaptor = ArgumentCaptor.forClass(List.class);
+            verify(taskInstanceRepository).saveAll(tasksCaptor.capture());
+            assertThat(tasksCaptor.getValue()).extracting(TaskInstance::getIsVisible)
+                    .containsExactly(true, false, true);
+            assertThat(result.getTotalTasks()).isEqualTo(3);
+            assertThat(result.getImmediateTasksCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should open the first stage with a visible task when stage gating is enabled")
+        void shouldOpenFirstVisibleStageWhenStageGatingEnabled() {
+            // Setup: Task 1 is hidden for remote employees, Tasks 2 and 3 run in parallel at sequence 2
+            mockTemplateTasks.get(0).setHiddenWhen("remote == true");
+            mockTemplateTasks.get(1).setIsParallel(true);
+            mockTemplateTasks.get(2).setSequenceOrder(2);
+            mockTemplateTasks.get(2).setIsParallel(true);
+            WorkflowInstance savedInstance = new WorkflowInstance();
+            savedInstance.setId(UUID.randomUUID());
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class))).thenReturn(savedInstance);
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            createService(true).createWorkflowInstance(templateId, employeeDetails, Map.of("remote", true), userId);
+
+            // Verify: Cursor skips the stage whose only task is hidden
+            ArgumentCaptor<WorkflowInstance> instanceCaptor = ArgumentCaptor.forClass(WorkflowInstance.class);
+            verify(workflowInstanceRepository).save(instanceCaptor.capture());
+            assertThat(instanceCaptor.getValue().getCurrentStage()).isEqualTo(2);
+            assertThat(instanceCaptor.getValue().getStageTasksRemaining()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave the workflow ungated when stage gating is disabled")
+        void shouldNotSetStageCursorWhenStageGatingDisabled() {
+            // Setup
+            WorkflowInstance savedInstance = new WorkflowInstance();
+            savedInstance.setId(UUID.randomUUID());
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class))).thenReturn(savedInstance);
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            workflowService.createWorkflowInstance(templateId, employeeDetails, null, userId);
+
+            // Verify
+            ArgumentCaptor<WorkflowInstance> instanceCaptor = ArgumentCaptor.forClass(WorkflowInstance.class);
+            verify(workflowInstanceRepository).save(instanceCaptor.capture());
+            assertThat(instanceCaptor.getValue().getCurrentStage()).isNull();
+        }
     }
 
     @Nested
@@ -400,7 +552,7 @@ class WorkflowServiceTest {
             // Setup: Mock workflow instance save succeeds, but task instance save fails
             when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(mockTemplate));
             when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockTemplateTasks);
 
             WorkflowInstance savedInstance = new WorkflowInstance();
@@ -444,6 +596,7 @@ class WorkflowServiceTest {
             mockWorkflowInstance.setTemplateId(templateId);
             mockWorkflowInstance.setStatus(WorkflowStatus.INITIATED);
             mockWorkflowInstance.setInitiatedBy(userId);
+            lenient().when(workflowTemplateRepository.findById(templateId)).thenReturn(Optional.of(mockTemplate));
 
             // Setup HR users for load balancing tests
             hrUser1 = new User();
@@ -514,6 +667,7 @@ class WorkflowServiceTest {
             task2Instance.setAssignedRole(UserRole.HR_ADMIN);
             task2Instance.setStatus(TaskStatus.NOT_STARTED);
             task2Instance.setIsVisible(true);
+            task2Instance.setPendingDependencies(1);
             tasks.add(task2Instance);
 
             // Task 3 - blocked by dependency
@@ -525,6 +679,7 @@ class WorkflowServiceTest {
             task3Instance.setAssignedRole(UserRole.TECH_SUPPORT);
             task3Instance.setStatus(TaskStatus.NOT_STARTED);
             task3Instance.setIsVisible(true);
+            task3Instance.setPendingDependencies(1);
             tasks.add(task3Instance);
 
             return tasks;
@@ -534,7 +689,7 @@ class WorkflowServiceTest {
         @DisplayName("AC1: Should throw ResourceNotFoundException when workflow not found")
         void shouldThrowExceptionWhenWorkflowNotFound() {
             UUID invalidWorkflowId = UUID.randomUUID();
-            when(workflowInstanceRepository.findById(invalidWorkflowId)).thenReturn(Optional.empty());
+            when(workflowInstanceRepository.findForTransitionById(invalidWorkflowId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() ->
                     workflowService.assignTasksForWorkflow(invalidWorkflowId)
@@ -542,23 +697,21 @@ class WorkflowServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Workflow instance not found");
 
-            verify(workflowInstanceRepository).findById(invalidWorkflowId);
+            verify(workflowInstanceRepository).findForTransitionById(invalidWorkflowId);
         }
 
         @Test
         @DisplayName("AC2: Should assign task with correct status and due date")
         void shouldAssignTaskWithCorrectStatusAndDueDate() {
             // Setup
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.singletonList(hrUser1));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(0L);
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
@@ -590,18 +743,16 @@ class WorkflowServiceTest {
         @DisplayName("AC3: Should implement load balancing - assign to user with fewest IN_PROGRESS tasks")
         void shouldAssignToUserWithFewestInProgressTasks() {
             // Setup: hrUser1 has 3 IN_PROGRESS tasks, hrUser2 has 1 IN_PROGRESS task
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Arrays.asList(hrUser1, hrUser2));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(3L);
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser2.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(1L);
+            when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS))
+                    .thenReturn(List.of(workload(hrUser1, 3), workload(hrUser2, 1)));
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
@@ -620,20 +771,19 @@ class WorkflowServiceTest {
         @Test
         @DisplayName("AC4: Should only assign tasks with satisfied dependencies")
         void shouldOnlyAssignTasksWithSatisfiedDependencies() {
-            // Setup: task1 is COMPLETED, task2 should be assignable
+            // Setup: task1 is COMPLETED (which released task2), task2 should be assignable
             mockTaskInstances.get(0).setStatus(TaskStatus.COMPLETED);
             mockTaskInstances.get(0).setAssignedUserId(hrUser1.getId());
+            mockTaskInstances.get(1).setPendingDependencies(0);
 
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.singletonList(hrUser1));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(0L);
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
 
             // Execute
@@ -651,11 +801,11 @@ class WorkflowServiceTest {
             mockTaskInstances.get(0).setAssignedUserId(hrUser1.getId());
             mockTaskInstances.get(0).setStatus(TaskStatus.IN_PROGRESS);
 
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
 
             // Execute
@@ -670,11 +820,11 @@ class WorkflowServiceTest {
         @DisplayName("AC6: Should handle case when no active users available for role")
         void shouldHandleNoActiveUsersForRole() {
             // Setup: No active HR users
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.emptyList());
@@ -690,16 +840,14 @@ class WorkflowServiceTest {
         @DisplayName("AC7: Should update workflow status to IN_PROGRESS on first assignment")
         void shouldUpdateWorkflowStatusOnFirstAssignment() {
             // Setup
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.singletonList(hrUser1));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(0L);
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
@@ -723,25 +871,50 @@ class WorkflowServiceTest {
             assertThat(history.getNotes()).contains("first task assignment");
         }
 
+        @Test
+        @DisplayName("Should report IN_PROGRESS when the first ready task is only pooled")
+        void shouldReportInProgressWhenOnlyPooled() {
+            // Setup: the only ready task is pulled from its role's claim pool
+            mockAssignmentTemplateTasks.get(0).setAssignmentMode(TaskAssignmentMode.PULL);
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
+                    .thenReturn(mockTaskInstances);
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
+                    .thenReturn(mockAssignmentTemplateTasks);
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
+                    .thenReturn(mockWorkflowInstance);
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            WorkflowAssignmentResult result = workflowService.routeTasksForWorkflow(workflowInstanceId);
+
+            // Verify: nothing assigned, but the workflow moved to IN_PROGRESS
+            assertThat(result.getAssignments()).isEmpty();
+            assertThat(result.getWorkflowStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(mockTaskInstances.get(0).getPooledAt()).isNotNull();
+        }
+
         @Test
         @DisplayName("AC8: Should not update workflow status if already has assignments")
         void shouldNotUpdateWorkflowStatusIfAlreadyHasAssignments() {
-            // Setup: task1 already assigned
+            // Setup: task1 already assigned and completed, which released task2
             mockTaskInstances.get(0).setAssignedUserId(hrUser1.getId());
             mockTaskInstances.get(0).setStatus(TaskStatus.COMPLETED);
+            mockTaskInstances.get(1).setPendingDependencies(0);
 
             mockWorkflowInstance.setStatus(WorkflowStatus.IN_PROGRESS);
 
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.singletonList(hrUser1));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(0L);
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
 
             // Execute
@@ -758,11 +931,11 @@ class WorkflowServiceTest {
             // Setup: task1 is not visible
             mockTaskInstances.get(0).setIsVisible(false);
 
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
 
             // Execute
@@ -772,22 +945,46 @@ class WorkflowServiceTest {
             assertThat(results).isEmpty();
         }
 
+        @Test
+        @DisplayName("Story 3.3: Hidden prerequisite does not block its dependents")
+        void shouldTreatHiddenPrerequisiteAsSatisfied() {
+            // Setup: task1 is hidden in this workflow, task2 depends on it and was created with nothing to wait for
+            mockTaskInstances.get(0).setIsVisible(false);
+            mockTaskInstances.get(1).setPendingDependencies(0);
+
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
+                    .thenReturn(mockTaskInstances);
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
+                    .thenReturn(mockAssignmentTemplateTasks);
+            when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
+                    .thenReturn(Collections.singletonList(hrUser1));
+            when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
+
+            // Execute
+            List<TaskAssignmentResult> results = workflowService.assignTasksForWorkflow(workflowInstanceId);
+
+            // Verify: task2 assigned, hidden task1 skipped, task3 still waits for task2
+            assertThat(results).extracting(TaskAssignmentResult::getTaskName).containsExactly("Assign Equipment");
+            assertThat(mockTaskInstances.get(0).getAssignedUserId()).isNull();
+        }
+
         @Test
         @DisplayName("AC10: Should assign multiple tasks when dependencies satisfied")
         void shouldAssignMultipleTasksWhenDependenciesSatisfied() {
-            // Setup: Modify template tasks to remove dependencies
+            // Setup: Modify template tasks to remove dependencies (task2 is then created with none pending)
             mockAssignmentTemplateTasks.get(1).setDependsOnTask(null);
+            mockTaskInstances.get(1).setPendingDependencies(0);
 
-            when(workflowInstanceRepository.findById(workflowInstanceId))
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
                     .thenReturn(Optional.of(mockWorkflowInstance));
             when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
                     .thenReturn(mockTaskInstances);
-            when(templateTaskRepository.findByTemplateIdOrderBySequenceOrder(templateId))
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
                     .thenReturn(mockAssignmentTemplateTasks);
             when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
                     .thenReturn(Collections.singletonList(hrUser1));
-            when(taskInstanceRepository.countByAssignedUserIdAndStatus(hrUser1.getId(), TaskStatus.IN_PROGRESS))
-                    .thenReturn(0L);
             when(taskInstanceRepository.saveAll(anyList())).thenReturn(mockTaskInstances);
             when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
                     .thenReturn(mockWorkflowInstance);
@@ -802,5 +999,105 @@ class WorkflowServiceTest {
             assertThat(results.get(0).getTaskName()).isEqualTo("Setup HR Account");
             assertThat(results.get(1).getTaskName()).isEqualTo("Assign Equipment");
         }
+
+        @Test
+        @DisplayName("Should hold back ready tasks of stages after the workflow's stage cursor")
+        void shouldOnlyAssignTasksOfOpenStage() {
+            // Setup: No task waits for another, but the workflow is gated at stage 1
+            for (int i = 0; i < mockTaskInstances.size(); i++) {
+                mockTaskInstances.get(i).setSequenceOrder(i + 1);
+                mockTaskInstances.get(i).setPendingDependencies(0);
+            }
+            mockWorkflowInstance.setCurrentStage(1);
+            mockWorkflowInstance.setStageTasksRemaining(1);
+
+            when(workflowInstanceRepository.findForTransitionById(workflowInstanceId))
+                    .thenReturn(Optional.of(mockWorkflowInstance));
+            when(taskInstanceRepository.findByWorkflowInstanceIdOrderBySequenceOrder(workflowInstanceId))
+                    .thenReturn(mockTaskInstances);
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(templateId, 1))
+                    .thenReturn(mockAssignmentTemplateTasks);
+            when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true))
+                    .thenReturn(Collections.singletonList(hrUser1));
+            when(workflowInstanceRepository.save(any(WorkflowInstance.class)))
+                    .thenReturn(mockWorkflowInstance);
+            when(workflowStateHistoryRepository.save(any(WorkflowStateHistory.class)))
+                    .thenReturn(new WorkflowStateHistory());
+
+            // Execute
+            List<TaskAssignmentResult> results = workflowService.assignTasksForWorkflow(workflowInstanceId);
+
+            // Verify: Only the stage 1 task is assigned
+            assertThat(results).extracting(TaskAssignmentResult::getTaskName).containsExactly("Setup HR Account");
+            assertThat(mockTaskInstances.get(1).getAssignedUserId()).isNull();
+            assertThat(mockTaskInstances.get(2).getAssignedUserId()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Copy Path Tests")
+    class BulkCopyPathTests {
+
+        private List<InitiateWorkflowRequest> requests(int count) {
+            List<InitiateWorkflowRequest> requests = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                InitiateWorkflowRequest request = new InitiateWorkflowRequest();
+                request.setTemplateId(templateId);
+                request.setEmployeeName("Employee " + i);
+                request.setEmployeeEmail("employee" + i + "@example.com");
+                request.setEmployeeRole("Engineer");
+                requests.add(request);
+            }
+            return requests;
+        }
+
+        private void stubInstanceSave() {
+            when(workflowInstanceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<WorkflowInstance> instances = invocation.getArgument(0);
+                instances.forEach(instance -> instance.setId(UUID.randomUUID()));
+                return instances;
+            });
+        }
+
+        @Test
+        @DisplayName("Should write tasks and history with COPY when over the threshold")
+        @SuppressWarnings("unchecked")
+        void shouldUseCopyAboveThreshold() {
+            // Arrange
+            stubInstanceSave();
+            when(bulkCopyWriter.shouldUse(6)).thenReturn(true);
+            when(bulkCopyWriter.shouldUse(2)).thenReturn(true);
+
+            // Act
+            List<WorkflowCreationResult> results = workflowService.createWorkflowInstances(
+                    TemplatePlan.compile(mockTemplate, mockTemplateTasks), requests(2), mockUser);
+
+            // Assert
+            assertThat(results).hasSize(2).allSatisfy(result -> assertThat(result.getTotalTasks()).isEqualTo(3));
+            ArgumentCaptor<List<TaskInstance>> taskCaptor = ArgumentCaptor.forClass(List.class);
+            verify(bulkCopyWriter).copyTaskInstances(taskCaptor.capture());
+            assertThat(taskCaptor.getValue()).hasSize(6)
+                    .allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(TaskStatus.NOT_STARTED));
+            verify(bulkCopyWriter).copyStateHistory(anyList());
+            verify(taskInstanceRepository, never()).saveAll(anyList());
+            verify(workflowStateHistoryRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should use saveAll when under the threshold")
+        void shouldUseSaveAllBelowThreshold() {
+            // Arrange
+            stubInstanceSave();
+
+            // Act
+            workflowService.createWorkflowInstances(
+                    TemplatePlan.compile(mockTemplate, mockTemplateTasks), requests(2), mockUser);
+
+            // Assert
+            verify(taskInstanceRepository).saveAll(anyList());
+            verify(workflowStateHistoryRepository).saveAll(anyList());
+            verify(bulkCopyWriter, never()).copyTaskInstances(anyList());
+            verify(bulkCopyWriter, never()).copyStateHistory(anyList());
+        }
     }
 }
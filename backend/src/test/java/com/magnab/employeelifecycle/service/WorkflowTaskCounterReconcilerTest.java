@@ -0,0 +1,93 @@
+package com.magnab.employeelifecycle.service;
+
+import com.magnab.employeelifecycle.repository.WorkflowInstanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowTaskCounterReconciler.
+ * Tests lock-then-recount ordering, batching and the repaired counter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkflowTaskCounterReconciler Unit Tests")
+class WorkflowTaskCounterReconcilerTest {
+
+    @Mock
+    private WorkflowInstanceRepository workflowInstanceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkflowTaskCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new WorkflowTaskCounterReconciler(workflowInstanceRepository, transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    void reconcile_LocksDriftedWorkflowsBeforeRecountingThem() {
+        // Arrange
+        List<UUID> drifted = List.of(UUID.randomUUID());
+        when(workflowInstanceRepository.findIdsWithDriftedTaskCounts(2)).thenReturn(drifted);
+        when(workflowInstanceRepository.recountTaskCounts(drifted)).thenReturn(1);
+
+        // Act
+        int repaired = reconciler.reconcile();
+
+        // Assert
+        assertThat(repaired).isEqualTo(1);
+        InOrder inOrder = inOrder(workflowInstanceRepository);
+        inOrder.verify(workflowInstanceRepository).lockAllById(drifted);
+        inOrder.verify(workflowInstanceRepository).recountTaskCounts(drifted);
+        assertThat(meterRegistry.counter("workflow.counters.repaired").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconcile_RepairsInBatchesUntilNoDriftIsLeft() {
+        // Arrange
+        List<UUID> firstBatch = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> secondBatch = List.of(UUID.randomUUID());
+        when(workflowInstanceRepository.findIdsWithDriftedTaskCounts(2))
+                .thenReturn(firstBatch)
+                .thenReturn(secondBatch);
+        when(workflowInstanceRepository.recountTaskCounts(firstBatch)).thenReturn(2);
+        when(workflowInstanceRepository.recountTaskCounts(secondBatch)).thenReturn(1);
+
+        // Act
+        int repaired = reconciler.reconcile();
+
+        // Assert
+        assertThat(repaired).isEqualTo(3);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void reconcile_WithoutDrift_WritesNothing() {
+        // Arrange
+        when(workflowInstanceRepository.findIdsWithDriftedTaskCounts(2)).thenReturn(List.of());
+
+        // Act
+        int repaired = reconciler.reconcile();
+
+        // Assert
+        assertThat(repaired).isZero();
+        verify(workflowInstanceRepository, never()).recountTaskCounts(any());
+    }
+}
@@ -0,0 +1,288 @@
+package com.magnab.employeelifecycle.service.plan;
+
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.enums.WorkflowType;
+import com.magnab.employeelifecycle.exception.ResourceNotFoundException;
+import com.magnab.employeelifecycle.repository.TemplateTaskRepository;
+import com.magnab.employeelifecycle.repository.WorkflowTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TemplatePlanCache and TemplatePlan.
+ * Tests plan compilation (ordering, dependency index, roles, parallel groups) and cache loading and eviction.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TemplatePlanCache Unit Tests")
+class TemplatePlanCacheTest {
+
+    @Mock
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @Mock
+    private TemplateTaskRepository templateTaskRepository;
+
+    private TemplatePlanCache templatePlanCache;
+    private WorkflowTemplate template;
+    private TemplateTask createAccount;
+    private TemplateTask orderLaptop;
+    private TemplateTask installSoftware;
+    private TemplateTask welcomeMeeting;
+
+    @BeforeEach
+    void setUp() {
+        templatePlanCache = new TemplatePlanCache(workflowTemplateRepository, templateTaskRepository);
+
+        template = new WorkflowTemplate();
+        template.setId(UUID.randomUUID());
+        template.setWorkflowType(WorkflowType.ONBOARDING);
+        template.setIsActive(true);
+
+        createAccount = createTask("Create account", 1, UserRole.HR_ADMIN, null);
+        orderLaptop = createTask("Order laptop", 2, UserRole.TECH_SUPPORT, null);
+        installSoftware = createTask("Install software", 3, UserRole.TECH_SUPPORT, orderLaptop);
+        welcomeMeeting = createTask("Welcome meeting", 4, UserRole.LINE_MANAGER, installSoftware);
+    }
+
+    private TemplateTask createTask(String name, int sequence, UserRole role, TemplateTask dependsOn) {
+        TemplateTask task = new TemplateTask();
+        task.setId(UUID.randomUUID());
+        task.setTemplateId(template.getId());
+        task.setTaskName(name);
+        task.setSequenceOrder(sequence);
+        task.setAssignedRole(role);
+        task.setDependsOnTask(dependsOn);
+        return task;
+    }
+
+    private void stubTemplate() {
+        when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+        when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(template.getId(), 1))
+                .thenReturn(List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+    }
+
+    @Nested
+    @DisplayName("Plan compilation")
+    class Compilation {
+
+        @Test
+        void compile_OrdersTasksBySequence() {
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(welcomeMeeting, createAccount, installSoftware, orderLaptop));
+
+            // Assert
+            assertThat(plan.getTemplateId()).isEqualTo(template.getId());
+            assertThat(plan.getWorkflowType()).isEqualTo(WorkflowType.ONBOARDING);
+            assertThat(plan.isActive()).isTrue();
+            assertThat(plan.getTasks()).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Create account", "Order laptop", "Install software", "Welcome meeting");
+        }
+
+        @Test
+        void compile_IndexesDependenciesAndRoles() {
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+
+            // Assert
+            assertThat(plan.getTask(installSoftware.getId()).prerequisiteTemplateTaskIds()).containsExactly(orderLaptop.getId());
+            assertThat(plan.getDependents(orderLaptop.getId())).extracting(TemplatePlan.PlannedTask::templateTaskId)
+                    .containsExactly(installSoftware.getId());
+            assertThat(plan.getDependents(welcomeMeeting.getId())).isEmpty();
+            assertThat(plan.getTask(UUID.randomUUID())).isNull();
+            assertThat(plan.getRequiredRoles())
+                    .containsExactlyInAnyOrder(UserRole.HR_ADMIN, UserRole.TECH_SUPPORT, UserRole.LINE_MANAGER);
+            assertThat(plan.getTasksForRole(UserRole.TECH_SUPPORT)).hasSize(2);
+            assertThat(plan.getTasksForRole(UserRole.ADMINISTRATOR)).isEmpty();
+        }
+
+        @Test
+        void compile_GroupsTasksByDependencyDepth() {
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+
+            // Assert
+            assertThat(plan.getParallelGroups()).hasSize(3);
+            assertThat(plan.getParallelGroups().get(0)).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Create account", "Order laptop");
+            assertThat(plan.getParallelGroups().get(1)).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Install software");
+            assertThat(plan.getParallelGroups().get(2)).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Welcome meeting");
+        }
+
+        @Test
+        void compile_TaskWithSeveralPrerequisites_IsDependentOfEachAndGroupedAfterTheDeepest() {
+            // Arrange - the welcome meeting also waits for the account, which is one level shallower
+            welcomeMeeting.getAdditionalDependencies().add(createAccount);
+
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+
+            // Assert
+            assertThat(plan.getTask(welcomeMeeting.getId()).prerequisiteTemplateTaskIds())
+                    .containsExactly(installSoftware.getId(), createAccount.getId());
+            assertThat(plan.getDependents(createAccount.getId())).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Welcome meeting");
+            assertThat(plan.getDependents(installSoftware.getId())).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Welcome meeting");
+            assertThat(plan.getParallelGroups()).hasSize(3);
+            assertThat(plan.getParallelGroups().get(2)).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Welcome meeting");
+        }
+
+        @Test
+        void compile_CyclicPrerequisites_StillGroupsEveryTask() {
+            // Arrange - hand-edited data: create account and welcome meeting wait for each other
+            createAccount.setDependsOnTask(welcomeMeeting);
+
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+
+            // Assert
+            assertThat(plan.getParallelGroups().stream().mapToInt(List::size).sum()).isEqualTo(4);
+        }
+
+        @Test
+        void compile_GroupsParallelTasksIntoOneStage() {
+            // Arrange - order laptop and install software run in parallel at sequence 2
+            orderLaptop.setIsParallel(true);
+            installSoftware.setSequenceOrder(2);
+            installSoftware.setIsParallel(true);
+
+            // Act
+            TemplatePlan plan = TemplatePlan.compile(template,
+                    List.of(createAccount, orderLaptop, installSoftware, welcomeMeeting));
+
+            // Assert
+            assertThat(plan.getStages().keySet()).containsExactly(1, 2, 4);
+            assertThat(plan.getStages().get(2)).extracting(TemplatePlan.PlannedTask::taskName)
+                    .containsExactly("Order laptop", "Install software");
+            assertThat(plan.getNextStage(1)).isEqualTo(2);
+            assertThat(plan.getNextStage(2)).isEqualTo(4);
+            assertThat(plan.getNextStage(4)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class Caching {
+
+        @Test
+        void getPlan_CalledTwice_LoadsTemplateOnce() {
+            // Arrange
+            stubTemplate();
+
+            // Act
+            TemplatePlan first = templatePlanCache.getPlan(template.getId());
+            TemplatePlan second = templatePlanCache.getPlan(template.getId());
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            verify(workflowTemplateRepository, times(1)).findById(template.getId());
+            verify(templateTaskRepository, times(1)).findByTemplateIdAndTemplateVersionOrderBySequenceOrder(template.getId(), 1);
+        }
+
+        @Test
+        void getPlan_TemplateNotFound_ThrowsResourceNotFound() {
+            // Arrange
+            UUID missingId = UUID.randomUUID();
+            when(workflowTemplateRepository.findById(missingId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> templatePlanCache.getPlan(missingId))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining(missingId.toString());
+            verifyNoInteractions(templateTaskRepository);
+        }
+
+        @Test
+        void evict_ReloadsPlanOnNextUse() {
+            // Arrange
+            stubTemplate();
+            TemplatePlan before = templatePlanCache.getPlan(template.getId());
+
+            // Act
+            templatePlanCache.evict(template.getId());
+            TemplatePlan after = templatePlanCache.getPlan(template.getId());
+
+            // Assert
+            assertThat(after).isNotSameAs(before);
+            verify(workflowTemplateRepository, times(2)).findById(template.getId());
+        }
+
+        @Test
+        void getPlanForVersion_AfterTemplateUpdate_KeepsServingOldVersionWithoutReload() {
+            // Arrange - version 1 is cached, then the template moves to version 2
+            stubTemplate();
+            TemplatePlan version1 = templatePlanCache.getPlan(template.getId());
+            template.setVersion(2);
+            when(templateTaskRepository.findByTemplateIdAndTemplateVersionOrderBySequenceOrder(template.getId(), 2))
+                    .thenReturn(List.of(createAccount));
+
+            // Act
+            templatePlanCache.evict(template.getId());
+            TemplatePlan current = templatePlanCache.getPlan(template.getId());
+            TemplatePlan old = templatePlanCache.getPlan(template.getId(), 1);
+
+            // Assert
+            assertThat(current.getVersion()).isEqualTo(2);
+            assertThat(current.getTasks()).hasSize(1);
+            assertThat(old).isSameAs(version1);
+            assertThat(old.getTasks()).hasSize(4);
+            verify(templateTaskRepository, times(1))
+                    .findByTemplateIdAndTemplateVersionOrderBySequenceOrder(template.getId(), 1);
+        }
+
+        @Test
+        void getPlanForVersion_UnknownVersion_ThrowsResourceNotFound() {
+            // Arrange
+            when(workflowTemplateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+
+            // Act & Assert
+            assertThatThrownBy(() -> templatePlanCache.getPlan(template.getId(), 3))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("no version 3");
+        }
+
+        @Test
+        void evict_InsideTransaction_EvictsAgainAfterCompletion() {
+            // Arrange
+            stubTemplate();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act - a reader caches the pre-commit state between eviction and commit
+                templatePlanCache.evict(template.getId());
+                TemplatePlan cachedBeforeCommit = templatePlanCache.getPlan(template.getId());
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                }
+
+                // Assert
+                assertThat(templatePlanCache.getPlan(template.getId())).isNotSameAs(cachedBeforeCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.magnab.employeelifecycle.service.plan;
+
+import com.magnab.employeelifecycle.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for VisibilityRule.
+ * Tests rule syntax, evaluation against custom field values and rejection of invalid rules.
+ */
+@DisplayName("VisibilityRule Unit Tests")
+class VisibilityRuleTest {
+
+    @Nested
+    @DisplayName("Evaluation")
+    class Evaluation {
+
+        @Test
+        void compile_BooleanEquality_MatchesOnlyWhenFieldIsTrue() {
+            // Arrange
+            Predicate<Map<String, Object>> rule = VisibilityRule.compile("remote == true");
+
+            // Act & Assert
+            assertThat(rule.test(Map.of("remote", true))).isTrue();
+            assertThat(rule.test(Map.of("remote", false))).isFalse();
+            assertThat(rule.test(Map.of("remote", "true"))).isTrue();
+            assertThat(rule.test(Map.of())).isFalse();
+        }
+
+        @Test
+        void compile_StringAndNumberComparisons() {
+            // Arrange
+            Predicate<Map<String, Object>> office = VisibilityRule.compile("office != 'Berlin'");
+            Predicate<Map<String, Object>> seniority = VisibilityRule.compile("level >= 3");
+
+            // Act & Assert
+            assertThat(office.test(Map.of("office", "Munich"))).isTrue();
+            assertThat(office.test(Map.of("office", "Berlin"))).isFalse();
+            assertThat(seniority.test(Map.of("level", 3))).isTrue();
+            assertThat(seniority.test(Map.of("level", "4"))).isTrue();
+            assertThat(seniority.test(Map.of("level", 2.5))).isFalse();
+            assertThat(seniority.test(Map.of())).isFalse();
+        }
+
+        @Test
+        void compile_CombinatorsAndParentheses() {
+            // Arrange
+            Predicate<Map<String, Object>> rule =
+                    VisibilityRule.compile("!(contractor || intern) && (country == \"DE\" || country == 'AT')");
+            Map<String, Object> values = new HashMap<>();
+            values.put("country", "AT");
+
+            // Act & Assert
+            assertThat(rule.test(values)).isTrue();
+            values.put("intern", true);
+            assertThat(rule.test(values)).isFalse();
+        }
+
+        @Test
+        void compile_NullChecks() {
+            // Arrange
+            Predicate<Map<String, Object>> rule = VisibilityRule.compile("manager == null");
+
+            // Act & Assert
+            assertThat(rule.test(Map.of())).isTrue();
+            assertThat(rule.test(Map.of("manager", "Jane"))).isFalse();
+        }
+
+        @Test
+        void compile_BlankRule_NeverMatches() {
+            assertThat(VisibilityRule.compile(null).test(Map.of("remote", true))).isFalse();
+            assertThat(VisibilityRule.compile("  ").test(Map.of("remote", true))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        void compile_InvalidRule_ThrowsValidationException() {
+            List<String> invalidRules = List.of("remote ==", "(remote == true", "remote = true",
+                    "office == 'Berlin", "remote == true)", "true", "&& remote");
+
+            for (String expression : invalidRules) {
+                assertThatThrownBy(() -> VisibilityRule.compile(expression))
+                        .as(expression)
+                        .isInstanceOf(ValidationException.class)
+                        .hasMessageContaining("Invalid visibility rule");
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.entity.TemplateTask;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.entity.WorkflowTemplate;
+import com.magnab.employeelifecycle.enums.AssignmentStrategyType;
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.enums.WorkflowType;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import com.magnab.employeelifecycle.service.plan.TemplatePlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssignmentPlanner.
+ * Tests per-role user loading, intra-batch load accounting, strategy selection, WIP limits and skipping of
+ * unassignable tasks.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssignmentPlanner Unit Tests")
+class AssignmentPlannerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskInstanceRepository taskInstanceRepository;
+
+    private WorkloadIndex workloadIndex;
+    private RoleDirectory roleDirectory;
+    private AssignmentPlanner assignmentPlanner;
+    private WorkflowTemplate template;
+    private User hrUser1;
+    private User hrUser2;
+
+    @BeforeEach
+    void setUp() {
+        workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        roleDirectory = new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000);
+        assignmentPlanner = createPlanner(new MockEnvironment());
+
+        template = new WorkflowTemplate();
+        template.setId(UUID.randomUUID());
+        template.setWorkflowType(WorkflowType.ONBOARDING);
+        template.setIsActive(true);
+
+        hrUser1 = createUser("hr1@example.com");
+        hrUser2 = createUser("hr2@example.com");
+    }
+
+    private AssignmentPlanner createPlanner(MockEnvironment environment) {
+        return new AssignmentPlanner(roleDirectory, new WipLimits(workloadIndex, environment), List.of(
+                new LeastLoadedStrategy(workloadIndex),
+                new StickyPerEmployeeStrategy(workloadIndex),
+                new WeightedRoundRobinStrategy(workloadIndex, environment)), environment);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setRole(UserRole.HR_ADMIN);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private TemplateTask createTemplateTask(int sequence, UserRole role) {
+        TemplateTask task = new TemplateTask();
+        task.setId(UUID.randomUUID());
+        task.setTemplateId(template.getId());
+        task.setTaskName("Task " + sequence);
+        task.setSequenceOrder(sequence);
+        task.setAssignedRole(role);
+        return task;
+    }
+
+    private TaskInstance createTaskInstance(TemplateTask templateTask) {
+        TaskInstance task = new TaskInstance();
+        task.setId(UUID.randomUUID());
+        task.setTemplateTaskId(templateTask.getId());
+        task.setTaskName(templateTask.getTaskName());
+        task.setStatus(TaskStatus.NOT_STARTED);
+        return task;
+    }
+
+    @Test
+    void plan_SpreadsBatchAcrossUsersAndLoadsUsersOncePerRole() {
+        // Arrange - four HR tasks become ready at once, both users start idle
+        List<TemplateTask> templateTasks = new ArrayList<>();
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        for (int sequence = 1; sequence <= 4; sequence++) {
+            TemplateTask templateTask = createTemplateTask(sequence, UserRole.HR_ADMIN);
+            templateTasks.add(templateTask);
+            readyTasks.add(createTaskInstance(templateTask));
+        }
+        TemplatePlan plan = TemplatePlan.compile(template, templateTasks);
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+
+        // Act
+        List<AssignmentPlanner.Assignment> assignments = assignmentPlanner
+                .plan(readyTasks, plan, "jane@example.com").assignments();
+
+        // Assert
+        assertThat(assignments).hasSize(4);
+        assertThat(assignments).extracting(AssignmentPlanner.Assignment::task).containsExactlyElementsOf(readyTasks);
+        assertThat(assignments.stream().filter(assignment -> assignment.user() == hrUser1)).hasSize(2);
+        assertThat(assignments.stream().filter(assignment -> assignment.user() == hrUser2)).hasSize(2);
+        assertThat(readyTasks).allSatisfy(task -> assertThat(task.getAssignedUserId()).isNull());
+        verify(userRepository, times(1)).findByRoleAndIsActive(UserRole.HR_ADMIN, true);
+        verify(taskInstanceRepository, times(1)).countTasksPerActiveUser(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void plan_RoleWithoutActiveUsers_SkipsItsTasks() {
+        // Arrange
+        TemplateTask hrTask = createTemplateTask(1, UserRole.HR_ADMIN);
+        TemplateTask techTask = createTemplateTask(2, UserRole.TECH_SUPPORT);
+        TemplateTask secondTechTask = createTemplateTask(3, UserRole.TECH_SUPPORT);
+        TemplatePlan plan = TemplatePlan.compile(template, List.of(hrTask, techTask, secondTechTask));
+        List<TaskInstance> readyTasks = List.of(createTaskInstance(hrTask), createTaskInstance(techTask),
+                createTaskInstance(secondTechTask));
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1));
+        when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of());
+
+        // Act
+        List<AssignmentPlanner.Assignment> assignments = assignmentPlanner
+                .plan(readyTasks, plan, "jane@example.com").assignments();
+
+        // Assert
+        assertThat(assignments).hasSize(1);
+        assertThat(assignments.get(0).task()).isSameAs(readyTasks.get(0));
+        assertThat(assignments.get(0).user()).isSameAs(hrUser1);
+        verify(userRepository, times(1)).findByRoleAndIsActive(UserRole.TECH_SUPPORT, true);
+    }
+
+    @Test
+    void plan_RoleStrategyConfigured_UsesItForThatRole() {
+        // Arrange - sticky routing for HR keeps all of one employee's tasks with one user
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.strategy.roles.HR_ADMIN", "STICKY_PER_EMPLOYEE");
+        AssignmentPlanner stickyPlanner = createPlanner(environment);
+        List<TemplateTask> templateTasks = new ArrayList<>();
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        for (int sequence = 1; sequence <= 4; sequence++) {
+            TemplateTask templateTask = createTemplateTask(sequence, UserRole.HR_ADMIN);
+            templateTasks.add(templateTask);
+            readyTasks.add(createTaskInstance(templateTask));
+        }
+        TemplatePlan plan = TemplatePlan.compile(template, templateTasks);
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+
+        // Act
+        List<AssignmentPlanner.Assignment> assignments = stickyPlanner
+                .plan(readyTasks, plan, "jane@example.com").assignments();
+
+        // Assert
+        assertThat(assignments).extracting(AssignmentPlanner.Assignment::user).containsOnly(assignments.get(0).user());
+    }
+
+    @Test
+    void plan_TemplateStrategy_OverridesRoleStrategy() {
+        // Arrange - role says sticky, template says least-loaded
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.strategy.roles.HR_ADMIN", "STICKY_PER_EMPLOYEE");
+        AssignmentPlanner planner = createPlanner(environment);
+        template.setAssignmentStrategy(AssignmentStrategyType.LEAST_LOADED);
+        TemplateTask first = createTemplateTask(1, UserRole.HR_ADMIN);
+        TemplateTask second = createTemplateTask(2, UserRole.HR_ADMIN);
+        TemplatePlan plan = TemplatePlan.compile(template, List.of(first, second));
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+
+        // Act
+        List<AssignmentPlanner.Assignment> assignments = planner.plan(
+                List.of(createTaskInstance(first), createTaskInstance(second)), plan, "jane@example.com").assignments();
+
+        // Assert
+        assertThat(assignments).extracting(AssignmentPlanner.Assignment::user).containsExactlyInAnyOrder(hrUser1, hrUser2);
+    }
+
+    @Test
+    void plan_UsersAtWipLimit_ReturnsRemainingTasksAsOverCapacity() {
+        // Arrange - two HR users with room for one task each, three tasks ready
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.wip-limit.roles.HR_ADMIN", "1");
+        AssignmentPlanner limitedPlanner = createPlanner(environment);
+        List<TemplateTask> templateTasks = new ArrayList<>();
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        for (int sequence = 1; sequence <= 3; sequence++) {
+            TemplateTask templateTask = createTemplateTask(sequence, UserRole.HR_ADMIN);
+            templateTasks.add(templateTask);
+            readyTasks.add(createTaskInstance(templateTask));
+        }
+        TemplatePlan plan = TemplatePlan.compile(template, templateTasks);
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+
+        // Act
+        AssignmentPlanner.Result result = limitedPlanner.plan(readyTasks, plan, "jane@example.com");
+
+        // Assert
+        assertThat(result.assignments()).extracting(AssignmentPlanner.Assignment::user)
+                .containsExactlyInAnyOrder(hrUser1, hrUser2);
+        assertThat(result.overCapacity()).containsExactly(readyTasks.get(2));
+    }
+
+    @Test
+    void plan_UserWipLimit_OverridesRoleLimit() {
+        // Arrange - the role allows one task per user, hrUser1 may take three
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.wip-limit.roles.HR_ADMIN", "1")
+                .withProperty("workflow.routing.wip-limit.users." + hrUser1.getId(), "3");
+        AssignmentPlanner limitedPlanner = createPlanner(environment);
+        List<TemplateTask> templateTasks = new ArrayList<>();
+        List<TaskInstance> readyTasks = new ArrayList<>();
+        for (int sequence = 1; sequence <= 5; sequence++) {
+            TemplateTask templateTask = createTemplateTask(sequence, UserRole.HR_ADMIN);
+            templateTasks.add(templateTask);
+            readyTasks.add(createTaskInstance(templateTask));
+        }
+        TemplatePlan plan = TemplatePlan.compile(template, templateTasks);
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+
+        // Act
+        AssignmentPlanner.Result result = limitedPlanner.plan(readyTasks, plan, "jane@example.com");
+
+        // Assert
+        assertThat(result.assignments().stream().filter(assignment -> assignment.user() == hrUser1)).hasSize(3);
+        assertThat(result.assignments().stream().filter(assignment -> assignment.user() == hrUser2)).hasSize(1);
+        assertThat(result.overCapacity()).hasSize(1);
+    }
+
+    @Test
+    void constructor_StrategyWithoutImplementation_FailsFast() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.strategy.default", "POWER_OF_TWO_CHOICES");
+
+        assertThatThrownBy(() -> createPlanner(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("POWER_OF_TWO_CHOICES");
+    }
+}
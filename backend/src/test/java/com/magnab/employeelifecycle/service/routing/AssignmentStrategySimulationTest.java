@@ -0,0 +1,102 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Simulation comparing the built-in assignment strategies at different role sizes.
+ * Every strategy routes the same stream of tasks (one routing key per employee, with tasks completing at random)
+ * against a WorkloadIndex seeded empty, and reports the spread of open tasks per user and the time per decision.
+ *
+ * Run with: mvn test -Dtest=AssignmentStrategySimulationTest -Dbenchmark=true [-Dbenchmark.tasks-per-user=50]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Assignment strategy simulation")
+class AssignmentStrategySimulationTest {
+
+    private static final int[] ROLE_SIZES = {10, 100, 1_000, 10_000};
+    private static final int TASKS_PER_EMPLOYEE = 5;
+    private static final int WARMUP_ROUNDS = 2;
+
+    private record Result(double meanLoad, double stdDev, long maxLoad, double nanosPerDecision) {
+    }
+
+    @Test
+    void simulate_AllStrategiesAcrossRoleSizes() {
+        int tasksPerUser = Integer.getInteger("benchmark.tasks-per-user", 50);
+        Map<String, Function<WorkloadIndex, AssignmentStrategy>> strategies = new LinkedHashMap<>();
+        strategies.put("LEAST_LOADED", LeastLoadedStrategy::new);
+        strategies.put("POWER_OF_TWO_CHOICES", PowerOfTwoChoicesStrategy::new);
+        strategies.put("STICKY_PER_EMPLOYEE", StickyPerEmployeeStrategy::new);
+        strategies.put("WEIGHTED_ROUND_ROBIN", index -> new WeightedRoundRobinStrategy(index, new MockEnvironment()));
+
+        System.out.printf("Assignment strategy simulation: %d tasks per user, %d tasks per employee%n",
+                tasksPerUser, TASKS_PER_EMPLOYEE);
+        System.out.printf("  %-22s %8s %10s %10s %8s %12s%n",
+                "strategy", "users", "mean load", "std dev", "max", "ns/decision");
+        for (int users : ROLE_SIZES) {
+            for (Map.Entry<String, Function<WorkloadIndex, AssignmentStrategy>> entry : strategies.entrySet()) {
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    simulate(entry.getValue(), users, tasksPerUser);
+                }
+                Result result = simulate(entry.getValue(), users, tasksPerUser);
+                System.out.printf("  %-22s %,8d %10.1f %10.2f %8d %,12.0f%n", entry.getKey(), users,
+                        result.meanLoad(), result.stdDev(), result.maxLoad(), result.nanosPerDecision());
+
+                assertThat(result.meanLoad()).isPositive();
+            }
+        }
+    }
+
+    private Result simulate(Function<WorkloadIndex, AssignmentStrategy> factory, int userCount, int tasksPerUser) {
+        TaskInstanceRepository taskInstanceRepository = mock(TaskInstanceRepository.class);
+        when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS)).thenReturn(List.of());
+        WorkloadIndex workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        AssignmentStrategy strategy = factory.apply(workloadIndex);
+
+        List<UUID> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(UUID.randomUUID());
+        }
+
+        // Half of the assigned tasks complete along the way, so the strategies see loads move both ways
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<UUID> open = new ArrayList<>();
+        int decisions = userCount * tasksPerUser;
+        long started = System.nanoTime();
+        for (int i = 0; i < decisions; i++) {
+            String employee = "employee" + (i / TASKS_PER_EMPLOYEE) + "@example.com";
+            open.add(strategy.assign(UserRole.TECH_SUPPORT, users, employee));
+            if (random.nextBoolean()) {
+                int completed = random.nextInt(open.size());
+                UUID userId = open.get(completed);
+                open.set(completed, open.get(open.size() - 1));
+                open.remove(open.size() - 1);
+                workloadIndex.onStatusChange(userId, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        double mean = (double) open.size() / userCount;
+        double squares = 0;
+        long max = 0;
+        for (UUID userId : users) {
+            long load = workloadIndex.getLoad(userId);
+            squares += (load - mean) * (load - mean);
+            max = Math.max(max, load);
+        }
+        return new Result(mean, Math.sqrt(squares / userCount), max, (double) elapsed / decisions);
+    }
+}
@@ -0,0 +1,185 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the built-in AssignmentStrategy implementations.
+ * Tests each strategy's selection rule and that every strategy records its assignments in the WorkloadIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssignmentStrategy Unit Tests")
+class AssignmentStrategyTest {
+
+    @Mock
+    private TaskInstanceRepository taskInstanceRepository;
+
+    private WorkloadIndex workloadIndex;
+    private List<UUID> users;
+
+    @BeforeEach
+    void setUp() {
+        when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS)).thenReturn(List.of());
+        workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            users.add(UUID.randomUUID());
+        }
+    }
+
+    private Map<UUID, Integer> assignMany(AssignmentStrategy strategy, int tasks, String routingKey) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (int i = 0; i < tasks; i++) {
+            counts.merge(strategy.assign(UserRole.TECH_SUPPORT, users, routingKey), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Nested
+    @DisplayName("Weighted round-robin")
+    class WeightedRoundRobin {
+
+        @Test
+        void assign_DistributesInProportionToWeights() {
+            // Arrange
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("workflow.routing.weights." + users.get(0), "3");
+            WeightedRoundRobinStrategy strategy = new WeightedRoundRobinStrategy(workloadIndex, environment);
+
+            // Act - total weight is 6, so 60 tasks are 10 turns
+            Map<UUID, Integer> counts = assignMany(strategy, 60, null);
+
+            // Assert
+            assertThat(counts.get(users.get(0))).isEqualTo(30);
+            for (UUID user : users.subList(1, users.size())) {
+                assertThat(counts.get(user)).isEqualTo(10);
+            }
+            assertThat(workloadIndex.getLoad(users.get(0))).isEqualTo(30);
+        }
+
+        @Test
+        void assign_InterleavesHeavyUserWithOthers() {
+            // Arrange
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("workflow.routing.weights." + users.get(0), "3");
+            WeightedRoundRobinStrategy strategy = new WeightedRoundRobinStrategy(workloadIndex, environment);
+
+            // Act
+            List<UUID> sequence = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                sequence.add(strategy.assign(UserRole.TECH_SUPPORT, users, null));
+            }
+
+            // Assert - three turns out of six, but never two in a row
+            UUID heavy = users.get(0);
+            assertThat(Collections.frequency(sequence, heavy)).isEqualTo(3);
+            for (int i = 1; i < sequence.size(); i++) {
+                assertThat(sequence.get(i).equals(heavy) && sequence.get(i - 1).equals(heavy))
+                        .as("turn %d", i).isFalse();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Power of two choices")
+    class PowerOfTwoChoices {
+
+        @Test
+        void assign_WithTwoUsers_PicksLessLoaded() {
+            // Arrange
+            PowerOfTwoChoicesStrategy strategy = new PowerOfTwoChoicesStrategy(workloadIndex);
+            List<UUID> pair = users.subList(0, 2);
+            for (int i = 0; i < 3; i++) {
+                workloadIndex.acquire(UserRole.TECH_SUPPORT, pair.get(0));
+            }
+
+            // Act
+            UUID selected = strategy.assign(UserRole.TECH_SUPPORT, pair, null);
+
+            // Assert
+            assertThat(selected).isEqualTo(pair.get(1));
+            assertThat(workloadIndex.getLoad(pair.get(1))).isEqualTo(1);
+        }
+
+        @Test
+        void assign_KeepsLoadsClose() {
+            // Arrange
+            PowerOfTwoChoicesStrategy strategy = new PowerOfTwoChoicesStrategy(workloadIndex);
+
+            // Act
+            Map<UUID, Integer> counts = assignMany(strategy, 400, null);
+
+            // Assert - random placement would routinely spread by 20+; two choices stays within a few tasks
+            int max = Collections.max(counts.values());
+            int min = Collections.min(counts.values());
+            assertThat(max - min).isLessThanOrEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sticky per employee")
+    class StickyPerEmployee {
+
+        @Test
+        void assign_SameEmployee_AlwaysSameUser() {
+            // Arrange
+            StickyPerEmployeeStrategy strategy = new StickyPerEmployeeStrategy(workloadIndex);
+
+            // Act
+            Map<UUID, Integer> counts = assignMany(strategy, 5, "Jane.Doe@example.com");
+            UUID caseInsensitive = strategy.assign(UserRole.TECH_SUPPORT, users, "jane.doe@example.com ");
+
+            // Assert
+            assertThat(counts).hasSize(1);
+            assertThat(counts.keySet()).containsExactly(caseInsensitive);
+        }
+
+        @Test
+        void assign_UserLeavesRole_OnlyTheirEmployeesMove() {
+            // Arrange
+            StickyPerEmployeeStrategy strategy = new StickyPerEmployeeStrategy(workloadIndex);
+            Map<String, UUID> before = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                String employee = "employee" + i + "@example.com";
+                before.put(employee, strategy.assign(UserRole.TECH_SUPPORT, users, employee));
+            }
+            UUID leaving = users.get(0);
+            List<UUID> remaining = users.subList(1, users.size());
+
+            // Act & Assert
+            for (Map.Entry<String, UUID> entry : before.entrySet()) {
+                UUID after = strategy.assign(UserRole.TECH_SUPPORT, remaining, entry.getKey());
+                if (!entry.getValue().equals(leaving)) {
+                    assertThat(after).as(entry.getKey()).isEqualTo(entry.getValue());
+                }
+            }
+            assertThat(new HashSet<>(before.values())).hasSize(users.size());
+        }
+
+        @Test
+        void assign_NoRoutingKey_FallsBackToLeastLoaded() {
+            // Arrange
+            StickyPerEmployeeStrategy strategy = new StickyPerEmployeeStrategy(workloadIndex);
+
+            // Act
+            Map<UUID, Integer> counts = assignMany(strategy, 8, null);
+
+            // Assert
+            assertThat(counts.values()).containsOnly(2);
+        }
+    }
+}
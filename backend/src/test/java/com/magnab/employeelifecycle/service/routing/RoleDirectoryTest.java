@@ -0,0 +1,129 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoleDirectory.
+ * Tests caching per role, eviction, the size bound and hit/miss metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoleDirectory Unit Tests")
+class RoleDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoleDirectory roleDirectory;
+    private User hrUser;
+    private User techUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roleDirectory = new RoleDirectory(userRepository, meterRegistry, 2);
+        hrUser = createUser(UserRole.HR_ADMIN);
+        techUser = createUser(UserRole.TECH_SUPPORT);
+    }
+
+    private User createUser(UserRole role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("workflow.routing.directory.lookups").tag("result", result).counter().count();
+    }
+
+    @Test
+    void getActiveUsers_CalledTwice_QueriesOnceAndCountsHitAndMiss() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser));
+
+        // Act
+        List<User> first = roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+        List<User> second = roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+
+        // Assert
+        assertThat(first).containsExactly(hrUser);
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByRoleAndIsActive(UserRole.HR_ADMIN, true);
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ReloadsOnlyTheEvictedRole() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser));
+        when(userRepository.findByRoleAndIsActive(UserRole.TECH_SUPPORT, true)).thenReturn(List.of(techUser));
+        roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+        roleDirectory.getActiveUsers(UserRole.TECH_SUPPORT);
+
+        // Act
+        roleDirectory.evict(UserRole.HR_ADMIN, null);
+        roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+        roleDirectory.getActiveUsers(UserRole.TECH_SUPPORT);
+
+        // Assert
+        verify(userRepository, times(2)).findByRoleAndIsActive(UserRole.HR_ADMIN, true);
+        verify(userRepository, times(1)).findByRoleAndIsActive(UserRole.TECH_SUPPORT, true);
+    }
+
+    @Test
+    void evict_InsideTransaction_EvictsAgainAfterCompletion() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act - a reader caches the pre-commit membership between eviction and commit
+            roleDirectory.evict(UserRole.HR_ADMIN);
+            roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+
+            // Assert
+            verify(userRepository, times(2)).findByRoleAndIsActive(UserRole.HR_ADMIN, true);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getActiveUsers_RoleAboveSizeLimit_IsNotCached() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(
+                List.of(hrUser, createUser(UserRole.HR_ADMIN), createUser(UserRole.HR_ADMIN)));
+
+        // Act
+        roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+        List<User> users = roleDirectory.getActiveUsers(UserRole.HR_ADMIN);
+
+        // Assert
+        assertThat(users).hasSize(3);
+        verify(userRepository, times(2)).findByRoleAndIsActive(UserRole.HR_ADMIN, true);
+        assertThat(lookups("miss")).isEqualTo(2);
+    }
+}
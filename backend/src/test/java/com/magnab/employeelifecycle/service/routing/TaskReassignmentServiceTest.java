@@ -0,0 +1,163 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.dto.response.TaskReassignmentResult;
+import com.magnab.employeelifecycle.entity.User;
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserTaskCount;
+import com.magnab.employeelifecycle.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskReassignmentService.
+ * Tests load levelling of IN_PROGRESS tasks, even spreading of BLOCKED tasks, WIP limits and requeueing of
+ * tasks that cannot be moved.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskReassignmentService Unit Tests")
+class TaskReassignmentServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskInstanceRepository taskInstanceRepository;
+
+    private WorkloadIndex workloadIndex;
+    private User leaver;
+    private User hrUser1;
+    private User hrUser2;
+
+    @BeforeEach
+    void setUp() {
+        workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        leaver = createUser(false);
+        hrUser1 = createUser(true);
+        hrUser2 = createUser(true);
+    }
+
+    private TaskReassignmentService createService(MockEnvironment environment) {
+        return new TaskReassignmentService(taskInstanceRepository,
+                new RoleDirectory(userRepository, new SimpleMeterRegistry(), 5000),
+                workloadIndex, new WipLimits(workloadIndex, environment));
+    }
+
+    private User createUser(boolean active) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(UserRole.HR_ADMIN);
+        user.setIsActive(active);
+        return user;
+    }
+
+    private UserTaskCount count(UUID userId, long tasks) {
+        return new UserTaskCount() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public UserRole getRole() {
+                return UserRole.HR_ADMIN;
+            }
+
+            @Override
+            public Long getTaskCount() {
+                return tasks;
+            }
+        };
+    }
+
+    private void stubOpenTasks(User user, long inProgress, long blocked) {
+        when(taskInstanceRepository.countByAssignedUserIdAndStatus(user.getId(), TaskStatus.IN_PROGRESS))
+                .thenReturn(inProgress);
+        when(taskInstanceRepository.countByAssignedUserIdAndStatus(user.getId(), TaskStatus.BLOCKED))
+                .thenReturn(blocked);
+    }
+
+    private void stubMovesSucceed() {
+        when(taskInstanceRepository.reassignTasks(any(), any(), anyString(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(3));
+    }
+
+    @Test
+    void reassignOpenTasks_LevelsInProgressLoadAndSpreadsBlockedTasks() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+        when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS))
+                .thenReturn(List.of(count(hrUser1.getId(), 0), count(hrUser2.getId(), 2)));
+        stubOpenTasks(leaver, 4, 3);
+        stubMovesSucceed();
+
+        // Act
+        TaskReassignmentResult result = createService(new MockEnvironment()).reassignOpenTasks(leaver);
+
+        // Assert - hr1 catches up with hr2 first, then both take turns
+        verify(taskInstanceRepository).reassignTasks(eq(leaver.getId()), eq(hrUser1.getId()), eq("IN_PROGRESS"), eq(3), any());
+        verify(taskInstanceRepository).reassignTasks(eq(leaver.getId()), eq(hrUser2.getId()), eq("IN_PROGRESS"), eq(1), any());
+        verify(taskInstanceRepository).reassignTasks(eq(leaver.getId()), eq(hrUser1.getId()), eq("BLOCKED"), eq(2), any());
+        verify(taskInstanceRepository).reassignTasks(eq(leaver.getId()), eq(hrUser2.getId()), eq("BLOCKED"), eq(1), any());
+        assertThat(workloadIndex.getLoad(hrUser1.getId())).isEqualTo(3);
+        assertThat(workloadIndex.getLoad(hrUser2.getId())).isEqualTo(3);
+        assertThat(result.getReassignedTasks()).isEqualTo(7);
+        assertThat(result.getTasksByUser()).containsEntry(hrUser1.getId(), 5).containsEntry(hrUser2.getId(), 2);
+        assertThat(result.getQueuedTasks()).isZero();
+    }
+
+    @Test
+    void reassignOpenTasks_WhenTargetsReachWipLimit_QueuesRemainingTasksOfInactiveUser() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.wip-limit.default", "3")
+                .withProperty("workflow.routing.wip-limit.users." + hrUser1.getId(), "1");
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1, hrUser2));
+        when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS))
+                .thenReturn(List.of(count(hrUser1.getId(), 0), count(hrUser2.getId(), 2)));
+        stubOpenTasks(leaver, 5, 0);
+        stubMovesSucceed();
+        when(taskInstanceRepository.requeueTasks(eq(leaver.getId()), eq("IN_PROGRESS"), any())).thenReturn(3L);
+
+        // Act
+        TaskReassignmentResult result = createService(environment).reassignOpenTasks(leaver);
+
+        // Assert
+        assertThat(result.getTasksByUser()).containsEntry(hrUser1.getId(), 1).containsEntry(hrUser2.getId(), 1);
+        assertThat(result.getQueuedTasks()).isEqualTo(3);
+        assertThat(workloadIndex.getLoad(hrUser1.getId())).isEqualTo(1);
+        assertThat(workloadIndex.getLoad(hrUser2.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void reassignOpenTasks_ForActiveUserWithoutColleagues_LeavesTasksInPlace() {
+        // Arrange
+        when(userRepository.findByRoleAndIsActive(UserRole.HR_ADMIN, true)).thenReturn(List.of(hrUser1));
+        stubOpenTasks(hrUser1, 2, 1);
+        when(taskInstanceRepository.countByAssignedUserIdAndStatusIn(eq(hrUser1.getId()), anyCollection()))
+                .thenReturn(3L);
+
+        // Act
+        TaskReassignmentResult result = createService(new MockEnvironment()).reassignOpenTasks(hrUser1);
+
+        // Assert
+        assertThat(result.getReassignedTasks()).isZero();
+        assertThat(result.getRemainingTasks()).isEqualTo(3);
+        verify(taskInstanceRepository, never()).reassignTasks(any(), any(), anyString(), anyInt(), any());
+        verify(taskInstanceRepository, never()).requeueTasks(any(), anyString(), any());
+    }
+}
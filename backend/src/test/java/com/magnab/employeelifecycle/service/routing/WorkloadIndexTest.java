@@ -0,0 +1,210 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserTaskCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkloadIndex.
+ * Tests seeding, least-loaded selection, status transition bookkeeping, rollback compensation and reconciliation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadIndex Unit Tests")
+class WorkloadIndexTest {
+
+    @Mock
+    private TaskInstanceRepository taskInstanceRepository;
+
+    private WorkloadIndex workloadIndex;
+    private UUID hrUser1;
+    private UUID hrUser2;
+    private UUID techUser;
+
+    @BeforeEach
+    void setUp() {
+        workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        hrUser1 = UUID.randomUUID();
+        hrUser2 = UUID.randomUUID();
+        techUser = UUID.randomUUID();
+    }
+
+    private UserTaskCount count(UUID userId, UserRole role, long tasks) {
+        return new UserTaskCount() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public UserRole getRole() {
+                return role;
+            }
+
+            @Override
+            public Long getTaskCount() {
+                return tasks;
+            }
+        };
+    }
+
+    private void stubCounts(UserTaskCount... counts) {
+        when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS)).thenReturn(List.of(counts));
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class Routing {
+
+        @Test
+        void acquireLeastLoaded_SeedsOnceAndPicksLeastLoadedUser() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 3), count(hrUser2, UserRole.HR_ADMIN, 1),
+                    count(techUser, UserRole.TECH_SUPPORT, 0));
+
+            // Act
+            UUID first = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1, hrUser2));
+            UUID second = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1, hrUser2));
+            long loadAfterSecond = workloadIndex.getLoad(hrUser2);
+            UUID third = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1, hrUser2));
+
+            // Assert - hrUser2 goes 1 -> 2 -> 3, then ties with hrUser1 are broken by id
+            assertThat(first).isEqualTo(hrUser2);
+            assertThat(second).isEqualTo(hrUser2);
+            assertThat(loadAfterSecond).isEqualTo(3);
+            assertThat(third).isEqualTo(hrUser1.compareTo(hrUser2) < 0 ? hrUser1 : hrUser2);
+            verify(taskInstanceRepository, times(1)).countTasksPerActiveUser(TaskStatus.IN_PROGRESS);
+        }
+
+        @Test
+        void acquireLeastLoaded_OnlyConsidersEligibleUsers() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 5), count(hrUser2, UserRole.HR_ADMIN, 0));
+
+            // Act
+            UUID selected = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1));
+
+            // Assert
+            assertThat(selected).isEqualTo(hrUser1);
+            assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(6);
+            assertThat(workloadIndex.getLoad(hrUser2)).isZero();
+        }
+
+        @Test
+        void acquireLeastLoaded_UnknownUser_AdoptedWithZeroLoad() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 2));
+
+            // Act
+            UUID selected = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1, hrUser2));
+
+            // Assert
+            assertThat(selected).isEqualTo(hrUser2);
+            assertThat(workloadIndex.getLoad(hrUser2)).isEqualTo(1);
+        }
+
+        @Test
+        void acquireLeastLoaded_UserChangedRole_KeepsLoadInNewRole() {
+            // Arrange
+            stubCounts(count(techUser, UserRole.TECH_SUPPORT, 4));
+
+            // Act
+            UUID selected = workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(techUser));
+
+            // Assert
+            assertThat(selected).isEqualTo(techUser);
+            assertThat(workloadIndex.getLoad(techUser)).isEqualTo(5);
+        }
+
+        @Test
+        void acquireLeastLoaded_NoEligibleUsers_ReturnsNull() {
+            // Arrange
+            stubCounts();
+
+            // Act & Assert
+            assertThat(workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of())).isNull();
+        }
+
+        @Test
+        void acquireLeastLoaded_TransactionRolledBack_RevertsIncrement() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 1));
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1));
+                assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(2);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                }
+
+                // Assert
+                assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(1);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Status transitions and reconciliation")
+    class Bookkeeping {
+
+        @Test
+        void onStatusChange_TracksMovesIntoAndOutOfInProgress() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 2));
+
+            // Act & Assert
+            workloadIndex.onStatusChange(hrUser1, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+            assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(1);
+            workloadIndex.onStatusChange(hrUser1, TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS);
+            assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(2);
+            workloadIndex.onStatusChange(hrUser1, TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS);
+            assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(2);
+        }
+
+        @Test
+        void onStatusChange_NeverGoesBelowZero() {
+            // Arrange
+            stubCounts(count(hrUser1, UserRole.HR_ADMIN, 0));
+
+            // Act
+            workloadIndex.onStatusChange(hrUser1, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+
+            // Assert
+            assertThat(workloadIndex.getLoad(hrUser1)).isZero();
+        }
+
+        @Test
+        void reconcile_ReplacesDriftedCountersAndDropsInactiveUsers() {
+            // Arrange
+            when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS))
+                    .thenReturn(List.of(count(hrUser1, UserRole.HR_ADMIN, 1), count(hrUser2, UserRole.HR_ADMIN, 1)))
+                    .thenReturn(List.of(count(hrUser1, UserRole.HR_ADMIN, 7)));
+            workloadIndex.acquireLeastLoaded(UserRole.HR_ADMIN, List.of(hrUser1, hrUser2));
+
+            // Act
+            workloadIndex.reconcile();
+
+            // Assert
+            assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(7);
+            assertThat(workloadIndex.getLoad(hrUser2)).isZero();
+        }
+    }
+}
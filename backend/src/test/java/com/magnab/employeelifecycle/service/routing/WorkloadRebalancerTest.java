@@ -0,0 +1,171 @@
+package com.magnab.employeelifecycle.service.routing;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.UserRole;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserTaskCount;
+import com.magnab.employeelifecycle.repository.TaskInstanceRepository.UserWorkload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkloadRebalancer.
+ * Tests move planning, the unstarted-task and WIP limit constraints, batching and metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadRebalancer Unit Tests")
+class WorkloadRebalancerTest {
+
+    @Mock
+    private TaskInstanceRepository taskInstanceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WorkloadIndex workloadIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID hrUser1;
+    private UUID hrUser2;
+
+    @BeforeEach
+    void setUp() {
+        workloadIndex = new WorkloadIndex(taskInstanceRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        hrUser1 = UUID.randomUUID();
+        hrUser2 = UUID.randomUUID();
+    }
+
+    private WorkloadRebalancer createRebalancer(MockEnvironment environment, boolean enabled, int batchSize) {
+        return new WorkloadRebalancer(taskInstanceRepository, workloadIndex, new WipLimits(workloadIndex, environment),
+                transactionManager, meterRegistry, enabled, 2, 200, batchSize);
+    }
+
+    private UserWorkload workload(UUID userId, long tasks, long unstarted) {
+        return new UserWorkload() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public UserRole getRole() {
+                return UserRole.HR_ADMIN;
+            }
+
+            @Override
+            public Long getTaskCount() {
+                return tasks;
+            }
+
+            @Override
+            public Long getUnstartedCount() {
+                return unstarted;
+            }
+        };
+    }
+
+    private void stubWorkloads(UserWorkload... workloads) {
+        when(taskInstanceRepository.countWorkloadPerActiveUser()).thenReturn(List.of(workloads));
+        List<UserTaskCount> counts = List.of(workloads);
+        lenient().when(taskInstanceRepository.countTasksPerActiveUser(TaskStatus.IN_PROGRESS)).thenReturn(counts);
+    }
+
+    @Test
+    void rebalance_MovesUnstartedTasksUntilLoadsAreLevel() {
+        // Arrange
+        stubWorkloads(workload(hrUser1, 5, 5), workload(hrUser2, 1, 0));
+        when(taskInstanceRepository.moveUnstartedTasks(eq(hrUser1), eq(hrUser2), eq(2), any())).thenReturn(2);
+
+        // Act
+        int moved = createRebalancer(new MockEnvironment(), true, 20).rebalance();
+
+        // Assert - 5/1 becomes 3/3
+        assertThat(moved).isEqualTo(2);
+        assertThat(workloadIndex.getLoad(hrUser1)).isEqualTo(3);
+        assertThat(workloadIndex.getLoad(hrUser2)).isEqualTo(3);
+        assertThat(meterRegistry.counter("workflow.routing.rebalance.moved", "role", "HR_ADMIN").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.summary("workflow.routing.rebalance.variance.reduction", "role", "HR_ADMIN")
+                .totalAmount()).isEqualTo(4.0);
+    }
+
+    @Test
+    void rebalance_MovesOnlyTasksTheUserHasNotStarted() {
+        // Arrange
+        stubWorkloads(workload(hrUser1, 5, 1), workload(hrUser2, 1, 0));
+        when(taskInstanceRepository.moveUnstartedTasks(eq(hrUser1), eq(hrUser2), eq(1), any())).thenReturn(1);
+
+        // Act
+        int moved = createRebalancer(new MockEnvironment(), true, 20).rebalance();
+
+        // Assert
+        assertThat(moved).isEqualTo(1);
+    }
+
+    @Test
+    void rebalance_DoesNotFillTargetsBeyondTheirWipLimit() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("workflow.routing.wip-limit.users." + hrUser2, "2");
+        stubWorkloads(workload(hrUser1, 5, 5), workload(hrUser2, 1, 0));
+        when(taskInstanceRepository.moveUnstartedTasks(eq(hrUser1), eq(hrUser2), eq(1), any())).thenReturn(1);
+
+        // Act
+        int moved = createRebalancer(environment, true, 20).rebalance();
+
+        // Assert
+        assertThat(moved).isEqualTo(1);
+    }
+
+    @Test
+    void rebalance_MovesInBatchesAndStopsWhenSourceRunsOut() {
+        // Arrange - the user started a task after the loads were read, so the second batch finds nothing
+        stubWorkloads(workload(hrUser1, 5, 5), workload(hrUser2, 1, 0));
+        when(taskInstanceRepository.moveUnstartedTasks(eq(hrUser1), eq(hrUser2), eq(1), any())).thenReturn(1, 0);
+
+        // Act
+        int moved = createRebalancer(new MockEnvironment(), true, 1).rebalance();
+
+        // Assert
+        assertThat(moved).isEqualTo(1);
+        verify(taskInstanceRepository, times(2)).moveUnstartedTasks(eq(hrUser1), eq(hrUser2), eq(1), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void rebalance_WhenLoadsAreWithinGap_MovesNothing() {
+        // Arrange
+        stubWorkloads(workload(hrUser1, 3, 3), workload(hrUser2, 2, 0));
+
+        // Act
+        int moved = createRebalancer(new MockEnvironment(), true, 20).rebalance();
+
+        // Assert
+        assertThat(moved).isZero();
+        verify(taskInstanceRepository, never()).moveUnstartedTasks(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void rebalance_WhenDisabled_DoesNotQuery() {
+        // Act
+        int moved = createRebalancer(new MockEnvironment(), false, 20).rebalance();
+
+        // Assert
+        assertThat(moved).isZero();
+        verifyNoInteractions(taskInstanceRepository);
+    }
+}
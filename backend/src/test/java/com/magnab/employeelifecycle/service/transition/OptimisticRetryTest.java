@@ -0,0 +1,98 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.entity.TaskInstance;
+import com.magnab.employeelifecycle.exception.ConflictException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OptimisticRetry.
+ * Tests retrying of conflicting commits, giving up after max attempts and the conflict and retry counters.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimisticRetry Unit Tests")
+class OptimisticRetryTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetry optimisticRetry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetry = new OptimisticRetry(transactionManager, meterRegistry, 3,
+                Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(TaskInstance.class, UUID.randomUUID());
+    }
+
+    @Test
+    void execute_ConflictingCommit_RunsActionAgainInNewTransaction() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        doThrow(conflict()).doNothing().when(transactionManager).commit(any());
+
+        // Act
+        String result = optimisticRetry.execute("task-status", () -> "attempt " + attempts.incrementAndGet());
+
+        // Assert
+        assertThat(result).isEqualTo("attempt 2");
+        verify(transactionManager, times(2)).getTransaction(any());
+        assertThat(meterRegistry.counter("workflow.transitions.conflicts", "operation", "task-status").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("workflow.transitions.retries", "operation", "task-status").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_ConflictOnEveryAttempt_ThrowsConflictExceptionAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        doThrow(conflict()).when(transactionManager).commit(any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> optimisticRetry.execute("workflow-status", attempts::incrementAndGet))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("modified concurrently");
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.counter("workflow.transitions.conflicts", "operation", "workflow-status").count())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.counter("workflow.transitions.retries", "operation", "workflow-status").count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_OtherFailure_RollsBackWithoutRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> optimisticRetry.execute("task-status", () -> {
+            attempts.incrementAndGet();
+            throw new ValidationException("Invalid task state transition from COMPLETED to IN_PROGRESS");
+        })).isInstanceOf(ValidationException.class);
+        assertThat(attempts).hasValue(1);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}
@@ -0,0 +1,53 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.enums.TaskStatus;
+import com.magnab.employeelifecycle.enums.WorkflowStatus;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TransitionTable and the workflow and task tables in StatusTransitions.
+ */
+@DisplayName("TransitionTable Unit Tests")
+class TransitionTableTest {
+
+    @Test
+    void taskTable_AllowsOnlyTheDocumentedTransitions() {
+        TransitionTable<TaskStatus> table = StatusTransitions.TASK;
+
+        assertThat(table.targetsOf(TaskStatus.NOT_STARTED)).containsExactly(TaskStatus.IN_PROGRESS);
+        assertThat(table.targetsOf(TaskStatus.IN_PROGRESS))
+                .containsExactlyInAnyOrder(TaskStatus.COMPLETED, TaskStatus.BLOCKED);
+        assertThat(table.targetsOf(TaskStatus.BLOCKED)).containsExactly(TaskStatus.IN_PROGRESS);
+        assertThat(table.targetsOf(TaskStatus.COMPLETED)).isEmpty();
+        assertThat(table.isAllowed(TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS)).isFalse();
+    }
+
+    @Test
+    void workflowTable_TreatsCompletedAsTerminalAndNeverReturnsToInitiated() {
+        TransitionTable<WorkflowStatus> table = StatusTransitions.WORKFLOW;
+
+        assertThat(table.isAllowed(WorkflowStatus.INITIATED, WorkflowStatus.IN_PROGRESS)).isTrue();
+        assertThat(table.isAllowed(WorkflowStatus.IN_PROGRESS, WorkflowStatus.COMPLETED)).isTrue();
+        assertThat(table.isAllowed(WorkflowStatus.BLOCKED, WorkflowStatus.IN_PROGRESS)).isTrue();
+        assertThat(table.isAllowed(WorkflowStatus.INITIATED, WorkflowStatus.COMPLETED)).isFalse();
+        assertThat(table.isAllowed(WorkflowStatus.IN_PROGRESS, WorkflowStatus.INITIATED)).isFalse();
+        assertThat(table.targetsOf(WorkflowStatus.COMPLETED)).isEmpty();
+    }
+
+    @Test
+    void check_RejectedTransition_ThrowsValidationExceptionNamingBothStatuses() {
+        assertThatThrownBy(() -> StatusTransitions.TASK.check(TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid task state transition from COMPLETED to IN_PROGRESS");
+    }
+
+    @Test
+    void targetsOf_IsNotModifiable() {
+        assertThatThrownBy(() -> StatusTransitions.TASK.targetsOf(TaskStatus.NOT_STARTED).add(TaskStatus.COMPLETED))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
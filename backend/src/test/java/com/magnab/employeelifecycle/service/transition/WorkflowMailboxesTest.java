@@ -0,0 +1,164 @@
+package com.magnab.employeelifecycle.service.transition;
+
+import com.magnab.employeelifecycle.exception.TooManyRequestsException;
+import com.magnab.employeelifecycle.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for WorkflowMailboxes.
+ * Tests serialization per workflow, parallelism across stripes, error propagation and backpressure.
+ */
+@DisplayName("WorkflowMailboxes Unit Tests")
+class WorkflowMailboxesTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WorkflowMailboxes mailboxes;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (mailboxes != null) {
+            mailboxes.stop();
+        }
+    }
+
+    private WorkflowMailboxes create(int stripes, int queueCapacity, Duration timeout) {
+        mailboxes = new WorkflowMailboxes(meterRegistry, true, stripes, queueCapacity, timeout);
+        return mailboxes;
+    }
+
+    /**
+     * Finds a workflow ID hashed to another stripe than the given one.
+     */
+    private UUID onOtherStripe(UUID workflowId, int stripes) {
+        UUID other = UUID.randomUUID();
+        while (Math.floorMod(other.hashCode(), stripes) == Math.floorMod(workflowId.hashCode(), stripes)) {
+            other = UUID.randomUUID();
+        }
+        return other;
+    }
+
+    @Test
+    void execute_SameWorkflow_RunsMutationsOneAtATime() throws Exception {
+        // Arrange
+        create(4, 100, Duration.ofSeconds(5));
+        UUID workflowId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> mailboxes.execute(workflowId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return running.decrementAndGet();
+            })));
+        }
+        for (Future<Integer> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    void execute_WorkflowsOnDifferentStripes_RunInParallel() throws Exception {
+        // Arrange - each mutation only finishes once both are running
+        create(2, 10, Duration.ofSeconds(5));
+        UUID first = UUID.randomUUID();
+        UUID second = onOtherStripe(first, 2);
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+
+        // Act
+        Future<Integer> firstResult = callers.submit(() -> mailboxes.execute(first, () -> awaitBoth(bothRunning)));
+        Future<Integer> secondResult = callers.submit(() -> mailboxes.execute(second, () -> awaitBoth(bothRunning)));
+
+        // Assert
+        assertThat(firstResult.get(5, TimeUnit.SECONDS)).isNotNegative();
+        assertThat(secondResult.get(5, TimeUnit.SECONDS)).isNotNegative();
+    }
+
+    private int awaitBoth(CyclicBarrier barrier) {
+        try {
+            return barrier.await(2, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void execute_MutationFails_RethrowsItsExceptionToTheCaller() {
+        // Arrange
+        create(2, 10, Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertThatThrownBy(() -> mailboxes.execute(UUID.randomUUID(), () -> {
+            throw new ValidationException("Invalid task state transition from COMPLETED to IN_PROGRESS");
+        }))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("COMPLETED");
+    }
+
+    @Test
+    void execute_MailboxFull_RejectsWithTooManyRequests() throws Exception {
+        // Arrange - one mutation running and one queued fill a mailbox of capacity one
+        create(1, 1, Duration.ofSeconds(5));
+        UUID workflowId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> running = callers.submit(() -> mailboxes.execute(workflowId, () -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> queued = callers.submit(() -> mailboxes.execute(workflowId, () -> true));
+        while (meterRegistry.get("workflow.mailbox.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> mailboxes.execute(workflowId, () -> true))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("workflow.mailbox.rejected").count()).isEqualTo(1.0);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_Disabled_RunsOnCallingThread() {
+        // Arrange
+        mailboxes = new WorkflowMailboxes(meterRegistry, false, 4, 10, Duration.ofSeconds(5));
+        String caller = Thread.currentThread().getName();
+
+        // Act
+        String thread = mailboxes.execute(null, () -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(thread).isEqualTo(caller);
+    }
+}